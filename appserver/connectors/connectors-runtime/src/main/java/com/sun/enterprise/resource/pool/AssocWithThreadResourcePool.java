@@ -37,6 +37,7 @@
  * only if the new code is made subject to such option by the copyright
  * holder.
  */
+// Portions Copyright [2026] Payara Foundation and/or affiliates
 
 package com.sun.enterprise.resource.pool;
 
@@ -258,6 +259,15 @@ public class AssocWithThreadResourcePool extends ConnectionPool {
         return result;
     }
 
+    /**
+     * Resources are associated with the thread that used them, hence they are never
+     * handed off to a different waiting thread.
+     */
+    @Override
+    protected boolean handoffToWaitingThread(ResourceHandle resourceHandle) {
+        return false;
+    }
+
     /**
      * return the resource back to pool only if it is not associated with the thread.
      * @param h ResourceHandle
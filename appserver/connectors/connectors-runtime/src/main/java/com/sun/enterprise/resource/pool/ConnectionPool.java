@@ -37,7 +37,7 @@
  * only if the new code is made subject to such option by the copyright
  * holder.
  */
-// Portions Copyright [2019-2021] Payara Foundation and/or affiliates
+// Portions Copyright [2019-2026] Payara Foundation and/or affiliates
 
 package com.sun.enterprise.resource.pool;
 
@@ -54,6 +54,7 @@ import com.sun.enterprise.resource.listener.PoolLifeCycleListener;
 import com.sun.enterprise.resource.pool.datastructure.DataStructure;
 import com.sun.enterprise.resource.pool.datastructure.DataStructureFactory;
 import com.sun.enterprise.resource.pool.resizer.Resizer;
+import com.sun.enterprise.resource.pool.waitqueue.HandoffPoolWaitQueue;
 import com.sun.enterprise.resource.pool.waitqueue.PoolWaitQueue;
 import com.sun.enterprise.resource.pool.waitqueue.PoolWaitQueueFactory;
 import com.sun.enterprise.transaction.api.JavaEETransaction;
@@ -134,6 +135,8 @@ public class ConnectionPool implements ResourcePool, ConnectionLeakListener,
 
     protected PoolWaitQueue waitQueue;
     protected PoolWaitQueue reconfigWaitQueue;
+    //set when the configured wait queue supports handing off returned resources to waiting threads
+    protected HandoffPoolWaitQueue handoffWaitQueue;
     private long reconfigWaitTime ;
     protected String poolWaitQueueClass;
 
@@ -166,6 +169,9 @@ public class ConnectionPool implements ResourcePool, ConnectionLeakListener,
     protected void initializePoolWaitQueue() throws PoolingException {
         waitQueue = PoolWaitQueueFactory.createPoolWaitQueue(poolWaitQueueClass);
         reconfigWaitQueue = PoolWaitQueueFactory.createPoolWaitQueue(poolWaitQueueClass);
+        if (waitQueue instanceof HandoffPoolWaitQueue) {
+            handoffWaitQueue = (HandoffPoolWaitQueue) waitQueue;
+        }
     }
 
     protected void initializePoolDataStructure() throws PoolingException {
@@ -374,7 +380,7 @@ public class ConnectionPool implements ResourcePool, ConnectionLeakListener,
         this.resourceStartTime.set(startTime);
 
         while (true) {
-            if (gateway.allowed()) {
+            if (result == null && gateway.allowed()) {
                 //See comment #1 above
                 JavaEETransaction jtx = ((JavaEETransaction) txn);
                 Set resourcesSet = null;
@@ -416,7 +422,23 @@ public class ConnectionPool implements ResourcePool, ConnectionLeakListener,
                     }
                 }
 
-                if (!blocked) {
+                if (!blocked && handoffWaitQueue != null) {
+                    //add to handoff wait-queue, a returned resource may be handed to this thread directly
+                    if (poolLifeCycleListener != null) {
+                        poolLifeCycleListener.connectionRequestQueued();
+                    }
+                    HandoffPoolWaitQueue.Waiter waiter = handoffWaitQueue.enqueue();
+                    try {
+                        logFine("Resource Pool: getting on handoff wait queue");
+                        result = acceptHandedOffResource(waiter.await(remainingWaitTime), alloc);
+                    } catch (InterruptedException ex) {
+                        poolManagerTaskInterrupted(ex);
+                    } finally {
+                        if (poolLifeCycleListener != null) {
+                            poolLifeCycleListener.connectionRequestDequeued();
+                        }
+                    }
+                } else if (!blocked) {
                     //add to wait-queue
                     Object waitMonitor = new Object();
                     if (poolLifeCycleListener != null) {
@@ -484,6 +506,41 @@ public class ConnectionPool implements ResourcePool, ConnectionLeakListener,
         return result;
     }
 
+    /**
+     * Prepares a resource that was handed off by a releasing thread for use by the waiting thread.
+     * If the resource cannot be used for the request it is given back to the pool.
+     *
+     * @param handle resource handed off to the waiting thread, may be null
+     * @param alloc  ResourceAllocator of the waiting request
+     * @return the resource ready to be used, or null
+     */
+    private ResourceHandle acceptHandedOffResource(ResourceHandle handle, ResourceAllocator alloc) {
+        if (handle == null) {
+            return null;
+        }
+        if (handle.hasConnectionErrorOccurred() || !isConnectionValid(handle, alloc)) {
+            // same as a resource failing while in use: removed from the pool, or the whole pool flushed when
+            // fail-all-connections is set, either way there is room for a new resource now
+            resourceErrorOccurred(handle);
+            notifyWaitingThreads();
+            return null;
+        }
+        if (!matchConnection(handle, alloc) || handle.isShareable() != alloc.shareableWithinComponent()) {
+            ds.returnResource(handle);
+            notifyWaitingThreads();
+            return null;
+        }
+        setResourceStateToBusy(handle);
+        if (maxConnectionUsage_ > 0) {
+            handle.incrementUsageCount();
+        }
+        if (poolLifeCycleListener != null) {
+            poolLifeCycleListener.connectionUsed(handle.getId());
+            poolLifeCycleListener.decrementNumConnFree();
+        }
+        return handle;
+    }
+
     private void poolManagerWaitTimeExpired() throws PoolingException {
         // wait time has expired
         if (poolLifeCycleListener != null) {
@@ -1080,13 +1137,17 @@ public class ConnectionPool implements ResourcePool, ConnectionLeakListener,
                     resourceHandle.getUsageCount() >= maxConnectionUsage_) {
                  performMaxConnectionUsageOperation(resourceHandle);
             } else {
-                // Put it back to the free collection.
-                ds.returnResource(resourceHandle);
                 //update the monitoring data
                 if (poolLifeCycleListener != null) {
                     poolLifeCycleListener.decrementConnectionUsed(resourceHandle.getId());
                     poolLifeCycleListener.incrementNumConnFree(false, steadyPoolSize);
                 }
+                if (handoffToWaitingThread(resourceHandle)) {
+                    //the oldest waiting thread owns the resource now, no need to notify
+                    return;
+                }
+                // Put it back to the free collection.
+                ds.returnResource(resourceHandle);
             }
             //for both the cases of free.add and maxConUsageOperation, a free resource is added.
             // Hence notify waiting threads
@@ -1094,6 +1155,17 @@ public class ConnectionPool implements ResourcePool, ConnectionLeakListener,
         }
     }
 
+    /**
+     * Hands a freed resource directly to the oldest thread waiting for a resource,
+     * when the pool is configured with a {@link HandoffPoolWaitQueue}.
+     *
+     * @param resourceHandle freed resource, still held by the pool datastructure as in use
+     * @return true if a waiting thread took over the resource
+     */
+    protected boolean handoffToWaitingThread(ResourceHandle resourceHandle) {
+        return handoffWaitQueue != null && !blocked && handoffWaitQueue.handoff(resourceHandle);
+    }
+
     protected boolean cleanupResource(ResourceHandle handle) {
         boolean cleanupSuccessful = true;
         // cleanup resource
@@ -1237,6 +1309,13 @@ public class ConnectionPool implements ResourcePool, ConnectionLeakListener,
 
 
     protected void notifyWaitingThreads() {
+        if (handoffWaitQueue != null) {
+            // lock-free queue, the woken thread retries to get a resource on its own
+            if (!handoffWaitQueue.signal()) {
+                logFine(" No thread waiting in handoff wait queue");
+            }
+            return;
+        }
         // notify the first thread in the waitqueue
         Object waitMonitor = null;
         synchronized (waitQueue) {
@@ -0,0 +1,339 @@
+/*
+ *
+ *  DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ *  Copyright (c) 2026 Payara Foundation and/or its affiliates. All rights reserved.
+ *
+ *  The contents of this file are subject to the terms of either the GNU
+ *  General Public License Version 2 only ("GPL") or the Common Development
+ *  and Distribution License("CDDL") (collectively, the "License").  You
+ *  may not use this file except in compliance with the License.  You can
+ *  obtain a copy of the License at
+ *  https://github.com/payara/Payara/blob/main/LICENSE.txt
+ *  See the License for the specific
+ *  language governing permissions and limitations under the License.
+ *
+ *  When distributing the software, include this License Header Notice in each
+ *  file and include the License file at glassfish/legal/LICENSE.txt.
+ *
+ *  GPL Classpath Exception:
+ *  The Payara Foundation designates this particular file as subject to the "Classpath"
+ *  exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ *  file that accompanied this code.
+ *
+ *  Modifications:
+ *  If applicable, add the following below the License Header, with the fields
+ *  enclosed by brackets [] replaced by your own identifying information:
+ *  "Portions Copyright [year] [name of copyright owner]"
+ *
+ *  Contributor(s):
+ *  If you wish your version of this file to be governed by only the CDDL or
+ *  only the GPL Version 2, indicate your decision by adding "[Contributor]
+ *  elects to include this software in this distribution under the [CDDL or GPL
+ *  Version 2] license."  If you don't indicate a single choice of license, a
+ *  recipient has the option to distribute your version of this file under
+ *  either the CDDL, the GPL Version 2 or to extend the choice of license to
+ *  its licensees as provided above.  However, if you add GPL Version 2 code
+ *  and therefore, elected the GPL Version 2 license, then the option applies
+ *  only if the new code is made subject to such option by the copyright
+ *  holder.
+ *
+ */
+
+package com.sun.enterprise.resource.pool.datastructure;
+
+import com.sun.appserv.connectors.internal.api.PoolingException;
+import com.sun.enterprise.resource.ResourceHandle;
+import com.sun.enterprise.resource.allocator.ResourceAllocator;
+import com.sun.enterprise.resource.pool.ResourceHandler;
+import com.sun.logging.LogDomains;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Lock-free datastructure for pool.
+ * <p>
+ * Every resource is tracked by a {@link Slot} whose state is changed by compare-and-set only, so borrowing or
+ * returning an idle resource never blocks on a pool wide lock. A thread first tries to reclaim one of the resources
+ * it returned most recently (thread affinity), and only then falls back to the shared free list.
+ */
+public class ThreadAffinityDataStructure implements DataStructure {
+
+    /**
+     * Number of recently returned resources remembered per thread
+     */
+    private static final int THREAD_LOCAL_SLOTS = 8;
+
+    private final ResourceHandler handler;
+    private volatile int maxSize;
+
+    private final ConcurrentHashMap<ResourceHandle, Slot> allResources;
+    private final ConcurrentLinkedDeque<Slot> freeResources = new ConcurrentLinkedDeque<>();
+    private final ThreadLocal<Deque<WeakReference<Slot>>> recentlyReturned = ThreadLocal.withInitial(ArrayDeque::new);
+
+    private final AtomicInteger remainingCapacity;
+    private final AtomicInteger freeCount = new AtomicInteger();
+
+    protected static final Logger _logger = LogDomains.getLogger(ThreadAffinityDataStructure.class, LogDomains.RSR_LOGGER);
+
+    public ThreadAffinityDataStructure(int maxSize, ResourceHandler handler) {
+        this.allResources = new ConcurrentHashMap<>(Math.min(maxSize, 1000));
+        this.maxSize = maxSize;
+        this.handler = handler;
+        this.remainingCapacity = new AtomicInteger(maxSize);
+        if (_logger.isLoggable(Level.FINEST)) {
+            _logger.log(Level.FINEST, "Initializing thread affinity pool datastructure");
+        }
+    }
+
+    /**
+     * Constructor used when the datastructure is configured by class name through the pool's
+     * datastructure property.
+     */
+    public ThreadAffinityDataStructure(String parameters, int maxSize, ResourceHandler handler, String strategyClass) {
+        this(maxSize, handler);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int addResource(ResourceAllocator allocator, int count) throws PoolingException {
+        int numResAdded = 0;
+        for (int i = 0; i < count && canGrow(); i++) {
+            try {
+                ResourceHandle handle = handler.createResource(allocator);
+                Slot slot = new Slot(handle);
+                allResources.put(handle, slot);
+                freeCount.incrementAndGet();
+                publish(slot);
+                numResAdded++;
+            } catch (Exception e) {
+                remainingCapacity.incrementAndGet();
+                throw new PoolingException(e.getMessage(), e);
+            }
+        }
+        return numResAdded;
+    }
+
+    private boolean canGrow() {
+        int capacity = remainingCapacity.getAndUpdate(x -> x > 0 ? x - 1 : 0);
+        return capacity > 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ResourceHandle getResource() {
+        // references stay in place once claimed, so returning the resource again needs no new reference; a slot
+        // taken by another thread in the meantime is skipped and kept as it may come back
+        Iterator<WeakReference<Slot>> local = recentlyReturned.get().iterator();
+        while (local.hasNext()) {
+            Slot slot = local.next().get();
+            if (slot == null || slot.isRemoved()) {
+                local.remove();
+            } else if (slot.claim()) {
+                return borrowed(slot);
+            }
+        }
+
+        Slot slot;
+        while ((slot = freeResources.pollFirst()) != null) {
+            // clear the flag before trying to claim, so a concurrent return either sees it cleared
+            // and publishes the slot again, or this thread sees the slot free and claims it
+            slot.queued.set(false);
+            if (slot.claim()) {
+                return borrowed(slot);
+            }
+        }
+        return null;
+    }
+
+    private ResourceHandle borrowed(Slot slot) {
+        freeCount.decrementAndGet();
+        slot.handle.setBusy(true);
+        return slot.handle;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void removeResource(ResourceHandle resource) {
+        Slot slot = allResources.remove(resource);
+        if (slot == null) {
+            return;
+        }
+        if (slot.retire()) {
+            freeCount.decrementAndGet();
+        }
+        remainingCapacity.incrementAndGet();
+        handler.deleteResource(resource);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void returnResource(ResourceHandle resource) {
+        Slot slot = allResources.get(resource);
+        if (slot == null) {
+            // removed while in use, nothing to hand back
+            return;
+        }
+        resource.setBusy(false);
+        if (slot.release()) {
+            freeCount.incrementAndGet();
+            remember(slot);
+            publish(slot);
+        }
+    }
+
+    /**
+     * Moves the slot to the front of the resources recently returned by the calling thread, reusing the reference
+     * already held for it when there is one.
+     */
+    private void remember(Slot slot) {
+        Deque<WeakReference<Slot>> local = recentlyReturned.get();
+        WeakReference<Slot> first = local.peekFirst();
+        if (first != null && first.get() == slot) {
+            return;
+        }
+        WeakReference<Slot> reference = null;
+        Iterator<WeakReference<Slot>> references = local.iterator();
+        while (references.hasNext()) {
+            WeakReference<Slot> candidate = references.next();
+            if (candidate.get() == slot) {
+                reference = candidate;
+                references.remove();
+                break;
+            }
+        }
+        if (reference == null) {
+            if (local.size() >= THREAD_LOCAL_SLOTS) {
+                local.pollLast();
+            }
+            reference = new WeakReference<>(slot);
+        }
+        local.offerFirst(reference);
+    }
+
+    /**
+     * Makes the slot visible to other threads through the shared free list. A slot is present at most once in the
+     * list, so the list never grows beyond the size of the pool.
+     */
+    private void publish(Slot slot) {
+        if (slot.queued.compareAndSet(false, true)) {
+            freeResources.offerFirst(slot);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getFreeListSize() {
+        return Math.max(freeCount.get(), 0);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void removeAll() {
+        ArrayList<ResourceHandle> removedResources = new ArrayList<>();
+        Iterator<Slot> slots = allResources.values().iterator();
+        while (slots.hasNext()) {
+            Slot slot = slots.next();
+            slots.remove();
+            if (slot.retire()) {
+                freeCount.decrementAndGet();
+            }
+            removedResources.add(slot.handle);
+        }
+        freeResources.clear();
+        remainingCapacity.set(maxSize);
+        for (ResourceHandle resourceHandle : removedResources) {
+            handler.deleteResource(resourceHandle);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getResourcesSize() {
+        return allResources.size();
+    }
+
+    /**
+     * Set maxSize based on the new max pool size set on the connection pool
+     * during a reconfiguration.
+     *
+     * @param maxSize
+     */
+    @Override
+    public synchronized void setMaxSize(int maxSize) {
+        int delta = maxSize - this.maxSize;
+        // remaining capacity might be negative after this, but its up to ConnectionPool to remove some of the
+        // resources before asking for new ones
+        remainingCapacity.getAndUpdate(x -> x + delta);
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ArrayList<ResourceHandle> getAllResources() {
+        return new ArrayList<>(allResources.keySet());
+    }
+
+    /**
+     * State holder for a single pooled resource.
+     */
+    private static final class Slot {
+
+        private static final int FREE = 0;
+        private static final int IN_USE = 1;
+        private static final int REMOVED = 2;
+
+        final ResourceHandle handle;
+        final AtomicInteger state = new AtomicInteger(FREE);
+        final AtomicBoolean queued = new AtomicBoolean();
+
+        Slot(ResourceHandle handle) {
+            this.handle = handle;
+        }
+
+        boolean claim() {
+            return state.get() == FREE && state.compareAndSet(FREE, IN_USE);
+        }
+
+        boolean isRemoved() {
+            return state.get() == REMOVED;
+        }
+
+        boolean release() {
+            return state.compareAndSet(IN_USE, FREE);
+        }
+
+        /**
+         * @return true when the slot was free at the time it got removed
+         */
+        boolean retire() {
+            return state.getAndSet(REMOVED) == FREE;
+        }
+    }
+}
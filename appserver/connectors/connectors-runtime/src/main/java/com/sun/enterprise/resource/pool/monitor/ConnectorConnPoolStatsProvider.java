@@ -38,13 +38,14 @@
  * holder.
  *
 */
-// Portions Copyright [2016-2019] [Payara Foundation]
+// Portions Copyright [2016-2026] [Payara Foundation]
 
 package com.sun.enterprise.resource.pool.monitor;
 
 import com.sun.enterprise.connectors.ConnectorRuntime;
 import com.sun.enterprise.resource.pool.PoolLifeCycleListenerRegistry;
 import com.sun.enterprise.resource.pool.PoolStatus;
+import com.sun.enterprise.util.LogLinearHistogram;
 import org.glassfish.external.probe.provider.annotations.ProbeListener;
 import org.glassfish.external.probe.provider.annotations.ProbeParam;
 import org.glassfish.external.statistics.CountStatistic;
@@ -141,6 +142,17 @@ public class ConnectorConnPoolStatsProvider {
     private CountStatisticImpl waitQueueLength = new CountStatisticImpl(
             "WaitQueueLength", StatisticImpl.UNIT_COUNT,
             "Number of connection requests in the queue waiting to be serviced.");
+    private CountStatisticImpl connRequestWaitTimeP50 = new CountStatisticImpl(
+            "ConnRequestWaitTimeP50", StatisticImpl.UNIT_MILLISECOND,
+            "Median wait time of connection requests served by the pool.");
+    private CountStatisticImpl connRequestWaitTimeP95 = new CountStatisticImpl(
+            "ConnRequestWaitTimeP95", StatisticImpl.UNIT_MILLISECOND,
+            "95th percentile wait time of connection requests served by the pool.");
+    private CountStatisticImpl connRequestWaitTimeP99 = new CountStatisticImpl(
+            "ConnRequestWaitTimeP99", StatisticImpl.UNIT_MILLISECOND,
+            "99th percentile wait time of connection requests served by the pool.");
+    // 8 buckets per power of two, so a reported percentile is never more than 12.5% above the recorded value
+    private final LogLinearHistogram connRequestWaitTimeHistogram = new LogLinearHistogram(3, Long.MAX_VALUE);
     private static final String JCA_PROBE_LISTENER = "glassfish:jca:connection-pool:";
 
     public ConnectorConnPoolStatsProvider(PoolInfo poolInfo, Logger logger) {
@@ -373,6 +385,7 @@ public class ConnectorConnPoolStatsProvider {
             }
             connRequestWaitTime.setCurrent(timeTakenInMillis);
             totalConnRequestWaitTime.increment(timeTakenInMillis);
+            connRequestWaitTimeHistogram.record(timeTakenInMillis);
         }
     }
 
@@ -483,6 +496,10 @@ public class ConnectorConnPoolStatsProvider {
         averageConnWaitTime.reset();
         totalConnRequestWaitTime.reset();
         waitQueueLength.reset();
+        connRequestWaitTimeHistogram.reset();
+        connRequestWaitTimeP50.reset();
+        connRequestWaitTimeP95.reset();
+        connRequestWaitTimeP99.reset();
     }
 
     /**
@@ -710,4 +727,22 @@ public class ConnectorConnPoolStatsProvider {
     public CountStatistic getWaitQueueLength() {
         return waitQueueLength;
     }
+
+    @ManagedAttribute(id="connrequestwaittimep50")
+    public CountStatistic getConnRequestWaitTimeP50() {
+        connRequestWaitTimeP50.setCount(connRequestWaitTimeHistogram.getValueAtPercentile(50));
+        return connRequestWaitTimeP50;
+    }
+
+    @ManagedAttribute(id="connrequestwaittimep95")
+    public CountStatistic getConnRequestWaitTimeP95() {
+        connRequestWaitTimeP95.setCount(connRequestWaitTimeHistogram.getValueAtPercentile(95));
+        return connRequestWaitTimeP95;
+    }
+
+    @ManagedAttribute(id="connrequestwaittimep99")
+    public CountStatistic getConnRequestWaitTimeP99() {
+        connRequestWaitTimeP99.setCount(connRequestWaitTimeHistogram.getValueAtPercentile(99));
+        return connRequestWaitTimeP99;
+    }
 }
@@ -0,0 +1,249 @@
+/*
+ *
+ *  DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ *  Copyright (c) 2026 Payara Foundation and/or its affiliates. All rights reserved.
+ *
+ *  The contents of this file are subject to the terms of either the GNU
+ *  General Public License Version 2 only ("GPL") or the Common Development
+ *  and Distribution License("CDDL") (collectively, the "License").  You
+ *  may not use this file except in compliance with the License.  You can
+ *  obtain a copy of the License at
+ *  https://github.com/payara/Payara/blob/main/LICENSE.txt
+ *  See the License for the specific
+ *  language governing permissions and limitations under the License.
+ *
+ *  When distributing the software, include this License Header Notice in each
+ *  file and include the License file at glassfish/legal/LICENSE.txt.
+ *
+ *  GPL Classpath Exception:
+ *  The Payara Foundation designates this particular file as subject to the "Classpath"
+ *  exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ *  file that accompanied this code.
+ *
+ *  Modifications:
+ *  If applicable, add the following below the License Header, with the fields
+ *  enclosed by brackets [] replaced by your own identifying information:
+ *  "Portions Copyright [year] [name of copyright owner]"
+ *
+ *  Contributor(s):
+ *  If you wish your version of this file to be governed by only the CDDL or
+ *  only the GPL Version 2, indicate your decision by adding "[Contributor]
+ *  elects to include this software in this distribution under the [CDDL or GPL
+ *  Version 2] license."  If you don't indicate a single choice of license, a
+ *  recipient has the option to distribute your version of this file under
+ *  either the CDDL, the GPL Version 2 or to extend the choice of license to
+ *  its licensees as provided above.  However, if you add GPL Version 2 code
+ *  and therefore, elected the GPL Version 2 license, then the option applies
+ *  only if the new code is made subject to such option by the copyright
+ *  holder.
+ *
+ */
+
+package com.sun.enterprise.resource.pool.waitqueue;
+
+import com.sun.enterprise.resource.ResourceHandle;
+import com.sun.logging.LogDomains;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Lock-free, first-in-first-out wait queue that hands a returned resource directly to the oldest waiting thread.
+ * <p>
+ * Threads waiting for a resource register a {@link Waiter} via {@link #enqueue()} and park in
+ * {@link Waiter#await(long)}. When a resource is returned to the pool, {@link #handoff(ResourceHandle)} passes it
+ * to the oldest waiter, so that thread does not need to contend for the pool again. {@link #signal()} only wakes the
+ * oldest waiter, which then retries to obtain a resource from the pool itself.
+ * <p>
+ * Plain monitor objects added through {@link #addToQueue(Object)} are supported too, so this class can be used
+ * wherever a {@link PoolWaitQueue} is expected.
+ */
+public class HandoffPoolWaitQueue implements PoolWaitQueue {
+
+    protected final static Logger _logger = LogDomains.getLogger(HandoffPoolWaitQueue.class, LogDomains.RSR_LOGGER);
+
+    private final ConcurrentLinkedQueue<Object> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger length = new AtomicInteger();
+
+    public HandoffPoolWaitQueue() {
+        if (_logger.isLoggable(Level.FINE)) {
+            _logger.log(Level.FINE, "Initializing handoff Pool Wait Queue");
+        }
+    }
+
+    /**
+     * Registers the current thread as the youngest waiter of this queue.
+     *
+     * @return the waiter the current thread has to {@link Waiter#await(long) await} on
+     */
+    public Waiter enqueue() {
+        Waiter waiter = new Waiter(this, Thread.currentThread());
+        addToQueue(waiter);
+        return waiter;
+    }
+
+    /**
+     * Hands the given resource to the oldest waiting thread.
+     *
+     * @param resource resource which has been returned to the pool
+     * @return true when a waiter accepted the resource, false if there is no thread waiting
+     */
+    public boolean handoff(ResourceHandle resource) {
+        Object head;
+        while ((head = queue.poll()) != null) {
+            length.decrementAndGet();
+            if (head instanceof Waiter) {
+                if (((Waiter) head).complete(resource)) {
+                    return true;
+                }
+            } else {
+                // a plain monitor cannot take a resource, wake it up so it retries on its own
+                notifyMonitor(head);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Wakes up the oldest waiting thread without handing it a resource.
+     *
+     * @return true if a waiting thread was woken up
+     */
+    public boolean signal() {
+        Object head;
+        while ((head = queue.poll()) != null) {
+            length.decrementAndGet();
+            if (head instanceof Waiter) {
+                if (((Waiter) head).complete(Waiter.SIGNALLED)) {
+                    return true;
+                }
+            } else {
+                notifyMonitor(head);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void notifyMonitor(Object monitor) {
+        synchronized (monitor) {
+            monitor.notifyAll();
+        }
+    }
+
+    @Override
+    public int getQueueLength() {
+        return Math.max(length.get(), 0);
+    }
+
+    @Override
+    public void addToQueue(Object waitMonitor) {
+        queue.offer(waitMonitor);
+        length.incrementAndGet();
+    }
+
+    @Override
+    public boolean removeFromQueue(Object o) {
+        boolean removed = queue.remove(o);
+        if (removed) {
+            length.decrementAndGet();
+        }
+        return removed;
+    }
+
+    @Override
+    public Object remove() {
+        Object head = queue.poll();
+        if (head != null) {
+            length.decrementAndGet();
+        }
+        return head;
+    }
+
+    @Override
+    public Object peek() {
+        return queue.peek();
+    }
+
+    @Override
+    public Collection getQueueContents() {
+        return new ArrayList<>(queue);
+    }
+
+    /**
+     * A thread waiting for a resource. A waiter completes exactly once: with a handed off resource, with a signal
+     * or by timing out.
+     */
+    public static final class Waiter {
+
+        private static final Object SIGNALLED = new Object();
+        private static final Object CANCELLED = new Object();
+
+        private final HandoffPoolWaitQueue queue;
+        private final Thread thread;
+        private final AtomicReference<Object> outcome = new AtomicReference<>();
+
+        private Waiter(HandoffPoolWaitQueue queue, Thread thread) {
+            this.queue = queue;
+            this.thread = thread;
+        }
+
+        private boolean complete(Object value) {
+            if (outcome.compareAndSet(null, value)) {
+                LockSupport.unpark(thread);
+                return true;
+            }
+            return false;
+        }
+
+        /**
+         * Parks the calling thread until a resource is handed off, the waiter is signalled or the timeout expires.
+         * On return the waiter is no longer part of the queue.
+         *
+         * @param timeoutMillis maximum time to wait, 0 to wait indefinitely
+         * @return the resource handed off to this waiter, or null if it was signalled or timed out
+         * @throws InterruptedException if the waiting thread was interrupted
+         */
+        public ResourceHandle await(long timeoutMillis) throws InterruptedException {
+            long deadline = timeoutMillis > 0 ? System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis) : 0L;
+            while (outcome.get() == null) {
+                if (Thread.interrupted()) {
+                    if (cancel()) {
+                        throw new InterruptedException();
+                    }
+                    // completed concurrently, keep the interrupt for the caller
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+                if (deadline == 0L) {
+                    LockSupport.park(this);
+                } else {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0L) {
+                        cancel();
+                        break;
+                    }
+                    LockSupport.parkNanos(this, remaining);
+                }
+            }
+            Object result = outcome.get();
+            return result instanceof ResourceHandle ? (ResourceHandle) result : null;
+        }
+
+        private boolean cancel() {
+            if (outcome.compareAndSet(null, CANCELLED)) {
+                queue.removeFromQueue(this);
+                return true;
+            }
+            return false;
+        }
+    }
+}
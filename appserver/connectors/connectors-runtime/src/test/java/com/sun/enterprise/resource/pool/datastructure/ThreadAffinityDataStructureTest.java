@@ -0,0 +1,187 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2026 Payara Foundation and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://github.com/payara/Payara/blob/main/LICENSE.txt
+ * See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at glassfish/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * The Payara Foundation designates this particular file as subject to the "Classpath"
+ * exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package com.sun.enterprise.resource.pool.datastructure;
+
+import com.sun.enterprise.resource.ResourceHandle;
+import com.sun.enterprise.resource.allocator.ResourceAllocator;
+import com.sun.enterprise.resource.pool.ResourceHandler;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ThreadAffinityDataStructureTest {
+
+    private final List<ResourceHandle> deleted = new ArrayList<>();
+    private ThreadAffinityDataStructure pool;
+    private ExecutorService first;
+    private ExecutorService second;
+
+    @Before
+    public void setUp() {
+        pool = new ThreadAffinityDataStructure(4, new TestHandler());
+        first = Executors.newSingleThreadExecutor();
+        second = Executors.newSingleThreadExecutor();
+    }
+
+    @After
+    public void tearDown() {
+        first.shutdownNow();
+        second.shutdownNow();
+    }
+
+    @Test
+    public void resourceReturnedByAThreadIsHandedBackToIt() throws Exception {
+        pool.addResource(null, 2);
+        ResourceHandle own = on(first, pool::getResource);
+        ResourceHandle other = on(second, pool::getResource);
+        on(first, () -> pool.returnResource(own));
+        // the resource of the other thread is now the most recent one on the shared free list
+        on(second, () -> pool.returnResource(other));
+
+        assertSame(own, on(first, pool::getResource));
+        assertTrue(own.isBusy());
+        assertFalse(other.isBusy());
+        assertEquals(1, pool.getFreeListSize());
+    }
+
+    @Test
+    public void repeatedBorrowingKeepsTheSameResource() throws Exception {
+        pool.addResource(null, 3);
+        ResourceHandle own = on(first, pool::getResource);
+        for (int i = 0; i < 100; i++) {
+            on(first, () -> pool.returnResource(own));
+            assertSame(own, on(first, pool::getResource));
+        }
+        assertEquals(2, pool.getFreeListSize());
+    }
+
+    @Test
+    public void stolenResourceFallsBackToTheSharedFreeList() throws Exception {
+        pool.addResource(null, 2);
+        ResourceHandle own = on(first, pool::getResource);
+        on(first, () -> pool.returnResource(own));
+        // the returned resource is also the head of the shared free list, so the other thread takes it
+        assertSame(own, on(second, pool::getResource));
+
+        ResourceHandle fallback = on(first, pool::getResource);
+        assertNotSame(own, fallback);
+        assertTrue(fallback.isBusy());
+        assertEquals(0, pool.getFreeListSize());
+        assertNull(on(first, pool::getResource));
+
+        // once given back, the stolen resource is found again through the affinity of the first thread
+        on(second, () -> pool.returnResource(own));
+        assertSame(own, on(first, pool::getResource));
+    }
+
+    @Test
+    public void removedResourceIsNotHandedBack() throws Exception {
+        pool.addResource(null, 2);
+        ResourceHandle own = on(first, pool::getResource);
+        on(first, () -> pool.returnResource(own));
+        pool.removeResource(own);
+
+        ResourceHandle next = on(first, pool::getResource);
+        assertNotSame(own, next);
+        assertEquals(1, deleted.size());
+        assertSame(own, deleted.get(0));
+        assertNull(on(first, pool::getResource));
+    }
+
+    @Test
+    public void everyResourceIsHandedOutOnce() throws Exception {
+        pool.addResource(null, 4);
+        List<ResourceHandle> borrowed = new ArrayList<>();
+        ResourceHandle handle;
+        while ((handle = on(first, pool::getResource)) != null) {
+            assertFalse(borrowed.contains(handle));
+            borrowed.add(handle);
+        }
+        assertEquals(4, borrowed.size());
+        assertEquals(0, pool.addResource(null, 1));
+    }
+
+    private static <T> T on(ExecutorService thread, Callable<T> task) throws Exception {
+        return thread.submit(task).get();
+    }
+
+    private static void on(ExecutorService thread, Runnable task) throws Exception {
+        thread.submit(task).get();
+    }
+
+    private class TestHandler implements ResourceHandler {
+
+        @Override
+        public void deleteResource(ResourceHandle resourceHandle) {
+            deleted.add(resourceHandle);
+        }
+
+        @Override
+        public ResourceHandle createResource(ResourceAllocator allocator) {
+            return new ResourceHandle(null, null, allocator, null);
+        }
+
+        @Override
+        public void createResourceAndAddToPool() {
+        }
+
+        @Override
+        public Set getInvalidConnections(Set connections) {
+            return null;
+        }
+
+        @Override
+        public void invalidConnectionDetected(ResourceHandle h) {
+        }
+    }
+}
@@ -0,0 +1,239 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2026 Payara Foundation and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://github.com/payara/Payara/blob/main/LICENSE.txt
+ * See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at glassfish/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * The Payara Foundation designates this particular file as subject to the "Classpath"
+ * exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package com.sun.enterprise.resource.pool.waitqueue;
+
+import com.sun.enterprise.resource.ResourceHandle;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.After;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class HandoffPoolWaitQueueTest {
+
+    private final HandoffPoolWaitQueue queue = new HandoffPoolWaitQueue();
+    private final ExecutorService threads = Executors.newCachedThreadPool();
+
+    @After
+    public void tearDown() {
+        threads.shutdownNow();
+    }
+
+    @Test
+    public void resourcesAreHandedToTheOldestWaiterFirst() throws Exception {
+        List<Future<ResourceHandle>> waiters = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            waiters.add(threads.submit(() -> queue.enqueue().await(0)));
+            awaitQueueLength(i + 1);
+        }
+        List<ResourceHandle> resources = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            ResourceHandle resource = newResource();
+            resources.add(resource);
+            assertTrue(queue.handoff(resource));
+        }
+        for (int i = 0; i < 3; i++) {
+            assertSame(resources.get(i), waiters.get(i).get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(0, queue.getQueueLength());
+        assertFalse(queue.handoff(newResource()));
+    }
+
+    @Test
+    public void handedOffResourceIsNeverLostToATimeout() throws Exception {
+        for (int i = 0; i < 500; i++) {
+            CountDownLatch enqueued = new CountDownLatch(1);
+            Future<ResourceHandle> waiter = threads.submit(() -> {
+                HandoffPoolWaitQueue.Waiter w = queue.enqueue();
+                enqueued.countDown();
+                return w.await(1);
+            });
+            assertTrue(enqueued.await(5, TimeUnit.SECONDS));
+            ResourceHandle resource = newResource();
+            boolean handedOff = queue.handoff(resource);
+            ResourceHandle received = waiter.get(5, TimeUnit.SECONDS);
+            if (handedOff) {
+                assertSame(resource, received);
+            } else {
+                assertNull(received);
+            }
+            assertEquals(0, queue.getQueueLength());
+        }
+    }
+
+    @Test
+    public void resourceHandedOffBeforeAnInterruptIsKept() throws Exception {
+        Future<Object[]> waiter = threads.submit(() -> {
+            HandoffPoolWaitQueue.Waiter w = queue.enqueue();
+            assertTrue(queue.handoff(newResource()));
+            Thread.currentThread().interrupt();
+            ResourceHandle received = w.await(0);
+            return new Object[] {received, Thread.interrupted()};
+        });
+        Object[] outcome = waiter.get(5, TimeUnit.SECONDS);
+        assertTrue(outcome[0] instanceof ResourceHandle);
+        assertEquals(Boolean.TRUE, outcome[1]);
+        assertEquals(0, queue.getQueueLength());
+    }
+
+    @Test
+    public void interruptRacingWithAHandoffEitherCancelsOrKeepsTheResourceAndTheInterrupt() throws Exception {
+        for (int i = 0; i < 200; i++) {
+            CountDownLatch enqueued = new CountDownLatch(1);
+            AtomicBoolean interrupted = new AtomicBoolean();
+            Thread[] waiting = new Thread[1];
+            Future<ResourceHandle> waiter = threads.submit(() -> {
+                waiting[0] = Thread.currentThread();
+                HandoffPoolWaitQueue.Waiter w = queue.enqueue();
+                enqueued.countDown();
+                try {
+                    return w.await(0);
+                } finally {
+                    interrupted.set(Thread.interrupted());
+                }
+            });
+            assertTrue(enqueued.await(5, TimeUnit.SECONDS));
+            waiting[0].interrupt();
+            ResourceHandle resource = newResource();
+            if (queue.handoff(resource)) {
+                // completed before the waiter saw the interrupt
+                assertSame(resource, getUninterruptibly(waiter));
+                assertTrue(interrupted.get());
+            } else {
+                try {
+                    getUninterruptibly(waiter);
+                    fail("The waiter should have been interrupted");
+                } catch (InterruptedException expected) {
+                }
+            }
+            assertEquals(0, queue.getQueueLength());
+        }
+    }
+
+    @Test
+    public void cancelledWaitersLeaveTheQueue() throws Exception {
+        List<Future<ResourceHandle>> timedOut = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            timedOut.add(threads.submit(() -> queue.enqueue().await(10)));
+        }
+        for (Future<ResourceHandle> waiter : timedOut) {
+            assertNull(waiter.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(0, queue.getQueueLength());
+
+        CountDownLatch enqueued = new CountDownLatch(1);
+        Thread[] waiting = new Thread[1];
+        Future<ResourceHandle> interrupted = threads.submit(() -> {
+            waiting[0] = Thread.currentThread();
+            HandoffPoolWaitQueue.Waiter w = queue.enqueue();
+            enqueued.countDown();
+            return w.await(0);
+        });
+        assertTrue(enqueued.await(5, TimeUnit.SECONDS));
+        assertEquals(1, queue.getQueueLength());
+        waiting[0].interrupt();
+        try {
+            getUninterruptibly(interrupted);
+            fail("The waiter should have been interrupted");
+        } catch (InterruptedException expected) {
+        }
+        assertEquals(0, queue.getQueueLength());
+        assertFalse(queue.handoff(newResource()));
+        assertFalse(queue.signal());
+    }
+
+    @Test
+    public void signalWakesTheOldestWaiterWithoutAResource() throws Exception {
+        Future<ResourceHandle> first = threads.submit(() -> queue.enqueue().await(0));
+        awaitQueueLength(1);
+        Future<ResourceHandle> second = threads.submit(() -> queue.enqueue().await(0));
+        awaitQueueLength(2);
+
+        assertTrue(queue.signal());
+        assertNull(first.get(5, TimeUnit.SECONDS));
+        assertFalse(second.isDone());
+        assertEquals(1, queue.getQueueLength());
+
+        ResourceHandle resource = newResource();
+        assertTrue(queue.handoff(resource));
+        assertSame(resource, second.get(5, TimeUnit.SECONDS));
+    }
+
+    private void awaitQueueLength(int length) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (queue.getQueueLength() != length) {
+            if (System.nanoTime() > deadline) {
+                fail("Queue length did not reach " + length);
+            }
+            Thread.sleep(1);
+        }
+    }
+
+    /**
+     * Waits for the result of the waiting thread, rethrowing the exception it ended with.
+     */
+    private static ResourceHandle getUninterruptibly(Future<ResourceHandle> waiter) throws Exception {
+        try {
+            return waiter.get(5, TimeUnit.SECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception) {
+                throw (Exception) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private static ResourceHandle newResource() {
+        return new ResourceHandle(null, null, null, null);
+    }
+}
@@ -37,7 +37,7 @@
  * only if the new code is made subject to such option by the copyright
  * holder.
  */
-// Portions Copyright [2016-2021] [Payara Foundation and/or its affiliates.]
+// Portions Copyright [2016-2026] [Payara Foundation and/or its affiliates.]
 
 package com.sun.enterprise.deployment.annotation.impl;
 
@@ -55,13 +55,20 @@ import org.glassfish.api.deployment.archive.ReadableArchive;
 import java.io.File;
 import java.io.IOException;
 import java.net.URI;
+import java.util.Arrays;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.Set;
 import java.util.List;
 import java.util.ArrayList;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.logging.LogRecord;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.glassfish.logging.annotation.LogMessageInfo;
 
@@ -74,6 +81,12 @@ public abstract class ModuleScanner<T> extends JavaEEScanner implements Scanner<
 
     private static final int DEFAULT_ENTRY_BUFFER_SIZE = 8192;
 
+    /**
+     * When set, the classes found by the scan are loaded in parallel before
+     * the annotations on them are processed, in the order of their names.
+     */
+    private static final boolean PARALLEL_SCANNING = Boolean.getBoolean("fish.payara.deployment.scanning.parallel");
+
     @Inject
     DefaultAnnotationScanner defaultScanner;
 
@@ -291,28 +304,126 @@ public abstract class ModuleScanner<T> extends JavaEEScanner implements Scanner<
             return elements;
         }        
 
+        if (PARALLEL_SCANNING && classNames.size() > 1) {
+            return getElementsInParallel(classNames);
+        }
+
         for (String className : classNames) {
-            if (deplLogger.isLoggable(Level.FINE)) {
-                deplLogger.log(Level.FINE, "Getting {0}", className);
+            Class<?> element = loadElement(className);
+            if (element != null) {
+                elements.add(element);
+            }
+        }
+        return elements;
+    }
+
+    /**
+     * Loads the classes and reads their annotated members on the Payara
+     * executor service, so that the annotation processing which follows on
+     * the deployment thread finds them in the reflection caches. The calling
+     * thread takes part in the work and only waits for tasks that have already
+     * started, so a deployment running on a pool thread cannot starve itself.
+     * Class loading is blocking, which is why the bounded server pool is used
+     * rather than the common fork-join pool; the loads only really overlap
+     * when the archive class loader is parallel capable, as the
+     * {@code WebappClassLoader} is.
+     * <p>
+     * The classes are returned ordered by name, so the descriptors are built
+     * in the same order on every deployment, whichever thread loaded them.
+     */
+    private Set<Class> getElementsInParallel(Set<String> classNames) {
+        String[] sortedNames = classNames.toArray(new String[0]);
+        Arrays.sort(sortedNames);
+        Class<?>[] loaded = new Class<?>[sortedNames.length];
+        AtomicInteger next = new AtomicInteger();
+        Runnable loader = () -> {
+            for (int i = next.getAndIncrement(); i < sortedNames.length; i = next.getAndIncrement()) {
+                loaded[i] = preloadElement(sortedNames[i]);
             }
-            try {                
-                elements.add(classLoader.loadClass(className));
-            } catch (NoClassDefFoundError err) {
-                deplLogger.log(Level.WARNING,
-                               ANNOTATION_ERROR,
-                               err);
-            } catch(ClassNotFoundException cnfe) {
-              LogRecord lr = new LogRecord(Level.WARNING, CLASSLOADING_ERROR);
-              Object args[] = { className,
-                                cnfe.getMessage() };
-              lr.setParameters(args);
-              lr.setThrown(cnfe);
-              deplLogger.log(lr);
+        };
+
+        List<Future<?>> helpers = new ArrayList<>();
+        if (executorService != null) {
+            int threads = Math.min(sortedNames.length,
+                    Math.min(executorService.getExecutorThreadPoolSize(), Runtime.getRuntime().availableProcessors()));
+            for (int i = 1; i < threads; i++) {
+                try {
+                    helpers.add(executorService.submit(loader));
+                } catch (RejectedExecutionException e) {
+                    break;
+                }
+            }
+        }
+        loader.run();
+        for (Future<?> helper : helpers) {
+            if (!helper.cancel(false)) {
+                awaitHelper(helper);
+            }
+        }
+
+        Set<Class> elements = new LinkedHashSet<>();
+        for (Class<?> element : loaded) {
+            if (element != null) {
+                elements.add(element);
             }
         }
         return elements;
     }
 
+    private Class<?> preloadElement(String className) {
+        Class<?> element = loadElement(className);
+        if (element != null) {
+            try {
+                element.getDeclaredAnnotations();
+                element.getDeclaredFields();
+                element.getDeclaredMethods();
+                element.getDeclaredConstructors();
+            } catch (LinkageError e) {
+                // reported when the class is processed
+            }
+        }
+        return element;
+    }
+
+    private static void awaitHelper(Future<?> helper) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                helper.get();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            } catch (ExecutionException | CancellationException e) {
+                deplLogger.log(Level.FINE, "Parallel class loading task failed", e);
+                break;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Class<?> loadElement(String className) {
+        if (deplLogger.isLoggable(Level.FINE)) {
+            deplLogger.log(Level.FINE, "Getting {0}", className);
+        }
+        try {
+            return classLoader.loadClass(className);
+        } catch (NoClassDefFoundError err) {
+            deplLogger.log(Level.WARNING,
+                           ANNOTATION_ERROR,
+                           err);
+        } catch(ClassNotFoundException cnfe) {
+          LogRecord lr = new LogRecord(Level.WARNING, CLASSLOADING_ERROR);
+          Object args[] = { className,
+                            cnfe.getMessage() };
+          lr.setParameters(args);
+          lr.setThrown(cnfe);
+          deplLogger.log(lr);
+        }
+        return null;
+    }
+
     /**
      * 
      * @param bundleDesc
@@ -37,7 +37,7 @@
  * only if the new code is made subject to such option by the copyright
  * holder.
  */
-// Portions Copyright [2016-2021] [Payara Foundation and/or its affiliates]
+// Portions Copyright [2016-2026] [Payara Foundation and/or its affiliates]
 package com.sun.ejb.containers;
 
 import java.io.Serializable;
@@ -75,6 +75,7 @@ import org.glassfish.ejb.deployment.descriptor.EjbDescriptor;
 import org.glassfish.ejb.deployment.descriptor.ScheduledTimerDescriptor;
 import org.glassfish.server.ServerEnvironmentImpl;
 import com.sun.ejb.PersistentTimerService;
+import com.sun.ejb.containers.util.HashedWheelTimer;
 import fish.payara.nucleus.requesttracing.RequestTracingService;
 import fish.payara.notification.requesttracing.RequestTraceSpan;
 import fish.payara.nucleus.healthcheck.stuck.StuckThreadsStore;
@@ -639,8 +640,13 @@ public abstract class EJBTimerService {
                     timerState.scheduled(timerTask);
                 }
 
-                java.util.Timer jdkTimer = ejbContainerUtil.getTimer();
-                jdkTimer.schedule(timerTask, timerExpiration);            
+                HashedWheelTimer timerWheel = ejbContainerUtil.getTimerWheel();
+                if (timerWheel != null) {
+                    timerTask.schedule(timerWheel);
+                } else {
+                    java.util.Timer jdkTimer = ejbContainerUtil.getTimer();
+                    jdkTimer.schedule(timerTask, timerExpiration);
+                }
             }
         } else {
             
@@ -37,6 +37,7 @@
  * only if the new code is made subject to such option by the copyright
  * holder.
  */
+// Portions Copyright [2026] [Payara Foundation and/or its affiliates]
 
 package com.sun.ejb.containers;
 
@@ -49,10 +50,12 @@ import java.util.TimerTask;
 
 import jakarta.ejb.Timer;
 
+import com.sun.ejb.containers.util.HashedWheelTimer;
 import com.sun.logging.LogDomains;
 
 /*
- * JDK timer task for timer expirations.  
+ * JDK timer task for timer expirations.  Runs either on the JDK timer or,
+ * when enabled, on the container's timer wheel.
  *
  * @author Kenneth Saks
  */
@@ -61,6 +64,7 @@ public class EJBTimerTask extends TimerTask {
     private Date timeout_;
     private TimerPrimaryKey timerId_;
     private EJBTimerService timerService_;
+    private volatile HashedWheelTimer.Timeout wheelTimeout_;
 
     EJBTimerTask(Date timeout, TimerPrimaryKey timerId, 
                  EJBTimerService timerService)
@@ -79,5 +83,22 @@ public class EJBTimerTask extends TimerTask {
         return timeout_;
     }
 
+    /**
+     * Schedules this task on the given timer wheel instead of a JDK timer.
+     */
+    void schedule(HashedWheelTimer timerWheel) {
+        wheelTimeout_ = timerWheel.schedule(this, timeout_.getTime());
+    }
+
+    @Override
+    public boolean cancel() {
+        boolean cancelled = super.cancel();
+        HashedWheelTimer.Timeout wheelTimeout = wheelTimeout_;
+        if (wheelTimeout != null) {
+            cancelled = wheelTimeout.cancel();
+        }
+        return cancelled;
+    }
+
 } 
 
@@ -37,11 +37,12 @@
  * only if the new code is made subject to such option by the copyright
  * holder.
  */
-// Portions Copyright [2016-2021] [Payara Foundation and/or its affiliates]
+// Portions Copyright [2016-2026] [Payara Foundation and/or its affiliates]
 
 package com.sun.ejb.containers;
 
 import org.glassfish.ejb.config.EjbTimerService;
+import com.sun.ejb.containers.util.HashedWheelTimer;
 import com.sun.enterprise.container.common.spi.util.JavaEEIOUtils;
 import com.sun.enterprise.transaction.api.JavaEETransactionManager;
 import com.sun.enterprise.container.common.spi.util.ComponentEnvManager;
@@ -108,6 +109,15 @@ public interface EjbContainerUtil {
 
     public  Timer getTimer();
 
+    /**
+     * Returns the timing wheel used to schedule EJB timer expirations, if it
+     * has been enabled with the {@code fish.payara.ejb.timer.hashedWheel}
+     * system property.
+     *
+     * @return the timing wheel, or null if expirations use {@link #getTimer()}
+     */
+    public  HashedWheelTimer getTimerWheel();
+
     public  void setInsideContainer(boolean bool);
 
     public  boolean isInsideContainer();
@@ -37,12 +37,13 @@
  * only if the new code is made subject to such option by the copyright
  * holder.
  */
-// Portions Copyright [2016-2021] [Payara Foundation and/or its affiliates]
+// Portions Copyright [2016-2026] [Payara Foundation and/or its affiliates]
 
 package com.sun.ejb.containers;
 
 import com.sun.ejb.base.io.EJBObjectInputStreamHandler;
 import com.sun.ejb.base.io.EJBObjectOutputStreamHandler;
+import com.sun.ejb.containers.util.HashedWheelTimer;
 import com.sun.enterprise.config.serverbeans.Server;
 import com.sun.enterprise.container.common.spi.util.JavaEEIOUtils;
 import com.sun.enterprise.transaction.api.JavaEETransaction;
@@ -90,6 +91,7 @@ import java.util.Map;
 import java.util.Timer;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.lang.reflect.Proxy;
@@ -116,6 +118,21 @@ public class EjbContainerUtilImpl
 
     private static Logger _logger = LogDomains.getLogger(EjbContainerUtilImpl.class, LogDomains.EJB_LOGGER);
 
+    /**
+     * Schedules EJB timer expirations on a {@link HashedWheelTimer} instead of
+     * the shared JDK timer
+     */
+    private static final String TIMER_WHEEL_PROPERTY = "fish.payara.ejb.timer.hashedWheel";
+
+    /**
+     * Granularity of the timer wheel in milliseconds
+     */
+    private static final String TIMER_WHEEL_TICK_PROPERTY = "fish.payara.ejb.timer.hashedWheel.tickMillis";
+
+    private static final int TIMER_WHEEL_SIZE = 512;
+
+    private static final int TIMER_WHEEL_LEVELS = 4;
+
     private ThreadPoolExecutor defaultThreadPoolExecutor;
 
     @Inject
@@ -132,6 +149,8 @@ public class EjbContainerUtilImpl
 
     private  Timer _timer;
 
+    private  HashedWheelTimer _timerWheel;
+
     private  boolean _insideContainer = true;
 
     @Inject
@@ -209,6 +228,14 @@ public class EjbContainerUtilImpl
             originalClassLoader = Utility.setContextClassLoader(ejbImplClassLoader);
             _timer = AccessController.doPrivileged((PrivilegedAction<Timer>) () ->
                     new Timer("EJB Container Timer", true));
+            if (Boolean.getBoolean(TIMER_WHEEL_PROPERTY)) {
+                long tickMillis = Integer.getInteger(TIMER_WHEEL_TICK_PROPERTY, 10);
+                _timerWheel = AccessController.doPrivileged((PrivilegedAction<HashedWheelTimer>) () ->
+                        new HashedWheelTimer("EJB Container Timer Wheel", tickMillis, TimeUnit.MILLISECONDS,
+                                TIMER_WHEEL_SIZE, TIMER_WHEEL_LEVELS));
+                _logger.log(Level.INFO, "EJB timer expirations are scheduled on a timer wheel with a tick of {0}ms",
+                        tickMillis);
+            }
         } finally {
             if (originalClassLoader != null) {
                 Utility.setContextClassLoader(originalClassLoader);
@@ -229,6 +256,10 @@ public class EjbContainerUtilImpl
         }
         EJBTimerService.onShutdown();
         EJBTimerService.unsetEJBTimerService();
+        if (_timerWheel != null) {
+            _timerWheel.stop();
+            _timerWheel = null;
+        }
     }
 
     @Override
@@ -315,6 +346,11 @@ public class EjbContainerUtilImpl
         return _timer;
     }
 
+    @Override
+    public  HashedWheelTimer getTimerWheel() {
+        return _timerWheel;
+    }
+
     @Override
     public  void setInsideContainer(boolean bool) {
         _insideContainer = bool;
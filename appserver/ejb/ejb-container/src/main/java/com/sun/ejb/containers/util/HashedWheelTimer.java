@@ -0,0 +1,359 @@
+/*
+ *
+ *  DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ *  Copyright (c) 2026 Payara Foundation and/or its affiliates. All rights reserved.
+ *
+ *  The contents of this file are subject to the terms of either the GNU
+ *  General Public License Version 2 only ("GPL") or the Common Development
+ *  and Distribution License("CDDL") (collectively, the "License").  You
+ *  may not use this file except in compliance with the License.  You can
+ *  obtain a copy of the License at
+ *  https://github.com/payara/Payara/blob/main/LICENSE.txt
+ *  See the License for the specific
+ *  language governing permissions and limitations under the License.
+ *
+ *  When distributing the software, include this License Header Notice in each
+ *  file and include the License file at glassfish/legal/LICENSE.txt.
+ *
+ *  GPL Classpath Exception:
+ *  The Payara Foundation designates this particular file as subject to the "Classpath"
+ *  exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ *  file that accompanied this code.
+ *
+ *  Modifications:
+ *  If applicable, add the following below the License Header, with the fields
+ *  enclosed by brackets [] replaced by your own identifying information:
+ *  "Portions Copyright [year] [name of copyright owner]"
+ *
+ *  Contributor(s):
+ *  If you wish your version of this file to be governed by only the CDDL or
+ *  only the GPL Version 2, indicate your decision by adding "[Contributor]
+ *  elects to include this software in this distribution under the [CDDL or GPL
+ *  Version 2] license."  If you don't indicate a single choice of license, a
+ *  recipient has the option to distribute your version of this file under
+ *  either the CDDL, the GPL Version 2 or to extend the choice of license to
+ *  its licensees as provided above.  However, if you add GPL Version 2 code
+ *  and therefore, elected the GPL Version 2 license, then the option applies
+ *  only if the new code is made subject to such option by the copyright
+ *  holder.
+ *
+ */
+
+package com.sun.ejb.containers.util;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.sun.logging.LogDomains;
+
+/**
+ * A hierarchical hashed timing wheel for large numbers of short-lived timeouts.
+ * <p>
+ * Unlike {@link java.util.Timer}, scheduling and cancelling a timeout are O(1)
+ * and lock-free: both only enqueue the request, and the single wheel thread
+ * applies it on its next tick. Each level of the wheel holds
+ * {@code wheelSize} buckets, and a bucket at level {@code n} spans
+ * {@code wheelSize^n} ticks. Timeouts further away than the top level can
+ * cover stay in the top level and are re-examined every time it turns.
+ * Timeouts therefore fire at tick granularity, never before their deadline.
+ * <p>
+ * Expired tasks run on the wheel thread, so they must be short and hand any
+ * real work off to another thread, as {@code EJBTimerTask} does by passing
+ * the expiration to the EJB container thread pool.
+ */
+public final class HashedWheelTimer {
+
+    private static final Logger logger =
+        LogDomains.getLogger(HashedWheelTimer.class, LogDomains.EJB_LOGGER);
+
+    private final long tickNanos;
+    private final int bits;
+    private final int mask;
+    private final Bucket[][] wheels;
+
+    private final Queue<Timeout> pending = new ConcurrentLinkedQueue<>();
+    private final Queue<Timeout> cancelled = new ConcurrentLinkedQueue<>();
+
+    private final Thread worker;
+    private final long startNanos;
+    private final long startMillis;
+
+    private volatile boolean running = true;
+
+    /** Tick currently being processed, only accessed by the wheel thread */
+    private long tick;
+
+    /**
+     * Creates and starts a timer.
+     *
+     * @param name name of the wheel thread
+     * @param tickDuration the duration of a tick, the timer granularity
+     * @param unit the unit of {@code tickDuration}
+     * @param wheelSize number of buckets per level, rounded up to a power of two
+     * @param levels number of levels of the wheel
+     */
+    public HashedWheelTimer(String name, long tickDuration, TimeUnit unit, int wheelSize, int levels) {
+        if (tickDuration <= 0) {
+            throw new IllegalArgumentException("tickDuration must be positive: " + tickDuration);
+        }
+        if (wheelSize < 2 || wheelSize > (1 << 16)) {
+            throw new IllegalArgumentException("wheelSize must be between 2 and 65536: " + wheelSize);
+        }
+        bits = 32 - Integer.numberOfLeadingZeros(wheelSize - 1);
+        if (levels < 1 || (long) bits * levels > 62) {
+            throw new IllegalArgumentException("Invalid number of levels: " + levels);
+        }
+        tickNanos = Math.max(unit.toNanos(tickDuration), TimeUnit.MILLISECONDS.toNanos(1));
+        mask = (1 << bits) - 1;
+        wheels = new Bucket[levels][1 << bits];
+        for (Bucket[] wheel : wheels) {
+            for (int i = 0; i < wheel.length; i++) {
+                wheel[i] = new Bucket();
+            }
+        }
+
+        startNanos = System.nanoTime();
+        startMillis = System.currentTimeMillis();
+        worker = new Thread(this::run, name);
+        worker.setDaemon(true);
+        // The wheel outlives applications, never pin their class loaders
+        worker.setContextClassLoader(HashedWheelTimer.class.getClassLoader());
+        worker.start();
+    }
+
+    /**
+     * Schedules a task to run once the given wall-clock time has passed.
+     *
+     * @param task the task to run on the wheel thread
+     * @param deadlineMillis expiration time in milliseconds since the epoch
+     * @return a handle to cancel the timeout
+     */
+    public Timeout schedule(Runnable task, long deadlineMillis) {
+        if (task == null) {
+            throw new NullPointerException("task");
+        }
+        if (!running) {
+            throw new IllegalStateException("Timer already stopped");
+        }
+        long delayNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, deadlineMillis - System.currentTimeMillis()));
+        long elapsed = System.nanoTime() - startNanos + delayNanos;
+        Timeout timeout = new Timeout(this, task, deadlineMillis, (elapsed + tickNanos - 1) / tickNanos);
+        pending.add(timeout);
+        return timeout;
+    }
+
+    /**
+     * Stops the wheel thread. Timeouts which have not expired yet are dropped.
+     */
+    public void stop() {
+        running = false;
+        worker.interrupt();
+    }
+
+    private void run() {
+        while (running) {
+            long deadline = startNanos + (tick + 1) * tickNanos;
+            long sleepNanos = deadline - System.nanoTime();
+            if (sleepNanos > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(sleepNanos);
+                } catch (InterruptedException e) {
+                    if (!running) {
+                        break;
+                    }
+                }
+                continue;
+            }
+            tick++;
+            processCancelled();
+            processPending();
+            cascade();
+            expire(wheels[0][(int) (tick & mask)]);
+        }
+    }
+
+    private void processCancelled() {
+        Timeout timeout;
+        while ((timeout = cancelled.poll()) != null) {
+            if (timeout.bucket != null) {
+                timeout.bucket.remove(timeout);
+            }
+        }
+    }
+
+    private void processPending() {
+        Timeout timeout;
+        // Bound the work per tick so that a flood of new timeouts can't starve expiration
+        for (int i = 0; i < 100_000 && (timeout = pending.poll()) != null; i++) {
+            if (timeout.state == Timeout.ST_INIT) {
+                place(timeout);
+            }
+        }
+    }
+
+    /**
+     * Moves the buckets of the upper levels whose span starts at the current
+     * tick down the wheel, highest level first.
+     */
+    private void cascade() {
+        for (int level = wheels.length - 1; level > 0; level--) {
+            int shift = bits * level;
+            if ((tick & ((1L << shift) - 1)) == 0) {
+                Bucket bucket = wheels[level][(int) ((tick >>> shift) & mask)];
+                Timeout timeout = bucket.clear();
+                while (timeout != null) {
+                    Timeout next = timeout.next;
+                    timeout.next = null;
+                    timeout.prev = null;
+                    if (timeout.state == Timeout.ST_INIT) {
+                        place(timeout);
+                    }
+                    timeout = next;
+                }
+            }
+        }
+    }
+
+    /**
+     * Puts a timeout on the lowest level whose current span contains its
+     * deadline, or on the top level if it is further away than the wheel
+     * covers.
+     */
+    private void place(Timeout timeout) {
+        long deadlineTick = Math.max(timeout.deadlineTick, tick);
+        int level = 0;
+        while (level < wheels.length - 1 && (deadlineTick >>> (bits * (level + 1))) != (tick >>> (bits * (level + 1)))) {
+            level++;
+        }
+        wheels[level][(int) ((deadlineTick >>> (bits * level)) & mask)].add(timeout);
+    }
+
+    private void expire(Bucket bucket) {
+        Timeout timeout = bucket.clear();
+        while (timeout != null) {
+            Timeout next = timeout.next;
+            timeout.next = null;
+            timeout.prev = null;
+            if (timeout.deadlineTick > tick) {
+                // Overflowed the top level and was cascaded into a full turn early
+                place(timeout);
+            } else if (timeout.expire()) {
+                try {
+                    timeout.task.run();
+                } catch (Throwable t) {
+                    logger.log(Level.WARNING, "Exception while running timer task " + timeout.task, t);
+                }
+            }
+            timeout = next;
+        }
+    }
+
+    /**
+     * Handle of a scheduled task.
+     */
+    public static final class Timeout {
+
+        private static final int ST_INIT = 0;
+        private static final int ST_CANCELLED = 1;
+        private static final int ST_EXPIRED = 2;
+
+        private static final AtomicIntegerFieldUpdater<Timeout> STATE =
+            AtomicIntegerFieldUpdater.newUpdater(Timeout.class, "state");
+
+        private final HashedWheelTimer timer;
+        private final Runnable task;
+        private final long deadlineMillis;
+        private final long deadlineTick;
+
+        private volatile int state = ST_INIT;
+
+        // Bucket links, only accessed by the wheel thread
+        private Bucket bucket;
+        private Timeout next;
+        private Timeout prev;
+
+        private Timeout(HashedWheelTimer timer, Runnable task, long deadlineMillis, long deadlineTick) {
+            this.timer = timer;
+            this.task = task;
+            this.deadlineMillis = deadlineMillis;
+            this.deadlineTick = deadlineTick;
+        }
+
+        /**
+         * Cancels the timeout if it has neither expired nor been cancelled.
+         *
+         * @return true if this call cancelled the timeout
+         */
+        public boolean cancel() {
+            if (!STATE.compareAndSet(this, ST_INIT, ST_CANCELLED)) {
+                return false;
+            }
+            timer.cancelled.add(this);
+            return true;
+        }
+
+        public boolean isCancelled() {
+            return state == ST_CANCELLED;
+        }
+
+        public boolean isExpired() {
+            return state == ST_EXPIRED;
+        }
+
+        public long getDeadline() {
+            return deadlineMillis;
+        }
+
+        private boolean expire() {
+            return STATE.compareAndSet(this, ST_INIT, ST_EXPIRED);
+        }
+    }
+
+    /**
+     * Doubly linked list of timeouts, only accessed by the wheel thread.
+     */
+    private static final class Bucket {
+
+        private Timeout head;
+
+        void add(Timeout timeout) {
+            timeout.bucket = this;
+            timeout.next = head;
+            if (head != null) {
+                head.prev = timeout;
+            }
+            head = timeout;
+        }
+
+        void remove(Timeout timeout) {
+            if (timeout.bucket != this) {
+                return;
+            }
+            if (timeout.prev != null) {
+                timeout.prev.next = timeout.next;
+            } else {
+                head = timeout.next;
+            }
+            if (timeout.next != null) {
+                timeout.next.prev = timeout.prev;
+            }
+            timeout.bucket = null;
+            timeout.next = null;
+            timeout.prev = null;
+        }
+
+        Timeout clear() {
+            Timeout first = head;
+            head = null;
+            for (Timeout timeout = first; timeout != null; timeout = timeout.next) {
+                timeout.bucket = null;
+            }
+            return first;
+        }
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) [2026] Payara Foundation and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://github.com/payara/Payara/blob/main/LICENSE.txt
+ * See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at glassfish/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * The Payara Foundation designates this particular file as subject to the "Classpath"
+ * exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package com.sun.ejb.containers.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class HashedWheelTimerTest {
+
+    private HashedWheelTimer timer;
+
+    @Before
+    public void setup() {
+        // Small wheel so that the tests cover cascading and overflowing the top level
+        timer = new HashedWheelTimer("Test Wheel", 1, TimeUnit.MILLISECONDS, 8, 2);
+    }
+
+    @After
+    public void shutdown() {
+        timer.stop();
+    }
+
+    @Test
+    public void timeoutsNeverFireEarly() throws InterruptedException {
+        int count = 500;
+        CountDownLatch latch = new CountDownLatch(count);
+        Map<Integer, Long> early = new ConcurrentHashMap<>();
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < count; i++) {
+            final int id = i;
+            // Spread over 0 to 249ms, well past the 64 ticks covered by the wheel
+            final long deadline = now + (i % 250);
+            timer.schedule(() -> {
+                long fired = System.currentTimeMillis();
+                if (fired < deadline) {
+                    early.put(id, deadline - fired);
+                }
+                latch.countDown();
+            }, deadline);
+        }
+        assertTrue("Not all timeouts expired", latch.await(10, TimeUnit.SECONDS));
+        assertTrue("Timeouts fired early: " + early, early.isEmpty());
+    }
+
+    @Test
+    public void cancelledTimeoutsDoNotFire() throws InterruptedException {
+        AtomicInteger fired = new AtomicInteger();
+        CountDownLatch latch = new CountDownLatch(1);
+        long deadline = System.currentTimeMillis() + 50;
+        HashedWheelTimer.Timeout[] timeouts = new HashedWheelTimer.Timeout[100];
+        for (int i = 0; i < timeouts.length; i++) {
+            timeouts[i] = timer.schedule(fired::incrementAndGet, deadline);
+        }
+        timer.schedule(latch::countDown, deadline + 20);
+        for (int i = 0; i < timeouts.length; i += 2) {
+            assertTrue(timeouts[i].cancel());
+            assertFalse(timeouts[i].cancel());
+        }
+
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+        assertEquals(timeouts.length / 2, fired.get());
+        for (int i = 0; i < timeouts.length; i++) {
+            assertEquals(i % 2 == 0, timeouts[i].isCancelled());
+            assertEquals(i % 2 != 0, timeouts[i].isExpired());
+            assertFalse(timeouts[i].cancel());
+        }
+    }
+
+    @Test
+    public void pastDeadlinesFireOnNextTick() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        timer.schedule(latch::countDown, System.currentTimeMillis() - 1000);
+        assertTrue(latch.await(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void failingTaskDoesNotStopTheWheel() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        long now = System.currentTimeMillis();
+        timer.schedule(() -> {
+            throw new IllegalStateException("Expected by the test");
+        }, now + 5);
+        timer.schedule(latch::countDown, now + 10);
+        assertTrue(latch.await(1, TimeUnit.SECONDS));
+    }
+}
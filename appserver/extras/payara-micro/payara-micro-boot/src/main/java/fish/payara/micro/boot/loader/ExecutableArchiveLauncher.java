@@ -13,10 +13,13 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
-// Portions copyright 2016 Payara Foundation and/or its affiliates
+// Portions copyright 2016-2026 Payara Foundation and/or its affiliates
 
 package fish.payara.micro.boot.loader;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
 import java.nio.file.FileSystem;
 import java.nio.file.FileSystemAlreadyExistsException;
 import java.nio.file.FileSystems;
@@ -91,6 +94,25 @@ public abstract class ExecutableArchiveLauncher extends Launcher {
 		return archives;
 	}
 
+	@Override
+	protected ClassLoader createClassLoader(URL[] urls) throws Exception {
+		ClassLoader classLoader = super.createClassLoader(urls);
+		if (classLoader instanceof IndexedURLClassLoader && !PackageIndex.isDisabled()) {
+			((IndexedURLClassLoader) classLoader).setPackageIndex(readPackageIndex());
+		}
+		return classLoader;
+	}
+
+	private PackageIndex readPackageIndex() {
+		try (InputStream in = new URL(this.archive.getUrl(), PackageIndex.INDEX_ENTRY).openStream()) {
+			return PackageIndex.read(in);
+		}
+		catch (IOException ex) {
+			// Not indexed, every nested jar is searched
+			return null;
+		}
+	}
+
 	/**
 	 * Determine if the specified {@link JarEntry} is a nested item that should be added
 	 * to the classpath. The method is called once for each entry.
@@ -1,7 +1,7 @@
 /*
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  *
- * Copyright (c) 2016-2018 Payara Foundation and/or its affiliates. All rights reserved.
+ * Copyright (c) 2016-2026 Payara Foundation and/or its affiliates. All rights reserved.
  *
  * The contents of this file are subject to the terms of either the GNU
  * General Public License Version 2 only ("GPL") or the Common Development
@@ -52,8 +52,11 @@ import java.security.CodeSource;
 import java.util.ArrayList;
 import java.util.Enumeration;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
+import java.util.zip.ZipFile;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -61,7 +64,7 @@ import java.util.logging.Logger;
  *
  * @author steve
  */
-public class ExplodedURLClassloader extends OpenURLClassLoader {
+public class ExplodedURLClassloader extends IndexedURLClassLoader {
 
     private final File explodedDir;
     private static final String JAR_DOMAIN_DIR = "MICRO-INF/runtime/";
@@ -69,6 +72,10 @@ public class ExplodedURLClassloader extends OpenURLClassLoader {
 
     private List<File> filesForDeletion;
 
+    // entry names of the exploded jars in the Payara Micro jar, keyed by URL
+    private final Map<String, String> indexNames = new ConcurrentHashMap<>();
+    private final Map<String, JarFile> jarFiles = new ConcurrentHashMap<>();
+
     public ExplodedURLClassloader(File explodeTo) throws IOException {
         super(new URL[0]);
         explodedDir = explodeTo;
@@ -145,7 +152,11 @@ public class ExplodedURLClassloader extends OpenURLClassLoader {
                         if (fileName != null) {
                             File outputFile = new File(runtimeDir, fileName);
                             registerForDeletion(outputFile);
-                            super.addURL(outputFile.getAbsoluteFile().toURI().toURL());
+                            URL url = outputFile.getAbsoluteFile().toURI().toURL();
+                            super.addURL(url);
+                            if (!entry.isDirectory()) {
+                                indexNames.put(url.toString(), entry.getName());
+                            }
 
 
                             if (entry.isDirectory()) {
@@ -158,6 +169,13 @@ public class ExplodedURLClassloader extends OpenURLClassLoader {
                             }
                         }
                     }
+
+                    JarEntry indexEntry = jar.getJarEntry(PackageIndex.INDEX_ENTRY);
+                    if (indexEntry != null && !PackageIndex.isDisabled()) {
+                        try (InputStream is = jar.getInputStream(indexEntry)) {
+                            setPackageIndex(PackageIndex.read(is));
+                        }
+                    }
                 }
             } catch (URISyntaxException ex) {
                 Logger.getLogger(ExplodedURLClassloader.class.getName()).log(Level.SEVERE, null, ex);
@@ -166,6 +184,54 @@ public class ExplodedURLClassloader extends OpenURLClassLoader {
 
     }
 
+    @Override
+    protected String getIndexName(URL url) {
+        return indexNames.get(url.toString());
+    }
+
+    @Override
+    protected JarFile getJarFile(URL url) throws IOException {
+        String key = url.toString();
+        if (!indexNames.containsKey(key)) {
+            return null;
+        }
+        JarFile jarFile = jarFiles.get(key);
+        if (jarFile == null) {
+            synchronized (jarFiles) {
+                jarFile = jarFiles.get(key);
+                if (jarFile == null) {
+                    try {
+                        // multi-release jars resolve classes of the running Java version
+                        jarFile = new JarFile(new File(url.toURI()), true, ZipFile.OPEN_READ, JarFile.runtimeVersion());
+                    } catch (URISyntaxException | IOException ex) {
+                        // not a jar, do not try again
+                        indexNames.remove(key);
+                        return null;
+                    }
+                    jarFiles.put(key, jarFile);
+                }
+            }
+        }
+        return jarFile;
+    }
+
+    @Override
+    protected URL getEntryUrl(URL base, String name) throws IOException {
+        return new URL("jar:" + base + "!/" + name);
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            for (JarFile jarFile : jarFiles.values()) {
+                jarFile.close();
+            }
+            jarFiles.clear();
+        } finally {
+            super.close();
+        }
+    }
+
     private void registerForDeletion(File file) {
         if (isDeleteOnExit()) {
             filesForDeletion.add(file);
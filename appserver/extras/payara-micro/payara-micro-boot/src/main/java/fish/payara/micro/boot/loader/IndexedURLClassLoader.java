@@ -0,0 +1,314 @@
+/*
+ *
+ *  DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ *  Copyright (c) 2026 Payara Foundation and/or its affiliates. All rights reserved.
+ *
+ *  The contents of this file are subject to the terms of either the GNU
+ *  General Public License Version 2 only ("GPL") or the Common Development
+ *  and Distribution License("CDDL") (collectively, the "License").  You
+ *  may not use this file except in compliance with the License.  You can
+ *  obtain a copy of the License at
+ *  https://github.com/payara/Payara/blob/main/LICENSE.txt
+ *  See the License for the specific
+ *  language governing permissions and limitations under the License.
+ *
+ *  When distributing the software, include this License Header Notice in each
+ *  file and include the License file at glassfish/legal/LICENSE.txt.
+ *
+ *  GPL Classpath Exception:
+ *  The Payara Foundation designates this particular file as subject to the "Classpath"
+ *  exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ *  file that accompanied this code.
+ *
+ *  Modifications:
+ *  If applicable, add the following below the License Header, with the fields
+ *  enclosed by brackets [] replaced by your own identifying information:
+ *  "Portions Copyright [year] [name of copyright owner]"
+ *
+ *  Contributor(s):
+ *  If you wish your version of this file to be governed by only the CDDL or
+ *  only the GPL Version 2, indicate your decision by adding "[Contributor]
+ *  elects to include this software in this distribution under the [CDDL or GPL
+ *  Version 2] license."  If you don't indicate a single choice of license, a
+ *  recipient has the option to distribute your version of this file under
+ *  either the CDDL, the GPL Version 2 or to extend the choice of license to
+ *  its licensees as provided above.  However, if you add GPL Version 2 code
+ *  and therefore, elected the GPL Version 2 license, then the option applies
+ *  only if the new code is made subject to such option by the copyright
+ *  holder.
+ *
+ */
+package fish.payara.micro.boot.loader;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.security.CodeSource;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.Manifest;
+
+/**
+ * Class loader of the Payara Micro runtime that consults a {@link PackageIndex}
+ * so that each class or resource lookup only reads the jars that hold its
+ * directory. URLs which are not covered by the index are searched as before,
+ * in class path order.
+ */
+public abstract class IndexedURLClassLoader extends OpenURLClassLoader {
+
+    private static final URL[] NO_URLS = new URL[0];
+    private static final int RUNTIME_VERSION = JarFile.runtimeVersion().feature();
+    private static final int FIRST_VERSIONED_RELEASE = 9;
+
+    private volatile PackageIndex index;
+    private final Map<String, URL[]> candidates = new ConcurrentHashMap<>();
+    private final Map<String, Boolean> multiRelease = new ConcurrentHashMap<>();
+
+    public IndexedURLClassLoader(URL[] urls, ClassLoader parent) {
+        super(urls, parent);
+    }
+
+    public IndexedURLClassLoader(URL[] urls) {
+        super(urls);
+    }
+
+    /**
+     * Sets the index used for lookups, {@code null} searches every URL.
+     */
+    public void setPackageIndex(PackageIndex index) {
+        this.index = index;
+        candidates.clear();
+    }
+
+    protected PackageIndex getPackageIndex() {
+        return index;
+    }
+
+    /**
+     * @param url one of the URLs of this class loader
+     * @return the entry name of the nested jar in the index, or {@code null}
+     * if the URL is not indexed
+     */
+    protected abstract String getIndexName(URL url);
+
+    /**
+     * @param url one of the URLs of this class loader
+     * @return the jar behind the URL, or {@code null} if it is not a jar
+     * @throws IOException if the jar cannot be opened
+     */
+    protected abstract JarFile getJarFile(URL url) throws IOException;
+
+    /**
+     * @param base the URL of the jar holding the entry
+     * @param name the entry name
+     * @return the URL of the entry
+     * @throws IOException if the URL cannot be created
+     */
+    protected abstract URL getEntryUrl(URL base, String name) throws IOException;
+
+    @Override
+    public void addURL(URL url) {
+        super.addURL(url);
+        candidates.clear();
+    }
+
+    /**
+     * Returns the URLs, in class path order, that may hold the given class
+     * file or resource.
+     *
+     * @param name a class file or resource name
+     * @return the candidate URLs
+     */
+    protected URL[] getCandidateUrls(String name) {
+        PackageIndex current = index;
+        if (current == null) {
+            return getURLs();
+        }
+        String directory = PackageIndex.directoryOf(name);
+        URL[] result = candidates.get(directory);
+        if (result == null) {
+            List<URL> urls = new ArrayList<>();
+            for (URL url : getURLs()) {
+                String indexName = getIndexName(url);
+                Set<String> directories = indexName == null ? null : current.getDirectories(indexName);
+                if (directories == null || directories.contains(directory)) {
+                    urls.add(url);
+                }
+            }
+            result = urls.isEmpty() ? NO_URLS : urls.toArray(new URL[urls.size()]);
+            candidates.put(directory, result);
+        }
+        return result;
+    }
+
+    @Override
+    protected Class<?> findClass(String name) throws ClassNotFoundException {
+        if (index == null) {
+            return super.findClass(name);
+        }
+        String path = name.replace('.', '/').concat(".class");
+        for (URL url : getCandidateUrls(path)) {
+            JarFile jarFile;
+            try {
+                jarFile = getJarFile(url);
+            } catch (IOException ex) {
+                continue;
+            }
+            if (jarFile == null) {
+                if (mayContain(url, path)) {
+                    return super.findClass(name);
+                }
+                continue;
+            }
+            try {
+                JarEntry entry = getClassEntry(url, jarFile, path);
+                if (entry != null) {
+                    return defineClass(name, url, jarFile, entry);
+                }
+            } catch (IOException ex) {
+                throw new ClassNotFoundException(name, ex);
+            }
+        }
+        throw new ClassNotFoundException(name);
+    }
+
+    @Override
+    public URL findResource(String name) {
+        if (index == null) {
+            return super.findResource(name);
+        }
+        for (URL url : getCandidateUrls(name)) {
+            try {
+                JarFile jarFile = getJarFile(url);
+                if (jarFile == null) {
+                    if (mayContain(url, name)) {
+                        return super.findResource(name);
+                    }
+                } else if (jarFile.getEntry(name) != null) {
+                    return getEntryUrl(url, name);
+                }
+            } catch (IOException ex) {
+                // Ignore, as URLClassLoader does
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public Enumeration<URL> findResources(String name) throws IOException {
+        if (index == null) {
+            return super.findResources(name);
+        }
+        List<URL> result = new ArrayList<>();
+        for (URL url : getCandidateUrls(name)) {
+            JarFile jarFile;
+            try {
+                jarFile = getJarFile(url);
+            } catch (IOException ex) {
+                continue;
+            }
+            if (jarFile == null) {
+                if (mayContain(url, name)) {
+                    return super.findResources(name);
+                }
+            } else if (jarFile.getEntry(name) != null) {
+                result.add(getEntryUrl(url, name));
+            }
+        }
+        return Collections.enumeration(result);
+    }
+
+    /**
+     * Returns the entry of a class file as seen by the running Java version,
+     * which for a multi-release jar is the one under
+     * {@value PackageIndex#VERSIONS_DIR}{@code N/} with the highest {@code N}
+     * not above {@link JarFile#runtimeVersion()}, if any. Nested jars cannot be
+     * opened for the runtime version, so the versioned entries are looked up
+     * here whatever the jar was opened for.
+     */
+    private JarEntry getClassEntry(URL url, JarFile jarFile, String path) throws IOException {
+        if (isMultiRelease(url, jarFile)) {
+            for (int version = RUNTIME_VERSION; version >= FIRST_VERSIONED_RELEASE; version--) {
+                JarEntry entry = jarFile.getJarEntry(PackageIndex.VERSIONS_DIR + version + "/" + path);
+                if (entry != null) {
+                    return entry;
+                }
+            }
+        }
+        return jarFile.getJarEntry(path);
+    }
+
+    private boolean isMultiRelease(URL url, JarFile jarFile) throws IOException {
+        String key = url.toString();
+        Boolean result = multiRelease.get(key);
+        if (result == null) {
+            Manifest manifest = jarFile.getManifest();
+            result = manifest != null
+                    && Boolean.parseBoolean(manifest.getMainAttributes().getValue("Multi-Release"));
+            multiRelease.put(key, result);
+        }
+        return result;
+    }
+
+    /**
+     * Whether a URL this class loader cannot read directly, such as a directory
+     * or a jar added later on, could hold the entry, in which case the lookup
+     * is left to {@link java.net.URLClassLoader}.
+     */
+    private static boolean mayContain(URL url, String name) {
+        if (!"file".equals(url.getProtocol())) {
+            return true;
+        }
+        try {
+            File file = new File(url.toURI());
+            return !file.isDirectory() || new File(file, name).exists();
+        } catch (URISyntaxException | IllegalArgumentException ex) {
+            return true;
+        }
+    }
+
+    private Class<?> defineClass(String name, URL url, JarFile jarFile, JarEntry entry) throws IOException {
+        int lastDot = name.lastIndexOf('.');
+        if (lastDot >= 0) {
+            String packageName = name.substring(0, lastDot);
+            if (getDefinedPackage(packageName) == null) {
+                Manifest manifest = jarFile.getManifest();
+                try {
+                    if (manifest != null) {
+                        definePackage(packageName, manifest, url);
+                    } else {
+                        definePackage(packageName, null, null, null, null, null, null, null);
+                    }
+                } catch (IllegalArgumentException ex) {
+                    // Defined concurrently by another thread
+                }
+            }
+        }
+        byte[] bytes;
+        try (InputStream in = jarFile.getInputStream(entry)) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(
+                    entry.getSize() > 0 ? (int) entry.getSize() : 4096);
+            byte[] buffer = new byte[4096];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            bytes = out.toByteArray();
+        }
+        // code signers are only known once the entry has been read
+        CodeSource codeSource = new CodeSource(url, entry.getCodeSigners());
+        return defineClass(name, bytes, 0, bytes.length, codeSource);
+    }
+
+}
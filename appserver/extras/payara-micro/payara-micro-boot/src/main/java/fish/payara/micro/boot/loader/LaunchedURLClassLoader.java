@@ -13,7 +13,7 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
  *
- * Portions Copyright [2017] Payara Foundation and/or affiliates
+ * Portions Copyright [2017-2026] Payara Foundation and/or affiliates
  */
 
 package fish.payara.micro.boot.loader;
@@ -26,6 +26,8 @@ import java.net.URLConnection;
 import java.security.AccessController;
 import java.security.PrivilegedExceptionAction;
 import java.util.Enumeration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import fish.payara.micro.boot.loader.jar.Handler;
 import fish.payara.micro.boot.loader.jar.JarFile;
@@ -37,7 +39,13 @@ import fish.payara.micro.boot.loader.jar.JarFile;
  * @author Dave Syer
  * @author Andy Wilkinson
  */
-public class LaunchedURLClassLoader extends OpenURLClassLoader {
+public class LaunchedURLClassLoader extends IndexedURLClassLoader {
+
+	private static final String SEPARATOR = "!/";
+
+	private static final Object NOT_A_JAR = new Object();
+
+	private final Map<String, Object> jarFiles = new ConcurrentHashMap<String, Object>();
 
 	/**
 	 * Create a new {@link LaunchedURLClassLoader} instance.
@@ -131,10 +139,11 @@ public class LaunchedURLClassLoader extends OpenURLClassLoader {
 				public Object run() throws ClassNotFoundException {
 					String packageEntryName = packageName.replace(".", "/") + "/";
 					String classEntryName = className.replace(".", "/") + ".class";
-					for (URL url : getURLs()) {
+					for (URL url : getCandidateUrls(classEntryName)) {
 						try {
-							if (url.getContent() instanceof JarFile) {
-								JarFile jarFile = (JarFile) url.getContent();
+							java.util.jar.JarFile content = getJarFile(url);
+							if (content instanceof JarFile) {
+								JarFile jarFile = (JarFile) content;
 								if (jarFile.getEntry(classEntryName) != null
 										&& jarFile.getEntry(packageEntryName) != null
 										&& jarFile.getManifest() != null) {
@@ -157,6 +166,41 @@ public class LaunchedURLClassLoader extends OpenURLClassLoader {
 		}
 	}
 
+	/**
+	 * Returns the entry name of a nested jar from its URL, for instance
+	 * {@code MICRO-INF/runtime/foo.jar} for
+	 * {@code jar:file:/payara-micro.jar!/MICRO-INF/runtime/foo.jar!/}.
+	 */
+	@Override
+	protected String getIndexName(URL url) {
+		String file = url.getFile();
+		int start = file.indexOf(SEPARATOR);
+		if (!"jar".equals(url.getProtocol()) || start < 0 || !file.endsWith(SEPARATOR)
+				|| start == file.length() - SEPARATOR.length()) {
+			return null;
+		}
+		return file.substring(start + SEPARATOR.length(), file.length() - SEPARATOR.length());
+	}
+
+	@Override
+	protected java.util.jar.JarFile getJarFile(URL url) throws IOException {
+		String key = url.toString();
+		Object jarFile = this.jarFiles.get(key);
+		if (jarFile == null) {
+			jarFile = url.getContent();
+			if (!(jarFile instanceof java.util.jar.JarFile)) {
+				jarFile = NOT_A_JAR;
+			}
+			this.jarFiles.put(key, jarFile);
+		}
+		return jarFile instanceof java.util.jar.JarFile ? (java.util.jar.JarFile) jarFile : null;
+	}
+
+	@Override
+	protected URL getEntryUrl(URL base, String name) throws IOException {
+		return new URL(base, name);
+	}
+
 	/**
 	 * Clear URL caches.
 	 */
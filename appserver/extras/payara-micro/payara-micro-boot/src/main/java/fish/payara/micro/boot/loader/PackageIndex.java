@@ -0,0 +1,231 @@
+/*
+ *
+ *  DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ *  Copyright (c) 2026 Payara Foundation and/or its affiliates. All rights reserved.
+ *
+ *  The contents of this file are subject to the terms of either the GNU
+ *  General Public License Version 2 only ("GPL") or the Common Development
+ *  and Distribution License("CDDL") (collectively, the "License").  You
+ *  may not use this file except in compliance with the License.  You can
+ *  obtain a copy of the License at
+ *  https://github.com/payara/Payara/blob/main/LICENSE.txt
+ *  See the License for the specific
+ *  language governing permissions and limitations under the License.
+ *
+ *  When distributing the software, include this License Header Notice in each
+ *  file and include the License file at glassfish/legal/LICENSE.txt.
+ *
+ *  GPL Classpath Exception:
+ *  The Payara Foundation designates this particular file as subject to the "Classpath"
+ *  exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ *  file that accompanied this code.
+ *
+ *  Modifications:
+ *  If applicable, add the following below the License Header, with the fields
+ *  enclosed by brackets [] replaced by your own identifying information:
+ *  "Portions Copyright [year] [name of copyright owner]"
+ *
+ *  Contributor(s):
+ *  If you wish your version of this file to be governed by only the CDDL or
+ *  only the GPL Version 2, indicate your decision by adding "[Contributor]
+ *  elects to include this software in this distribution under the [CDDL or GPL
+ *  Version 2] license."  If you don't indicate a single choice of license, a
+ *  recipient has the option to distribute your version of this file under
+ *  either the CDDL, the GPL Version 2 or to extend the choice of license to
+ *  its licensees as provided above.  However, if you add GPL Version 2 code
+ *  and therefore, elected the GPL Version 2 license, then the option applies
+ *  only if the new code is made subject to such option by the copyright
+ *  holder.
+ *
+ */
+package fish.payara.micro.boot.loader;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Index of the directories held by each jar nested inside a Payara Micro jar,
+ * so that the boot class loaders can go straight to the jars that may contain
+ * a class or resource instead of asking every jar on the class path in turn.
+ * <p>
+ * The index is stored in the Payara Micro jar as {@value #INDEX_ENTRY}, in a
+ * format similar to the one of {@code META-INF/INDEX.LIST}: one section per
+ * nested jar, each made of the jar entry name followed by one directory per
+ * line and ended by an empty line. The root directory is written as
+ * {@code /}.
+ */
+public final class PackageIndex {
+
+    public static final String INDEX_ENTRY = "MICRO-INF/package.idx";
+
+    /**
+     * System property which, when set to true, makes the boot class loaders
+     * ignore the index and search every jar.
+     */
+    public static final String DISABLE_PROPERTY = "fish.payara.micro.disablePackageIndex";
+
+    /**
+     * Directory of the entries of a multi-release jar specific to a Java version.
+     */
+    public static final String VERSIONS_DIR = "META-INF/versions/";
+
+    private static final String RUNTIME_DIR = "MICRO-INF/runtime/";
+    private static final String LIB_DIR = "MICRO-INF/lib/";
+    private static final String ROOT = "/";
+    private static final String HEADER = "# Payara Micro package index";
+
+    private final Map<String, Set<String>> directories;
+
+    public PackageIndex(Map<String, Set<String>> directories) {
+        this.directories = directories;
+    }
+
+    /**
+     * @param jarName the entry name of a nested jar
+     * @return the directories of the jar, or {@code null} if the jar is not indexed
+     */
+    public Set<String> getDirectories(String jarName) {
+        return directories.get(jarName);
+    }
+
+    public Map<String, Set<String>> getDirectories() {
+        return directories;
+    }
+
+    /**
+     * @param name a class file or resource name
+     * @return the directory of the name as recorded in the index
+     */
+    public static String directoryOf(String name) {
+        int lastSlash = name.lastIndexOf('/');
+        return lastSlash < 0 ? "" : name.substring(0, lastSlash);
+    }
+
+    /**
+     * @param name an entry name inside the Payara Micro jar
+     * @return true if the entry is a nested jar that the index covers
+     */
+    public static boolean isIndexedJar(String name) {
+        return (name.startsWith(RUNTIME_DIR) || name.startsWith(LIB_DIR)) && !name.endsWith("/")
+                && !name.endsWith(".gitkeep");
+    }
+
+    /**
+     * Lists the directories of the files held in a jar. The entries of a
+     * multi-release jar under {@value #VERSIONS_DIR}{@code N/} are also listed
+     * under their own directory, which is where the class loaders look them up.
+     *
+     * @param jar the content of the jar, not closed by this method
+     * @return the directories
+     * @throws IOException if the jar cannot be read
+     */
+    public static Set<String> scan(InputStream jar) throws IOException {
+        Set<String> result = new HashSet<>();
+        ZipInputStream zip = new ZipInputStream(jar);
+        ZipEntry entry;
+        while ((entry = zip.getNextEntry()) != null) {
+            if (!entry.isDirectory()) {
+                String name = entry.getName();
+                result.add(directoryOf(name));
+                if (name.startsWith(VERSIONS_DIR)) {
+                    int versionEnd = name.indexOf('/', VERSIONS_DIR.length());
+                    if (versionEnd > 0) {
+                        result.add(directoryOf(name.substring(versionEnd + 1)));
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    public static boolean isDisabled() {
+        return Boolean.getBoolean(DISABLE_PROPERTY);
+    }
+
+    public static PackageIndex read(InputStream in) throws IOException {
+        Map<String, Set<String>> directories = new LinkedHashMap<>();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        Set<String> current = null;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isEmpty()) {
+                current = null;
+            } else if (line.startsWith("#")) {
+                // comment
+            } else if (current == null) {
+                current = new HashSet<>();
+                directories.put(line, current);
+            } else {
+                current.add(ROOT.equals(line) ? "" : line);
+            }
+        }
+        return new PackageIndex(directories);
+    }
+
+    public void write(OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(HEADER);
+        writer.write('\n');
+        for (Map.Entry<String, Set<String>> jar : directories.entrySet()) {
+            writer.write(jar.getKey());
+            writer.write('\n');
+            for (String directory : new TreeSet<>(jar.getValue())) {
+                writer.write(directory.isEmpty() ? ROOT : directory);
+                writer.write('\n');
+            }
+            writer.write('\n');
+        }
+        writer.flush();
+    }
+
+    /**
+     * Writes the index of the runtime and library jars of an unpacked
+     * Payara Micro jar, used when the distribution is built.
+     *
+     * @param args the directory the Payara Micro jar is built from
+     * @throws IOException if a jar cannot be read or the index cannot be written
+     */
+    public static void main(String[] args) throws IOException {
+        File root = new File(args[0]);
+        Map<String, Set<String>> directories = new LinkedHashMap<>();
+        for (String dir : new String[] {RUNTIME_DIR, LIB_DIR}) {
+            File[] jars = new File(root, dir).listFiles(File::isFile);
+            if (jars == null) {
+                continue;
+            }
+            Arrays.sort(jars);
+            for (File jar : jars) {
+                String name = dir + jar.getName();
+                if (isIndexedJar(name)) {
+                    try (InputStream in = new FileInputStream(jar)) {
+                        directories.put(name, scan(in));
+                    }
+                }
+            }
+        }
+        try (OutputStream out = new FileOutputStream(new File(root, INDEX_ENTRY))) {
+            new PackageIndex(Collections.unmodifiableMap(directories)).write(out);
+        }
+    }
+
+}
@@ -78,6 +78,7 @@ public enum RUNTIME_OPTION {
     additionalrepository(true),
     outputuberjar(true, new FileValidator(false, false, false)),
     outputlauncher(false),
+    generatecds(true, new FileValidator(false, false, false)),
     copytouberjar(true, new DirectoryValidator(true,true, false)),
     systemproperties(true, new FileValidator(true, true, false)),
     disablephonehome(false),
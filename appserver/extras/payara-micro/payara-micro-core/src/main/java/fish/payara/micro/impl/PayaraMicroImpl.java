@@ -1,7 +1,7 @@
 /*
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  *
- * Copyright (c) [2016-2023] Payara Foundation and/or its affiliates. All rights reserved.
+ * Copyright (c) [2016-2026] Payara Foundation and/or its affiliates. All rights reserved.
  *
  * The contents of this file are subject to the terms of either the GNU
  * General Public License Version 2 only ("GPL") or the Common Development
@@ -52,12 +52,15 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.PrintWriter;
 import java.io.StringWriter;
+import java.lang.management.ManagementFactory;
 import java.net.JarURLConnection;
 import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
 import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -209,6 +212,7 @@ public class PayaraMicroImpl implements PayaraMicroBoot {
     private int initialJoinWait = 1;
     private boolean warmup;
     private boolean hotDeploy;
+    private File cdsArchive;
 
     /**
      * Runs a Payara Micro server used via java -jar payara-micro.jar
@@ -232,6 +236,8 @@ public class PayaraMicroImpl implements PayaraMicroBoot {
             main.packageUberJar();
         } else if (main.outputLauncher) {
             main.createLauncher();
+        } else if (main.cdsArchive != null) {
+            main.generateCdsArchive(args);
         } else {
             main.bootStrap();
             if (main.warmup) {
@@ -1304,6 +1310,9 @@ public class PayaraMicroImpl implements PayaraMicroBoot {
                 case warmup:
                     warmup = true;
                     break;
+                case generatecds:
+                    cdsArchive = new File(value).getAbsoluteFile();
+                    break;
                 case hotdeploy:
                     hotDeploy = true;
                     break;
@@ -2546,6 +2555,74 @@ public class PayaraMicroImpl implements PayaraMicroBoot {
         }
     }
 
+    /**
+     * Runs a warmup of this instance in a child JVM that dumps the classes it
+     * loaded into a class data sharing archive on exit, then writes an
+     * argument file next to the archive so that later runs can pick it up
+     * with {@code java @<archive>.args -jar payara-micro.jar}.
+     *
+     * @param args the original command line arguments
+     * @throws BootstrapException if the training run could not be completed
+     */
+    private void generateCdsArchive(String[] args) throws BootstrapException {
+        if (JDK.getMajor() < 13) {
+            LOGGER.severe("--generatecds requires JDK 13 or later");
+            System.exit(-1);
+        }
+        String classPath = System.getProperty("java.class.path");
+        if (classPath == null || classPath.contains(File.pathSeparator) || !classPath.endsWith(".jar")) {
+            LOGGER.severe("--generatecds can only be used when Payara Micro is started with java -jar");
+            System.exit(-1);
+        }
+
+        List<String> command = new ArrayList<>();
+        command.add(new File(new File(System.getProperty("java.home"), "bin"), "java").getPath());
+        for (String jvmArg : ManagementFactory.getRuntimeMXBean().getInputArguments()) {
+            if (!jvmArg.startsWith("-XX:SharedArchiveFile") && !jvmArg.startsWith("-XX:ArchiveClassesAtExit")
+                    && !jvmArg.startsWith("-Xshare")) {
+                command.add(jvmArg);
+            }
+        }
+        command.add("-XX:ArchiveClassesAtExit=" + cdsArchive.getPath());
+        command.add("-jar");
+        command.add(classPath);
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            if (arg.equalsIgnoreCase("--generatecds")
+                    || (arg.equalsIgnoreCase("--rootdir") && System.getProperty(RootDirLauncher.ROOT_DIR_PATH) != null)) {
+                // both take a value, the launcher jar adds its own root directory
+                i++;
+            } else if (!arg.equalsIgnoreCase("--warmup")) {
+                command.add(arg);
+            }
+        }
+        command.add("--warmup");
+
+        try {
+            File parent = cdsArchive.getParentFile();
+            if (parent != null) {
+                Files.createDirectories(parent.toPath());
+            }
+            Files.deleteIfExists(cdsArchive.toPath());
+            LOGGER.log(Level.INFO, "Generating class data sharing archive {0}", cdsArchive);
+            int exitCode = new ProcessBuilder(command).inheritIO().start().waitFor();
+            if (exitCode != 0 || !cdsArchive.isFile()) {
+                throw new BootstrapException("Training run for class data sharing archive " + cdsArchive
+                        + " failed with exit code " + exitCode, null);
+            }
+            File argFile = new File(cdsArchive.getPath() + ".args");
+            Files.write(argFile.toPath(), ("-XX:SharedArchiveFile=\"" + cdsArchive.getPath().replace("\\", "\\\\")
+                    + "\"\n-Xshare:auto\n").getBytes(StandardCharsets.UTF_8));
+            LOGGER.log(Level.INFO, "Class data sharing archive generated, start Payara Micro with java @{0} -jar {1} to use it",
+                    new Object[]{argFile.getPath(), classPath});
+        } catch (IOException e) {
+            throw new BootstrapException("Unable to generate class data sharing archive", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BootstrapException("Interrupted while generating class data sharing archive", e);
+        }
+    }
+
     private static String unifyTimeUnit(String option) {
         switch (option.toLowerCase()) {
             case "nanosecond":
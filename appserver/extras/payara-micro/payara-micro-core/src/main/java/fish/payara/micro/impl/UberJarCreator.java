@@ -1,7 +1,7 @@
 /*
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  *
- * Copyright (c) 2016-2021 Payara Foundation and/or its affiliates. All rights reserved.
+ * Copyright (c) 2016-2026 Payara Foundation and/or its affiliates. All rights reserved.
  *
  * The contents of this file are subject to the terms of either the GNU
  * General Public License Version 2 only ("GPL") or the Common Development
@@ -42,6 +42,7 @@ package fish.payara.micro.impl;
 import com.sun.enterprise.util.io.FileUtils;
 import fish.payara.deployment.util.JavaArchiveUtils;
 import fish.payara.deployment.util.URIUtils;
+import fish.payara.micro.boot.loader.PackageIndex;
 
 import java.io.BufferedInputStream;
 import java.io.File;
@@ -60,6 +61,7 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.Set;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
 import java.util.jar.JarOutputStream;
@@ -194,13 +196,27 @@ public class UberJarCreator {
 
             // copy all entries from the existing jar file
             JarFile jFile = urlcon.getJarFile();
+            Map<String, Set<String>> packageIndex = new LinkedHashMap<>();
+            PackageIndex existingIndex = readPackageIndex(jFile);
             Enumeration<JarEntry> entries = jFile.entries();
             while (entries.hasMoreElements()) {
                 JarEntry entry = entries.nextElement();
 
                 if (entry.getName().contains("MICRO-INF/domain/") && domainDir != null) {
                     // skip the entry as we will add later
+                } else if (entry.getName().equals(PackageIndex.INDEX_ENTRY)) {
+                    // skip the entry as it is rebuilt below
                 } else {
+                    if (PackageIndex.isIndexedJar(entry.getName())) {
+                        Set<String> directories = existingIndex == null ? null
+                                : existingIndex.getDirectories(entry.getName());
+                        if (directories == null) {
+                            try (InputStream is = jFile.getInputStream(entry)) {
+                                directories = PackageIndex.scan(is);
+                            }
+                        }
+                        packageIndex.put(entry.getName(), directories);
+                    }
                     JarEntry newEntry = new JarEntry(entry.getName());
                     if (JavaArchiveUtils.hasJavaArchiveExtension(entry.getName(), false)) {
                         newEntry.setMethod(JarEntry.STORED);
@@ -236,9 +252,18 @@ public class UberJarCreator {
                         jos.flush();
                         jos.closeEntry();
                     }
+                    try (InputStream is = new FileInputStream(lib)) {
+                        packageIndex.put(libEntry.getName(), PackageIndex.scan(is));
+                    }
                 }
             }
 
+            // index of the nested jars used by the boot class loaders
+            jos.putNextEntry(new JarEntry(PackageIndex.INDEX_ENTRY));
+            new PackageIndex(packageIndex).write(jos);
+            jos.flush();
+            jos.closeEntry();
+
             for (Map.Entry<String, URI> deployment : deployments.entrySet()) {
                 JarEntry deploymentEntry = new JarEntry("MICRO-INF/deploy/" + deployment.getKey());
                 jos.putNextEntry(deploymentEntry);
@@ -351,6 +376,16 @@ public class UberJarCreator {
         }
     }
 
+    private static PackageIndex readPackageIndex(JarFile jFile) throws IOException {
+        JarEntry entry = jFile.getJarEntry(PackageIndex.INDEX_ENTRY);
+        if (entry == null) {
+            return null;
+        }
+        try (InputStream is = jFile.getInputStream(entry)) {
+            return PackageIndex.read(is);
+        }
+    }
+
     private InputStream getInputStream(JarFile jFile, JarEntry entry) throws IOException {
         if (entry.toString().contains("MICRO-INF/domain/logging.properties") && (loggingPropertiesFile != null)) {
             return new FileInputStream(loggingPropertiesFile);
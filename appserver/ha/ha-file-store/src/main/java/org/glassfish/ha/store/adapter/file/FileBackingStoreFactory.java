@@ -37,6 +37,7 @@
  * only if the new code is made subject to such option by the copyright
  * holder.
  */
+// Portions Copyright [2026] Payara Foundation and/or affiliates
 
 package org.glassfish.ha.store.adapter.file;
 
@@ -55,11 +56,19 @@ public class FileBackingStoreFactory
 
     private static ThreadLocal<FileStoreTransaction> _current = new ThreadLocal<FileStoreTransaction>();
 
-    private static ConcurrentHashMap<String, FileBackingStore> _stores
-            = new ConcurrentHashMap<String, FileBackingStore>();
+    /**
+     * System property selecting the store format; {@code mapped} keeps the data
+     * in memory-mapped segment files instead of one file per key.
+     */
+    static final String STORE_FORMAT_PROPERTY = "fish.payara.ha.file.store.format";
 
+    static final String MAPPED_STORE_FORMAT = "mapped";
 
-    static FileBackingStore getFileBackingStore(String storeName) {
+    private static ConcurrentHashMap<String, BackingStore> _stores
+            = new ConcurrentHashMap<String, BackingStore>();
+
+
+    static BackingStore getFileBackingStore(String storeName) {
         return _stores.get(storeName);
     }
 
@@ -71,6 +80,13 @@ public class FileBackingStoreFactory
     public <K extends Serializable, V extends Serializable> BackingStore<K, V> createBackingStore(
             BackingStoreConfiguration<K, V> conf)
                 throws BackingStoreException {
+        if (MAPPED_STORE_FORMAT.equalsIgnoreCase(System.getProperty(STORE_FORMAT_PROPERTY))) {
+            MappedFileBackingStore<K, V> ms = new MappedFileBackingStore<K, V>();
+            ms.initialize(conf);
+            ms.setFileBackingStoreFactory(this);
+            _stores.put(conf.getStoreName(), ms);
+            return ms;
+        }
         FileBackingStore<K, V> fs = new FileBackingStore<K, V>();
         fs.initialize(conf);
         fs.setFileBackingStoreFactory(this);
@@ -0,0 +1,740 @@
+/*
+ *
+ *  DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ *  Copyright (c) 2026 Payara Foundation and/or its affiliates. All rights reserved.
+ *
+ *  The contents of this file are subject to the terms of either the GNU
+ *  General Public License Version 2 only ("GPL") or the Common Development
+ *  and Distribution License("CDDL") (collectively, the "License").  You
+ *  may not use this file except in compliance with the License.  You can
+ *  obtain a copy of the License at
+ *  https://github.com/payara/Payara/blob/main/LICENSE.txt
+ *  See the License for the specific
+ *  language governing permissions and limitations under the License.
+ *
+ *  When distributing the software, include this License Header Notice in each
+ *  file and include the License file at glassfish/legal/LICENSE.txt.
+ *
+ *  GPL Classpath Exception:
+ *  The Payara Foundation designates this particular file as subject to the "Classpath"
+ *  exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ *  file that accompanied this code.
+ *
+ *  Modifications:
+ *  If applicable, add the following below the License Header, with the fields
+ *  enclosed by brackets [] replaced by your own identifying information:
+ *  "Portions Copyright [year] [name of copyright owner]"
+ *
+ *  Contributor(s):
+ *  If you wish your version of this file to be governed by only the CDDL or
+ *  only the GPL Version 2, indicate your decision by adding "[Contributor]
+ *  elects to include this software in this distribution under the [CDDL or GPL
+ *  Version 2] license."  If you don't indicate a single choice of license, a
+ *  recipient has the option to distribute your version of this file under
+ *  either the CDDL, the GPL Version 2 or to extend the choice of license to
+ *  its licensees as provided above.  However, if you add GPL Version 2 code
+ *  and therefore, elected the GPL Version 2 license, then the option applies
+ *  only if the new code is made subject to such option by the copyright
+ *  holder.
+ *
+ */
+package org.glassfish.ha.store.adapter.file;
+
+import com.sun.enterprise.util.io.FileUtils;
+import org.glassfish.ha.store.api.BackingStore;
+import org.glassfish.ha.store.api.BackingStoreConfiguration;
+import org.glassfish.ha.store.api.BackingStoreException;
+import org.glassfish.ha.store.api.BackingStoreFactory;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * An implementation of BackingStore that appends any Serializable data to
+ * segmented, memory-mapped log files instead of writing one file per key.
+ * <p>
+ * Each save appends a record to the active segment and points an in-memory
+ * index from the key to it; removals append a small tombstone record so that
+ * the index can be rebuilt from the segments after a restart. Keys are also
+ * grouped in buckets by the time they were last saved or touched, so expired
+ * keys are found without looking at the others. Segments mostly holding
+ * superseded records are compacted when expired data is removed.
+ * <p>
+ * A tombstone records the oldest segment which may still hold a value of
+ * its key, and is only carried over by compaction while such a segment is
+ * left.
+ *
+ * @author Payara Foundation
+ */
+public class MappedFileBackingStore<K extends Serializable, V extends Serializable>
+        extends BackingStore<K, V> {
+
+    static final String SEGMENT_PREFIX = "segment-";
+
+    static final String SEGMENT_SUFFIX = ".log";
+
+    static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+
+    // record length, type, timestamp and key length precede the key and the data
+    static final int HEADER_SIZE = 4 + 1 + 8 + 4;
+
+    private static final int TIMESTAMP_OFFSET = 5;
+
+    private static final byte TYPE_VALUE = 1;
+
+    private static final byte TYPE_REMOVED = 2;
+
+    // the records of a key do not shadow any older segment
+    private static final int NO_SHADOW = Integer.MAX_VALUE;
+
+    private static final long BUCKET_MILLIS = 10_000L;
+
+    // segments with less live data than this share of their records are compacted
+    private static final double COMPACTION_RATIO = 0.5;
+
+    protected Logger logger =
+            Logger.getLogger(MappedFileBackingStore.class.getName());
+
+    protected File baseDir;
+
+    private volatile boolean shutdown;
+
+    private static Level TRACE_LEVEL = Level.FINE;
+
+    private String debugStr;
+
+    private FileBackingStoreFactory factory;
+
+    private long defaultMaxIdleTimeoutInSeconds = 10L * 60L;
+
+    private final int segmentSize = Integer.getInteger(
+            "fish.payara.ha.file.store.segment.size", DEFAULT_SEGMENT_SIZE);
+
+    private final ConcurrentHashMap<String, Location> index = new ConcurrentHashMap<>();
+
+    private final ConcurrentSkipListMap<Long, Set<String>> expiryBuckets = new ConcurrentSkipListMap<>();
+
+    // all segments by id; changed only while holding the lock of this store
+    private final ConcurrentSkipListMap<Integer, Segment> segments = new ConcurrentSkipListMap<>();
+
+    private Segment activeSegment;
+
+    /**
+     * No arg constructor
+     */
+    public MappedFileBackingStore() {
+    }
+
+    @Override
+    protected void initialize(BackingStoreConfiguration<K, V> conf)
+        throws BackingStoreException {
+
+        if (conf.getLogger() != null) {
+            logger = conf.getLogger();
+        }
+
+        super.initialize(conf);
+        debugStr = "[MappedFileBackingStore - " + conf.getStoreName() + "] ";
+
+        baseDir = conf.getBaseDirectory();
+
+        try {
+            if ((baseDir.mkdirs() == false) && (! baseDir.isDirectory())) {
+                throw new BackingStoreException("[MappedFileBackingStore::initialize] Create base directory (" + baseDir.getAbsolutePath() + ") failed");
+            }
+            recover();
+
+            logger.log(Level.INFO, "[MappedFileBackingStore::initialize] Successfully Created and initialized store. "
+                    + "Working dir: " + conf.getBaseDirectory() + "; Entries: " + index.size() + "; Configuration: " + conf);
+        } catch (Exception ex) {
+            logger.log(Level.WARNING, debugStr + " Exception during initialization", ex);
+        }
+
+        try {
+            Map<String, Object> vendorMap = conf.getVendorSpecificSettings();
+            defaultMaxIdleTimeoutInSeconds = Long.parseLong(
+                    (String) vendorMap.get("max.idle.timeout.in.seconds"));
+        } catch (Exception ex) {
+            //Ignore. Use default
+        }
+    }
+
+    /*package*/ void setFileBackingStoreFactory(FileBackingStoreFactory factory) {
+        this.factory = factory;
+    }
+
+    public BackingStoreFactory getBackingStoreFactory() {
+        return factory;
+    }
+
+    @Override
+    public V load(K key, String version) throws BackingStoreException {
+        if (logger.isLoggable(TRACE_LEVEL)) {
+            logger.log(TRACE_LEVEL, debugStr + "Entered load(" + key + ", " + version + ")");
+        }
+
+        V value = null;
+        byte[] data = null;
+        for (Location location = index.get(key.toString()); location != null && data == null; ) {
+            data = location.readData();
+            if (data == null) {
+                // compaction moved the record and deleted its segment
+                location = index.get(key.toString());
+            }
+        }
+        if (data != null) {
+            try (ObjectInputStream ois =
+                     super.createObjectInputStream(new ByteArrayInputStream(data))) {
+                value = (V) ois.readObject();
+                if (logger.isLoggable(TRACE_LEVEL)) {
+                    logger.log(TRACE_LEVEL, debugStr + "Done load(" + key + ", " + version + ")");
+                }
+            } catch (Exception ex) {
+                logger.log(Level.WARNING, debugStr + "Failed to load(" + key + ", " + version + ")", ex);
+            }
+        }
+
+        return value;
+    }
+
+    @Override
+    public String save(K sessionKey, V value, boolean isNew)
+            throws BackingStoreException {
+        if (logger.isLoggable(TRACE_LEVEL)) {
+            logger.log(TRACE_LEVEL, debugStr + "Entered save(" + sessionKey + ")");
+        }
+
+        String key = sessionKey.toString();
+        byte[] data = getSerializedState(value);
+        long now = System.currentTimeMillis();
+        Location previous;
+        try {
+            synchronized (this) {
+                Location location = append(TYPE_VALUE, key, now, data, shadowedBy(index.get(key)));
+                location.segment.liveBytes.addAndGet(location.length);
+                previous = index.put(key, location);
+                if (previous != null) {
+                    previous.segment.liveBytes.addAndGet(-previous.length);
+                }
+            }
+        } catch (IOException ex) {
+            logger.log(Level.WARNING, "save(" + sessionKey + ") failed", ex);
+            throw new BackingStoreException("Could not save session: " + sessionKey, ex);
+        }
+        touched(key, previous == null ? -1 : previous.timestamp, now);
+
+        if (logger.isLoggable(TRACE_LEVEL)) {
+            logger.log(TRACE_LEVEL, debugStr + "Done save(" + sessionKey + ")");
+        }
+        return getBackingStoreConfiguration().getInstanceName();
+    }
+
+    public void remove(K sessionKey) {
+        if (logger.isLoggable(TRACE_LEVEL)) {
+            logger.log(TRACE_LEVEL, debugStr + "Entered remove(" + sessionKey + ")");
+        }
+        boolean status = remove(sessionKey.toString(), null, Long.MAX_VALUE);
+        if (logger.isLoggable(TRACE_LEVEL)) {
+            logger.log(TRACE_LEVEL, debugStr + "Done remove( " + sessionKey + "); status => " + status);
+        }
+    }
+
+    /**
+     * Removes the key. When an expected location is given, the key is only
+     * removed if it is still stored there and was not touched since the
+     * threshold.
+     */
+    private boolean remove(String key, Location expected, long threshold) {
+        Location removed;
+        try {
+            synchronized (this) {
+                if (expected == null) {
+                    removed = index.remove(key);
+                } else {
+                    // the timestamp is updated in place while holding the lock of the location
+                    synchronized (expected) {
+                        removed = expected.timestamp < threshold && index.remove(key, expected) ? expected : null;
+                    }
+                }
+                if (removed == null) {
+                    return false;
+                }
+                removed.segment.liveBytes.addAndGet(-removed.length);
+                byte[] shadowed = ByteBuffer.allocate(4).putInt(shadowedBy(removed)).array();
+                append(TYPE_REMOVED, key, System.currentTimeMillis(), shadowed, NO_SHADOW);
+            }
+        } catch (IOException ex) {
+            logger.log(Level.WARNING, debugStr + "Failed to remove(" + key + ")", ex);
+            return true;
+        }
+        Set<String> bucket = expiryBuckets.get(bucketOf(removed.timestamp));
+        if (bucket != null) {
+            bucket.remove(key);
+        }
+        return true;
+    }
+
+    public void updateTimeStamp(K k, String version, long timeStamp)
+            throws BackingStoreException {
+        updateTimestamp(k, timeStamp);
+    }
+
+    public void updateTimestamp(K sessionKey, long time)
+            throws BackingStoreException {
+        if (logger.isLoggable(TRACE_LEVEL)) {
+            logger.log(TRACE_LEVEL, debugStr + "Entered updateTimestamp(" + sessionKey + ", " + time + ")");
+        }
+        String key = sessionKey.toString();
+        Location location = index.get(key);
+        if (location == null) {
+            logger.log(Level.WARNING, debugStr
+                    + ": Cannot update timsestamp for: " + sessionKey
+                    + "; Entry does not exist");
+            return;
+        }
+        long previous;
+        do {
+            // retried if compaction moved the record meanwhile
+            synchronized (location) {
+                previous = location.timestamp;
+                location.timestamp = time;
+                location.segment.putLong(location.offset + TIMESTAMP_OFFSET, time);
+            }
+            Location current = index.get(key);
+            if (current == null || current == location) {
+                break;
+            }
+            location = current;
+        } while (true);
+        touched(key, previous, time);
+        if (logger.isLoggable(TRACE_LEVEL)) {
+            logger.log(TRACE_LEVEL, debugStr + "Done updateTimestamp(" + sessionKey + ", " + time + ")");
+        }
+    }
+
+    public int removeExpired() {
+        return removeExpired(defaultMaxIdleTimeoutInSeconds * 1000L);
+    }
+
+    public int removeExpired(long idleForMillis) {
+        long threshold = System.currentTimeMillis() - idleForMillis;
+        int expiredSessions = 0;
+        if (logger.isLoggable(TRACE_LEVEL)) {
+            logger.log(TRACE_LEVEL, debugStr + "Entered removeExpired()");
+        }
+
+        // only the buckets up to the one of the threshold can hold expired keys
+        for (Map.Entry<Long, Set<String>> bucket : expiryBuckets.headMap(bucketOf(threshold), true).entrySet()) {
+            for (Iterator<String> keys = bucket.getValue().iterator(); keys.hasNext() && !shutdown; ) {
+                String key = keys.next();
+                Location location = index.get(key);
+                if (location == null || bucketOf(location.timestamp) != bucket.getKey()) {
+                    keys.remove();
+                } else if (location.timestamp < threshold) {
+                    keys.remove();
+                    if (remove(key, location, threshold)) {
+                        expiredSessions++;
+                    } else {
+                        // touched or moved meanwhile, so it belongs to the bucket of its timestamp
+                        touched(key, -1, location.timestamp);
+                    }
+                }
+            }
+            expiryBuckets.computeIfPresent(bucket.getKey(), (id, keys) -> keys.isEmpty() ? null : keys);
+        }
+
+        try {
+            compact();
+        } catch (IOException ex) {
+            logger.log(Level.WARNING, debugStr + " Exception while compacting segments", ex);
+        }
+
+        if (logger.isLoggable(TRACE_LEVEL)) {
+            logger.log(TRACE_LEVEL, debugStr + "Done removeExpired()");
+        }
+        return expiredSessions;
+    }
+
+    @Override
+    public int size() throws BackingStoreException {
+        return index.size();
+    }
+
+    public void shutdown() {
+        shutdown = true;
+        //DO NOT DELETE THE WORKING DIRECTORY, only make sure the segments are written
+        for (Segment segment : segments.values()) {
+            segment.force();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        try {
+            if (logger.isLoggable(TRACE_LEVEL)) {
+                logger.log(TRACE_LEVEL, debugStr + "Entered destroy()");
+            }
+            synchronized (this) {
+                index.clear();
+                expiryBuckets.clear();
+                activeSegment = null;
+                for (Segment segment : segments.values()) {
+                    deleteSegment(segment);
+                }
+            }
+
+            if (baseDir.delete() == false) {
+                if (baseDir.exists()) {
+                    logger.log(Level.WARNING, debugStr + " destroy() failed to remove dir: " + baseDir.getAbsolutePath());
+                }
+            }
+            if (logger.isLoggable(TRACE_LEVEL)) {
+                logger.log(TRACE_LEVEL, debugStr + "Done destroy()");
+            }
+        } catch (Throwable th) {
+            logger.log(Level.WARNING, debugStr + " destroy() failed ", th);
+        } finally {
+            FileBackingStoreFactory.removemapping(getBackingStoreConfiguration().getStoreName());
+        }
+    }
+
+    /**
+     * @return the oldest segment which may hold a value a record of the key
+     * replacing the one at the location has to hide
+     */
+    private static int shadowedBy(Location location) {
+        return location == null ? NO_SHADOW : Math.min(location.segment.id, location.shadows);
+    }
+
+    private static long bucketOf(long timestamp) {
+        return timestamp / BUCKET_MILLIS;
+    }
+
+    /**
+     * Moves the key to the expiry bucket of its new timestamp.
+     */
+    private void touched(String key, long previous, long timestamp) {
+        long bucket = bucketOf(timestamp);
+        if (previous >= 0 && bucketOf(previous) != bucket) {
+            Set<String> previousKeys = expiryBuckets.get(bucketOf(previous));
+            if (previousKeys != null) {
+                previousKeys.remove(key);
+            }
+        }
+        expiryBuckets.compute(bucket, (id, keys) -> {
+            if (keys == null) {
+                keys = ConcurrentHashMap.newKeySet();
+            }
+            keys.add(key);
+            return keys;
+        });
+    }
+
+    /**
+     * Appends a record to the active segment, starting a new segment if the
+     * record does not fit. The record length is written last, so a record is
+     * only found after a restart once it is complete.
+     */
+    private synchronized Location append(byte type, String key, long timestamp, byte[] data, int shadows)
+            throws IOException {
+        byte[] keyBytes = key.getBytes(UTF_8);
+        int length = HEADER_SIZE + keyBytes.length + data.length;
+        if (activeSegment == null || activeSegment.position + length > activeSegment.capacity) {
+            activeSegment = createSegment(length);
+        }
+
+        Segment segment = activeSegment;
+        int offset = segment.position;
+        ByteBuffer buffer = segment.buffer.duplicate();
+        buffer.position(offset + 4);
+        buffer.put(type).putLong(timestamp).putInt(keyBytes.length).put(keyBytes).put(data);
+        segment.buffer.putInt(offset, length);
+        segment.position = offset + length;
+        return new Location(segment, offset, length, keyBytes.length, timestamp, shadows);
+    }
+
+    private Segment createSegment(int minimumSize) throws IOException {
+        int id = segments.isEmpty() ? 0 : segments.lastKey() + 1;
+        Segment segment = openSegment(id, Math.max(segmentSize, minimumSize + 4));
+        segments.put(id, segment);
+        return segment;
+    }
+
+    private Segment openSegment(int id, int size) throws IOException {
+        File file = new File(baseDir, SEGMENT_PREFIX + id + SEGMENT_SUFFIX);
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            int capacity = (int) Math.max(size, channel.size());
+            return new Segment(id, file, channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity));
+        }
+    }
+
+    private void deleteSegment(Segment segment) {
+        segments.remove(segment.id);
+        if (activeSegment != null) {
+            // the records moved out of the segment have to be written first
+            activeSegment.force();
+        }
+        segment.close();
+        if (!segment.file.delete() && segment.file.exists()) {
+            logger.log(Level.WARNING, debugStr + " Could not delete the empty segment " + segment.file.getAbsolutePath());
+        }
+    }
+
+    /**
+     * Rebuilds the index from the segments left by a previous run.
+     */
+    private synchronized void recover() throws IOException {
+        File[] files = baseDir.listFiles((dir, name) -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX));
+        if (files == null) {
+            return;
+        }
+        for (File file : files) {
+            String name = file.getName();
+            try {
+                int id = Integer.parseInt(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+                segments.put(id, openSegment(id, 0));
+            } catch (NumberFormatException ex) {
+                logger.log(Level.WARNING, debugStr + " Ignoring unexpected file " + name);
+            }
+        }
+
+        for (Segment segment : segments.values()) {
+            int offset = 0;
+            while (offset + HEADER_SIZE <= segment.capacity) {
+                int length = segment.buffer.getInt(offset);
+                if (length < HEADER_SIZE || offset + length > segment.capacity) {
+                    break;
+                }
+                byte type = segment.buffer.get(offset + 4);
+                int keyLength = segment.buffer.getInt(offset + TIMESTAMP_OFFSET + 8);
+                String key = readKey(segment, offset, keyLength);
+                Location location = new Location(segment, offset, length, keyLength,
+                        segment.buffer.getLong(offset + TIMESTAMP_OFFSET), shadowedBy(index.get(key)));
+                Location previous = type == TYPE_VALUE ? index.put(key, location) : index.remove(key);
+                if (type == TYPE_VALUE) {
+                    segment.liveBytes.addAndGet(length);
+                }
+                if (previous != null) {
+                    previous.segment.liveBytes.addAndGet(-previous.length);
+                }
+                offset += length;
+            }
+            segment.position = offset;
+            activeSegment = segment;
+        }
+
+        // left behind when a compacted segment could not be deleted
+        for (Segment segment : segments.values()) {
+            if (segment.position == 0 && segment != activeSegment) {
+                deleteSegment(segment);
+            }
+        }
+
+        for (Map.Entry<String, Location> entry : index.entrySet()) {
+            touched(entry.getKey(), -1, entry.getValue().timestamp);
+        }
+    }
+
+    /**
+     * Copies the live records of sealed segments holding mostly superseded
+     * records to the active segment and deletes them. Tombstones are only
+     * copied while a segment older than theirs, holding a value they hide,
+     * is left.
+     */
+    private synchronized void compact() throws IOException {
+        for (Segment segment : segments.values()) {
+            if (shutdown || segment == activeSegment
+                    || segment.liveBytes.get() >= segment.position * COMPACTION_RATIO) {
+                continue;
+            }
+            int offset = 0;
+            while (offset < segment.position) {
+                int length = segment.buffer.getInt(offset);
+                byte type = segment.buffer.get(offset + 4);
+                int keyLength = segment.buffer.getInt(offset + TIMESTAMP_OFFSET + 8);
+                String key = readKey(segment, offset, keyLength);
+                if (type == TYPE_VALUE) {
+                    Location current = index.get(key);
+                    if (current != null && current.segment == segment && current.offset == offset) {
+                        synchronized (current) {
+                            // the copy hides what the original did, and the original is deleted
+                            Location moved = append(TYPE_VALUE, key, current.timestamp, current.readData(), current.shadows);
+                            moved.segment.liveBytes.addAndGet(moved.length);
+                            index.put(key, moved);
+                        }
+                    }
+                } else {
+                    int dataOffset = offset + HEADER_SIZE + keyLength;
+                    int shadowed = length - HEADER_SIZE - keyLength >= 4 ? segment.buffer.getInt(dataOffset) : 0;
+                    if (shadowed < segment.id && !segments.subMap(shadowed, segment.id).isEmpty()) {
+                        append(TYPE_REMOVED, key, segment.buffer.getLong(offset + TIMESTAMP_OFFSET),
+                                ByteBuffer.allocate(4).putInt(shadowed).array(), NO_SHADOW);
+                    }
+                }
+                offset += length;
+            }
+            if (logger.isLoggable(TRACE_LEVEL)) {
+                logger.log(TRACE_LEVEL, debugStr + "Compacted segment " + segment.file.getName());
+            }
+            deleteSegment(segment);
+        }
+    }
+
+    private static String readKey(Segment segment, int offset, int keyLength) {
+        byte[] key = new byte[keyLength];
+        ByteBuffer buffer = segment.buffer.duplicate();
+        buffer.position(offset + HEADER_SIZE);
+        buffer.get(key);
+        return new String(key, UTF_8);
+    }
+
+    private byte[] getSerializedState(V value)
+            throws BackingStoreException {
+        try (ByteArrayOutputStream bos = new ByteArrayOutputStream();
+                ObjectOutputStream oos = new ObjectOutputStream(bos)) {
+            oos.writeObject(value);
+            oos.flush();
+            return bos.toByteArray();
+        } catch (IOException ioEx) {
+            throw new BackingStoreException("Error during getSerializedState", ioEx);
+        }
+    }
+
+    /**
+     * A memory-mapped log file.
+     */
+    private static final class Segment {
+
+        final int id;
+        final File file;
+        final MappedByteBuffer buffer;
+        final int capacity;
+
+        // bytes of the records still referenced by the index
+        final AtomicLong liveBytes = new AtomicLong();
+
+        // end of the records; changed only while holding the lock of the store
+        volatile int position;
+
+        // keeps the mapping from being released while it is used without
+        // holding the lock of the store; closed only while holding that lock
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        private boolean closed;
+
+        Segment(int id, File file, MappedByteBuffer buffer) {
+            this.id = id;
+            this.file = file;
+            this.buffer = buffer;
+            this.capacity = buffer.capacity();
+        }
+
+        /**
+         * @return the bytes, or null if the segment was deleted meanwhile
+         */
+        byte[] read(int offset, int length) {
+            lock.readLock().lock();
+            try {
+                if (closed) {
+                    return null;
+                }
+                byte[] bytes = new byte[length];
+                ByteBuffer view = buffer.duplicate();
+                view.position(offset);
+                view.get(bytes);
+                return bytes;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        void putLong(int offset, long value) {
+            lock.readLock().lock();
+            try {
+                if (!closed) {
+                    buffer.putLong(offset, value);
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        void force() {
+            lock.readLock().lock();
+            try {
+                if (!closed) {
+                    buffer.force();
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        /**
+         * Empties the segment, so that its records are not recovered even if
+         * the file cannot be deleted, and releases the mapping so that it can.
+         */
+        void close() {
+            lock.writeLock().lock();
+            try {
+                if (!closed) {
+                    closed = true;
+                    buffer.putInt(0, 0);
+                    buffer.force();
+                    FileUtils.unmap(buffer);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * The location of the latest record of a key.
+     */
+    private static final class Location {
+
+        final Segment segment;
+        final int offset;
+        final int length;
+        final int keyLength;
+
+        // oldest segment which may hold an older value of the key, or NO_SHADOW
+        final int shadows;
+
+        // last save or access; updated in place when the key is touched
+        volatile long timestamp;
+
+        Location(Segment segment, int offset, int length, int keyLength, long timestamp, int shadows) {
+            this.segment = segment;
+            this.offset = offset;
+            this.length = length;
+            this.keyLength = keyLength;
+            this.timestamp = timestamp;
+            this.shadows = shadows;
+        }
+
+        /**
+         * @return the data, or null if compaction moved the record meanwhile
+         */
+        byte[] readData() {
+            return segment.read(offset + HEADER_SIZE + keyLength, length - HEADER_SIZE - keyLength);
+        }
+    }
+}
@@ -0,0 +1,197 @@
+/*
+ *
+ *  DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ *  Copyright (c) 2026 Payara Foundation and/or its affiliates. All rights reserved.
+ *
+ *  The contents of this file are subject to the terms of either the GNU
+ *  General Public License Version 2 only ("GPL") or the Common Development
+ *  and Distribution License("CDDL") (collectively, the "License").  You
+ *  may not use this file except in compliance with the License.  You can
+ *  obtain a copy of the License at
+ *  https://github.com/payara/Payara/blob/main/LICENSE.txt
+ *  See the License for the specific
+ *  language governing permissions and limitations under the License.
+ *
+ *  When distributing the software, include this License Header Notice in each
+ *  file and include the License file at glassfish/legal/LICENSE.txt.
+ *
+ *  GPL Classpath Exception:
+ *  The Payara Foundation designates this particular file as subject to the "Classpath"
+ *  exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ *  file that accompanied this code.
+ *
+ *  Modifications:
+ *  If applicable, add the following below the License Header, with the fields
+ *  enclosed by brackets [] replaced by your own identifying information:
+ *  "Portions Copyright [year] [name of copyright owner]"
+ *
+ *  Contributor(s):
+ *  If you wish your version of this file to be governed by only the CDDL or
+ *  only the GPL Version 2, indicate your decision by adding "[Contributor]
+ *  elects to include this software in this distribution under the [CDDL or GPL
+ *  Version 2] license."  If you don't indicate a single choice of license, a
+ *  recipient has the option to distribute your version of this file under
+ *  either the CDDL, the GPL Version 2 or to extend the choice of license to
+ *  its licensees as provided above.  However, if you add GPL Version 2 code
+ *  and therefore, elected the GPL Version 2 license, then the option applies
+ *  only if the new code is made subject to such option by the copyright
+ *  holder.
+ *
+ */
+package org.glassfish.ha.store.adapter.file;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import org.glassfish.ha.store.api.BackingStoreConfiguration;
+import org.glassfish.ha.store.api.BackingStoreException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.glassfish.ha.store.adapter.file.MappedFileBackingStore.SEGMENT_PREFIX;
+import static org.glassfish.ha.store.adapter.file.MappedFileBackingStore.SEGMENT_SUFFIX;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class MappedFileBackingStoreTest {
+
+    private static final String SEGMENT_SIZE_PROPERTY = "fish.payara.ha.file.store.segment.size";
+
+    private File baseDir;
+
+    private MappedFileBackingStore<String, String> store;
+
+    @Before
+    public void createStore() throws Exception {
+        System.setProperty(SEGMENT_SIZE_PROPERTY, "512");
+        baseDir = Files.createTempDirectory("mapped-store").toFile();
+        store = open();
+    }
+
+    @After
+    public void destroyStore() {
+        System.clearProperty(SEGMENT_SIZE_PROPERTY);
+        store.destroy();
+        for (File file : segmentFiles()) {
+            file.delete();
+        }
+        baseDir.delete();
+    }
+
+    @Test
+    public void entriesAreRecoveredAfterRestart() throws Exception {
+        store.save("a", "value a", true);
+        store.save("b", "value b", true);
+        store.save("b", "value b2", false);
+        store.remove("a");
+
+        store = restart();
+
+        assertNull(store.load("a", null));
+        assertEquals("value b2", store.load("b", null));
+        assertEquals(1, store.size());
+    }
+
+    @Test
+    public void onlyIdleEntriesExpire() throws Exception {
+        long now = System.currentTimeMillis();
+        store.save("idle", "value", true);
+        store.save("active", "value", true);
+        store.updateTimestamp("idle", now - 60_000);
+
+        assertEquals(1, store.removeExpired(30_000));
+
+        assertNull(store.load("idle", null));
+        assertEquals("value", store.load("active", null));
+    }
+
+    @Test
+    public void compactedSegmentsAreDeleted() throws Exception {
+        for (int i = 0; i < 100; i++) {
+            store.save("key", "value " + i, false);
+        }
+        int before = segmentFiles().length;
+
+        store.removeExpired(Long.MAX_VALUE);
+
+        assertTrue(segmentFiles().length < before);
+        assertEquals("value 99", store.load("key", null));
+        store = restart();
+        assertEquals("value 99", store.load("key", null));
+    }
+
+    @Test
+    public void removedEntriesStayRemovedAfterCompaction() throws Exception {
+        store.save("removed", "value", true);
+        store.save("removed", "value 2", false);
+        store.remove("removed");
+        for (int i = 0; i < 100; i++) {
+            store.save("other", "value " + i, false);
+            store.removeExpired(Long.MAX_VALUE);
+        }
+
+        store = restart();
+
+        assertNull(store.load("removed", null));
+        assertEquals("value 99", store.load("other", null));
+    }
+
+    @Test
+    public void tombstonesAreDroppedOnceNothingIsLeftToHide() throws Exception {
+        // fills the first segment with live data, so it is never compacted
+        char[] large = new char[450];
+        Arrays.fill(large, 'x');
+        store.save("keeper", new String(large), true);
+        store.save("removed", "value", true);
+        store.remove("removed");
+        for (int i = 0; i < 100; i++) {
+            store.save("other", "value " + i, false);
+            store.removeExpired(Long.MAX_VALUE);
+        }
+
+        assertFalse(anySegmentContains("removed"));
+        store = restart();
+        assertNull(store.load("removed", null));
+        assertEquals(new String(large), store.load("keeper", null));
+    }
+
+    private MappedFileBackingStore<String, String> open() throws BackingStoreException {
+        BackingStoreConfiguration<String, String> conf = new BackingStoreConfiguration<>();
+        conf.setStoreName("test").setInstanceName("instance")
+                .setBaseDirectory(baseDir)
+                .setKeyClazz(String.class).setValueClazz(String.class)
+                .setClassLoader(getClass().getClassLoader());
+        MappedFileBackingStore<String, String> opened = new MappedFileBackingStore<>();
+        opened.initialize(conf);
+        return opened;
+    }
+
+    private MappedFileBackingStore<String, String> restart() throws BackingStoreException {
+        store.shutdown();
+        return open();
+    }
+
+    private File[] segmentFiles() {
+        File[] files = baseDir.listFiles((dir, name) -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX));
+        return files == null ? new File[0] : files;
+    }
+
+    private boolean anySegmentContains(String text) throws IOException {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        for (File file : segmentFiles()) {
+            byte[] content = Files.readAllBytes(file.toPath());
+            for (int i = 0; i + bytes.length <= content.length; i++) {
+                if (Arrays.equals(bytes, Arrays.copyOfRange(content, i, i + bytes.length))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -1,7 +1,7 @@
 /*
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  *
- * Copyright (c) 2016-2020 Payara Foundation and/or its affiliates. All rights reserved.
+ * Copyright (c) 2016-2026 Payara Foundation and/or its affiliates. All rights reserved.
  *
  * The contents of this file are subject to the terms of either the GNU
  * General Public License Version 2 only ("GPL") or the Common Development
@@ -43,7 +43,9 @@ import fish.payara.nucleus.store.ClusteredStore;
 import org.glassfish.ha.store.api.BackingStore;
 import org.glassfish.ha.store.api.BackingStoreException;
 import org.glassfish.ha.store.api.BackingStoreFactory;
+import org.glassfish.ha.store.api.Storeable;
 
+import java.io.IOException;
 import java.io.Serializable;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -59,11 +61,22 @@ public class HazelcastBackingStore<K extends Serializable, V extends Serializabl
     private final String storeName;
     private String instanceName;
     private ClusteredStore clusteredStore;
+    private final boolean deltaReplication;
 
     public HazelcastBackingStore(BackingStoreFactory factory, String storeName, ClusteredStore clusteredStore) {
+        this(factory, storeName, clusteredStore, false);
+    }
+
+    /**
+     * @param deltaReplication if true, only the dirty parts of {@link Storeable}
+     * values are sent and merged into the value held by the owning member
+     */
+    public HazelcastBackingStore(BackingStoreFactory factory, String storeName, ClusteredStore clusteredStore,
+            boolean deltaReplication) {
         this.factory = factory;
         this.storeName = storeName;
         this.clusteredStore = clusteredStore;
+        this.deltaReplication = deltaReplication;
     }
 
     @Override
@@ -86,8 +99,18 @@ public class HazelcastBackingStore<K extends Serializable, V extends Serializabl
     @Override
     public String save(K k, V v, boolean bln) throws BackingStoreException {
         init();
+        if (deltaReplication && v instanceof Storeable) {
+            try {
+                // falls back to storing the whole value when the owner has none to merge into
+                if (Boolean.TRUE.equals(clusteredStore.executeOnKey(storeName, k, new StoreableDeltaProcessor((Storeable) v)))) {
+                    return instanceName;
+                }
+            } catch (IOException ex) {
+                throw new BackingStoreException("Could not write the state of " + k, ex);
+            }
+        }
         clusteredStore.set(storeName, k, v);
-        
+
         return instanceName;
     }
 
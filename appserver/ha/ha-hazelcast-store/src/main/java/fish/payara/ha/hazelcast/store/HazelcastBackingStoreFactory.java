@@ -1,7 +1,7 @@
 /*
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  *
- * Copyright (c) 2016-2021 Payara Foundation and/or its affiliates. All rights reserved.
+ * Copyright (c) 2016-2026 Payara Foundation and/or its affiliates. All rights reserved.
  *
  * The contents of this file are subject to the terms of either the GNU
  * General Public License Version 2 only ("GPL") or the Common Development
@@ -48,6 +48,7 @@ import org.glassfish.ha.store.api.BackingStoreConfiguration;
 import org.glassfish.ha.store.api.BackingStoreException;
 import org.glassfish.ha.store.api.BackingStoreFactory;
 import org.glassfish.ha.store.api.BackingStoreTransaction;
+import org.glassfish.web.ha.session.management.ReplicationManagerBase;
 import org.jvnet.hk2.annotations.Service;
 
 /**
@@ -56,6 +57,13 @@ import org.jvnet.hk2.annotations.Service;
  */
 @Service(name = "hazelcast-factory")
 public class HazelcastBackingStoreFactory implements BackingStoreFactory {
+
+    /**
+     * System property enabling the replication of only the modified session
+     * attributes, which are then merged on the member owning the session.
+     */
+    public static final String DELTA_REPLICATION_PROPERTY = "fish.payara.ha.hazelcast.store.delta";
+
     @Inject
     HazelcastCore core;
 
@@ -64,7 +72,11 @@ public class HazelcastBackingStoreFactory implements BackingStoreFactory {
 
     @Override
     public <K extends Serializable, V extends Serializable> BackingStore<K, V> createBackingStore(BackingStoreConfiguration<K, V> bsc) throws BackingStoreException {
-        return new HazelcastBackingStore<>(this, bsc.getStoreName(), clusteredStore);
+        boolean deltaReplication = Boolean.getBoolean(DELTA_REPLICATION_PROPERTY);
+        if (deltaReplication) {
+            bsc.getVendorSpecificSettings().put(ReplicationManagerBase.DELTA_REPLICATION_PROPERTY, true);
+        }
+        return new HazelcastBackingStore<>(this, bsc.getStoreName(), clusteredStore, deltaReplication);
     }
 
     @Override
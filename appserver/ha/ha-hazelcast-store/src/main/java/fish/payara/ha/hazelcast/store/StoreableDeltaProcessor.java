@@ -0,0 +1,98 @@
+/*
+ *
+ *  DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ *  Copyright (c) 2026 Payara Foundation and/or its affiliates. All rights reserved.
+ *
+ *  The contents of this file are subject to the terms of either the GNU
+ *  General Public License Version 2 only ("GPL") or the Common Development
+ *  and Distribution License("CDDL") (collectively, the "License").  You
+ *  may not use this file except in compliance with the License.  You can
+ *  obtain a copy of the License at
+ *  https://github.com/payara/Payara/blob/main/LICENSE.txt
+ *  See the License for the specific
+ *  language governing permissions and limitations under the License.
+ *
+ *  When distributing the software, include this License Header Notice in each
+ *  file and include the License file at glassfish/legal/LICENSE.txt.
+ *
+ *  GPL Classpath Exception:
+ *  The Payara Foundation designates this particular file as subject to the "Classpath"
+ *  exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ *  file that accompanied this code.
+ *
+ *  Modifications:
+ *  If applicable, add the following below the License Header, with the fields
+ *  enclosed by brackets [] replaced by your own identifying information:
+ *  "Portions Copyright [year] [name of copyright owner]"
+ *
+ *  Contributor(s):
+ *  If you wish your version of this file to be governed by only the CDDL or
+ *  only the GPL Version 2, indicate your decision by adding "[Contributor]
+ *  elects to include this software in this distribution under the [CDDL or GPL
+ *  Version 2] license."  If you don't indicate a single choice of license, a
+ *  recipient has the option to distribute your version of this file under
+ *  either the CDDL, the GPL Version 2 or to extend the choice of license to
+ *  its licensees as provided above.  However, if you add GPL Version 2 code
+ *  and therefore, elected the GPL Version 2 license, then the option applies
+ *  only if the new code is made subject to such option by the copyright
+ *  holder.
+ *
+ */
+package fish.payara.ha.hazelcast.store;
+
+import com.hazelcast.map.EntryProcessor;
+import org.glassfish.ha.store.api.Storeable;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+
+/**
+ * Merges the dirty parts of a {@link Storeable} into the value stored on the
+ * member owning the key, so that the unchanged parts are not sent again.
+ * <p>
+ * A delta can only be applied to a complete value. If the owner holds no
+ * value for the key, or one of another class, the entry is left untouched
+ * and the processor returns {@code false}, so that the caller stores the
+ * whole value instead.
+ *
+ * @author Payara Foundation
+ */
+public class StoreableDeltaProcessor implements EntryProcessor<Object, Object, Boolean> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Class<? extends Storeable> storeableClass;
+
+    private final byte[] delta;
+
+    public StoreableDeltaProcessor(Storeable value) throws IOException {
+        this.storeableClass = value.getClass();
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        value._storeable_writeState(bos);
+        this.delta = bos.toByteArray();
+    }
+
+    /**
+     * @return {@code true} if the delta was merged into the stored value,
+     * {@code false} if there was no value it could be merged into
+     */
+    @Override
+    public Boolean process(Map.Entry<Object, Object> entry) {
+        Object value = entry.getValue();
+        if (!storeableClass.isInstance(value)) {
+            return Boolean.FALSE;
+        }
+        Storeable storeable = (Storeable) value;
+        try {
+            storeable._storeable_readState(new ByteArrayInputStream(delta));
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        entry.setValue(storeable);
+        return Boolean.TRUE;
+    }
+}
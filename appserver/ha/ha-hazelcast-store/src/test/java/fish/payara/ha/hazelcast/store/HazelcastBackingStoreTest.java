@@ -0,0 +1,158 @@
+/*
+ *
+ *  DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ *  Copyright (c) 2026 Payara Foundation and/or its affiliates. All rights reserved.
+ *
+ *  The contents of this file are subject to the terms of either the GNU
+ *  General Public License Version 2 only ("GPL") or the Common Development
+ *  and Distribution License("CDDL") (collectively, the "License").  You
+ *  may not use this file except in compliance with the License.  You can
+ *  obtain a copy of the License at
+ *  https://github.com/payara/Payara/blob/main/LICENSE.txt
+ *  See the License for the specific
+ *  language governing permissions and limitations under the License.
+ *
+ *  When distributing the software, include this License Header Notice in each
+ *  file and include the License file at glassfish/legal/LICENSE.txt.
+ *
+ *  GPL Classpath Exception:
+ *  The Payara Foundation designates this particular file as subject to the "Classpath"
+ *  exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ *  file that accompanied this code.
+ *
+ *  Modifications:
+ *  If applicable, add the following below the License Header, with the fields
+ *  enclosed by brackets [] replaced by your own identifying information:
+ *  "Portions Copyright [year] [name of copyright owner]"
+ *
+ *  Contributor(s):
+ *  If you wish your version of this file to be governed by only the CDDL or
+ *  only the GPL Version 2, indicate your decision by adding "[Contributor]
+ *  elects to include this software in this distribution under the [CDDL or GPL
+ *  Version 2] license."  If you don't indicate a single choice of license, a
+ *  recipient has the option to distribute your version of this file under
+ *  either the CDDL, the GPL Version 2 or to extend the choice of license to
+ *  its licensees as provided above.  However, if you add GPL Version 2 code
+ *  and therefore, elected the GPL Version 2 license, then the option applies
+ *  only if the new code is made subject to such option by the copyright
+ *  holder.
+ *
+ */
+package fish.payara.ha.hazelcast.store;
+
+import com.hazelcast.map.EntryProcessor;
+import fish.payara.nucleus.store.ClusteredStore;
+import java.io.IOException;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.util.AbstractMap.SimpleEntry;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+
+public class HazelcastBackingStoreTest {
+
+    private final LocalStore clusteredStore = new LocalStore();
+
+    private final HazelcastBackingStore<String, TestSession> store
+            = new HazelcastBackingStore<>(null, "sessions", clusteredStore, true);
+
+    @Test
+    public void firstSaveStoresWholeSession() throws Exception {
+        TestSession session = new TestSession().set("a", "1").clean().set("b", "2");
+
+        store.save("id", session, true);
+
+        TestSession stored = store.load("id", null);
+        assertNotSame(session, stored);
+        assertEquals(session.getAttributes(), stored.getAttributes());
+        assertEquals(1, clusteredStore.fullStores);
+    }
+
+    @Test
+    public void laterSavesOnlyMergeDirtyAttributes() throws Exception {
+        TestSession session = new TestSession().set("a", "1").set("b", "2");
+        store.save("id", session, true);
+
+        session.clean().set("b", "3").set("c", "4");
+        store.save("id", session, false);
+
+        TestSession stored = store.load("id", null);
+        assertEquals(session.getAttributes(), stored.getAttributes());
+        assertEquals(1, clusteredStore.fullStores);
+    }
+
+    @Test
+    public void removedSessionIsStoredWhole() throws Exception {
+        TestSession session = new TestSession().set("a", "1").set("b", "2");
+        store.save("id", session, true);
+        store.remove("id");
+
+        session.clean().set("b", "3");
+        store.save("id", session, false);
+
+        TestSession stored = store.load("id", null);
+        assertEquals(session.getAttributes(), stored.getAttributes());
+        assertEquals(2, clusteredStore.fullStores);
+    }
+
+    /**
+     * Keeps copies of the values, as a remote member would.
+     */
+    private static class LocalStore extends ClusteredStore {
+
+        private final UUID instanceId = UUID.randomUUID();
+        private final Map<Serializable, Serializable> values = new HashMap<>();
+        private int fullStores;
+
+        @Override
+        public UUID getInstanceId() {
+            return instanceId;
+        }
+
+        @Override
+        public boolean isEnabled() {
+            return true;
+        }
+
+        @Override
+        public boolean set(String storeName, Serializable key, Serializable value) {
+            fullStores++;
+            values.put(key, copy(value));
+            return true;
+        }
+
+        @Override
+        public <R> R executeOnKey(String storeName, Serializable key, EntryProcessor<Object, Object, R> processor) {
+            Map.Entry<Object, Object> entry = new SimpleEntry<>(key, values.get(key));
+            R result = processor.process(entry);
+            if (entry.getValue() != null) {
+                values.put(key, (Serializable) entry.getValue());
+            }
+            return result;
+        }
+
+        @Override
+        public boolean remove(String storeName, Serializable key) {
+            return values.remove(key) != null;
+        }
+
+        @Override
+        public Serializable get(String storeName, Serializable key) {
+            return copy(values.get(key));
+        }
+
+        private static Serializable copy(Serializable value) {
+            try {
+                return value == null ? null : ((TestSession) value).copy();
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+    }
+}
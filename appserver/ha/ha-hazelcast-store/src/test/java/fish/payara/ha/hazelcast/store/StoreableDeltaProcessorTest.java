@@ -0,0 +1,89 @@
+/*
+ *
+ *  DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ *  Copyright (c) 2026 Payara Foundation and/or its affiliates. All rights reserved.
+ *
+ *  The contents of this file are subject to the terms of either the GNU
+ *  General Public License Version 2 only ("GPL") or the Common Development
+ *  and Distribution License("CDDL") (collectively, the "License").  You
+ *  may not use this file except in compliance with the License.  You can
+ *  obtain a copy of the License at
+ *  https://github.com/payara/Payara/blob/main/LICENSE.txt
+ *  See the License for the specific
+ *  language governing permissions and limitations under the License.
+ *
+ *  When distributing the software, include this License Header Notice in each
+ *  file and include the License file at glassfish/legal/LICENSE.txt.
+ *
+ *  GPL Classpath Exception:
+ *  The Payara Foundation designates this particular file as subject to the "Classpath"
+ *  exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ *  file that accompanied this code.
+ *
+ *  Modifications:
+ *  If applicable, add the following below the License Header, with the fields
+ *  enclosed by brackets [] replaced by your own identifying information:
+ *  "Portions Copyright [year] [name of copyright owner]"
+ *
+ *  Contributor(s):
+ *  If you wish your version of this file to be governed by only the CDDL or
+ *  only the GPL Version 2, indicate your decision by adding "[Contributor]
+ *  elects to include this software in this distribution under the [CDDL or GPL
+ *  Version 2] license."  If you don't indicate a single choice of license, a
+ *  recipient has the option to distribute your version of this file under
+ *  either the CDDL, the GPL Version 2 or to extend the choice of license to
+ *  its licensees as provided above.  However, if you add GPL Version 2 code
+ *  and therefore, elected the GPL Version 2 license, then the option applies
+ *  only if the new code is made subject to such option by the copyright
+ *  holder.
+ *
+ */
+package fish.payara.ha.hazelcast.store;
+
+import java.util.AbstractMap.SimpleEntry;
+import java.util.Map;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class StoreableDeltaProcessorTest {
+
+    @Test
+    public void deltaIsMergedIntoStoredValue() throws Exception {
+        TestSession stored = new TestSession().set("a", "1").set("b", "2").clean();
+        TestSession local = stored.copy().clean().set("b", "3");
+        local._storeable_setVersion(2);
+        Map.Entry<Object, Object> entry = new SimpleEntry<>("id", stored);
+
+        assertTrue(new StoreableDeltaProcessor(local).process(entry));
+
+        TestSession merged = (TestSession) entry.getValue();
+        assertEquals("1", merged.get("a"));
+        assertEquals("3", merged.get("b"));
+        assertEquals(2, merged._storeable_getVersion());
+    }
+
+    @Test
+    public void missingValueIsLeftForFullStore() throws Exception {
+        TestSession local = new TestSession().set("a", "1").clean().set("b", "2");
+        Map.Entry<Object, Object> entry = new SimpleEntry<>("id", null);
+
+        assertFalse(new StoreableDeltaProcessor(local).process(entry));
+        assertNull(entry.getValue());
+    }
+
+    @Test
+    public void valueOfAnotherClassIsLeftUntouched() throws Exception {
+        TestSession local = new TestSession().set("a", "1");
+        Object stored = "not a session";
+        Map.Entry<Object, Object> entry = new SimpleEntry<>("id", stored);
+
+        assertFalse(new StoreableDeltaProcessor(local).process(entry));
+        assertSame(stored, entry.getValue());
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ *
+ *  DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ *  Copyright (c) 2026 Payara Foundation and/or its affiliates. All rights reserved.
+ *
+ *  The contents of this file are subject to the terms of either the GNU
+ *  General Public License Version 2 only ("GPL") or the Common Development
+ *  and Distribution License("CDDL") (collectively, the "License").  You
+ *  may not use this file except in compliance with the License.  You can
+ *  obtain a copy of the License at
+ *  https://github.com/payara/Payara/blob/main/LICENSE.txt
+ *  See the License for the specific
+ *  language governing permissions and limitations under the License.
+ *
+ *  When distributing the software, include this License Header Notice in each
+ *  file and include the License file at glassfish/legal/LICENSE.txt.
+ *
+ *  GPL Classpath Exception:
+ *  The Payara Foundation designates this particular file as subject to the "Classpath"
+ *  exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ *  file that accompanied this code.
+ *
+ *  Modifications:
+ *  If applicable, add the following below the License Header, with the fields
+ *  enclosed by brackets [] replaced by your own identifying information:
+ *  "Portions Copyright [year] [name of copyright owner]"
+ *
+ *  Contributor(s):
+ *  If you wish your version of this file to be governed by only the CDDL or
+ *  only the GPL Version 2, indicate your decision by adding "[Contributor]
+ *  elects to include this software in this distribution under the [CDDL or GPL
+ *  Version 2] license."  If you don't indicate a single choice of license, a
+ *  recipient has the option to distribute your version of this file under
+ *  either the CDDL, the GPL Version 2 or to extend the choice of license to
+ *  its licensees as provided above.  However, if you add GPL Version 2 code
+ *  and therefore, elected the GPL Version 2 license, then the option applies
+ *  only if the new code is made subject to such option by the copyright
+ *  holder.
+ *
+ */
+package fish.payara.ha.hazelcast.store;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import org.glassfish.ha.store.api.Storeable;
+
+/**
+ * A minimal session like {@link Storeable} which only writes the attributes
+ * changed since it was last written.
+ */
+public class TestSession implements Storeable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Map<String, String> attributes = new TreeMap<>();
+    private final TreeSet<String> dirty = new TreeSet<>();
+    private long version;
+    private long lastAccessTime;
+    private long maxIdleTime;
+
+    public TestSession() {
+    }
+
+    public TestSession set(String name, String value) {
+        attributes.put(name, value);
+        dirty.add(name);
+        return this;
+    }
+
+    public String get(String name) {
+        return attributes.get(name);
+    }
+
+    public TestSession clean() {
+        dirty.clear();
+        return this;
+    }
+
+    public TestSession copy() throws IOException {
+        TestSession copy = new TestSession();
+        TestSession full = new TestSession();
+        full.attributes.putAll(attributes);
+        full.dirty.addAll(attributes.keySet());
+        full.version = version;
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        full._storeable_writeState(bos);
+        copy._storeable_readState(new ByteArrayInputStream(bos.toByteArray()));
+        return copy;
+    }
+
+    public Map<String, String> getAttributes() {
+        return attributes;
+    }
+
+    @Override
+    public long _storeable_getVersion() {
+        return version;
+    }
+
+    @Override
+    public void _storeable_setVersion(long version) {
+        this.version = version;
+    }
+
+    @Override
+    public long _storeable_getLastAccessTime() {
+        return lastAccessTime;
+    }
+
+    @Override
+    public void _storeable_setLastAccessTime(long lastAccessTime) {
+        this.lastAccessTime = lastAccessTime;
+    }
+
+    @Override
+    public long _storeable_getMaxIdleTime() {
+        return maxIdleTime;
+    }
+
+    @Override
+    public void _storeable_setMaxIdleTime(long maxIdleTime) {
+        this.maxIdleTime = maxIdleTime;
+    }
+
+    @Override
+    public String[] _storeable_getAttributeNames() {
+        return attributes.keySet().toArray(new String[0]);
+    }
+
+    @Override
+    public boolean[] _storeable_getDirtyStatus() {
+        String[] names = _storeable_getAttributeNames();
+        boolean[] status = new boolean[names.length];
+        for (int i = 0; i < names.length; i++) {
+            status[i] = dirty.contains(names[i]);
+        }
+        return status;
+    }
+
+    @Override
+    public void _storeable_writeState(OutputStream os) throws IOException {
+        DataOutputStream dos = new DataOutputStream(os);
+        dos.writeLong(version);
+        dos.writeInt(dirty.size());
+        for (String name : dirty) {
+            dos.writeUTF(name);
+            dos.writeUTF(attributes.get(name));
+        }
+        dos.flush();
+    }
+
+    @Override
+    public void _storeable_readState(InputStream is) throws IOException {
+        DataInputStream dis = new DataInputStream(is);
+        version = dis.readLong();
+        int count = dis.readInt();
+        for (int i = 0; i < count; i++) {
+            attributes.put(dis.readUTF(), dis.readUTF());
+        }
+    }
+}
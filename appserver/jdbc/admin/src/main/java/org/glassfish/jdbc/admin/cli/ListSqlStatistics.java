@@ -0,0 +1,161 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2026 Payara Foundation and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://glassfish.dev.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jdbc.admin.cli;
+
+import com.sun.enterprise.config.serverbeans.Resources;
+import com.sun.enterprise.util.ColumnFormatter;
+import com.sun.enterprise.util.LocalStringManagerImpl;
+import fish.payara.jdbc.statistics.SQLStatistics;
+import fish.payara.jdbc.statistics.SQLStatisticsStore;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import jakarta.inject.Inject;
+import org.glassfish.api.ActionReport;
+import org.glassfish.api.I18n;
+import org.glassfish.api.Param;
+import org.glassfish.api.admin.AdminCommand;
+import org.glassfish.api.admin.AdminCommandContext;
+import org.glassfish.api.admin.CommandLock;
+import org.glassfish.api.admin.ExecuteOn;
+import org.glassfish.api.admin.RestEndpoint;
+import org.glassfish.api.admin.RestEndpoints;
+import org.glassfish.api.admin.RuntimeType;
+import org.glassfish.api.admin.ServerEnvironment;
+import org.glassfish.config.support.CommandTarget;
+import org.glassfish.config.support.TargetType;
+import org.glassfish.hk2.api.PerLookup;
+import org.glassfish.internal.api.Target;
+import org.jvnet.hk2.annotations.Service;
+
+/**
+ * Lists the SQL statements that cost the most in aggregate, by normalised fingerprint and total execution time.
+ * Statistics are gathered for pools that have slow query logging enabled.
+ */
+@TargetType(value={CommandTarget.DAS, CommandTarget.STANDALONE_INSTANCE, CommandTarget.CLUSTER, CommandTarget.CLUSTERED_INSTANCE, CommandTarget.CONFIG, CommandTarget.DEPLOYMENT_GROUP})
+@Service(name="list-sql-statistics")
+@PerLookup
+@CommandLock(CommandLock.LockType.NONE)
+@ExecuteOn(value={RuntimeType.DAS, RuntimeType.INSTANCE})
+@I18n("list.sql.statistics")
+@RestEndpoints({
+    @RestEndpoint(configBean=Resources.class,
+        opType=RestEndpoint.OpType.GET,
+        path="list-sql-statistics",
+        description="List SQL statistics by total execution time")
+})
+public class ListSqlStatistics implements AdminCommand {
+
+    final private static LocalStringManagerImpl localStrings = new LocalStringManagerImpl(ListSqlStatistics.class);
+
+    private static final String[] HEADERS = {"Pool", "Executions", "Total (ms)", "Average (ms)", "Min (ms)",
+        "Max (ms)", "P95 (ms)", "P99 (ms)", "Fingerprint"};
+
+    @Param(name="poolName", primary=true, optional=true, alias="poolname")
+    private String poolName;
+
+    @Param(name="top", optional=true, defaultValue="10")
+    private int top;
+
+    @Param(name="target", optional=true, defaultValue="server-config")
+    private String target;
+
+    @Inject
+    private SQLStatisticsStore statisticsStore;
+
+    @Inject
+    private Target targetUtil;
+
+    @Inject
+    private ServerEnvironment server;
+
+    @Override
+    public void execute(AdminCommandContext context) {
+        final ActionReport report = context.getActionReport();
+        if (top <= 0) {
+            report.setMessage(localStrings.getLocalString("list.sql.statistics.invalid.top",
+                    "Option top must be greater than 0, was {0}", top));
+            report.setActionExitCode(ActionReport.ExitCode.FAILURE);
+            return;
+        }
+        if (server.isDas() && !targetUtil.getConfig(target).isDas()) {
+            // the instances of the target report their own statistics
+            report.setActionExitCode(ActionReport.ExitCode.SUCCESS);
+            return;
+        }
+
+        Collection<String> poolNames = poolName == null
+                ? statisticsStore.getPoolNames()
+                : Collections.singleton(poolName);
+        ColumnFormatter columnFormatter = new ColumnFormatter(HEADERS);
+        List<Map<String, Object>> statisticsList = new ArrayList<>();
+        for (String pool : poolNames) {
+            for (SQLStatistics statistics : statisticsStore.getTopByTotalTime(pool, top)) {
+                Map<String, Object> values = new LinkedHashMap<>();
+                values.put("poolName", pool);
+                values.put("executions", statistics.getCount());
+                values.put("totalTime", statistics.getTotalTime());
+                values.put("averageTime", statistics.getAverageTime());
+                values.put("minTime", statistics.getMinTime());
+                values.put("maxTime", statistics.getMaxTime());
+                values.put("p95Time", statistics.getTimeAtPercentile(95));
+                values.put("p99Time", statistics.getTimeAtPercentile(99));
+                values.put("fingerprint", statistics.getFingerprint());
+                columnFormatter.addRow(values.values().toArray());
+                statisticsList.add(values);
+            }
+        }
+
+        if (statisticsList.isEmpty()) {
+            report.setMessage(localStrings.getLocalString("list.sql.statistics.empty",
+                    "No SQL statistics recorded. Statistics are gathered for pools with slow query logging enabled."));
+        } else {
+            report.setMessage(columnFormatter.toString());
+        }
+        Properties extraProperties = new Properties();
+        extraProperties.put("sqlStatistics", statisticsList);
+        report.setExtraProperties(extraProperties);
+        report.setActionExitCode(ActionReport.ExitCode.SUCCESS);
+    }
+}
@@ -38,7 +38,7 @@
  * holder.
  */
 
-// Portions Copyright [2016-2018] [Payara Foundation and/or its affiliates]
+// Portions Copyright [2016-2026] [Payara Foundation and/or its affiliates]
 
 package com.sun.gjc.monitoring;
 
@@ -84,6 +84,10 @@ public class JdbcStatsProvider {
             "NumStatementCacheMiss", StatisticImpl.UNIT_COUNT,
             "The total number of Statement Cache misses.");
 
+    private CountStatisticImpl numStatementCacheEviction = new CountStatisticImpl(
+            "NumStatementCacheEviction", StatisticImpl.UNIT_COUNT,
+            "The total number of statements evicted from the Statement Cache.");
+
     private CountStatisticImpl numPotentialStatementLeak = new CountStatisticImpl(
             "NumPotentialStatementLeak", StatisticImpl.UNIT_COUNT,
             "The total number of potential Statement leaks");
@@ -142,6 +146,22 @@ public class JdbcStatsProvider {
         }
     }
 
+    /**
+     * Whenever a statement is evicted from the statement cache, increment numStatementCacheEviction count.
+     * @param poolName JdbcConnectionPool that has got a statement cache eviction event.
+     */
+    @ProbeListener(JdbcRAConstants.STATEMENT_CACHE_DOTTED_NAME + JdbcRAConstants.STATEMENT_CACHE_EVICTION)
+    public void statementCacheEvictionEvent(@ProbeParam("poolName") String poolName,
+                                            @ProbeParam("appName") String appName,
+                                            @ProbeParam("moduleName") String moduleName
+                                            ) {
+
+        PoolInfo poolInfo = new PoolInfo(poolName, appName, moduleName);
+        if(this.poolInfo.equals(poolInfo)){
+            numStatementCacheEviction.increment();
+        }
+    }
+
     /**
      * Whenever a sql statement that is traced is to be cache for monitoring
      * purpose, the SQLTrace object is created for the specified sql and
@@ -207,6 +227,11 @@ public class JdbcStatsProvider {
         return numStatementCacheMiss;
     }
 
+    @ManagedAttribute(id="numstatementcacheeviction")
+    public CountStatistic getNumStatementCacheEviction() {
+        return numStatementCacheEviction;
+    }
+
     @ManagedAttribute(id="frequsedsqlqueries")
     public ListStatistic getfreqUsedSqlQueries() {
         if (freqSqlTraceCache != null) {
@@ -0,0 +1,273 @@
+/*
+ *
+ *  DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ *  Copyright (c) 2026 Payara Foundation and/or its affiliates. All rights reserved.
+ *
+ *  The contents of this file are subject to the terms of either the GNU
+ *  General Public License Version 2 only ("GPL") or the Common Development
+ *  and Distribution License("CDDL") (collectively, the "License").  You
+ *  may not use this file except in compliance with the License.  You can
+ *  obtain a copy of the License at
+ *  https://github.com/payara/Payara/blob/main/LICENSE.txt
+ *  See the License for the specific
+ *  language governing permissions and limitations under the License.
+ *
+ *  When distributing the software, include this License Header Notice in each
+ *  file and include the License file at glassfish/legal/LICENSE.txt.
+ *
+ *  GPL Classpath Exception:
+ *  The Payara Foundation designates this particular file as subject to the "Classpath"
+ *  exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ *  file that accompanied this code.
+ *
+ *  Modifications:
+ *  If applicable, add the following below the License Header, with the fields
+ *  enclosed by brackets [] replaced by your own identifying information:
+ *  "Portions Copyright [year] [name of copyright owner]"
+ *
+ *  Contributor(s):
+ *  If you wish your version of this file to be governed by only the CDDL or
+ *  only the GPL Version 2, indicate your decision by adding "[Contributor]
+ *  elects to include this software in this distribution under the [CDDL or GPL
+ *  Version 2] license."  If you don't indicate a single choice of license, a
+ *  recipient has the option to distribute your version of this file under
+ *  either the CDDL, the GPL Version 2 or to extend the choice of license to
+ *  its licensees as provided above.  However, if you add GPL Version 2 code
+ *  and therefore, elected the GPL Version 2 license, then the option applies
+ *  only if the new code is made subject to such option by the copyright
+ *  holder.
+ *
+ */
+
+package com.sun.gjc.spi.base.datastructure;
+
+import com.sun.gjc.monitoring.StatementCacheProbeProvider;
+import com.sun.gjc.spi.base.CacheObjectKey;
+import com.sun.gjc.spi.base.PreparedStatementWrapper;
+import com.sun.logging.LogDomains;
+import org.glassfish.resourcebase.resources.api.PoolInfo;
+
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Statement cache backed by a {@link ConcurrentHashMap} that does not need to be wrapped in a
+ * {@link SynchronizedCache}.
+ * <p>
+ * Lookups never lock and do not allocate: a hit only records the access time on the entry. When the cache is full an
+ * approximate LRU policy is applied, evicting the least recently used entry out of a small sample of entries.
+ */
+public class ConcurrentLRUCacheImpl implements Cache {
+
+    /**
+     * Number of entries inspected to find an eviction candidate
+     */
+    private static final int EVICTION_SAMPLE_SIZE = 8;
+
+    protected static final Logger _logger = LogDomains.getLogger(ConcurrentLRUCacheImpl.class, LogDomains.RSR_LOGGER);
+
+    private final ConcurrentHashMap<CacheObjectKey, CacheEntry> entries;
+    private final int maxSize;
+    private final PoolInfo poolInfo;
+    private final AtomicLong clock = new AtomicLong();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    // weakly consistent sweep over the cache used to sample eviction candidates; guarded by evictionLock
+    private Iterator<Map.Entry<CacheObjectKey, CacheEntry>> sweep;
+    private StatementCacheProbeProvider probeProvider;
+
+    public ConcurrentLRUCacheImpl(PoolInfo poolInfo, int maxSize) {
+        this.maxSize = maxSize;
+        this.poolInfo = poolInfo;
+        this.entries = new ConcurrentHashMap<>(Math.min(maxSize, 1024));
+        try {
+            probeProvider = new StatementCacheProbeProvider();
+        } catch (Exception ex) {
+            _logger.log(Level.FINE, "Unable to create statement cache probe provider", ex);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Object checkAndUpdateCache(CacheObjectKey key) {
+        CacheEntry entry = entries.get(key);
+        if (entry != null) {
+            // plain write, racing accesses may lose an update which is fine for an approximate LRU
+            entry.lastAccess = clock.get();
+            if (probeProvider != null) {
+                probeProvider.statementCacheHitEvent(poolInfo.getName(), poolInfo.getApplicationName(), poolInfo.getModuleName());
+            }
+            return entry.entryObj;
+        }
+        if (probeProvider != null) {
+            probeProvider.statementCacheMissEvent(poolInfo.getName(), poolInfo.getApplicationName(), poolInfo.getModuleName());
+        }
+        return null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void addToCache(CacheObjectKey key, Object entry, boolean force) {
+        if (!force && entries.containsKey(key)) {
+            return;
+        }
+        while (entries.size() >= maxSize && !entries.isEmpty()) {
+            if (evict() && probeProvider != null) {
+                probeProvider.statementCacheEvictionEvent(poolInfo.getName(), poolInfo.getApplicationName(), poolInfo.getModuleName());
+            }
+        }
+        entries.put(key, new CacheEntry(entry, clock.incrementAndGet()));
+    }
+
+    /**
+     * Evicts the least recently used entry out of a sample of the cache. Consecutive evictions continue the sweep
+     * where the previous one stopped, so over time every entry gets sampled.
+     *
+     * @return true if this thread evicted an entry
+     */
+    private boolean evict() {
+        Map.Entry<CacheObjectKey, CacheEntry> candidate;
+        evictionLock.lock();
+        try {
+            candidate = sampleVictim();
+        } finally {
+            evictionLock.unlock();
+        }
+        if (candidate != null && entries.remove(candidate.getKey(), candidate.getValue())) {
+            if (_logger.isLoggable(Level.FINEST)) {
+                _logger.log(Level.FINEST, "Evicting statement from cache : {0}", candidate.getKey().getSql());
+            }
+            close(candidate.getValue());
+            return true;
+        }
+        return false;
+    }
+
+    private Map.Entry<CacheObjectKey, CacheEntry> sampleVictim() {
+        Map.Entry<CacheObjectKey, CacheEntry> victim = null;
+        boolean restarted = false;
+        for (int sampled = 0; sampled < EVICTION_SAMPLE_SIZE; ) {
+            if (sweep == null || !sweep.hasNext()) {
+                if (restarted) {
+                    break;
+                }
+                sweep = entries.entrySet().iterator();
+                restarted = true;
+                continue;
+            }
+            Map.Entry<CacheObjectKey, CacheEntry> candidate = sweep.next();
+            if (victim == null || candidate.getValue().lastAccess < victim.getValue().lastAccess) {
+                victim = candidate;
+            }
+            sampled++;
+        }
+        return victim;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void clearCache() {
+        if (_logger.isLoggable(Level.FINE)) {
+            _logger.fine("clearing objects in cache");
+        }
+        entries.clear();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void purge() {
+        Iterator<CacheEntry> iterator = entries.values().iterator();
+        if (iterator.hasNext()) {
+            CacheEntry entry = iterator.next();
+            iterator.remove();
+            close(entry);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void flushCache() {
+        Iterator<CacheEntry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            CacheEntry entry = iterator.next();
+            iterator.remove();
+            close(entry);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void purge(Object entry) {
+        Iterator<CacheEntry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            CacheEntry cacheEntry = iterator.next();
+            if (cacheEntry.entryObj.equals(entry)) {
+                if (_logger.isLoggable(Level.FINEST)) {
+                    _logger.log(Level.FINEST, "Purging an entry from cache");
+                }
+                iterator.remove();
+                close(cacheEntry);
+                return;
+            }
+        }
+    }
+
+    private static void close(CacheEntry entry) {
+        try {
+            //TODO Move to a more generic Contract and invoke close()
+            PreparedStatementWrapper ps = (PreparedStatementWrapper) entry.entryObj;
+            ps.setCached(false);
+            ps.close();
+        } catch (SQLException e) {
+            //ignore
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getSize() {
+        return entries.size();
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * The map is safe for concurrent use, no need to wrap it in a {@link SynchronizedCache}.
+     */
+    @Override
+    public boolean isSynchronized() {
+        return true;
+    }
+
+    private static final class CacheEntry {
+        private final Object entryObj;
+        private long lastAccess;
+
+        CacheEntry(Object entryObj, long lastAccess) {
+            this.entryObj = entryObj;
+            this.lastAccess = lastAccess;
+        }
+    }
+}
@@ -0,0 +1,231 @@
+/*
+ *
+ *  DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ *  Copyright (c) 2026 Payara Foundation and/or its affiliates. All rights reserved.
+ *
+ *  The contents of this file are subject to the terms of either the GNU
+ *  General Public License Version 2 only ("GPL") or the Common Development
+ *  and Distribution License("CDDL") (collectively, the "License").  You
+ *  may not use this file except in compliance with the License.  You can
+ *  obtain a copy of the License at
+ *  https://github.com/payara/Payara/blob/main/LICENSE.txt
+ *  See the License for the specific
+ *  language governing permissions and limitations under the License.
+ *
+ *  When distributing the software, include this License Header Notice in each
+ *  file and include the License file at glassfish/legal/LICENSE.txt.
+ *
+ *  GPL Classpath Exception:
+ *  The Payara Foundation designates this particular file as subject to the "Classpath"
+ *  exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ *  file that accompanied this code.
+ *
+ *  Modifications:
+ *  If applicable, add the following below the License Header, with the fields
+ *  enclosed by brackets [] replaced by your own identifying information:
+ *  "Portions Copyright [year] [name of copyright owner]"
+ *
+ *  Contributor(s):
+ *  If you wish your version of this file to be governed by only the CDDL or
+ *  only the GPL Version 2, indicate your decision by adding "[Contributor]
+ *  elects to include this software in this distribution under the [CDDL or GPL
+ *  Version 2] license."  If you don't indicate a single choice of license, a
+ *  recipient has the option to distribute your version of this file under
+ *  either the CDDL, the GPL Version 2 or to extend the choice of license to
+ *  its licensees as provided above.  However, if you add GPL Version 2 code
+ *  and therefore, elected the GPL Version 2 license, then the option applies
+ *  only if the new code is made subject to such option by the copyright
+ *  holder.
+ *
+ */
+
+package com.sun.gjc.util;
+
+import com.sun.enterprise.util.MpscRingBuffer;
+import com.sun.logging.LogDomains;
+import org.glassfish.api.jdbc.SQLTraceRecord;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Moves SQL trace listener invocations off the JDBC calling thread.
+ * <p>
+ * Records are published into a bounded lock-free {@link MpscRingBuffer} by any number of JDBC threads and drained
+ * in batches, in publication order, by a single background thread that passes them on to the
+ * {@link SQLTraceDelegator} which produced them. Listeners bound to the traced request, such as request tracing,
+ * are still invoked by the delegator on the JDBC calling thread. When the buffer is full the configured
+ * {@link OverflowPolicy} applies: the record is dropped and counted, or passed to the listeners on the calling thread,
+ * ahead of the records of that thread still in the buffer.
+ * <p>
+ * The asynchronous mode is enabled with the system property {@value #ASYNC_PROPERTY} and tuned with
+ * {@value #BUFFER_SIZE_PROPERTY} (rounded up to a power of two, default {@value #DEFAULT_BUFFER_SIZE}) and
+ * {@value #OVERFLOW_PROPERTY} ({@code DROP} or {@code CALLER_RUNS}, default {@code DROP}).
+ */
+public final class AsyncSQLTraceDispatcher {
+
+    public static final String ASYNC_PROPERTY = "fish.payara.jdbc.sqltrace.async";
+    public static final String BUFFER_SIZE_PROPERTY = "fish.payara.jdbc.sqltrace.async.bufferSize";
+    public static final String OVERFLOW_PROPERTY = "fish.payara.jdbc.sqltrace.async.overflow";
+
+    private static final int DEFAULT_BUFFER_SIZE = 8192;
+    private static final int BATCH_SIZE = 256;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long DROP_REPORT_INTERVAL_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+    private static final Logger logger = LogDomains.getLogger(SQLTraceLogger.class, LogDomains.SQL_TRACE_LOGGER);
+
+    /**
+     * What to do with a record when the ring buffer is full.
+     */
+    public enum OverflowPolicy {
+        /**
+         * Discard the record, the JDBC call is never delayed
+         */
+        DROP,
+        /**
+         * Invoke the listeners on the JDBC calling thread, as if asynchronous mode was disabled
+         */
+        CALLER_RUNS
+    }
+
+    private static volatile AsyncSQLTraceDispatcher instance;
+
+    private final MpscRingBuffer<PendingRecord> ring;
+    private final PendingRecord[] batch = new PendingRecord[BATCH_SIZE];
+
+    private final OverflowPolicy overflowPolicy;
+    private final AtomicLong dropped = new AtomicLong();
+    private long droppedReported;
+    private long lastDropReport;
+
+    private final Thread drainer;
+    private volatile boolean sleeping;
+
+    AsyncSQLTraceDispatcher(int bufferSize, OverflowPolicy overflowPolicy) {
+        this.ring = new MpscRingBuffer<>(bufferSize);
+        this.overflowPolicy = overflowPolicy;
+        this.drainer = new Thread(this::drain, "payara-sql-trace-dispatcher");
+        this.drainer.setDaemon(true);
+        // started by the first JDBC call, which may come from an application thread: don't pin its class loader
+        this.drainer.setContextClassLoader(AsyncSQLTraceDispatcher.class.getClassLoader());
+        this.drainer.start();
+    }
+
+    /**
+     * @return true when SQL trace records should be dispatched asynchronously
+     */
+    public static boolean isEnabled() {
+        return Boolean.getBoolean(ASYNC_PROPERTY);
+    }
+
+    /**
+     * @return the shared dispatcher, started on first use
+     */
+    public static AsyncSQLTraceDispatcher getInstance() {
+        AsyncSQLTraceDispatcher dispatcher = instance;
+        if (dispatcher == null) {
+            synchronized (AsyncSQLTraceDispatcher.class) {
+                dispatcher = instance;
+                if (dispatcher == null) {
+                    dispatcher = new AsyncSQLTraceDispatcher(
+                            Integer.getInteger(BUFFER_SIZE_PROPERTY, DEFAULT_BUFFER_SIZE), getOverflowPolicy());
+                    instance = dispatcher;
+                }
+            }
+        }
+        return dispatcher;
+    }
+
+    private static OverflowPolicy getOverflowPolicy() {
+        String policy = System.getProperty(OVERFLOW_PROPERTY);
+        if (policy == null || policy.trim().isEmpty()) {
+            return OverflowPolicy.DROP;
+        }
+        try {
+            return OverflowPolicy.valueOf(policy.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            logger.log(Level.WARNING, "Invalid value {0} for {1}, using DROP", new Object[]{policy, OVERFLOW_PROPERTY});
+            return OverflowPolicy.DROP;
+        }
+    }
+
+    /**
+     * Publishes a record for asynchronous dispatch.
+     *
+     * @param delegator delegator whose listeners will receive the record
+     * @param record the trace record
+     */
+    public void dispatch(SQLTraceDelegator delegator, SQLTraceRecord record) {
+        // publishing is a volatile write, so the sleeping check below can't miss the drainer going to sleep
+        if (ring.offer(new PendingRecord(delegator, record))) {
+            if (sleeping) {
+                LockSupport.unpark(drainer);
+            }
+        } else if (overflowPolicy == OverflowPolicy.CALLER_RUNS) {
+            delegator.dispatch(record);
+        } else {
+            dropped.incrementAndGet();
+        }
+    }
+
+    private void drain() {
+        while (true) {
+            int drained = ring.drainTo(batch);
+            for (int i = 0; i < drained; i++) {
+                PendingRecord pending = batch[i];
+                batch[i] = null;
+                try {
+                    pending.delegator.dispatch(pending.record);
+                } catch (Throwable t) {
+                    logger.log(Level.WARNING, "SQL Trace Listener threw exception", t);
+                }
+            }
+            reportDropped();
+            if (drained == 0) {
+                sleeping = true;
+                if (ring.isEmpty()) {
+                    LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                }
+                sleeping = false;
+            }
+        }
+    }
+
+    private void reportDropped() {
+        long total = dropped.get();
+        if (total != droppedReported) {
+            long now = System.currentTimeMillis();
+            if (now - lastDropReport >= DROP_REPORT_INTERVAL_MILLIS) {
+                logger.log(Level.WARNING, "SQL trace buffer full, {0} records have been dropped", total - droppedReported);
+                droppedReported = total;
+                lastDropReport = now;
+            }
+        }
+    }
+
+    /**
+     * @return the number of records dropped because the ring buffer was full
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    /**
+     * A record waiting in the ring buffer, with the delegator it is dispatched to.
+     */
+    private static final class PendingRecord {
+
+        final SQLTraceDelegator delegator;
+        final SQLTraceRecord record;
+
+        PendingRecord(SQLTraceDelegator delegator, SQLTraceRecord record) {
+            this.delegator = delegator;
+            this.record = record;
+        }
+    }
+}
@@ -37,13 +37,15 @@
  * only if the new code is made subject to such option by the copyright
  * holder.
  */
-//Portions Copyright [2017] [Payara Foundation and/or its affiliates]
+//Portions Copyright [2017-2026] [Payara Foundation and/or its affiliates]
 
 package com.sun.gjc.util;
 
 import com.sun.gjc.monitoring.JdbcRAConstants;
 import com.sun.gjc.monitoring.SQLTraceProbeProvider;
 import com.sun.logging.LogDomains;
+import fish.payara.jdbc.RequestTracingListener;
+import fish.payara.jdbc.SQLQuery;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
@@ -70,6 +72,9 @@ public class SQLTraceDelegator implements SQLTraceListener {
 
     private SQLTraceProbeProvider probeProvider = null;
 
+    //Set when listeners are invoked on a background thread, see AsyncSQLTraceDispatcher
+    private final AsyncSQLTraceDispatcher asyncDispatcher;
+
     public SQLTraceProbeProvider getProbeProvider() {
         return probeProvider;
     }
@@ -79,6 +84,7 @@ public class SQLTraceDelegator implements SQLTraceListener {
         this.appName = appName;
         this.moduleName = moduleName;
         probeProvider = new SQLTraceProbeProvider();
+        asyncDispatcher = AsyncSQLTraceDispatcher.isEnabled() ? AsyncSQLTraceDispatcher.getInstance() : null;
     }
 
     public void setPoolName(String poolName) {
@@ -133,12 +139,39 @@ public class SQLTraceDelegator implements SQLTraceListener {
     public void sqlTrace(SQLTraceRecord record) {
         if (record != null) {
             record.setPoolName(poolName);
+            if (sqlTraceListeners != null && !sqlTraceListeners.isEmpty()) {
+                // the statement is assembled from the records of this thread, so listeners can run on any thread
+                SQLQuery.gather(record);
+            }
+            if (asyncDispatcher == null) {
+                dispatch(record);
+                return;
+            }
             if (sqlTraceListeners != null) {
                 for (SQLTraceListener listener : sqlTraceListeners.values()) {
-                    try {
-                        listener.sqlTrace(record);
-                    } catch (Throwable t) { // don't let a broken listener break the JDBC calls
-                        logger.log(Level.WARNING, "SQL Trace Listener threw exception", t);
+                    if (isThreadBound(listener)) {
+                        invoke(listener, record);
+                    }
+                }
+            }
+            asyncDispatcher.dispatch(this, record);
+        }
+    }
+
+    /**
+     * Passes the record to the registered listeners and the sql tracing probe.
+     * In asynchronous mode this is called on the dispatcher thread, or on the calling thread
+     * when the dispatcher is full and runs overflowing records on the caller, for all listeners
+     * except the ones bound to the thread of the traced request.
+     *
+     * @param record the trace record, with the pool name set
+     */
+    void dispatch(SQLTraceRecord record) {
+        if (record != null) {
+            if (sqlTraceListeners != null) {
+                for (SQLTraceListener listener : sqlTraceListeners.values()) {
+                    if (asyncDispatcher == null || !isThreadBound(listener)) {
+                        invoke(listener, record);
                     }
                 }
             }
@@ -163,6 +196,23 @@ public class SQLTraceDelegator implements SQLTraceListener {
         }
     }
     
+    /**
+     * Request tracing has to see the record on the thread of the traced request.
+     *
+     * @return true if the listener must be invoked on the JDBC calling thread
+     */
+    private static boolean isThreadBound(SQLTraceListener listener) {
+        return listener instanceof RequestTracingListener;
+    }
+
+    private static void invoke(SQLTraceListener listener, SQLTraceRecord record) {
+        try {
+            listener.sqlTrace(record);
+        } catch (Throwable t) { // don't let a broken listener break the JDBC calls
+            logger.log(Level.WARNING, "SQL Trace Listener threw exception", t);
+        }
+    }
+
     /**
      * Check if the method name from the sql trace record can be used to retrieve a
      * sql string for caching purpose. Most of the method names do not contain a sql
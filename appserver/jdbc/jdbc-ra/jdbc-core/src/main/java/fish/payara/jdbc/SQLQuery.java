@@ -1,7 +1,7 @@
 /*
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  *
- * Copyright (c) 2016 Payara Foundation and/or its affiliates. All rights reserved.
+ * Copyright (c) 2016-2026 Payara Foundation and/or its affiliates. All rights reserved.
  *
  * The contents of this file are subject to the terms of either the GNU
  * General Public License Version 2 only ("GPL") or the Common Development
@@ -41,13 +41,17 @@ package fish.payara.jdbc;
 
 import java.util.LinkedList;
 import java.util.List;
+import org.glassfish.api.jdbc.SQLTraceRecord;
 
 /**
+ * The SQL gathered for a statement from the trace records of the thread preparing and executing it.
  *
  * @author steve
  */
-class SQLQuery {
-    
+public class SQLQuery {
+
+    private static final ThreadLocal<SQLQuery> currentQuery = new ThreadLocal<>();
+
     List<String> gatheredSQL;
     
     SQLQuery() {
@@ -66,5 +70,57 @@ class SQLQuery {
         }
         return sb.toString();
     }
-    
+
+    /**
+     * Gathers the SQL of the given record into the statement of the current thread. When the record executes the
+     * statement, all SQL gathered for it is set on the record as its {@link SQLTraceRecord#getSqlQuery() query}, so
+     * listeners can process the record on any thread.
+     * <p>
+     * Must be called on the thread that produced the record, in the order the records were produced.
+     *
+     * @param record trace record of the current thread
+     */
+    public static void gather(SQLTraceRecord record) {
+        if (record.getMethodName() == null) {
+            return;
+        }
+        switch (record.getMethodName()) {
+            // these calls capture a query string
+            case "nativeSQL":
+            case "prepareCall":
+            case "prepareStatement":
+            case "addBatch":
+                getCurrentQuery().addSQL(getSQL(record));
+                break;
+            // these can all run the SQL and contain SQL
+            case "execute":
+            case "executeQuery":
+            case "executeUpdate":
+                try {
+                    SQLQuery query = getCurrentQuery();
+                    query.addSQL(getSQL(record));
+                    record.setSqlQuery(query.getSQL());
+                } finally {
+                    // clean the thread local
+                    currentQuery.remove();
+                }
+                break;
+            default:
+                // nothing
+        }
+    }
+
+    private static SQLQuery getCurrentQuery() {
+        SQLQuery query = currentQuery.get();
+        if (query == null) {
+            query = new SQLQuery();
+            currentQuery.set(query);
+        }
+        return query;
+    }
+
+    private static String getSQL(SQLTraceRecord record) {
+        Object[] params = record.getParams();
+        return params != null && params.length > 0 ? (String) params[0] : null;
+    }
 }
@@ -1,7 +1,7 @@
 /*
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  *
- * Copyright (c) 2020 Payara Foundation and/or its affiliates. All rights reserved.
+ * Copyright (c) 2020-2026 Payara Foundation and/or its affiliates. All rights reserved.
  *
  * The contents of this file are subject to the terms of either the GNU
  * General Public License Version 2 only ("GPL") or the Common Development
@@ -44,22 +44,18 @@ import org.glassfish.api.jdbc.SQLTraceRecord;
 import org.glassfish.api.jdbc.SQLTraceStore;
 import org.glassfish.internal.api.Globals;
 
-import com.sun.gjc.util.SQLTraceLogger;
-
 /**
  * An adapter between the {@link SQLTraceListener} abstraction that is registered with implementation class as key and a
  * managed instance of the {@link SQLTraceStore}.
  * 
- * Even though this class is very similar to {@link SQLTraceLogger} the classes cannot share code as each has to have
- * its own {@link ThreadLocal}. Would they inherit from the same base class the invocations from both classes would get
- * mixed up in the same {@link ThreadLocal}.
+ * The SQL of a statement is gathered on the JDBC calling thread and carried by the record that executes it, see
+ * {@link SQLQuery#gather(SQLTraceRecord)}, so the adapter can also be invoked when SQL trace records are dispatched
+ * asynchronously.
  * 
  * @author Jan Bernitt
  */
 public class SQLTraceStoreAdapter implements SQLTraceListener {
 
-    private static ThreadLocal<SQLQuery> currentQuery = new ThreadLocal<>();
-
     private final SQLTraceStore store;
 
     public SQLTraceStoreAdapter() {
@@ -68,49 +64,10 @@ public class SQLTraceStoreAdapter implements SQLTraceListener {
 
     @Override
     public void sqlTrace(SQLTraceRecord record) {
-        if (record != null) {
-            switch (record.getMethodName()) {
-            // these calls capture a query string
-            case "nativeSQL":
-            case "prepareCall":
-            case "prepareStatement":
-            case "addBatch":
-                aquireSQL(record);
-                break;
-            // these can all run the SQL and contain SQL
-            case "execute":
-            case "executeQuery":
-            case "executeUpdate":
-                trace(record);
-                break;
-            default:
-                // nothing
-            }
-        }
-    }
-
-    private void trace(SQLTraceRecord record) {
-        SQLQuery query = aquireSQL(record);
-        if (store != null) {
-            store.trace(record, query.getSQL());
-        }
-        // clean the thread local
-        currentQuery.set(null);
-    }
-
-    private static SQLQuery aquireSQL(SQLTraceRecord record) {
-        // acquire the SQL
-        SQLQuery query = currentQuery.get();
-        if (query == null) {
-            query = new SQLQuery();
-            currentQuery.set(query);
-        }
-        // see if we have more SQL
-        if (record.getParams() != null && record.getParams().length > 0) {
-            // gather the SQL
-            query.addSQL((String)record.getParams()[0]);
+        // only records executing a statement carry its SQL
+        if (record != null && record.getSqlQuery() != null && store != null) {
+            store.trace(record, record.getSqlQuery());
         }
-        return query;
     }
 
 }
@@ -1,7 +1,7 @@
 /*
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  *
- * Copyright (c) 2016 Payara Foundation and/or its affiliates. All rights reserved.
+ * Copyright (c) 2016-2026 Payara Foundation and/or its affiliates. All rights reserved.
  *
  * The contents of this file are subject to the terms of either the GNU
  * General Public License Version 2 only ("GPL") or the Common Development
@@ -54,7 +54,6 @@ import org.glassfish.api.jdbc.SQLTraceRecord;
 public class SlowSQLLogger implements SQLTraceListener {
     
     private static final Logger logger = LogDomains.getLogger(SQLTraceLogger.class, LogDomains.SQL_TRACE_LOGGER);
-    private static ThreadLocal<SQLQuery> currentQuery = new ThreadLocal<>();
     private static final long DEFAULT_THERSHOLD = 10000; // 10 second default threshold
     private long threshold;
 
@@ -74,62 +73,32 @@ public class SlowSQLLogger implements SQLTraceListener {
         this.threshold = threshold;
     }
     
+    /**
+     * Checks the execution time of the statements executed by the record. Statements are expected to carry their
+     * {@link SQLTraceRecord#getSqlQuery() query}, see {@link SQLQuery#gather(SQLTraceRecord)}, so this can be called
+     * on any thread.
+     */
     @Override
     public void sqlTrace(SQLTraceRecord record) {
-        if (record != null) {    
-            switch (record.getMethodName()) {
-
-                // these calls capture a query string
-                case "nativeSQL":
-                case "prepareCall":
-                case "prepareStatement":
-                case "addBatch":
-                {
-                    // acquire the SQL
-                    SQLQuery query = currentQuery.get();
-                    if (query == null) {
-                        query = new SQLQuery();
-                        currentQuery.set(query);
-                    }  
-                    if (record.getParams() != null && record.getParams().length > 0)
-                        query.addSQL((String)record.getParams()[0]);
-                    break;
-                }
-                case "execute":
-                case "executeQuery":
-                case "executeUpdate":
-                {
-                    // acquire the SQL
-                    SQLQuery query = currentQuery.get();
-                    if (query == null) {
-                        query = new SQLQuery();
-                        currentQuery.set(query);
-                    }                      // these can all run the SQL and contain SQL
-                    long executionTime = record.getExecutionTime();
-                    // see if we have more SQL
-                    if (record.getParams() != null && record.getParams().length > 0) {
-                        // gather the SQL
-                        query.addSQL((String) record.getParams()[0]);
-                    }
-                    
-                    // check the execution time
-                    
-                    if (executionTime > threshold) {
-                        StringBuilder messageBuilder = new StringBuilder("SQL Query Exceeded Threshold Time: ");
-                        messageBuilder.append(threshold)
-                                .append("(ms): Time Taken: ")
-                                .append(executionTime)
-                                .append("(ms)\n")
-                                .append("Query was ")
-                                .append(query.getSQL());
-                        logger.log(Level.WARNING,messageBuilder.toString(),new Exception("Stack Trace shows code path to SQL"));
-                    }
-                    // clean the thread local
-                    currentQuery.set(null);
-                    break;
+        if (record != null && record.getSqlQuery() != null) {
+            // check the execution time
+            long executionTime = record.getExecutionTime();
+            if (executionTime > threshold) {
+                StringBuilder messageBuilder = new StringBuilder("SQL Query Exceeded Threshold Time: ");
+                messageBuilder.append(threshold)
+                        .append("(ms): Time Taken: ")
+                        .append(executionTime)
+                        .append("(ms)\n")
+                        .append("Query was ")
+                        .append(record.getSqlQuery());
+                if (record.getThreadID() == Thread.currentThread().getId()) {
+                    logger.log(Level.WARNING, messageBuilder.toString(), new Exception("Stack Trace shows code path to SQL"));
+                } else {
+                    // traced asynchronously, the stack of this thread tells nothing about the code that ran the SQL
+                    messageBuilder.append("Executed on thread ").append(record.getThreadName());
+                    logger.log(Level.WARNING, messageBuilder.toString());
                 }
             }
         }
     }
-    
 }
@@ -0,0 +1,154 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2026 Payara Foundation and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://github.com/payara/Payara/blob/main/LICENSE.txt
+ * See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at glassfish/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * The Payara Foundation designates this particular file as subject to the "Classpath"
+ * exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package com.sun.gjc.spi.base.datastructure;
+
+import com.sun.gjc.spi.base.CacheObjectKey;
+import com.sun.gjc.spi.base.PreparedStatementWrapper;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+import org.glassfish.resourcebase.resources.api.PoolInfo;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+public class ConcurrentLRUCacheImplTest {
+
+    private final List<PreparedStatementWrapper> statements = new ArrayList<>();
+
+    @Test
+    public void sizeNeverExceedsTheCapacity() {
+        ConcurrentLRUCacheImpl cache = new ConcurrentLRUCacheImpl(new PoolInfo("pool"), 10);
+        for (int i = 0; i < 100; i++) {
+            cache.addToCache(key(i), statement(), false);
+            assertTrue(cache.getSize() <= 10);
+        }
+        assertEquals(10, cache.getSize());
+        assertEquals(10, cache.getMaxSize());
+    }
+
+    @Test
+    public void leastRecentlyUsedStatementIsEvicted() {
+        ConcurrentLRUCacheImpl cache = new ConcurrentLRUCacheImpl(new PoolInfo("pool"), 4);
+        for (int i = 0; i < 4; i++) {
+            cache.addToCache(key(i), statement(), false);
+        }
+        assertNotNull(cache.checkAndUpdateCache(key(0)));
+        cache.addToCache(key(4), statement(), false);
+        assertNull(cache.checkAndUpdateCache(key(1)));
+
+        assertNotNull(cache.checkAndUpdateCache(key(2)));
+        cache.addToCache(key(5), statement(), false);
+        assertNull(cache.checkAndUpdateCache(key(3)));
+
+        for (int i : new int[] {0, 2, 4, 5}) {
+            assertSame(statements.get(i), cache.checkAndUpdateCache(key(i)));
+        }
+    }
+
+    @Test
+    public void evictionSweepsOverTheWholeCache() {
+        // much larger than the eviction sample, so only a sweep over all the entries finds the oldest ones
+        ConcurrentLRUCacheImpl cache = new ConcurrentLRUCacheImpl(new PoolInfo("pool"), 64);
+        for (int i = 0; i < 64; i++) {
+            cache.addToCache(key(i), statement(), false);
+        }
+        for (int i = 64; i < 128; i++) {
+            cache.addToCache(key(i), statement(), false);
+            // keep the most recent half in use
+            for (int recent = i - 31; recent <= i; recent++) {
+                cache.checkAndUpdateCache(key(recent));
+            }
+        }
+        int survivors = 0;
+        for (int i = 0; i < 64; i++) {
+            if (cache.checkAndUpdateCache(key(i)) != null) {
+                survivors++;
+            }
+        }
+        assertTrue("Old statements left in the cache: " + survivors, survivors < 8);
+    }
+
+    @Test
+    public void evictedStatementsAreClosed() throws Exception {
+        ConcurrentLRUCacheImpl cache = new ConcurrentLRUCacheImpl(new PoolInfo("pool"), 2);
+        cache.addToCache(key(0), statement(), false);
+        cache.addToCache(key(1), statement(), false);
+        cache.addToCache(key(2), statement(), false);
+
+        PreparedStatementWrapper evicted = statements.get(0);
+        verify(evicted).setCached(false);
+        verify(evicted).close();
+        verify(statements.get(1), never()).close();
+        verify(statements.get(2), never()).close();
+    }
+
+    @Test
+    public void flushClosesEveryStatement() throws Exception {
+        ConcurrentLRUCacheImpl cache = new ConcurrentLRUCacheImpl(new PoolInfo("pool"), 4);
+        for (int i = 0; i < 3; i++) {
+            cache.addToCache(key(i), statement(), false);
+        }
+        cache.flushCache();
+        assertEquals(0, cache.getSize());
+        for (PreparedStatementWrapper statement : statements) {
+            verify(statement).setCached(false);
+            verify(statement).close();
+        }
+    }
+
+    private PreparedStatementWrapper statement() {
+        PreparedStatementWrapper statement = mock(PreparedStatementWrapper.class);
+        statements.add(statement);
+        return statement;
+    }
+
+    private static CacheObjectKey key(int i) {
+        return new CacheObjectKey("SELECT " + i, CacheObjectKey.PREPARED_STATEMENT,
+                ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+    }
+}
@@ -1,7 +1,7 @@
 /*
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  *
- * Copyright (c) 2020-2021 Payara Foundation and/or its affiliates. All rights reserved.
+ * Copyright (c) 2020-2026 Payara Foundation and/or its affiliates. All rights reserved.
  *
  * The contents of this file are subject to the terms of either the GNU
  * General Public License Version 2 only ("GPL") or the Common Development
@@ -60,6 +60,7 @@ import com.sun.appserv.connectors.internal.api.ConnectorsUtil;
 import com.sun.enterprise.config.serverbeans.Domain;
 import com.sun.enterprise.config.serverbeans.ResourcePool;
 
+import fish.payara.jdbc.statistics.SQLStatisticsStore;
 import fish.payara.monitoring.collect.MonitoringData;
 import fish.payara.monitoring.collect.MonitoringDataCollector;
 import fish.payara.monitoring.collect.MonitoringDataSource;
@@ -85,6 +86,9 @@ public class SQLTraceStoreImpl implements SQLTraceStore, MonitoringDataSource, M
     @Inject
     private Domain domain;
 
+    @Inject
+    private SQLStatisticsStore statisticsStore;
+
     private final Map<String, JdbcConnectionPool> connectionPoolByName = new ConcurrentHashMap<>();
     private final Map<String, Queue<SQLTraceEntry>> uncollectedTracesByPoolName = new ConcurrentHashMap<>();
 
@@ -94,6 +98,7 @@ public class SQLTraceStoreImpl implements SQLTraceStore, MonitoringDataSource, M
         if (connectionPool == null) {
             return;
         }
+        statisticsStore.record(record.getPoolName(), sql, record.getExecutionTime());
         long threshold = thresholdInMillis(connectionPool);
         Queue<SQLTraceEntry> queue = uncollectedTracesByPoolName.computeIfAbsent(record.getPoolName(), 
                 key -> new ConcurrentLinkedQueue<>());
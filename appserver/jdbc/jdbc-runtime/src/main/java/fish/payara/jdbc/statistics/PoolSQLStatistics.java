@@ -0,0 +1,85 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2026 Payara Foundation and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://glassfish.dev.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package fish.payara.jdbc.statistics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The aggregated SQL statistics of a single connection pool.
+ * <p>
+ * At most {@code maxFingerprints} fingerprints are tracked individually. Once that many are known, executions of
+ * statements with a new fingerprint are added to a shared {@value #OTHER_FINGERPRINT} entry, so the memory used is
+ * fixed while the totals of the pool stay correct.
+ */
+final class PoolSQLStatistics {
+
+    static final String OTHER_FINGERPRINT = "<other>";
+
+    private final int maxFingerprints;
+    private final Map<String, SQLStatistics> statisticsByFingerprint = new ConcurrentHashMap<>();
+    private final SQLStatistics other = new SQLStatistics(OTHER_FINGERPRINT);
+
+    PoolSQLStatistics(int maxFingerprints) {
+        this.maxFingerprints = maxFingerprints;
+    }
+
+    void record(String sql, long executionTime) {
+        String fingerprint = SQLFingerprint.of(sql);
+        SQLStatistics statistics = statisticsByFingerprint.get(fingerprint);
+        if (statistics == null) {
+            statistics = statisticsByFingerprint.size() < maxFingerprints
+                    ? statisticsByFingerprint.computeIfAbsent(fingerprint, SQLStatistics::new)
+                    : other;
+        }
+        statistics.record(executionTime);
+    }
+
+    List<SQLStatistics> getTopByTotalTime(int limit) {
+        List<SQLStatistics> statistics = new ArrayList<>(statisticsByFingerprint.values());
+        if (other.getCount() > 0) {
+            statistics.add(other);
+        }
+        statistics.sort(SQLStatistics.BY_TOTAL_TIME);
+        return statistics.size() > limit ? new ArrayList<>(statistics.subList(0, limit)) : statistics;
+    }
+}
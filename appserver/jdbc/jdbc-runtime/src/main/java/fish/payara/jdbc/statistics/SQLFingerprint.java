@@ -0,0 +1,165 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2026 Payara Foundation and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://glassfish.dev.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package fish.payara.jdbc.statistics;
+
+import java.util.regex.Pattern;
+
+/**
+ * Normalises SQL text into a fingerprint that is shared by all executions of the same statement shape.
+ * <p>
+ * String and numeric literals are replaced by {@code ?}, comments are removed, runs of whitespace are collapsed into
+ * a single space and lists of values such as {@code IN (1, 2, 3)} are collapsed into {@code (?)}. Quoted identifiers
+ * and the case of the text are kept as they are. Fingerprints are truncated to {@value #MAX_LENGTH} characters.
+ */
+public final class SQLFingerprint {
+
+    static final int MAX_LENGTH = 2048;
+
+    private static final Pattern VALUE_LIST = Pattern.compile("\\( ?\\?(?: ?, ?\\?)+ ?\\)");
+
+    private SQLFingerprint() {
+        // utility class
+    }
+
+    /**
+     * @param sql the SQL text as passed to the driver
+     * @return the fingerprint of the SQL, null if the SQL is null
+     */
+    public static String of(String sql) {
+        if (sql == null) {
+            return null;
+        }
+        int length = sql.length();
+        StringBuilder fingerprint = new StringBuilder(Math.min(length, MAX_LENGTH));
+        boolean pendingSpace = false;
+        int i = 0;
+        while (i < length && fingerprint.length() < MAX_LENGTH) {
+            char c = sql.charAt(i);
+            char next = i + 1 < length ? sql.charAt(i + 1) : 0;
+            if (Character.isWhitespace(c)) {
+                pendingSpace = fingerprint.length() > 0;
+                i++;
+                continue;
+            }
+            if (c == '-' && next == '-') {
+                int end = sql.indexOf('\n', i);
+                i = end < 0 ? length : end;
+                continue;
+            }
+            if (c == '/' && next == '*') {
+                int end = sql.indexOf("*/", i + 2);
+                i = end < 0 ? length : end + 2;
+                pendingSpace = fingerprint.length() > 0;
+                continue;
+            }
+            if (pendingSpace) {
+                fingerprint.append(' ');
+                pendingSpace = false;
+            }
+            if (c == '\'') {
+                i = endOfQuoted(sql, i, c);
+                fingerprint.append('?');
+            } else if (c == '"' || c == '`') {
+                int end = endOfQuoted(sql, i, c);
+                fingerprint.append(sql, i, end);
+                i = end;
+            } else if (Character.isDigit(c) && !endsWithIdentifierPart(fingerprint)) {
+                i = endOfNumber(sql, i);
+                fingerprint.append('?');
+            } else {
+                fingerprint.append(c);
+                i++;
+            }
+        }
+        if (fingerprint.length() > MAX_LENGTH) {
+            fingerprint.setLength(MAX_LENGTH);
+        }
+        return VALUE_LIST.matcher(fingerprint).replaceAll("(?)");
+    }
+
+    private static boolean endsWithIdentifierPart(StringBuilder fingerprint) {
+        int last = fingerprint.length() - 1;
+        return last >= 0 && Character.isJavaIdentifierPart(fingerprint.charAt(last));
+    }
+
+    /**
+     * @return the index after the closing quote, the length of the SQL if the quote is not closed
+     */
+    private static int endOfQuoted(String sql, int start, char quote) {
+        int length = sql.length();
+        int i = start + 1;
+        while (i < length) {
+            char c = sql.charAt(i);
+            if (c == '\\' && quote == '\'') {
+                i += 2;
+            } else if (c == quote) {
+                if (i + 1 < length && sql.charAt(i + 1) == quote) {
+                    // doubled quote is an escaped quote
+                    i += 2;
+                } else {
+                    return i + 1;
+                }
+            } else {
+                i++;
+            }
+        }
+        return length;
+    }
+
+    /**
+     * Covers integers, decimals, exponents and hexadecimal literals.
+     */
+    private static int endOfNumber(String sql, int start) {
+        int length = sql.length();
+        int i = start + 1;
+        while (i < length) {
+            char c = sql.charAt(i);
+            if (Character.isLetterOrDigit(c) || c == '.') {
+                i++;
+            } else if ((c == '+' || c == '-') && (sql.charAt(i - 1) == 'e' || sql.charAt(i - 1) == 'E')
+                    && i + 1 < length && Character.isDigit(sql.charAt(i + 1))) {
+                i++;
+            } else {
+                break;
+            }
+        }
+        return i;
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2026 Payara Foundation and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://glassfish.dev.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package fish.payara.jdbc.statistics;
+
+import com.sun.enterprise.util.LogLinearHistogram;
+
+import java.util.Comparator;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Aggregated execution statistics of all SQL statements sharing a {@link SQLFingerprint}.
+ * <p>
+ * Updates are lock-free. Readers see each figure individually up to date but not necessarily consistent with the
+ * other figures of the same instance.
+ */
+public final class SQLStatistics {
+
+    /**
+     * Orders statistics by total execution time, highest first
+     */
+    public static final Comparator<SQLStatistics> BY_TOTAL_TIME =
+            Comparator.comparingLong(SQLStatistics::getTotalTime).reversed();
+
+    private final String fingerprint;
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong totalTime = new AtomicLong();
+    private final AtomicLong minTime = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong maxTime = new AtomicLong();
+    // 8 buckets per power of two, so a reported percentile is never more than 12.5% above the recorded value
+    private final LogLinearHistogram histogram = new LogLinearHistogram(3, Integer.MAX_VALUE);
+
+    SQLStatistics(String fingerprint) {
+        this.fingerprint = fingerprint;
+    }
+
+    void record(long executionTime) {
+        count.incrementAndGet();
+        totalTime.addAndGet(executionTime);
+        long min = minTime.get();
+        while (executionTime < min && !minTime.compareAndSet(min, executionTime)) {
+            min = minTime.get();
+        }
+        long max = maxTime.get();
+        while (executionTime > max && !maxTime.compareAndSet(max, executionTime)) {
+            max = maxTime.get();
+        }
+        histogram.record(executionTime);
+    }
+
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
+    public long getCount() {
+        return count.get();
+    }
+
+    /**
+     * @return sum of all execution times in milliseconds
+     */
+    public long getTotalTime() {
+        return totalTime.get();
+    }
+
+    /**
+     * @return shortest execution time in milliseconds, 0 if nothing was recorded
+     */
+    public long getMinTime() {
+        long min = minTime.get();
+        return min == Long.MAX_VALUE ? 0L : min;
+    }
+
+    /**
+     * @return longest execution time in milliseconds
+     */
+    public long getMaxTime() {
+        return maxTime.get();
+    }
+
+    /**
+     * @return mean execution time in milliseconds, 0 if nothing was recorded
+     */
+    public long getAverageTime() {
+        long executions = count.get();
+        return executions == 0 ? 0L : totalTime.get() / executions;
+    }
+
+    /**
+     * @param percentile requested percentile, between 0 and 100
+     * @return execution time in milliseconds at the percentile, within 12.5% of the recorded value
+     */
+    public long getTimeAtPercentile(double percentile) {
+        return histogram.getValueAtPercentile(percentile);
+    }
+}
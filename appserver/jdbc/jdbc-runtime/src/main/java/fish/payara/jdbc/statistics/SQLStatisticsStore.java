@@ -0,0 +1,102 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2026 Payara Foundation and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://glassfish.dev.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package fish.payara.jdbc.statistics;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+import jakarta.inject.Singleton;
+
+import org.jvnet.hk2.annotations.Service;
+
+/**
+ * Keeps aggregated execution statistics per connection pool and {@link SQLFingerprint} of all traced SQL statements,
+ * so the statements that cost the most in aggregate can be found rather than just the slowest single executions.
+ * <p>
+ * The number of fingerprints tracked per pool is limited by the system property {@value #MAX_FINGERPRINTS_PROPERTY}
+ * (default {@value #DEFAULT_MAX_FINGERPRINTS}).
+ */
+@Service
+@Singleton
+public class SQLStatisticsStore {
+
+    public static final String MAX_FINGERPRINTS_PROPERTY = "fish.payara.jdbc.sqlstats.maxFingerprints";
+
+    private static final int DEFAULT_MAX_FINGERPRINTS = 256;
+
+    private final int maxFingerprints = Math.max(1, Integer.getInteger(MAX_FINGERPRINTS_PROPERTY, DEFAULT_MAX_FINGERPRINTS));
+    private final Map<String, PoolSQLStatistics> statisticsByPoolName = new ConcurrentHashMap<>();
+
+    /**
+     * Adds an execution of the SQL to the statistics of the pool.
+     *
+     * @param poolName name of the connection pool the SQL was executed on
+     * @param sql the SQL text as passed to the driver
+     * @param executionTime execution time in milliseconds
+     */
+    public void record(String poolName, String sql, long executionTime) {
+        if (poolName == null || sql == null) {
+            return;
+        }
+        statisticsByPoolName.computeIfAbsent(poolName, name -> new PoolSQLStatistics(maxFingerprints))
+                .record(sql, executionTime);
+    }
+
+    /**
+     * @return names of the pools that have statistics, in alphabetical order
+     */
+    public Set<String> getPoolNames() {
+        return new TreeSet<>(statisticsByPoolName.keySet());
+    }
+
+    /**
+     * @param poolName name of the connection pool
+     * @param limit maximum number of statistics returned
+     * @return statistics of the pool ordered by total execution time, highest first
+     */
+    public List<SQLStatistics> getTopByTotalTime(String poolName, int limit) {
+        PoolSQLStatistics statistics = statisticsByPoolName.get(poolName);
+        return statistics == null ? Collections.emptyList() : statistics.getTopByTotalTime(limit);
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2026 Payara Foundation and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://glassfish.dev.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package fish.payara.jdbc.statistics;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class SQLFingerprintTest {
+
+    @Test
+    public void literalsAreReplaced() {
+        assertEquals("SELECT * FROM person WHERE name = ? AND age > ?",
+                SQLFingerprint.of("SELECT * FROM person WHERE name = 'O''Brien' AND age > 42"));
+        assertEquals("UPDATE account SET balance = -? WHERE id = ?",
+                SQLFingerprint.of("UPDATE account SET balance = -1.5e+3 WHERE id = 0x1F"));
+    }
+
+    @Test
+    public void identifiersAndParametersAreKept() {
+        assertEquals("SELECT col1, \"Table 2\".c FROM t1 JOIN \"Table 2\" ON t1.id = ?",
+                SQLFingerprint.of("SELECT col1, \"Table 2\".c FROM t1 JOIN \"Table 2\" ON t1.id = ?"));
+    }
+
+    @Test
+    public void whitespaceAndCommentsAreRemoved() {
+        assertEquals("SELECT a FROM b WHERE c = ?",
+                SQLFingerprint.of("  SELECT a -- the column\n FROM\tb /* hint */ WHERE   c = 7  "));
+    }
+
+    @Test
+    public void valueListsAreCollapsed() {
+        assertEquals("SELECT a FROM b WHERE c IN (?)", SQLFingerprint.of("SELECT a FROM b WHERE c IN (1, 2,3)"));
+        assertEquals(SQLFingerprint.of("SELECT a FROM b WHERE c IN (?, ?)"),
+                SQLFingerprint.of("SELECT a FROM b WHERE c IN ('x', 'y', 'z')"));
+    }
+
+    @Test
+    public void fingerprintIsTruncated() {
+        StringBuilder sql = new StringBuilder("SELECT ");
+        for (int i = 0; i < 1000; i++) {
+            sql.append("column").append(',');
+        }
+        assertEquals(SQLFingerprint.MAX_LENGTH, SQLFingerprint.of(sql.toString()).length());
+    }
+
+    @Test
+    public void nullHasNoFingerprint() {
+        assertNull(SQLFingerprint.of(null));
+    }
+}
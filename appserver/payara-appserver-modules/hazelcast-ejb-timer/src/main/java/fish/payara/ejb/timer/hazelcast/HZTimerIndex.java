@@ -0,0 +1,235 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2026 Payara Foundation and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://github.com/payara/Payara/blob/main/LICENSE.txt
+ * See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at glassfish/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * The Payara Foundation designates this particular file as subject to the "Classpath"
+ * exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package fish.payara.ejb.timer.hazelcast;
+
+import com.hazelcast.config.IndexType;
+import com.hazelcast.core.HazelcastJsonValue;
+import com.hazelcast.map.IMap;
+import com.hazelcast.query.Predicates;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Index of the persistent timers by the attributes the per server operations look up.
+ * <p>
+ * A timer holds application objects, its info and timed object primary key, which can only be
+ * deserialized on a member running the application. A predicate on the timer cache is evaluated
+ * on the member owning each partition, so it would silently skip the timers of applications not
+ * loaded there, as on the DAS. The index entries are JSON documents holding only the timer
+ * attributes, which any member can query, and the timers are then fetched by key on the caller.
+ * <p>
+ * Timers stored before the index existed are indexed once per cluster by {@link #backfill(IMap)},
+ * which records its completion under {@link #BACKFILLED_MARKER}.
+ */
+class HZTimerIndex {
+
+    static final String MEMBER_NAME_ATTRIBUTE = "memberName";
+    static final String OWNER_ID_ATTRIBUTE = "ownerId";
+    static final String CONTAINER_ID_ATTRIBUTE = "containerId";
+    static final String APPLICATION_ID_ATTRIBUTE = "applicationId";
+
+    /**
+     * Key of the entry recording that every timer of the timer cache has been indexed.
+     */
+    static final String BACKFILLED_MARKER = "~backfilled";
+
+    private static final String KEY_ATTRIBUTE = "__key";
+    private static final int BACKFILL_BATCH_SIZE = 500;
+
+    private final IMap<String, HazelcastJsonValue> index;
+
+    HZTimerIndex(IMap<String, HazelcastJsonValue> index) {
+        this.index = index;
+        index.addIndex(IndexType.HASH, MEMBER_NAME_ATTRIBUTE);
+        index.addIndex(IndexType.HASH, OWNER_ID_ATTRIBUTE);
+        index.addIndex(IndexType.HASH, CONTAINER_ID_ATTRIBUTE);
+        index.addIndex(IndexType.HASH, APPLICATION_ID_ATTRIBUTE);
+    }
+
+    void put(HZTimer timer) {
+        index.set(timer.getKey().timerId, toJson(timer));
+    }
+
+    void putAll(Collection<HZTimer> timers) {
+        if (timers.isEmpty()) {
+            return;
+        }
+        Map<String, HazelcastJsonValue> entries = new HashMap<>();
+        for (HZTimer timer : timers) {
+            entries.put(timer.getKey().timerId, toJson(timer));
+        }
+        index.putAll(entries);
+    }
+
+    void remove(String timerId) {
+        index.delete(timerId);
+    }
+
+    Set<String> getTimerIdsOfMember(String memberName) {
+        return index.keySet(Predicates.equal(MEMBER_NAME_ATTRIBUTE, memberName));
+    }
+
+    Set<String> getTimerIdsOfOwner(String ownerId) {
+        return index.keySet(Predicates.equal(OWNER_ID_ATTRIBUTE, ownerId));
+    }
+
+    Set<String> getTimerIdsNotOfOwner(String ownerId) {
+        return index.keySet(Predicates.and(Predicates.notEqual(OWNER_ID_ATTRIBUTE, ownerId),
+                Predicates.notEqual(KEY_ATTRIBUTE, BACKFILLED_MARKER)));
+    }
+
+    Set<String> getTimerIdsOfApplication(long applicationId) {
+        return index.keySet(Predicates.equal(APPLICATION_ID_ATTRIBUTE, Long.toString(applicationId)));
+    }
+
+    /**
+     * @return true once every timer of the timer cache has been indexed
+     */
+    boolean isBackfilled() {
+        return index.containsKey(BACKFILLED_MARKER);
+    }
+
+    /**
+     * Indexes the timers of the timer cache which are not indexed yet, unless this was already done
+     * in the cluster. A timer of an application which is not loaded on this member cannot be read
+     * here, nor by a predicate on the timer cache; it is left to be indexed when its application is
+     * deployed, and the backfill is only recorded as complete once no such timer is left.
+     *
+     * @param timers the timer cache
+     * @return the number of timers which could not be read on this member
+     */
+    int backfill(IMap<String, HZTimer> timers) {
+        if (isBackfilled()) {
+            return 0;
+        }
+        index.lock(BACKFILLED_MARKER);
+        try {
+            if (isBackfilled()) {
+                return 0;
+            }
+            Set<String> missing = new HashSet<>(timers.keySet());
+            missing.removeAll(index.keySet());
+            int unreadable = 0;
+            List<String> batch = new ArrayList<>(BACKFILL_BATCH_SIZE);
+            for (String timerId : missing) {
+                batch.add(timerId);
+                if (batch.size() == BACKFILL_BATCH_SIZE) {
+                    unreadable += backfill(timers, batch);
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                unreadable += backfill(timers, batch);
+            }
+            if (unreadable == 0) {
+                index.set(BACKFILLED_MARKER, new HazelcastJsonValue("{}"));
+            }
+            return unreadable;
+        } finally {
+            index.unlock(BACKFILLED_MARKER);
+        }
+    }
+
+    private int backfill(IMap<String, HZTimer> timers, List<String> timerIds) {
+        Map<String, HZTimer> found = timers.getAll(new HashSet<>(timerIds));
+        int unreadable = 0;
+        for (String timerId : timerIds) {
+            HZTimer timer = found.get(timerId);
+            if (timer != null) {
+                // an entry written meanwhile by the member of the timer is more recent
+                index.putIfAbsent(timerId, toJson(timer));
+                if (!timers.containsKey(timerId)) {
+                    // removed meanwhile, possibly before its index entry was written
+                    index.delete(timerId);
+                }
+            } else if (timers.containsKey(timerId)) {
+                unreadable++;
+            }
+        }
+        return unreadable;
+    }
+
+    /**
+     * Counts the timers of each of the given members.
+     *
+     * @return the timer count of each member, in the order of the member names
+     */
+    String[] countTimersOfMembers(String... memberNames) {
+        String[] counts = new String[memberNames.length];
+        for (int i = 0; i < memberNames.length; i++) {
+            counts[i] = Integer.toString(getTimerIdsOfMember(memberNames[i]).size());
+        }
+        return counts;
+    }
+
+    // ids are kept as JSON strings so that queries compare them exactly
+    static HazelcastJsonValue toJson(HZTimer timer) {
+        StringBuilder json = new StringBuilder("{");
+        appendAttribute(json, MEMBER_NAME_ATTRIBUTE, timer.getMemberName()).append(',');
+        appendAttribute(json, OWNER_ID_ATTRIBUTE, timer.getOwnerId()).append(',');
+        appendAttribute(json, CONTAINER_ID_ATTRIBUTE, Long.toString(timer.getContainerId())).append(',');
+        appendAttribute(json, APPLICATION_ID_ATTRIBUTE, Long.toString(timer.getApplicationId()));
+        return new HazelcastJsonValue(json.append('}').toString());
+    }
+
+    private static StringBuilder appendAttribute(StringBuilder json, String name, String value) {
+        json.append('"').append(name).append("\":");
+        if (value == null) {
+            return json.append("null");
+        }
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                json.append('\\').append(c);
+            } else if (c < 0x20) {
+                json.append(String.format("\\u%04x", (int) c));
+            } else {
+                json.append(c);
+            }
+        }
+        return json.append('"');
+    }
+}
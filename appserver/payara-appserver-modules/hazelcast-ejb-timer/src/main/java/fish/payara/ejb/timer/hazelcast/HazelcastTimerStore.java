@@ -1,7 +1,7 @@
 /*
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  *
- * Copyright (c) 2016-2021 Payara Foundation and/or its affiliates. All rights reserved.
+ * Copyright (c) 2016-2026 Payara Foundation and/or its affiliates. All rights reserved.
  *
  * The contents of this file are subject to the terms of either the GNU
  * General Public License Version 2 only ("GPL") or the Common Development
@@ -68,7 +68,7 @@ import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
+import java.util.Objects;
 import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -91,8 +91,10 @@ public class HazelcastTimerStore extends NonPersistentEJBTimerService implements
     private static final String EJB_TIMER_CACHE_NAME = "HZEjbTmerCache";
     private static final String EJB_TIMER_CONTAINER_CACHE_NAME = "HZEjbTmerContainerCache";
     private static final String EJB_TIMER_APPLICAION_CACHE_NAME = "HZEjbTmerApplicationCache";
+    private static final String EJB_TIMER_INDEX_NAME = "HZEjbTmerIndex";
 
     private final IMap<String, HZTimer> pkCache;
+    private final HZTimerIndex timerIndex;
     private final IMap<Long, Set<TimerPrimaryKey>> containerCache;
     private final IMap<Long, Set<TimerPrimaryKey>> applicationCache;
     private final String serverName;
@@ -119,6 +121,9 @@ public class HazelcastTimerStore extends NonPersistentEJBTimerService implements
         }
         hazelcast = core.getInstance();
         pkCache = hazelcast.getMap(EJB_TIMER_CACHE_NAME);
+        // Per server lookups on failover, migration and list-timers must not scan the whole cluster
+        timerIndex = new HZTimerIndex(hazelcast.getMap(EJB_TIMER_INDEX_NAME));
+        backfillTimerIndex();
         containerCache = hazelcast.getMap(EJB_TIMER_CONTAINER_CACHE_NAME);
         applicationCache = hazelcast.getMap(EJB_TIMER_APPLICAION_CACHE_NAME);
         serverName = core.getAttribute(core.getInstance().getCluster().getLocalMember().getUuid(), HazelcastCore.INSTANCE_ATTRIBUTE);
@@ -127,17 +132,62 @@ public class HazelcastTimerStore extends NonPersistentEJBTimerService implements
         super.enableRescheduleTimers();
     }
 
+    /**
+     * Indexes the timers stored before the index existed, so that the index queries of failover,
+     * migration, counting and application cleanup also find them.
+     */
+    private void backfillTimerIndex() {
+        int unreadable = timerIndex.backfill(pkCache);
+        if (unreadable > 0) {
+            logger.log(Level.INFO, "{0} timers of applications not loaded on this server are not indexed yet,"
+                    + " they will be when their application is deployed", unreadable);
+        }
+    }
+
     private void removeTimers(Set<TimerPrimaryKey> timerIdsToRemove) {
-        for (TimerPrimaryKey timerPrimaryKey : timerIdsToRemove) {
-            removeTimer(pkCache.get(timerPrimaryKey.timerId));
+        for (HZTimer timer : getTimers(timerIdsToRemove).values()) {
+            removeTimer(timer);
+        }
+    }
+
+    /**
+     * Fetches the given timers from the cluster in a single batch.
+     *
+     * @return the timers found, keyed by timer id
+     */
+    private Map<String, HZTimer> getTimers(Collection<TimerPrimaryKey> timerIds) {
+        if (timerIds == null || timerIds.isEmpty()) {
+            return new HashMap<>();
+        }
+        Set<String> keys = new HashSet<>();
+        for (TimerPrimaryKey timerId : timerIds) {
+            keys.add(timerId.timerId);
         }
+        return getTimersById(keys);
+    }
+
+    /**
+     * Fetches the given timers from the cluster in a single batch. Timers of applications
+     * which are not loaded on this server can't be read and are left out.
+     *
+     * @return the timers found, keyed by timer id
+     */
+    private Map<String, HZTimer> getTimersById(Set<String> keys) {
+        if (keys.isEmpty()) {
+            return new HashMap<>();
+        }
+        Map<String, HZTimer> timers = new HashMap<>(pkCache.getAll(keys));
+        timers.values().removeIf(Objects::isNull);
+        return timers;
     }
 
     @Override
     protected void _createTimer(TimerPrimaryKey timerId, long containerId, long applicationId, Object timedObjectPrimaryKey, String server_name, Date initialExpiration, long intervalDuration, EJBTimerSchedule schedule, TimerConfig timerConfig) throws Exception {
         if (timerConfig.isPersistent()) {
 
-            pkCache.put(timerId.timerId, new HZTimer(timerId, containerId, applicationId, timedObjectPrimaryKey, server_name, server_name, initialExpiration, intervalDuration, schedule, timerConfig));
+            HZTimer timer = new HZTimer(timerId, containerId, applicationId, timedObjectPrimaryKey, server_name, server_name, initialExpiration, intervalDuration, schedule, timerConfig);
+            pkCache.put(timerId.timerId, timer);
+            timerIndex.put(timer);
 
             // add to container cache
             Set<TimerPrimaryKey> keysForContainer = containerCache.get(containerId);
@@ -181,19 +231,30 @@ public class HazelcastTimerStore extends NonPersistentEJBTimerService implements
 
         // remove all timers
         Set<TimerPrimaryKey> timerIds = applicationCache.get(applicationId);
+        Set<String> keys = new HashSet<>(timerIndex.getTimerIdsOfApplication(applicationId));
+        if (timerIds != null) {
+            for (TimerPrimaryKey timerId : timerIds) {
+                keys.add(timerId.timerId);
+            }
+        }
 
-        if (timerIds == null || timerIds.isEmpty()) {
+        if (keys.isEmpty()) {
             if (logger.isLoggable(Level.INFO)) {
                 logger.log(Level.INFO, "No timers to be deleted for id: {0}", applicationId);
             }
             return;
         }
 
-        for (TimerPrimaryKey timerId : timerIds) {
-            pkCache.remove(timerId.timerId);
+        // removed by key, so the timers are never deserialized
+        int removed = 0;
+        for (String key : keys) {
+            if (pkCache.containsKey(key)) {
+                pkCache.delete(key);
+                removed++;
+            }
+            timerIndex.remove(key);
         }
-        logger.log(Level.INFO, "Destroyed {0} timers for application {1}", new Object[]{timerIds.size(), applicationId});
-        timerIds.clear();
+        logger.log(Level.INFO, "Destroyed {0} timers for application {1}", new Object[]{removed, applicationId});
         applicationCache.remove(applicationId);
 
     }
@@ -292,9 +353,8 @@ public class HazelcastTimerStore extends NonPersistentEJBTimerService implements
 
         if (timers != null) {
             HashSet<HZTimer> timersToCancel = new HashSet<>();
-            for (TimerPrimaryKey timer : timers) {
-                HZTimer hzTimer = pkCache.get(timer.timerId);
-                if (hzTimer != null && hzTimer.getTimedObjectPk().equals(primaryKey)) {
+            for (HZTimer hzTimer : getTimers(timers).values()) {
+                if (primaryKey.equals(hzTimer.getTimedObjectPk())) {
                     timersToCancel.add(hzTimer);
                 }
             }
@@ -395,13 +455,9 @@ public class HazelcastTimerStore extends NonPersistentEJBTimerService implements
         } else {
 
             Collection<TimerPrimaryKey> timersForTimedObject = containerCache.get(containerId);
-            if (timersForTimedObject != null) {
-                for (TimerPrimaryKey timer : timersForTimedObject) {
-                    HZTimer hzTimer = pkCache.get(timer.timerId);
-                    if (hzTimer != null && hzTimer.getTimedObjectPk().equals(timedObjectPrimaryKey)) {
-                        timerIdsForTimedObject.add(timer);
-                    }
-
+            for (HZTimer hzTimer : getTimers(timersForTimedObject).values()) {
+                if (timedObjectPrimaryKey.equals(hzTimer.getTimedObjectPk())) {
+                    timerIdsForTimedObject.add(hzTimer.getKey());
                 }
             }
         }
@@ -516,7 +572,7 @@ public class HazelcastTimerStore extends NonPersistentEJBTimerService implements
 
     @Override
     public String[] listTimers(String[] serverIds) {
-        return listTimers(pkCache.values(), serverIds);
+        return timerIndex.countTimersOfMembers(serverIds);
     }
 
     @Override
@@ -533,23 +589,22 @@ public class HazelcastTimerStore extends NonPersistentEJBTimerService implements
 
         TransactionManager tm = ejbContainerUtil.getTransactionManager();
 
-        HashMap<String, HZTimer> toRestore = new HashMap<>();
-        int totalTimersMigrated = 0;
-
-        for (String pk : pkCache.keySet()) {
-            HZTimer hZTimer = pkCache.get(pk);
-            if (hZTimer.getOwnerId().equals(fromOwnerId)) {
-                toRestore.put(pk, hZTimer);
-                hZTimer.setOwnerId(ownerIdOfThisServer);
-                hZTimer.setMemberName(serverName);
-            }
+        Set<String> fromOwnerTimerIds = timerIndex.getTimerIdsOfOwner(fromOwnerId);
+        Map<String, HZTimer> toRestore = getTimersById(fromOwnerTimerIds);
+        if (toRestore.size() < fromOwnerTimerIds.size()) {
+            logger.log(Level.WARNING, "{0} timers of {1} belong to applications not loaded on {2} and are not migrated",
+                    new Object[]{fromOwnerTimerIds.size() - toRestore.size(), fromOwnerId, ownerIdOfThisServer});
         }
 
-        for (Entry<String, HZTimer> entry : toRestore.entrySet()) {
-            pkCache.put(entry.getKey(), entry.getValue());
-            totalTimersMigrated++;
+        for (HZTimer hZTimer : toRestore.values()) {
+            hZTimer.setOwnerId(ownerIdOfThisServer);
+            hZTimer.setMemberName(serverName);
         }
 
+        pkCache.putAll(toRestore);
+        timerIndex.putAll(toRestore.values());
+        int totalTimersMigrated = toRestore.size();
+
         if (totalTimersMigrated > 0) {
 
             boolean success = false;
@@ -607,8 +662,14 @@ public class HazelcastTimerStore extends NonPersistentEJBTimerService implements
         Set<TimerPrimaryKey> deadKeys = new HashSet<>();
         Set<HZTimer> timers = new HashSet<>();
         if (containerKeys != null) {
+            Map<String, HZTimer> containerTimers = getTimers(containerKeys);
+            // indexes timers stored before the index existed which could not be read at start
+            timerIndex.putAll(containerTimers.values());
+            if (!timerIndex.isBackfilled()) {
+                backfillTimerIndex();
+            }
             for (TimerPrimaryKey containerKey : containerKeys) {
-                HZTimer timer = pkCache.get(containerKey.timerId);
+                HZTimer timer = containerTimers.get(containerKey.timerId);
                 if (timer != null) {
                     if (timer.getMemberName().equals(this.serverName)) {
                         activeTimers.add(timer);
@@ -760,6 +821,7 @@ public class HazelcastTimerStore extends NonPersistentEJBTimerService implements
 
     private void removeTimer(HZTimer timer) {
         pkCache.remove(timer.getKey().timerId);
+        timerIndex.remove(timer.getKey().timerId);
 
         Set<TimerPrimaryKey> keys = applicationCache.get(timer.getApplicationId());
         if (keys != null) {
@@ -1135,13 +1197,7 @@ public class HazelcastTimerStore extends NonPersistentEJBTimerService implements
     }
 
     private Collection<HZTimer> findActiveTimersOwnedByThisServer() {
-        HashSet<HZTimer> result = new HashSet<>();
-        for (HZTimer timer : pkCache.values()) {
-            if (timer.getMemberName().equals(this.serverName)) {
-                result.add(timer);
-            }
-        }
-        return result;
+        return new HashSet<>(getTimersById(timerIndex.getTimerIdsOfMember(this.serverName)).values());
     }
 
     private boolean restoreEJBTimers() {
@@ -1151,7 +1207,7 @@ public class HazelcastTimerStore extends NonPersistentEJBTimerService implements
                 restoreTimers();
                 rc = true;
             } else {
-                int s = (findActiveTimersOwnedByThisServer()).size();
+                int s = timerIndex.getTimerIdsOfMember(this.serverName).size();
                 if (s > 0) {
                     logger.log(Level.INFO, "[{0}] EJB Timers owned by this server will be restored when timeout beans are loaded", s);
                 } else {
@@ -1179,22 +1235,18 @@ public class HazelcastTimerStore extends NonPersistentEJBTimerService implements
         FencedLock hazelcastLock = hazelcast.getCPSubsystem().getLock("EJB-TIMER-LOCK");
         hazelcastLock.lock();
         try {
-            Collection<HZTimer> allTimers = pkCache.values();
-            Collection<HZTimer> removedTimers = new HashSet<>();
-            for (HZTimer timer : allTimers) {
-                if (timer.getMemberName().equals(event.getServer())) {
-                    removedTimers.add(timer);
-                }
-            }
-
-
+            Collection<HZTimer> removedTimers =
+                    new HashSet<>(getTimersById(timerIndex.getTimerIdsOfMember(event.getServer())).values());
 
             if (!removedTimers.isEmpty()) {
                 logger.log(Level.INFO, "==> Restoring Timers ... ");
                 Collection<HZTimer> restored = _restoreTimers(removedTimers);
+                Map<String, HZTimer> updated = new HashMap<>();
                 for (HZTimer timer : restored) {
-                    pkCache.put(timer.getKey().getTimerId(), timer);
+                    updated.put(timer.getKey().getTimerId(), timer);
                 }
+                pkCache.putAll(updated);
+                timerIndex.putAll(updated.values());
                 logger.log(Level.INFO, "<== ... Timers Restored.");
             }
         } finally {
@@ -1206,8 +1258,14 @@ public class HazelcastTimerStore extends NonPersistentEJBTimerService implements
      * Remove all local timers that are no longer owned by this instance.
      */
     private void removeLocalTimers() {
-        Collection<HZTimer> allTimers = pkCache.values();
-        for (HZTimer timer : allTimers) {
+        // only timers scheduled here need removing
+        Set<String> localTimerIds = new HashSet<>();
+        for (String timerId : timerIndex.getTimerIdsNotOfOwner(getOwnerIdOfThisServer())) {
+            if (getTimerState(new TimerPrimaryKey(timerId)) != null) {
+                localTimerIds.add(timerId);
+            }
+        }
+        for (HZTimer timer : getTimersById(localTimerIds).values()) {
             removeLocalTimer(timer);
         }
     }
@@ -0,0 +1,204 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2026 Payara Foundation and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://github.com/payara/Payara/blob/main/LICENSE.txt
+ * See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at glassfish/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * The Payara Foundation designates this particular file as subject to the "Classpath"
+ * exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package fish.payara.ejb.timer.hazelcast;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.JoinConfig;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.HazelcastJsonValue;
+import com.hazelcast.map.IMap;
+import com.sun.ejb.containers.TimerPrimaryKey;
+import jakarta.ejb.TimerConfig;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashSet;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class HZTimerIndexTest {
+
+  private HazelcastInstance hazelcast;
+  private IMap<String, HazelcastJsonValue> map;
+  private HZTimerIndex index;
+
+  @Before
+  public void startHazelcast() {
+    Config config = new Config();
+    config.setClusterName("hz-timer-index-test");
+    config.setProperty("hazelcast.phone.home.enabled", "false");
+    JoinConfig join = config.getNetworkConfig().getJoin();
+    join.getMulticastConfig().setEnabled(false);
+    join.getTcpIpConfig().setEnabled(false);
+    join.getAutoDetectionConfig().setEnabled(false);
+    hazelcast = Hazelcast.newHazelcastInstance(config);
+    map = hazelcast.getMap("HZEjbTmerIndex");
+    index = new HZTimerIndex(map);
+  }
+
+  @After
+  public void stopHazelcast() {
+    hazelcast.shutdown();
+  }
+
+  @Test
+  public void timersShallBeFoundByMemberOwnerAndApplication() {
+    index.putAll(Arrays.asList(
+        timer("t1", "jb", 1, 10), timer("t2", "hz", 1, 10), timer("t3", "jb", 2, 20)));
+
+    assertEquals(set("t1", "t3"), index.getTimerIdsOfMember("jb"));
+    assertEquals(set("t2"), index.getTimerIdsOfOwner("hz"));
+    assertEquals(set("t1", "t3"), index.getTimerIdsNotOfOwner("hz"));
+    assertEquals(set("t1", "t2"), index.getTimerIdsOfApplication(10));
+    assertEquals(set("t3"), index.getTimerIdsOfApplication(20));
+    assertTrue(index.getTimerIdsOfApplication(30).isEmpty());
+  }
+
+  @Test
+  public void countersShallFollowServerIdOrder() {
+    index.put(timer("t1", "jb", 1, 10));
+    index.put(timer("t2", "hz", 1, 10));
+    index.put(timer("t3", "jb", 1, 10));
+
+    assertArrayEquals(new String[] {"1", "0", "2"}, index.countTimersOfMembers("hz", "ltd", "jb"));
+  }
+
+  @Test
+  public void migratedTimersShallBeReindexed() {
+    HZTimer timer = timer("t1", "jb", 1, 10);
+    index.put(timer);
+
+    timer.setOwnerId("hz");
+    timer.setMemberName("hz");
+    index.putAll(Arrays.asList(timer));
+
+    assertTrue(index.getTimerIdsOfOwner("jb").isEmpty());
+    assertEquals(set("t1"), index.getTimerIdsOfMember("hz"));
+  }
+
+  @Test
+  public void removedTimersShallNotBeFound() {
+    index.put(timer("t1", "jb", 1, 10));
+    index.put(timer("t2", "jb", 1, 10));
+
+    index.remove("t1");
+
+    assertEquals(set("t2"), index.getTimerIdsOfMember("jb"));
+    assertEquals(1, map.size());
+  }
+
+  @Test
+  public void memberNamesShallBeEscaped() {
+    String name = "in\"stance\\1";
+    index.put(timer("t1", name, 1, 10));
+
+    assertEquals(set("t1"), index.getTimerIdsOfMember(name));
+  }
+
+  @Test
+  public void timersWithApplicationObjectsShallBeIndexedWithoutThem() {
+    index.put(new HZTimer(new TimerPrimaryKey("t1"), 1, 10, new ApplicationKey(), "jb", "jb",
+        new Date(), 0, null, new TimerConfig(new ApplicationKey(), true)));
+
+    String json = map.get("t1").toString();
+    assertTrue(json, !json.contains("ApplicationKey"));
+    assertEquals(set("t1"), index.getTimerIdsOfApplication(10));
+  }
+
+  @Test
+  public void timersStoredBeforeTheIndexShallBeBackfilled() {
+    IMap<String, HZTimer> timers = hazelcast.getMap("HZEjbTmerCache");
+    timers.set("t1", timer("t1", "jb", 1, 10));
+    timers.set("t2", timer("t2", "hz", 1, 10));
+
+    assertFalse(index.isBackfilled());
+    assertEquals(0, index.backfill(timers));
+
+    assertTrue(index.isBackfilled());
+    assertEquals(set("t1"), index.getTimerIdsOfMember("jb"));
+    assertEquals(set("t1"), index.getTimerIdsNotOfOwner("hz"));
+    assertEquals(set("t1", "t2"), index.getTimerIdsOfApplication(10));
+    assertArrayEquals(new String[] {"1", "1"}, index.countTimersOfMembers("hz", "jb"));
+  }
+
+  @Test
+  public void backfillShallKeepEntriesIndexedMeanwhile() {
+    IMap<String, HZTimer> timers = hazelcast.getMap("HZEjbTmerCache");
+    timers.set("t1", timer("t1", "jb", 1, 10));
+    index.put(timer("t1", "hz", 1, 10));
+
+    index.backfill(timers);
+
+    assertEquals(set("t1"), index.getTimerIdsOfMember("hz"));
+    assertTrue(index.getTimerIdsOfMember("jb").isEmpty());
+  }
+
+  @Test
+  public void backfillShallRunOncePerCluster() {
+    IMap<String, HZTimer> timers = hazelcast.getMap("HZEjbTmerCache");
+    index.backfill(timers);
+    timers.set("t1", timer("t1", "jb", 1, 10));
+
+    // as another member starting later
+    assertEquals(0, new HZTimerIndex(map).backfill(timers));
+
+    assertTrue(index.getTimerIdsOfMember("jb").isEmpty());
+  }
+
+  private static HZTimer timer(String id, String member, long containerId, long applicationId) {
+    return new HZTimer(new TimerPrimaryKey(id), containerId, applicationId, null, member, member,
+        new Date(), 0, null, new TimerConfig(null, true));
+  }
+
+  private static HashSet<String> set(String... ids) {
+    return new HashSet<>(Arrays.asList(ids));
+  }
+
+  private static class ApplicationKey implements java.io.Serializable {
+    private static final long serialVersionUID = 1L;
+  }
+}
@@ -1,7 +1,7 @@
 /*
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  *
- * Copyright (c) 2017-2022 Payara Foundation and/or its affiliates. All rights reserved.
+ * Copyright (c) 2017-2026 Payara Foundation and/or its affiliates. All rights reserved.
  *
  * The contents of this file are subject to the terms of either the GNU
  * General Private License Version 2 only ("GPL") or the Common Development
@@ -59,6 +59,7 @@ public class JwtPrivateKeyStore {
 
     private final Config config;
     private final Supplier<Optional<String>> cacheSupplier;
+    private final KeyLoadingCache keyCache;
     private final Duration defaultCacheTTL;
     private String keyLocation = "/privateKey.pem";
 
@@ -68,7 +69,8 @@ public class JwtPrivateKeyStore {
     public JwtPrivateKeyStore(Duration defaultCacheTTL) {
         this.config = ConfigProvider.getConfig();
         this.defaultCacheTTL = defaultCacheTTL;
-        this.cacheSupplier = new KeyLoadingCache(this::readRawPrivateKey)::get;
+        this.keyCache = new KeyLoadingCache(this::readRawPrivateKey);
+        this.cacheSupplier = keyCache::get;
     }
 
     /**
@@ -90,6 +92,13 @@ public class JwtPrivateKeyStore {
         return privateKey;
     }
 
+    /**
+     * @return a number that changes whenever the private key is reloaded with a different value
+     */
+    public long getKeyGeneration() {
+        return keyCache.getGeneration();
+    }
+
     public PrivateKey getPrivateKey(String keyId) {
         return cacheSupplier.get()
                 .map(key -> createPrivateKey(key, keyId))
@@ -1,7 +1,7 @@
 /*
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  *
- * Copyright (c) [2017-2021] Payara Foundation and/or its affiliates. All rights reserved.
+ * Copyright (c) [2017-2026] Payara Foundation and/or its affiliates. All rights reserved.
  *
  * The contents of this file are subject to the terms of either the GNU
  * General Public License Version 2 only ("GPL") or the Common Development
@@ -72,6 +72,7 @@ public class JwtPublicKeyStore {
         
     private final Config config;
     private final Supplier<Optional<String>> cacheSupplier;
+    private final KeyLoadingCache keyCache;
     private final Duration defaultCacheTTL;
     private String keyLocation = "/publicKey.pem";
 
@@ -81,7 +82,8 @@ public class JwtPublicKeyStore {
     public JwtPublicKeyStore(Duration defaultCacheTTL) {
         this.config = ConfigProvider.getConfig();
         this.defaultCacheTTL = defaultCacheTTL;
-        this.cacheSupplier = new KeyLoadingCache(this::readRawPublicKey)::get;
+        this.keyCache = new KeyLoadingCache(this::readRawPublicKey);
+        this.cacheSupplier = keyCache::get;
     }
 
     /**
@@ -93,6 +95,13 @@ public class JwtPublicKeyStore {
         this.keyLocation = keyLocation.orElse(this.keyLocation);
     }
 
+    /**
+     * @return a number that changes whenever the public key is reloaded with a different value
+     */
+    public long getKeyGeneration() {
+        return keyCache.getGeneration();
+    }
+
     /**
      * 
      * @param keyID The JWT key ID or null if no key ID was provided
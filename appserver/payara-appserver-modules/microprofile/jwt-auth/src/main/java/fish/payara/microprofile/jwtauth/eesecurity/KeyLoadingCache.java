@@ -1,7 +1,7 @@
 /*
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  *
- * Copyright (c) 2017-2021 Payara Foundation and/or its affiliates. All rights reserved.
+ * Copyright (c) 2017-2026 Payara Foundation and/or its affiliates. All rights reserved.
  *
  * The contents of this file are subject to the terms of either the GNU
  * General Public License Version 2 only ("GPL") or the Common Development
@@ -50,6 +50,7 @@ public class KeyLoadingCache {
     private Duration ttl;
     private long lastUpdated;
     private Optional<String> key;
+    private volatile long generation;
 
 
     public KeyLoadingCache(Supplier<CacheableString> keySupplier) {
@@ -66,10 +67,21 @@ public class KeyLoadingCache {
         return key;
     }
 
+    /**
+     * @return a number that changes whenever a refresh loads a different key
+     */
+    public long getGeneration() {
+        get();
+        return generation;
+    }
+
     private synchronized void refresh() {
         long now = System.currentTimeMillis();
         if (now - lastUpdated > ttl.toMillis()) {
             CacheableString result = keySupplier.get();
+            if (key != null && !key.equals(result.getValue())) {
+                generation++;
+            }
             key = result.getValue();
             ttl = result.getCacheTTL();
             lastUpdated = now;
@@ -1,7 +1,7 @@
 /*
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  *
- * Copyright (c) [2017-2023] Payara Foundation and/or its affiliates. All rights reserved.
+ * Copyright (c) [2017-2026] Payara Foundation and/or its affiliates. All rights reserved.
  *
  * The contents of this file are subject to the terms of either the GNU
  * General Public License Version 2 only ("GPL") or the Common Development
@@ -64,6 +64,7 @@ import java.util.logging.Logger;
 import static jakarta.security.enterprise.identitystore.CredentialValidationResult.INVALID_RESULT;
 import static java.lang.Thread.currentThread;
 import static java.util.logging.Level.INFO;
+import static java.util.logging.Level.WARNING;
 import static org.eclipse.microprofile.jwt.config.Names.ISSUER;
 
 /**
@@ -76,6 +77,8 @@ public class SignedJWTIdentityStore implements IdentityStore {
 
     private static final Logger LOGGER = Logger.getLogger(SignedJWTIdentityStore.class.getName());
 
+    private static final int DEFAULT_VERIFIED_TOKEN_CACHE_SIZE = 1000;
+
     private final String acceptedIssuer;
     private final Optional<List<String>> allowedAudience;
     private final Optional<Boolean> enabledNamespace;
@@ -90,6 +93,8 @@ public class SignedJWTIdentityStore implements IdentityStore {
 
     private Map<String, Optional<String>> optionalConfigProperty;
 
+    private final VerifiedTokenCache verifiedTokenCache;
+
     public SignedJWTIdentityStore() {
         config = ConfigProvider.getConfig();
 
@@ -115,13 +120,23 @@ public class SignedJWTIdentityStore implements IdentityStore {
         // Signing is required by default, it doesn't parse if not signed
         isEncryptionRequired = decryptKeyLocation.isPresent();
         setOptionalConfigProperty(properties);
+        verifiedTokenCache = new VerifiedTokenCache(readVerifiedTokenCacheSize(properties),
+                optionalConfigProperty.get(Names.TOKEN_AGE).map(Long::valueOf),
+                optionalConfigProperty.get(Names.CLOCK_SKEW).map(Long::valueOf));
     }
 
     public CredentialValidationResult validate(SignedJWTCredential signedJWTCredential) {
-        final JwtTokenParser jwtTokenParser = new JwtTokenParser(enabledNamespace, customNamespace, disableTypeVerification);
+        final String rawToken = signedJWTCredential.getSignedJWT();
         try {
-            JsonWebTokenImpl jsonWebToken = jwtTokenParser.parse(signedJWTCredential.getSignedJWT(),
-                    isEncryptionRequired, publicKeyStore, acceptedIssuer, privateKeyStore, optionalConfigProperty);
+            // key generations only ever grow, so their sum changes whenever either key is reloaded
+            long keyGeneration = publicKeyStore.getKeyGeneration();
+            if (isEncryptionRequired || isEncrypted(rawToken)) {
+                keyGeneration += privateKeyStore.getKeyGeneration();
+            }
+            JsonWebTokenImpl jsonWebToken = verifiedTokenCache.get(rawToken, keyGeneration,
+                    () -> new JwtTokenParser(enabledNamespace, customNamespace, disableTypeVerification)
+                            .parse(rawToken, isEncryptionRequired, publicKeyStore, acceptedIssuer, privateKeyStore,
+                                    optionalConfigProperty));
 
             // verifyAndParseEncryptedJWT audience
             final Set<String> recipientsOfThisJWT = jsonWebToken.getAudience();
@@ -148,6 +163,17 @@ public class SignedJWTIdentityStore implements IdentityStore {
         return INVALID_RESULT;
     }
 
+    private static boolean isEncrypted(String rawToken) {
+        // encrypted JWT has 5 parts, signed JWT 3
+        int separators = 0;
+        for (int i = 0; i < rawToken.length(); i++) {
+            if (rawToken.charAt(i) == '.') {
+                separators++;
+            }
+        }
+        return separators >= 4;
+    }
+
     public static Optional<Properties> readVendorProperties() {
         URL mpJwtResource = currentThread().getContextClassLoader().getResource("/payara-mp-jwt.properties");
         Properties properties = null;
@@ -186,6 +212,22 @@ public class SignedJWTIdentityStore implements IdentityStore {
         		.orElseGet( () -> Duration.ofMinutes(5));
     }
     
+    private int readVerifiedTokenCacheSize(Optional<Properties> properties) {
+        String size = properties
+                .map(props -> props.getProperty("verified.token.cache.size"))
+                .orElse(null);
+        if (size == null) {
+            return DEFAULT_VERIFIED_TOKEN_CACHE_SIZE;
+        }
+        try {
+            return Integer.parseInt(size.trim());
+        } catch (NumberFormatException e) {
+            LOGGER.log(WARNING, "Invalid verified.token.cache.size {0}, using default {1}",
+                    new Object[] {size, DEFAULT_VERIFIED_TOKEN_CACHE_SIZE});
+            return DEFAULT_VERIFIED_TOKEN_CACHE_SIZE;
+        }
+    }
+
     private Optional<String> readAudience(Optional<Properties> properties) {
         return properties.isPresent() ? Optional.ofNullable(properties.get().getProperty(Names.AUDIENCES)) : Optional.empty();
     }
@@ -0,0 +1,191 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2026 Payara Foundation and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://github.com/payara/Payara/blob/main/LICENSE.txt
+ * See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at glassfish/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * The Payara Foundation designates this particular file as subject to the "Classpath"
+ * exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package fish.payara.microprofile.jwtauth.eesecurity;
+
+import fish.payara.microprofile.jwtauth.jwt.JsonWebTokenImpl;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+
+import static java.util.logging.Level.FINE;
+
+/**
+ * Bounded cache of JWTs that have already been verified, so a client reusing its bearer token does not pay for
+ * signature verification and decryption on every request.
+ * <p>
+ * Tokens are keyed by a SHA-256 hash of the raw token. An entry is only returned while the token would still pass
+ * the expiry and token age checks and as long as the keys it was verified with have not been reloaded with a
+ * different value.
+ */
+class VerifiedTokenCache {
+
+    private static final Logger LOGGER = Logger.getLogger(VerifiedTokenCache.class.getName());
+
+    @FunctionalInterface
+    interface TokenVerifier {
+        JsonWebTokenImpl verify() throws JWTProcessingException;
+    }
+
+    private static final class Entry {
+        final JsonWebTokenImpl token;
+        final long expiresAtMillis;
+        final long keyGeneration;
+
+        Entry(JsonWebTokenImpl token, long expiresAtMillis, long keyGeneration) {
+            this.token = token;
+            this.expiresAtMillis = expiresAtMillis;
+            this.keyGeneration = keyGeneration;
+        }
+    }
+
+    private final int maxSize;
+    private final Optional<Long> tokenAge;
+    private final Optional<Long> allowedClockSkew;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * @param maxSize          maximum number of tokens held, zero or less disables the cache
+     * @param tokenAge         maximum token age in seconds, if configured
+     * @param allowedClockSkew allowed clock skew in seconds, if configured
+     */
+    VerifiedTokenCache(int maxSize, Optional<Long> tokenAge, Optional<Long> allowedClockSkew) {
+        this.maxSize = maxSize;
+        this.tokenAge = tokenAge;
+        this.allowedClockSkew = allowedClockSkew;
+    }
+
+    /**
+     * Returns the cached token for the given raw token or verifies and caches it.
+     * Tokens failing verification are never cached.
+     *
+     * @param rawToken      the bearer token as sent by the client
+     * @param keyGeneration generation of the keys the token is verified with
+     * @param verifier      parses and verifies the token on a cache miss
+     * @return the verified token
+     * @throws JWTProcessingException if the token is not valid
+     */
+    JsonWebTokenImpl get(String rawToken, long keyGeneration, TokenVerifier verifier) throws JWTProcessingException {
+        if (maxSize <= 0) {
+            return verifier.verify();
+        }
+        String key = hash(rawToken);
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            if (entry.keyGeneration == keyGeneration && System.currentTimeMillis() < entry.expiresAtMillis) {
+                hits.increment();
+                return entry.token;
+            }
+            entries.remove(key, entry);
+        }
+        misses.increment();
+        LOGGER.log(FINE, () -> "Verified JWT cache miss, hits: " + getHits() + ", misses: " + getMisses()
+                + ", size: " + entries.size());
+
+        JsonWebTokenImpl token = verifier.verify();
+        makeRoom();
+        entries.put(key, new Entry(token, expiresAtMillis(token), keyGeneration));
+        return token;
+    }
+
+    long getHits() {
+        return hits.sum();
+    }
+
+    long getMisses() {
+        return misses.sum();
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    /**
+     * @return the time from which the token would fail the expiry or token age check
+     */
+    private long expiresAtMillis(JsonWebTokenImpl token) {
+        long skew = allowedClockSkew.orElse(0L);
+        long expiresAt = token.getExpirationTime() + skew;
+        if (tokenAge.isPresent()) {
+            expiresAt = Math.min(expiresAt, token.getIssuedAtTime() + tokenAge.get() + skew);
+        }
+        return TimeUnit.SECONDS.toMillis(expiresAt);
+    }
+
+    /**
+     * Drops expired entries once the cache is full and, if that is not enough, about a tenth of the remaining
+     * entries so the following insertions do not need to scan again.
+     */
+    private void makeRoom() {
+        if (entries.size() < maxSize) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(entry -> now >= entry.expiresAtMillis);
+        if (entries.size() < maxSize) {
+            return;
+        }
+        int target = maxSize - Math.max(1, maxSize / 10);
+        Iterator<String> keys = entries.keySet().iterator();
+        while (entries.size() > target && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    private static String hash(String rawToken) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(digest.digest(rawToken.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
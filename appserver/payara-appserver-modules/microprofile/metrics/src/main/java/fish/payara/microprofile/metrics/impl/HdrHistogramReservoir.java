@@ -0,0 +1,279 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ *    Copyright (c) [2026] Payara Foundation and/or its affiliates. All rights reserved.
+ *
+ *     The contents of this file are subject to the terms of either the GNU
+ *     General Public License Version 2 only ("GPL") or the Common Development
+ *     and Distribution License("CDDL") (collectively, the "License").  You
+ *     may not use this file except in compliance with the License.  You can
+ *     obtain a copy of the License at
+ *     https://github.com/payara/Payara/blob/main/LICENSE.txt
+ *     See the License for the specific
+ *     language governing permissions and limitations under the License.
+ *
+ *     When distributing the software, include this License Header Notice in each
+ *     file and include the License file at glassfish/legal/LICENSE.txt.
+ *
+ *     GPL Classpath Exception:
+ *     The Payara Foundation designates this particular file as subject to the "Classpath"
+ *     exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ *     file that accompanied this code.
+ *
+ *     Modifications:
+ *     If applicable, add the following below the License Header, with the fields
+ *     enclosed by brackets [] replaced by your own identifying information:
+ *     "Portions Copyright [year] [name of copyright owner]"
+ *
+ *     Contributor(s):
+ *     If you wish your version of this file to be governed by only the CDDL or
+ *     only the GPL Version 2, indicate your decision by adding "[Contributor]
+ *     elects to include this software in this distribution under the [CDDL or GPL
+ *     Version 2] license."  If you don't indicate a single choice of license, a
+ *     recipient has the option to distribute your version of this file under
+ *     either the CDDL, the GPL Version 2 or to extend the choice of license to
+ *     its licensees as provided above.  However, if you add GPL Version 2 code
+ *     and therefore, elected the GPL Version 2 license, then the option applies
+ *     only if the new code is made subject to such option by the copyright
+ *     holder.
+ *
+ */
+package fish.payara.microprofile.metrics.impl;
+
+import com.sun.enterprise.util.LogLinearHistogram;
+
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import org.eclipse.microprofile.metrics.Snapshot;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * A {@link Reservoir} recording every value into a fixed size log-linear histogram, in the style of HdrHistogram.
+ * <p>
+ * Values are counted in buckets whose width grows with the magnitude of the value, so any value from 0 to
+ * {@link Long#MAX_VALUE} is recorded with a relative error of at most 1/{@value #SUB_BUCKETS}. Recording is lock-free
+ * and does not allocate: each thread updates one of a few recorders chosen by its thread id, so concurrent timers
+ * rarely touch the same memory. The recorders are {@link LogLinearHistogram}s, merged when a snapshot is taken.
+ * <p>
+ * Unlike {@link ExponentiallyDecayingReservoir} the histogram is not biased towards recent values; it covers all
+ * values recorded since the metric was created.
+ */
+public class HdrHistogramReservoir implements Reservoir {
+
+    private static final int SUB_BUCKET_BITS = 4;
+    static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    static final int BUCKETS = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private static final int MAX_RECORDERS = 8;
+
+    private final AtomicReferenceArray<Recorder> recorders;
+    private final int recorderMask;
+
+    private volatile ConfigurationProperties configurationProperties;
+
+    public HdrHistogramReservoir() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param concurrency the expected number of threads recording at the same time, bounding the number of
+     * recorders
+     */
+    public HdrHistogramReservoir(int concurrency) {
+        int recorderCount = Integer.highestOneBit(Math.max(1, Math.min(concurrency, MAX_RECORDERS)) * 2 - 1);
+        this.recorders = new AtomicReferenceArray<>(recorderCount);
+        this.recorderMask = recorderCount - 1;
+    }
+
+    @Override
+    public int size() {
+        long count = 0;
+        for (int i = 0; i < recorders.length(); i++) {
+            Recorder recorder = recorders.get(i);
+            if (recorder != null) {
+                count += recorder.histogram.getTotalCount();
+            }
+        }
+        return (int) Math.min(count, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public void update(long value) {
+        if (value < 0) {
+            value = 0;
+        }
+        Recorder recorder = recorder();
+        recorder.histogram.record(value);
+        recorder.sum.addAndGet(value);
+        long max = recorder.max.get();
+        while (value > max && !recorder.max.compareAndSet(max, value)) {
+            max = recorder.max.get();
+        }
+    }
+
+    private Recorder recorder() {
+        int index = (int) Thread.currentThread().getId() & recorderMask;
+        Recorder recorder = recorders.get(index);
+        if (recorder == null) {
+            recorders.compareAndSet(index, null, new Recorder());
+            recorder = recorders.get(index);
+        }
+        return recorder;
+    }
+
+    @Override
+    public Snapshot getSnapshot() {
+        long[] counts = new long[BUCKETS];
+        long sum = 0;
+        long max = 0;
+        for (int i = 0; i < recorders.length(); i++) {
+            Recorder recorder = recorders.get(i);
+            if (recorder != null) {
+                recorder.histogram.addCountsTo(counts);
+                sum += recorder.sum.get();
+                max = Math.max(max, recorder.max.get());
+            }
+        }
+        return new HistogramSnapshot(counts, sum, max, configurationProperties);
+    }
+
+    @Override
+    public void setConfigAdapter(ConfigurationProperties configurationProperties) {
+        this.configurationProperties = configurationProperties;
+    }
+
+    static int bucketIndex(long value) {
+        return LogLinearHistogram.indexOf(value, SUB_BUCKET_BITS);
+    }
+
+    /**
+     * @return the highest value counted in the given bucket
+     */
+    static long bucketUpperBound(int index) {
+        return LogLinearHistogram.upperBoundOf(index, SUB_BUCKET_BITS);
+    }
+
+    /**
+     * The values recorded by the threads sharing a recorder: their histogram, sum and maximum.
+     */
+    private static final class Recorder {
+
+        final LogLinearHistogram histogram = new LogLinearHistogram(SUB_BUCKET_BITS, Long.MAX_VALUE);
+        final AtomicLong sum = new AtomicLong();
+        final AtomicLong max = new AtomicLong();
+    }
+
+    /**
+     * A snapshot of the merged recorders of a {@link HdrHistogramReservoir}.
+     */
+    static final class HistogramSnapshot extends Snapshot {
+
+        private static final double[] DEFAULT_PERCENTILES = {0.5, 0.75, 0.95, 0.98, 0.99, 0.999};
+
+        private final long[] counts;
+        private final long count;
+        private final long sum;
+        private final long max;
+        private final ConfigurationProperties configurationProperties;
+
+        HistogramSnapshot(long[] counts, long sum, long max, ConfigurationProperties configurationProperties) {
+            this.counts = counts;
+            this.count = Arrays.stream(counts).sum();
+            this.sum = sum;
+            this.max = max;
+            this.configurationProperties = configurationProperties;
+        }
+
+        @Override
+        public long size() {
+            return count;
+        }
+
+        @Override
+        public double getMax() {
+            return max;
+        }
+
+        @Override
+        public double getMean() {
+            return count == 0 ? 0 : (double) sum / count;
+        }
+
+        @Override
+        public PercentileValue[] percentileValues() {
+            if (configurationProperties != null) {
+                Double[] percentiles = configurationProperties.percentileValues();
+                PercentileValue[] percentileValues = new PercentileValue[percentiles.length];
+                for (int i = 0; i < percentiles.length; i++) {
+                    percentileValues[i] = new PercentileValue(percentiles[i], getValue(percentiles[i]));
+                }
+                return percentileValues;
+            }
+            PercentileValue[] percentileValues = new PercentileValue[DEFAULT_PERCENTILES.length];
+            for (int i = 0; i < DEFAULT_PERCENTILES.length; i++) {
+                percentileValues[i] = new PercentileValue(DEFAULT_PERCENTILES[i], getValue(DEFAULT_PERCENTILES[i]));
+            }
+            return percentileValues;
+        }
+
+        /**
+         * Counts the values up to each configured bucket. A configured bucket falling inside a bucket of the
+         * histogram only counts the values of the histogram buckets below it.
+         */
+        @Override
+        public HistogramBucket[] bucketValues() {
+            if (configurationProperties == null) {
+                return new HistogramBucket[0];
+            }
+            Double[] buckets = configurationProperties.bucketValues();
+            Arrays.sort(buckets);
+            HistogramBucket[] histogramBuckets = new HistogramBucket[buckets.length];
+            int index = 0;
+            long cumulativeCount = 0;
+            for (int i = 0; i < buckets.length; i++) {
+                while (index < BUCKETS && bucketUpperBound(index) <= buckets[i]) {
+                    cumulativeCount += counts[index++];
+                }
+                histogramBuckets[i] = new HistogramBucket(buckets[i], cumulativeCount);
+            }
+            return histogramBuckets;
+        }
+
+        private double getValue(double quantile) {
+            if (quantile < 0.0 || quantile > 1.0 || Double.isNaN(quantile)) {
+                throw new IllegalArgumentException(quantile + " is not in [0..1]");
+            }
+            if (count == 0) {
+                return 0.0;
+            }
+            long rank = Math.max(1, (long) Math.ceil(quantile * count));
+            return Math.min(LogLinearHistogram.getValueAtRank(counts, rank, SUB_BUCKET_BITS), max);
+        }
+
+        /**
+         * Writes the highest value and the count of every non-empty bucket to the given stream.
+         *
+         * @param output an output stream
+         */
+        @Override
+        public void dump(OutputStream output) {
+            try (PrintWriter out = new PrintWriter(new OutputStreamWriter(output, UTF_8))) {
+                for (int index = 0; index < BUCKETS; index++) {
+                    if (counts[index] > 0) {
+                        out.printf("%d %d%n", bucketUpperBound(index), counts[index]);
+                    }
+                }
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "Snapshot[" + size() + "]";
+        }
+    }
+}
@@ -1,7 +1,7 @@
 /*
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  *
- * Copyright (c) 2023 Payara Foundation and/or its affiliates. All rights reserved.
+ * Copyright (c) 2023-2026 Payara Foundation and/or its affiliates. All rights reserved.
  *
  * The contents of this file are subject to the terms of either the GNU
  * General Public License Version 2 only ("GPL") or the Common Development
@@ -60,6 +60,10 @@ public class MetricsConfigParserUtil {
 
     private static final String PROPERTY_VALUE_SEPARATOR = ",";
 
+    static final String HDR_RESERVOIR = "hdr";
+
+    static final String EXPONENTIALLY_DECAYING_RESERVOIR = "exponential";
+
     public static Collection<MetricsCustomPercentiles> parsePercentile(String percentileProperty) {
         ArrayDeque<MetricsCustomPercentiles> metricPercentileCollection = new ArrayDeque<>();
         if (percentileProperty == null || percentileProperty.length() == 0) {
@@ -176,5 +180,49 @@ public class MetricsConfigParserUtil {
             return null;
         }
     }
-    
+
+    /**
+     * Creates the {@link Reservoir} configured for the given histogram or timer by the
+     * {@value MetricRegistryImpl#METRIC_RESERVOIR_PROPERTY} property, for example
+     * {@code *=hdr;legacyTimer=exponential}. Defaults to an {@link ExponentiallyDecayingReservoir}.
+     *
+     * @param metricName the name of the histogram or timer
+     * @return a new reservoir for the metric
+     */
+    public static Reservoir createReservoir(String metricName) {
+        Config config = MetricUtils.getConfigProvider();
+        if (config != null) {
+            Optional<String> reservoirs = config.getOptionalValue(METRIC_RESERVOIR_PROPERTY, String.class);
+            if (reservoirs.isPresent() && HDR_RESERVOIR.equals(parseReservoirType(reservoirs.get(), metricName))) {
+                return new HdrHistogramReservoir();
+            }
+        }
+        return new ExponentiallyDecayingReservoir();
+    }
+
+    public static String parseReservoirType(String reservoirProperty, String metricName) {
+        if (reservoirProperty == null || reservoirProperty.length() == 0) {
+            return null;
+        }
+        String[] valuePairs = reservoirProperty.split(PROPERTY_NAME_SEPARATOR);
+        // as for percentiles and buckets the last matching entry wins
+        for (int i = valuePairs.length - 1; i >= 0; i--) {
+            String[] resultKeyValueSplit = valuePairs[i].split(PROPERTY_KEY_VALUE_SEPARATOR);
+            if (resultKeyValueSplit.length != 2) {
+                continue;
+            }
+            String name = resultKeyValueSplit[0].trim();
+            int idxWildcard = name.indexOf("*");
+            if (name.equals(metricName) || idxWildcard > -1 && metricName.startsWith(name.substring(0, idxWildcard))) {
+                String type = resultKeyValueSplit[1].trim().toLowerCase();
+                if (HDR_RESERVOIR.equals(type) || EXPONENTIALLY_DECAYING_RESERVOIR.equals(type)) {
+                    return type;
+                }
+                logger.info(String.format("Error when trying to read property %s with %s name", METRIC_RESERVOIR_PROPERTY, type));
+                return null;
+            }
+        }
+        return null;
+    }
+
 }
@@ -1,7 +1,7 @@
 /*
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  * 
- *    Copyright (c) [2018] Payara Foundation and/or its affiliates. All rights reserved.
+ *    Copyright (c) [2018-2026] Payara Foundation and/or its affiliates. All rights reserved.
  * 
  *     The contents of this file are subject to the terms of either the GNU
  *     General Public License Version 2 only ("GPL") or the Common Development
@@ -82,4 +82,13 @@ public interface Reservoir {
      * @return a snapshot of the reservoir's values
      */
     Snapshot getSnapshot();
+
+    /**
+     * Sets the percentiles and buckets the snapshots of this reservoir should report.
+     *
+     * @param configurationProperties the configured percentiles and buckets
+     */
+    default void setConfigAdapter(ConfigurationProperties configurationProperties) {
+        // by default no configuration is used
+    }
 }
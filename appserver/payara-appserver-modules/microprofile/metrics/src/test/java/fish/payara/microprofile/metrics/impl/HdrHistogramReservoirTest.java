@@ -0,0 +1,136 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ *    Copyright (c) [2026] Payara Foundation and/or its affiliates. All rights reserved.
+ *
+ *     The contents of this file are subject to the terms of either the GNU
+ *     General Public License Version 2 only ("GPL") or the Common Development
+ *     and Distribution License("CDDL") (collectively, the "License").  You
+ *     may not use this file except in compliance with the License.  You can
+ *     obtain a copy of the License at
+ *     https://github.com/payara/Payara/blob/main/LICENSE.txt
+ *     See the License for the specific
+ *     language governing permissions and limitations under the License.
+ *
+ *     When distributing the software, include this License Header Notice in each
+ *     file and include the License file at glassfish/legal/LICENSE.txt.
+ *
+ *     GPL Classpath Exception:
+ *     The Payara Foundation designates this particular file as subject to the "Classpath"
+ *     exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ *     file that accompanied this code.
+ *
+ *     Modifications:
+ *     If applicable, add the following below the License Header, with the fields
+ *     enclosed by brackets [] replaced by your own identifying information:
+ *     "Portions Copyright [year] [name of copyright owner]"
+ *
+ *     Contributor(s):
+ *     If you wish your version of this file to be governed by only the CDDL or
+ *     only the GPL Version 2, indicate your decision by adding "[Contributor]
+ *     elects to include this software in this distribution under the [CDDL or GPL
+ *     Version 2] license."  If you don't indicate a single choice of license, a
+ *     recipient has the option to distribute your version of this file under
+ *     either the CDDL, the GPL Version 2 or to extend the choice of license to
+ *     its licensees as provided above.  However, if you add GPL Version 2 code
+ *     and therefore, elected the GPL Version 2 license, then the option applies
+ *     only if the new code is made subject to such option by the copyright
+ *     holder.
+ *
+ */
+package fish.payara.microprofile.metrics.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.eclipse.microprofile.metrics.Snapshot;
+import org.eclipse.microprofile.metrics.Snapshot.HistogramBucket;
+import org.eclipse.microprofile.metrics.Snapshot.PercentileValue;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class HdrHistogramReservoirTest {
+
+    @Test
+    public void bucketsCoverAllValues() {
+        int previous = -1;
+        for (long value : new long[] { 0, 1, 15, 16, 17, 31, 32, 1000, 123456789, Long.MAX_VALUE }) {
+            int index = HdrHistogramReservoir.bucketIndex(value);
+            assertTrue(index > previous && index < HdrHistogramReservoir.BUCKETS);
+            assertTrue(HdrHistogramReservoir.bucketUpperBound(index) >= value);
+            assertTrue(HdrHistogramReservoir.bucketUpperBound(index) - value
+                    <= value / HdrHistogramReservoir.SUB_BUCKETS);
+            previous = index;
+        }
+        assertEquals(Long.MAX_VALUE, HdrHistogramReservoir.bucketUpperBound(HdrHistogramReservoir.BUCKETS - 1));
+    }
+
+    @Test
+    public void snapshotStatistics() {
+        HdrHistogramReservoir reservoir = new HdrHistogramReservoir();
+        for (int i = 1; i <= 1000; i++) {
+            reservoir.update(i);
+        }
+        Snapshot snapshot = reservoir.getSnapshot();
+        assertEquals(1000, snapshot.size());
+        assertEquals(1000, reservoir.size());
+        assertEquals(1000.0, snapshot.getMax(), 0.0);
+        assertEquals(500.5, snapshot.getMean(), 0.0);
+        for (PercentileValue percentile : snapshot.percentileValues()) {
+            double expected = percentile.getPercentile() * 1000;
+            assertEquals(expected, percentile.getValue(), expected / HdrHistogramReservoir.SUB_BUCKETS);
+        }
+    }
+
+    @Test
+    public void configuredPercentilesAndBuckets() {
+        HdrHistogramReservoir reservoir = new HdrHistogramReservoir();
+        ConfigurationProperties configuration = new ConfigurationProperties();
+        configuration.setPercentilesFromConfig(new Double[] { 0.5 });
+        configuration.setBucketValuesFromConfig(new Double[] { 10.0, 127.0 });
+        reservoir.setConfigAdapter(configuration);
+        for (int i = 1; i <= 200; i++) {
+            reservoir.update(i);
+        }
+        Snapshot snapshot = reservoir.getSnapshot();
+        assertEquals(1, snapshot.percentileValues().length);
+        HistogramBucket[] buckets = snapshot.bucketValues();
+        assertEquals(2, buckets.length);
+        assertEquals(10, buckets[0].getCount());
+        assertEquals(127, buckets[1].getCount());
+    }
+
+    @Test
+    public void concurrentUpdatesAreCounted() throws InterruptedException {
+        HdrHistogramReservoir reservoir = new HdrHistogramReservoir(4);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < 10000; i++) {
+                    reservoir.update(i);
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        Snapshot snapshot = reservoir.getSnapshot();
+        assertEquals(80000, snapshot.size());
+        assertEquals(9999.0, snapshot.getMax(), 0.0);
+        assertEquals(4999.5, snapshot.getMean(), 0.0);
+    }
+
+    @Test
+    public void reservoirTypeIsSelectedPerMetric() {
+        String property = "*=hdr;legacy=exponential;other.*=unknown";
+        assertEquals(MetricsConfigParserUtil.HDR_RESERVOIR,
+                MetricsConfigParserUtil.parseReservoirType(property, "requests"));
+        assertEquals(MetricsConfigParserUtil.EXPONENTIALLY_DECAYING_RESERVOIR,
+                MetricsConfigParserUtil.parseReservoirType(property, "legacy"));
+        assertNull(MetricsConfigParserUtil.parseReservoirType(property, "other.timer"));
+        assertNull(MetricsConfigParserUtil.parseReservoirType(null, "requests"));
+    }
+}
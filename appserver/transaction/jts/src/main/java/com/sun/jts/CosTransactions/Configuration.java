@@ -37,6 +37,7 @@
  * only if the new code is made subject to such option by the copyright
  * holder.
  */
+// Portions Copyright [2026] Payara Foundation and/or affiliates
 
 //----------------------------------------------------------------------------
 //
@@ -222,6 +223,19 @@ public class Configuration extends Object {
      */
     public final static String TIMEOUT_INTERVAL = "com.sun.jts.timeoutInterval" ;
 
+    /**The property is used to enable group commit of the transaction log. Forced log
+     * writes of concurrent transactions are then appended to the log and made durable
+     * together by a single sync, after waiting the given window for other transactions
+     * to join.
+     * <p>
+     * The value is <em><b>com.sun.jts.groupCommitWindow</b></em>
+     * <p>
+     * The value is the window in microseconds; zero syncs without waiting but still
+     * coalesces writes arriving while a sync is in progress. If the value is unspecified
+     * or illegal, every forced write is synced on its own.
+     */
+    public final static String GROUP_COMMIT_WINDOW = "com.sun.jts.groupCommitWindow" ;
+
     /**The default subdirectory in which log and repository files are stored.
      */
     public final static String JTS_SUBDIRECTORY = "jts"/*#Frozen*/;
@@ -37,11 +37,19 @@
  * only if the new code is made subject to such option by the copyright
  * holder.
  */
+// Portions Copyright [2026] Payara Foundation and/or affiliates
 
 package com.sun.jts.CosTransactions;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.sql.*;
 import javax.sql.*;
 import javax.naming.*;
@@ -84,6 +92,24 @@ class LogDBHelper {
     private static final String createTableStatement = 
                  "create table txn_log_table (localtid varchar(20), servername varchar(150), instancename varchar(150), gtrid blob)";
     private static final boolean useNonTxConnectionForAddRecord = Boolean.getBoolean("com.sun.jts.dblogging.use.nontx.connection.for.add");
+
+    // Batched mode: records of concurrent commits without a last agent resource are inserted
+    // together in one JDBC batch and transaction, on a non-transactional connection, and the
+    // records of completed transactions are deleted in bulk in the background.
+    private static final boolean batchMode = Boolean.getBoolean("com.sun.jts.dblogging.batch");
+    private static final int batchSize = Math.max(1, Integer.getInteger("com.sun.jts.dblogging.batch.size", 100));
+    private static final long deleteInterval = Math.max(1, Long.getLong("com.sun.jts.dblogging.batch.deleteinterval", 100));
+    private static final int deleteAttempts = Math.max(1, Integer.getInteger("com.sun.jts.dblogging.batch.deleteattempts", 3));
+
+    // records waiting to be inserted, and whether a thread is inserting a batch; guarded by insertLock
+    private final Object insertLock = new Object();
+    private List<PendingRecord> pendingInserts = new ArrayList<>();
+    private boolean inserting = false;
+
+    // records of completed transactions waiting to be deleted
+    private final Queue<PendingRecord> pendingDeletes = new ConcurrentLinkedQueue<>();
+    private final Object deleteLock = new Object();
+    private ScheduledExecutorService deleteExecutor;
     private static Logger _logger = LogDomains.getLogger(LogDBHelper.class, LogDomains.TRANSACTION_LOGGER);
     private static LogDBHelper _instance = new LogDBHelper();
 
@@ -146,6 +172,20 @@ class LogDBHelper {
     }
 
     boolean addRecord(long localTID, byte[] data) {
+        return addRecord(localTID, data, true);
+    }
+
+    /**
+     * Inserts the record of a transaction about to commit.
+     *
+     * @param lastAgentCommit true if the last agent resource commits after the insert. The
+     * record is then inserted on a connection enlisted in its transaction, so that both
+     * commit together, and is never batched.
+     */
+    boolean addRecord(long localTID, byte[] data, boolean lastAgentCommit) {
+        if (batchMode && !lastAgentCommit && ds != null && data != null) {
+            return addRecordBatched(new PendingRecord(localTID, serverName, data));
+        }
         if (ds != null) {
             if (_logger.isLoggable(Level.FINE)) {
                 _logger.fine("LogDBHelper.addRecord for localTID: " + localTID);
@@ -187,7 +227,23 @@ class LogDBHelper {
         return false;
     }
 
+    /**
+     * Deletes the record of a completed transaction. In batched mode the delete is only
+     * queued and true means the delete was accepted: a record whose delete is lost to a
+     * crash, or fails every attempt, stays in the table and is deleted when recovery
+     * finds its transaction completed.
+     */
     boolean deleteRecord(long localTID) {
+        if (batchMode && ds != null) {
+            synchronized (this) {
+                if (deleteExecutor != null && deleteExecutor.isShutdown()) {
+                    return deleteRecord(localTID, serverName);
+                }
+                pendingDeletes.add(new PendingRecord(localTID, serverName, null));
+                startDeleteExecutor();
+            }
+            return true;
+        }
         return deleteRecord(localTID, serverName);
     }
 
@@ -223,12 +279,212 @@ class LogDBHelper {
         return false;
     }
 
+    /**
+     * Adds the record to the next batch and waits until it is committed to the database.
+     * The first waiting thread inserts the batch of all records added so far; the others
+     * are released when it completes.
+     */
+    private boolean addRecordBatched(PendingRecord record) {
+        if (_logger.isLoggable(Level.FINE)) {
+            _logger.fine("LogDBHelper.addRecord batched for localTID: " + record.localTID);
+        }
+        List<PendingRecord> batch;
+        boolean interrupted = false;
+        synchronized (insertLock) {
+            pendingInserts.add(record);
+            while (!record.done && inserting) {
+                try {
+                    insertLock.wait();
+                } catch (InterruptedException ex) {
+                    interrupted = true;
+                }
+            }
+            if (record.done) {
+                if (interrupted)
+                    Thread.currentThread().interrupt();
+                return record.result;
+            }
+            inserting = true;
+            batch = pendingInserts;
+            pendingInserts = new ArrayList<>();
+        }
+
+        boolean result = insertBatch(batch);
+
+        synchronized (insertLock) {
+            for (PendingRecord inserted : batch) {
+                inserted.result = result;
+                inserted.done = true;
+            }
+            inserting = false;
+            insertLock.notifyAll();
+        }
+        if (interrupted)
+            Thread.currentThread().interrupt();
+        return result;
+    }
+
+    private boolean insertBatch(List<PendingRecord> batch) {
+        Connection conn = null;
+        PreparedStatement prepStmt1 = null;
+        Boolean autoCommit = null;
+        try {
+            conn = (Connection)(getNonTxConnectionMethod.invoke(ds, null));
+            autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            prepStmt1 = conn.prepareStatement(insertStatement);
+            int batched = 0;
+            for (PendingRecord record : batch) {
+                prepStmt1.setString(1,Long.toString(record.localTID));
+                prepStmt1.setString(2,record.serverName);
+                prepStmt1.setString(3,instanceName);
+                prepStmt1.setBytes(4,record.data);
+                prepStmt1.addBatch();
+                if (++batched % batchSize == 0)
+                    prepStmt1.executeBatch();
+            }
+            if (batched % batchSize != 0)
+                prepStmt1.executeBatch();
+            conn.commit();
+            if (_logger.isLoggable(Level.FINE)) {
+                _logger.fine("LogDBHelper inserted batch of " + batched + " records");
+            }
+            return true;
+        } catch (Throwable ex) {
+            _logger.log(Level.SEVERE,"jts.exception_in_db_log_resource",ex);
+            try {
+                if (conn != null)
+                    conn.rollback();
+            } catch (Exception ex1) {
+                _logger.log(Level.SEVERE,"jts.exception_in_db_log_resource",ex1);
+            }
+            return false;
+        } finally {
+            closeBatch(conn, prepStmt1, autoCommit);
+        }
+    }
+
+    // called holding the monitor of this helper
+    private void startDeleteExecutor() {
+        if (deleteExecutor == null) {
+            deleteExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "JTS-LogDBHelper-delete");
+                thread.setDaemon(true);
+                return thread;
+            });
+            deleteExecutor.scheduleWithFixedDelay(this::flushDeletes, deleteInterval, deleteInterval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Stops the background deletes and deletes the records still queued. Deletes requested
+     * afterwards are run synchronously.
+     */
+    void shutdown() {
+        ScheduledExecutorService executor;
+        synchronized (this) {
+            executor = deleteExecutor;
+            if (executor == null) {
+                return;
+            }
+            executor.shutdown();
+        }
+        try {
+            executor.awaitTermination(deleteInterval * 10, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        flushDeletes();
+    }
+
+    /**
+     * Deletes the records of all transactions completed so far in JDBC batches. Records
+     * that could not be deleted are kept for the next attempt, up to
+     * com.sun.jts.dblogging.batch.deleteattempts attempts in all; after that they are
+     * left for recovery to delete.
+     */
+    void flushDeletes() {
+        if (ds == null || pendingDeletes.isEmpty()) {
+            return;
+        }
+        synchronized (deleteLock) {
+            List<PendingRecord> batch = new ArrayList<>();
+            for (PendingRecord record = pendingDeletes.poll(); record != null; record = pendingDeletes.poll()) {
+                batch.add(record);
+            }
+            if (batch.isEmpty()) {
+                return;
+            }
+            Connection conn = null;
+            PreparedStatement prepStmt1 = null;
+            Boolean autoCommit = null;
+            try {
+                conn = (Connection)(getNonTxConnectionMethod.invoke(ds, null));
+                autoCommit = conn.getAutoCommit();
+                conn.setAutoCommit(false);
+                prepStmt1 = conn.prepareStatement(deleteStatement);
+                int batched = 0;
+                for (PendingRecord record : batch) {
+                    prepStmt1.setString(1,Long.toString(record.localTID));
+                    prepStmt1.setString(2,record.serverName);
+                    prepStmt1.addBatch();
+                    if (++batched % batchSize == 0)
+                        prepStmt1.executeBatch();
+                }
+                if (batched % batchSize != 0)
+                    prepStmt1.executeBatch();
+                conn.commit();
+                if (_logger.isLoggable(Level.FINE)) {
+                    _logger.fine("LogDBHelper deleted batch of " + batched + " records");
+                }
+            } catch (Throwable ex) {
+                _logger.log(Level.SEVERE,"jts.exception_in_db_log_resource",ex);
+                try {
+                    if (conn != null)
+                        conn.rollback();
+                } catch (Exception ex1) {
+                    _logger.log(Level.SEVERE,"jts.exception_in_db_log_resource",ex1);
+                }
+                for (PendingRecord record : batch) {
+                    if (++record.attempts < deleteAttempts) {
+                        pendingDeletes.add(record);
+                    } else {
+                        _logger.log(Level.WARNING, "LogDBHelper could not delete the record of completed transaction "
+                                + record.localTID + " after " + record.attempts + " attempts; it is deleted on recovery");
+                    }
+                }
+            } finally {
+                closeBatch(conn, prepStmt1, autoCommit);
+            }
+        }
+    }
+
+    private void closeBatch(Connection conn, PreparedStatement prepStmt1, Boolean autoCommit) {
+        try {
+            if (prepStmt1 != null)
+                prepStmt1.close();
+        } catch (Exception ex1) {
+            _logger.log(Level.SEVERE,"jts.exception_in_db_log_resource",ex1);
+        }
+        try {
+            if (conn != null) {
+                if (autoCommit != null)
+                    conn.setAutoCommit(autoCommit);
+                conn.close();
+            }
+        } catch (Exception ex1) {
+            _logger.log(Level.SEVERE,"jts.exception_in_db_log_resource",ex1);
+        }
+    }
+
     Map getGlobalTIDMap() {
         return getGlobalTIDMap(serverName);
     }
 
     Map getGlobalTIDMap(String serverName0) {
         Map gtidMap = new HashMap();
+        // Completed transactions must not be recovered
+        flushDeletes();
         if (ds != null) {
             if (_logger.isLoggable(Level.FINE)) {
                 _logger.fine("LogDBHelper get records for serverName: " + serverName0);
@@ -353,5 +609,27 @@ class LogDBHelper {
                 }
             }
         }
-    }   
+    }
+
+    /**
+     * A transaction record waiting to be inserted or deleted in a batch.
+     */
+    private static final class PendingRecord {
+        final long localTID;
+        final String serverName;
+        final byte[] data;
+
+        // set by the thread inserting the record; guarded by insertLock
+        boolean done;
+        boolean result;
+
+        // failed delete attempts; guarded by deleteLock
+        int attempts;
+
+        PendingRecord(long localTID, String serverName, byte[] data) {
+            this.localTID = localTID;
+            this.serverName = serverName;
+            this.data = data;
+        }
+    }
 }
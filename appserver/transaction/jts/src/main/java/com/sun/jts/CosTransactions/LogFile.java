@@ -37,6 +37,7 @@
  * only if the new code is made subject to such option by the copyright
  * holder.
  */
+// Portions Copyright [2026] Payara Foundation and/or affiliates
 
 //----------------------------------------------------------------------------
 //
@@ -65,6 +66,8 @@ package com.sun.jts.CosTransactions;
 // Import required classes.
 
 import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
 import java.util.logging.Logger;
 import java.util.logging.Level;
 import com.sun.logging.LogDomains;
@@ -113,6 +116,21 @@ class LogFile {
      */
     LogHandle handle = null;
 
+    /**The group commit window in nanoseconds, or -1 if forced writes are not grouped.
+     */
+    private final long groupCommitWindow;
+
+    /**The number of records written to the log; guarded by this LogFile.
+     */
+    private long writtenCount = 0;
+
+    /**Group commit state: the number of records known to be forced, and whether a
+     * thread is currently forcing the log; guarded by forceLock.
+     */
+    private final Object forceLock = new Object();
+    private long forcedCount = 0;
+    private boolean forcing = false;
+
     /**LogFile constructor.
      *
      * @param LogHandle
@@ -126,9 +144,30 @@ class LogFile {
         // Set up the instance variables to those values passed in.
 
         this.handle = handle;
+        this.groupCommitWindow = getGroupCommitWindow();
 
     }
 
+    /**Reads the group commit window from the configuration.
+     *
+     * @param
+     *
+     * @return  The window in nanoseconds, or -1 if group commit is disabled.
+     *
+     * @see
+     */
+    private static long getGroupCommitWindow() {
+        String window = Configuration.getPropertyValue(Configuration.GROUP_COMMIT_WINDOW);
+        if( window != null )
+            try {
+                long micros = Long.parseLong(window.trim());
+                if( micros >= 0 )
+                    return TimeUnit.MICROSECONDS.toNanos(micros);
+            } catch( NumberFormatException e ) {}
+
+        return -1;
+    }
+
     /**Writes a log record to the physical log.
      * <p>
      * Supports either a force or unforced option with force requiring an immediate
@@ -139,6 +178,10 @@ class LogFile {
      * <p>
      * Returns true if the write completed successfully and false if the write
      * did not complete.
+     * <p>
+     * With group commit enabled, a forced record is written to the log and the
+     * caller then waits until a single force makes it durable together with the
+     * records of other transactions written in the meantime.
      *
      * @param writeType   Forced/non-forced write indicator.
      * @param record      Log record data.
@@ -149,32 +192,127 @@ class LogFile {
      *
      * @see
      */
-    synchronized boolean write( int    writeType,
-                                byte[] record,
-                                int    recordType,
-                                LogLSN recordLSN ) {
+    boolean write( int    writeType,
+                   byte[] record,
+                   int    recordType,
+                   LogLSN recordLSN ) {
 
-        boolean result = true;
+        if( writeType == LogFile.FORCED && groupCommitWindow >= 0 )
+            groupForce(writeRecord(record,recordType,LogHandle.BUFFER,recordLSN));
+        else
+            writeRecord(record,recordType,
+                        (writeType==LogFile.FORCED ? LogHandle.FORCE : LogHandle.BUFFER),recordLSN);
+
+        return true;
+    }
+
+    /**Writes a log record to the physical log with the given write mode.
+     *
+     * @param record      Log record data.
+     * @param recordType  Log record type.
+     * @param writeMode   The LogHandle write mode.
+     * @param recordLSN   LSN of the written record.
+     *
+     * @return  The number of records written to the log, including this one.
+     *
+     * @see
+     */
+    private synchronized long writeRecord( byte[] record,
+                                           int    recordType,
+                                           int    writeMode,
+                                           LogLSN recordLSN ) {
 
         // Write the record.
-        // Set the result based on return code from log write.
 
         try {
-            LogLSN resultLSN = handle.writeRecord(record,recordType,
-                                                  (writeType==LogFile.FORCED ? LogHandle.FORCE : LogHandle.BUFFER));
+            LogLSN resultLSN = handle.writeRecord(record,recordType,writeMode);
             if( recordLSN != null )
                 recordLSN.copy(resultLSN);
         } catch( LogException le ) {
-			_logger.log(Level.SEVERE,"jts.log_error",le.toString());
-			 String msg = LogFormatter.getLocalizedMessage(_logger,"jts.log_error",
-                                        new java.lang.Object[] {le.toString()});
-			 throw (org.omg.CORBA.INTERNAL) (new org.omg.CORBA.INTERNAL(msg)).initCause(le);
-            //if( recordLSN != null )
-            //recordLSN.copy(LogLSN.NULL_LSN);
-            //result = false;
+            throw logError(le);
         }
 
-        return result;
+        return ++writtenCount;
+    }
+
+    /**Waits until the record with the given number is forced to the log.
+     * <p>
+     * If no other thread is forcing the log, the caller becomes the leader: it waits
+     * the group commit window for other transactions to write their records, forces
+     * all records written so far and releases every thread waiting for them.
+     *
+     * @param recordCount  The number of the record that must be forced.
+     *
+     * @return
+     *
+     * @see
+     */
+    private void groupForce( long recordCount ) {
+
+        // The record must be durable before the commit can proceed, so interrupts
+        // are only restored once it is.
+
+        boolean interrupted = Thread.interrupted();
+        synchronized( forceLock ) {
+            while( forcedCount < recordCount && forcing )
+                try {
+                    forceLock.wait();
+                } catch( InterruptedException e ) {
+                    interrupted = true;
+                }
+
+            if( forcedCount >= recordCount ) {
+                if( interrupted )
+                    Thread.currentThread().interrupt();
+                return;
+            }
+            forcing = true;
+        }
+
+        long deadline = System.nanoTime() + groupCommitWindow;
+        for( long remaining = groupCommitWindow; remaining > 0; remaining = deadline - System.nanoTime() )
+            LockSupport.parkNanos(this,remaining);
+
+        // Only the count is read under the monitor; the log is forced without it so
+        // that other transactions keep writing records for the next force meanwhile.
+
+        long target;
+        synchronized( this ) {
+            target = writtenCount;
+        }
+        LogException failure = null;
+        try {
+            handle.forceExtents();
+        } catch( LogException le ) {
+            failure = le;
+        }
+
+        synchronized( forceLock ) {
+            forcing = false;
+            if( failure == null && target > forcedCount )
+                forcedCount = target;
+            forceLock.notifyAll();
+        }
+
+        if( interrupted )
+            Thread.currentThread().interrupt();
+        if( failure != null )
+            throw logError(failure);
+    }
+
+    /**Logs the given log error and converts it to the exception thrown to the caller.
+     *
+     * @param le  The log error.
+     *
+     * @return  The exception to be thrown.
+     *
+     * @see
+     */
+    private static org.omg.CORBA.INTERNAL logError( LogException le ) {
+        _logger.log(Level.SEVERE,"jts.log_error",le.toString());
+        String msg = LogFormatter.getLocalizedMessage(_logger,"jts.log_error",
+                                   new java.lang.Object[] {le.toString()});
+        return (org.omg.CORBA.INTERNAL) (new org.omg.CORBA.INTERNAL(msg)).initCause(le);
     }
 
     /**Informs the log that all log records older than the one with the given LSN
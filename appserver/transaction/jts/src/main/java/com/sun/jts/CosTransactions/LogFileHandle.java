@@ -37,6 +37,7 @@
  * only if the new code is made subject to such option by the copyright
  * holder.
  */
+// Portions Copyright [2026] Payara Foundation and/or affiliates
 
 //----------------------------------------------------------------------------
 //
@@ -487,12 +488,30 @@ class LogFileHandle {
         // Synchronization is only done for buffered files which have been updated.
         // Non-buffered files have every write synchronized with the file system.
 
+        if( bufferUpdateStart != -1 ) {
+            fileFlush();
+            fileSyncFlushed();
+        }
+
+    }
+
+    /**Writes the buffered updates of the file to the file system without syncing
+     * them to the storage device.
+     *
+     * @param
+     *
+     * @return
+     *
+     * @exception LogException The write failed
+     *
+     * @see
+     */
+    void fileFlush() throws LogException {
+
         if( bufferUpdateStart != -1 )
             try {
                 fhandle.seek(bufferUpdateStart);
                 fhandle.write(bufferData,bufferUpdateStart,bufferUpdateEnd-bufferUpdateStart);
-                if (dsyncProp == null)
-                    fd.sync();
 
                 bufferUpdateStart = -1;
                 bufferUpdateEnd   = -1;
@@ -503,6 +522,32 @@ class LogFileHandle {
 
     }
 
+    /**Syncs the data flushed to the file system with the storage device.
+     * <p>
+     * The buffer is not used, so the caller need not prevent writes to the file
+     * while the sync is in progress.
+     *
+     * @param
+     *
+     * @return
+     *
+     * @exception LogException The sync failed
+     *
+     * @see
+     */
+    void fileSyncFlushed() throws LogException {
+
+        FileDescriptor syncFD = fd;
+        if( dsyncProp == null )
+            try {
+                syncFD.sync();
+            } catch (Throwable e) {
+                throw new LogException(LogException.LOG_READ_FAILURE,1,
+                        sm.getString("jts.log_file_sync_failed"), e);
+            }
+
+    }
+
     /**Reads a vector of records from the file.
      *
      * @param vector  The vector to contain the records to be read.
@@ -37,7 +37,7 @@
  * only if the new code is made subject to such option by the copyright
  * holder.
  */
-// Portions Copyright [2018] [Payara Foundation]
+// Portions Copyright [2018-2026] [Payara Foundation]
 
 //----------------------------------------------------------------------------
 //
@@ -565,20 +565,8 @@ class LogHandle {
         //       Set 'extent written' flag to FALSE
         //   ENDLOOP
 
-        if( writeMode == FORCE ) {
-            Enumeration extents = extentTable.elements();
-            while( extents.hasMoreElements() ) {
-                LogExtent nextEDP = (LogExtent)extents.nextElement();
-                if( nextEDP.writtenSinceLastForce )
-                    try {
-                        nextEDP.fileHandle.fileSync();
-                        nextEDP.writtenSinceLastForce = false;
-                    } catch (LogException le) {
-                        throw new LogException(LogException.LOG_ERROR_FORCING_LOG, 14,
-                                sm.getString("jts.log_file_sync_failed"), le);
-                    }
-            }
-        }
+        if( writeMode == FORCE )
+            forceExtents();
 
         // Update the head LSN and 'next free' LSN in the Log_FileDescriptor
         // block
@@ -614,6 +602,61 @@ class LogHandle {
         return result;
     }
 
+    /**Forces all records written to the log so far to the file system.
+     * <p>
+     * The buffered data of each extent written since it was last forced is written to
+     * the file system while holding the log, and the extents are then synced without
+     * it, so that other records can be written while the storage device catches up.
+     *
+     * @param
+     *
+     * @return
+     *
+     * @exception LogException The sync of an extent failed.
+     *
+     * @see
+     */
+    void forceExtents()
+        throws LogException {
+
+        List<LogExtent> flushed = new ArrayList<>();
+        synchronized( this ) {
+            Enumeration extents = extentTable.elements();
+            while( extents.hasMoreElements() ) {
+                LogExtent nextEDP = (LogExtent)extents.nextElement();
+                if( nextEDP.writtenSinceLastForce )
+                    try {
+                        nextEDP.fileHandle.fileFlush();
+                        nextEDP.writtenSinceLastForce = false;
+                        flushed.add(nextEDP);
+                    } catch (LogException le) {
+                        throw new LogException(LogException.LOG_ERROR_FORCING_LOG, 14,
+                                sm.getString("jts.log_file_sync_failed"), le);
+                    }
+            }
+        }
+
+        for( LogExtent nextEDP : flushed )
+            try {
+                nextEDP.fileHandle.fileSyncFlushed();
+            } catch (LogException le) {
+                synchronized( this ) {
+
+                    // An extent closed in the meantime was synced by the close, or
+                    // only held records no longer needed.
+
+                    if( extentTable == null || extentTable.get(nextEDP.extentNumber) != nextEDP )
+                        continue;
+
+                    // Have the next force sync the extent again.
+
+                    nextEDP.writtenSinceLastForce = true;
+                }
+                throw new LogException(LogException.LOG_ERROR_FORCING_LOG, 14,
+                        sm.getString("jts.log_file_sync_failed"), le);
+            }
+    }
+
     /**Reads a record from the log.
      *
      * @param readLSN  The LSN of the record to be read.
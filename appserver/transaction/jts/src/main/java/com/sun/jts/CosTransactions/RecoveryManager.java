@@ -37,7 +37,7 @@
  * only if the new code is made subject to such option by the copyright
  * holder.
  */
-// Portions Copyright [2016-2021] [Payara Foundation]
+// Portions Copyright [2016-2026] [Payara Foundation]
 //----------------------------------------------------------------------------
 //
 // Module:      RecoveryManager.java
@@ -788,6 +788,11 @@ public class RecoveryManager {
             CoordinatorLog.finalizeAll();
         }
 
+        // Stop the background deletes of the database log
+        if (Configuration.isDBLoggingEnabled()) {
+            LogDBHelper.getInstance().shutdown();
+        }
+
         //$Continue with shutdown/quiesce.
     }
 
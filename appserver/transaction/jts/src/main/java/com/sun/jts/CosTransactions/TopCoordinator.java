@@ -37,7 +37,7 @@
  * only if the new code is made subject to such option by the copyright
  * holder.
  */
-// Portions Copyright [2016] [Payara Foundation and/or its affiliates]
+// Portions Copyright [2016-2026] [Payara Foundation and/or its affiliates]
 
 //----------------------------------------------------------------------------
 //
@@ -1884,7 +1884,8 @@ public class TopCoordinator extends CoordinatorImpl {
 	                if (logRecord == null && Configuration.isDBLoggingEnabled()) {
                             if (!(LogDBHelper.getInstance().addRecord(
 				  tranState.localTID.longValue(),
-                                  tranState.globalTID.toTidBytes()))) {
+                                  tranState.globalTID.toTidBytes(),
+                                  participants.getLAOResource() != null))) {
                                 overallResult = Vote.VoteRollback;
                             }
 			}	
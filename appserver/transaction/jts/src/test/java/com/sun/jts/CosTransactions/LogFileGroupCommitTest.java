@@ -0,0 +1,183 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2026 Payara Foundation and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://github.com/payara/Payara/blob/main/LICENSE.txt
+ * See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at glassfish/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * The Payara Foundation designates this particular file as subject to the "Classpath"
+ * exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package com.sun.jts.CosTransactions;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class LogFileGroupCommitTest {
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @Before
+    public void enableGroupCommit() {
+        Properties properties = new Properties();
+        properties.setProperty(Configuration.GROUP_COMMIT_WINDOW, "0");
+        Configuration.setProperties(properties);
+    }
+
+    @After
+    public void stopExecutor() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void forcedRecordsAreDurableOnceWritten() throws Exception {
+        RecordingHandle handle = new RecordingHandle();
+        LogFile logFile = new LogFile(handle);
+        List<Future<?>> writers = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            writers.add(executor.submit(() -> {
+                for (int j = 0; j < 50; j++) {
+                    byte[] record = new byte[] {(byte) j};
+                    logFile.write(LogFile.FORCED, record, 0, null);
+                    assertTrue(handle.isDurable(record));
+                }
+                return null;
+            }));
+        }
+        for (Future<?> writer : writers) {
+            writer.get(30, TimeUnit.SECONDS);
+        }
+        assertEquals(400, handle.written.size());
+        assertEquals(400, handle.durable);
+        // the records of concurrent transactions share forces
+        assertTrue(handle.forces < 400);
+    }
+
+    @Test
+    public void recordsAreWrittenWhileTheLogIsForced() throws Exception {
+        RecordingHandle handle = new RecordingHandle();
+        handle.blockForce = new CountDownLatch(1);
+        LogFile logFile = new LogFile(handle);
+
+        byte[] first = {1};
+        Future<?> leader = executor.submit(() -> logFile.write(LogFile.FORCED, first, 0, null));
+        assertTrue(handle.forceStarted.await(10, TimeUnit.SECONDS));
+
+        // neither a buffered nor a forced write has to wait for the force in progress to write its record
+        byte[] second = {2};
+        executor.submit(() -> logFile.write(LogFile.UNFORCED, second, 0, null)).get(10, TimeUnit.SECONDS);
+        byte[] third = {3};
+        Future<?> follower = executor.submit(() -> logFile.write(LogFile.FORCED, third, 0, null));
+        while (handle.written.size() < 3) {
+            Thread.sleep(1);
+        }
+        assertFalse(leader.isDone());
+        assertFalse(follower.isDone());
+
+        handle.blockForce.countDown();
+        leader.get(10, TimeUnit.SECONDS);
+        follower.get(10, TimeUnit.SECONDS);
+        assertTrue(handle.isDurable(first));
+        assertTrue(handle.isDurable(third));
+        assertEquals(2, handle.forces);
+    }
+
+    /**
+     * A log handle which keeps the records in memory and counts how many of them a force made durable.
+     */
+    private static class RecordingHandle extends LogHandle {
+
+        final List<byte[]> written = new ArrayList<>();
+        final CountDownLatch forceStarted = new CountDownLatch(1);
+        volatile CountDownLatch blockForce;
+        volatile int durable;
+        volatile int forces;
+
+        RecordingHandle() throws LogException {
+            super(null, "test", null, null);
+        }
+
+        @Override
+        synchronized LogLSN writeRecord(byte[] record, int recordType, int writeMode) {
+            written.add(record);
+            if (writeMode == FORCE) {
+                durable = written.size();
+                forces++;
+            }
+            return null;
+        }
+
+        @Override
+        void forceExtents() {
+            int target;
+            synchronized (this) {
+                target = written.size();
+            }
+            forceStarted.countDown();
+            try {
+                if (blockForce != null) {
+                    blockForce.await();
+                    blockForce = null;
+                }
+                Thread.sleep(1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            synchronized (this) {
+                durable = Math.max(durable, target);
+                forces++;
+            }
+        }
+
+        synchronized boolean isDurable(byte[] record) {
+            for (int i = 0; i < durable; i++) {
+                if (written.get(i) == record) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
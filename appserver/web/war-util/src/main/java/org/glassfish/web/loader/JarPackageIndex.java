@@ -0,0 +1,135 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) [2026] Payara Foundation and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://github.com/payara/Payara/blob/main/LICENSE.txt
+ * See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at glassfish/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * The Payara Foundation designates this particular file as subject to the "Classpath"
+ * exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.web.loader;
+
+import java.util.Arrays;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+/**
+ * Maps each directory (package) found in the web application's JAR files to
+ * the positions of the JARs that contain it, so that a lookup only opens the
+ * JARs that can possibly hold the requested path instead of probing them all.
+ * <p>
+ * Positions are the indexes into {@link WebappClassLoader#jarFiles}, which only
+ * ever grows by appending, and are kept in ascending order so that the search
+ * order of the JARs is preserved. Access must be guarded by the class loader's
+ * {@code jarFilesLock}.
+ */
+class JarPackageIndex {
+
+    private static final int[] NO_JARS = new int[0];
+
+    private static final String VERSIONS_PREFIX = "META-INF/versions/";
+
+    private final Map<String, int[]> packages = new HashMap<>();
+
+    /**
+     * Set once a JAR could not be indexed; lookups then fall back to
+     * searching every JAR.
+     */
+    private boolean incomplete;
+
+    /**
+     * Records the directories of all entries of the given JAR.
+     *
+     * @param position index of the JAR in the class loader's search order
+     * @param jarFile the JAR to index
+     */
+    void add(int position, JarFile jarFile) {
+        try {
+            Enumeration<JarEntry> entries = jarFile.entries();
+            while (entries.hasMoreElements()) {
+                String name = entries.nextElement().getName();
+                put(directoryOf(name), position);
+                // Multi-release JARs resolve versioned entries under their base name
+                if (name.startsWith(VERSIONS_PREFIX)) {
+                    int separator = name.indexOf('/', VERSIONS_PREFIX.length());
+                    if (separator > 0) {
+                        put(directoryOf(name.substring(separator + 1)), position);
+                    }
+                }
+            }
+        } catch (IllegalStateException e) {
+            // The JAR was closed underneath us
+            incomplete = true;
+        }
+    }
+
+    /**
+     * Returns the positions of the JARs that contain the directory of the
+     * given path, in search order, or {@code null} if the index cannot answer
+     * and every JAR has to be searched.
+     *
+     * @param path a "/"-separated resource path
+     * @return the candidate JAR positions, possibly empty, or {@code null}
+     */
+    int[] jarsFor(String path) {
+        if (incomplete) {
+            return null;
+        }
+        int[] positions = packages.get(directoryOf(path));
+        return positions == null ? NO_JARS : positions;
+    }
+
+    void clear() {
+        packages.clear();
+        incomplete = false;
+    }
+
+    private void put(String directory, int position) {
+        int[] positions = packages.get(directory);
+        if (positions == null) {
+            packages.put(directory, new int[] { position });
+        } else if (positions[positions.length - 1] != position) {
+            int[] grown = Arrays.copyOf(positions, positions.length + 1);
+            grown[positions.length] = position;
+            packages.put(directory, grown);
+        }
+    }
+
+    static String directoryOf(String path) {
+        int separator = path.lastIndexOf('/');
+        return separator < 0 ? "" : path.substring(0, separator);
+    }
+}
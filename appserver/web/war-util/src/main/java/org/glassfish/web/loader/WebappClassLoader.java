@@ -55,7 +55,7 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
-// Portions Copyright 2016-2024 Payara Foundation and/or its affiliates
+// Portions Copyright 2016-2026 Payara Foundation and/or its affiliates
 
 package org.glassfish.web.loader;
 
@@ -306,6 +306,13 @@ public class WebappClassLoader
      */
     protected final Object jarFilesLock = new Object();
 
+    /**
+     * Index of the directories held by each of the {@link #jarFiles}, so that
+     * a lookup only searches the JARs which may contain the requested path.
+     * Guarded by {@link #jarFilesLock}.
+     */
+    private final JarPackageIndex jarPackageIndex = new JarPackageIndex();
+
     /**
      * The list of JARs, in the order they should be searched
      * for locally loaded classes or resources.
@@ -448,6 +455,8 @@ public class WebappClassLoader
     private static final Name MULTI_RELEASE = new Name("Multi-Release");
 
     static {
+        ClassLoader.registerAsParallelCapable();
+
         Class<?>[] constructorArgsTypes;
         Object constructorArguments;
 
@@ -1061,6 +1070,7 @@ public class WebappClassLoader
                 result2[i] = jarFiles[i];
             }
             result2[jarFiles.length] = jarFile;
+            jarPackageIndex.add(jarFiles.length, jarFile);
             jarFiles = result2;
 
             // Add the file to the list
@@ -1256,7 +1266,7 @@ public class WebappClassLoader
             try {
                 ResourceEntry entry = findClassInternal(name);
 
-                synchronized (this) {
+                synchronized (getClassLoadingLock(name)) {
                     if (entry.loadedClass == null) {
                         clazz = defineLoadedClass(name, entry);
                     } else {
@@ -1739,7 +1749,15 @@ public class WebappClassLoader
      * @exception ClassNotFoundException if the class was not found
      */
     @Override
-    protected synchronized Class<?> loadClass(String name, boolean resolve)
+    protected Class<?> loadClass(String name, boolean resolve)
+        throws ClassNotFoundException {
+
+        synchronized (getClassLoadingLock(name)) {
+            return loadClassInternal(name, resolve);
+        }
+    }
+
+    private Class<?> loadClassInternal(String name, boolean resolve)
         throws ClassNotFoundException {
 
         if (logger.isLoggable(Level.FINER)) {
@@ -2088,6 +2106,7 @@ public class WebappClassLoader
             files = null;
             jarFiles = null;
             jarRealFiles = null;
+            jarPackageIndex.clear();
             jarPath = null;
             jarNames.clear();
             lastModifiedDates = null;
@@ -2869,7 +2888,7 @@ public class WebappClassLoader
             throw new ClassNotFoundException(name);
         }
 
-        synchronized (this) {
+        synchronized (getClassLoadingLock(name)) {
             Class<?> clazz = entry.loadedClass;
             if (clazz != null) {
                 return entry;
@@ -3057,9 +3076,11 @@ public class WebappClassLoader
             return null;
         }
 
-        int jarFilesLength = jarFiles.length;
+        int[] candidates = jarPackageIndex.jarsFor(path);
+        int jarFilesLength = candidates == null ? jarFiles.length : candidates.length;
 
-        for (int i=0; (entry == null) && (i < jarFilesLength); i++) {
+        for (int j=0; (entry == null) && (j < jarFilesLength); j++) {
+            int i = candidates == null ? j : candidates[j];
             jarEntry = jarFiles[i].getJarEntry(path);
 
             if (jarEntry != null) {
@@ -3285,9 +3306,8 @@ public class WebappClassLoader
 
         ResourceEntry entry = resourceEntries.get(name);
         if (entry != null) {
-            synchronized(this) {
-                return entry.loadedClass;
-            }
+            // loadedClass is volatile, no need to take the class loading lock
+            return entry.loadedClass;
         }
         return null;  // FIXME - findLoadedResource()
 
@@ -3565,49 +3585,51 @@ public class WebappClassLoader
 
     }
 
-    private synchronized Class<?> defineLoadedClass(String name, ResourceEntry entry) {
-        Class<?> clazz;
-        // Create the code source object
-        CodeSource codeSource
-                = new CodeSource(entry.codeBase, entry.certificates);
-        /* START GlassFish [680]
-                        clazz = defineClass(name, entry.binaryContent, 0,
-                                entry.binaryContent.length,
-                                codeSource);
-         */
-        // START GlassFish [680]
-        // We use a temporary byte[] so that we don't change
-        // the content of entry in case bytecode
-        // preprocessing takes place.
-        byte[] binaryContent = entry.binaryContent;
-
-        // If class already created in previous classloader then skip the byteCodePreprocessors
-        if (!byteCodePreprocessors.isEmpty() && entry.loadedClass == null) {
-
-            // ByteCodePreprpcessor expects name as
-            // java/lang/Object.class
-            String resourceName
-                    = name.replace('.', '/') + ".class";
-            for (BytecodePreprocessor preprocessor : byteCodePreprocessors) {
-                binaryContent = preprocessor.preprocess(
-                        resourceName, binaryContent);
-            }
-        }
-
-        clazz = defineClass(name, binaryContent, 0,
-                binaryContent.length,
-                codeSource);
-
-        // END GlassFish [680]
-        entry.loadedClass = clazz;
-        if (!hotDeploy) {
-            entry.binaryContent = null;
-            entry.source = null;
-            entry.codeBase = null;
-            entry.manifest = null;
-            entry.certificates = null;
+    private Class<?> defineLoadedClass(String name, ResourceEntry entry) {
+        synchronized (getClassLoadingLock(name)) {
+            Class<?> clazz;
+            // Create the code source object
+            CodeSource codeSource
+                    = new CodeSource(entry.codeBase, entry.certificates);
+            /* START GlassFish [680]
+                            clazz = defineClass(name, entry.binaryContent, 0,
+                                    entry.binaryContent.length,
+                                    codeSource);
+             */
+            // START GlassFish [680]
+            // We use a temporary byte[] so that we don't change
+            // the content of entry in case bytecode
+            // preprocessing takes place.
+            byte[] binaryContent = entry.binaryContent;
+
+            // If class already created in previous classloader then skip the byteCodePreprocessors
+            if (!byteCodePreprocessors.isEmpty() && entry.loadedClass == null) {
+
+                // ByteCodePreprpcessor expects name as
+                // java/lang/Object.class
+                String resourceName
+                        = name.replace('.', '/') + ".class";
+                for (BytecodePreprocessor preprocessor : byteCodePreprocessors) {
+                    binaryContent = preprocessor.preprocess(
+                            resourceName, binaryContent);
+                }
+            }
+
+            clazz = defineClass(name, binaryContent, 0,
+                    binaryContent.length,
+                    codeSource);
+
+            // END GlassFish [680]
+            entry.loadedClass = clazz;
+            if (!hotDeploy) {
+                entry.binaryContent = null;
+                entry.source = null;
+                entry.codeBase = null;
+                entry.manifest = null;
+                entry.certificates = null;
+            }
+            return clazz;
         }
-        return clazz;
     }
 
      private String getJavaVersion() {
@@ -0,0 +1,115 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) [2026] Payara Foundation and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://github.com/payara/Payara/blob/main/LICENSE.txt
+ * See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at glassfish/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * The Payara Foundation designates this particular file as subject to the "Classpath"
+ * exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.web.loader;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.JarOutputStream;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class JarPackageIndexTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void lookupsReturnJarsInSearchOrder() throws IOException {
+        JarPackageIndex index = new JarPackageIndex();
+        try (JarFile first = createJar("first.jar", "com/example/A.class", "com/example/a.txt", "root.txt");
+             JarFile second = createJar("second.jar", "com/other/B.class");
+             JarFile third = createJar("third.jar", "com/example/C.class", "com/example/sub/D.class")) {
+            index.add(0, first);
+            index.add(1, second);
+            index.add(2, third);
+        }
+
+        assertArrayEquals(new int[] { 0, 2 }, index.jarsFor("com/example/Missing.class"));
+        assertArrayEquals(new int[] { 1 }, index.jarsFor("com/other/B.class"));
+        assertArrayEquals(new int[] { 2 }, index.jarsFor("com/example/sub/D.class"));
+        assertArrayEquals(new int[] { 0 }, index.jarsFor("root.txt"));
+        assertEquals(0, index.jarsFor("org/unknown/E.class").length);
+    }
+
+    @Test
+    public void versionedEntriesAreIndexedUnderTheirBaseName() throws IOException {
+        JarPackageIndex index = new JarPackageIndex();
+        try (JarFile jar = createJar("mr.jar", "META-INF/versions/11/com/example/A.class")) {
+            index.add(0, jar);
+        }
+
+        assertArrayEquals(new int[] { 0 }, index.jarsFor("com/example/A.class"));
+        assertArrayEquals(new int[] { 0 }, index.jarsFor("META-INF/versions/11/com/example/A.class"));
+    }
+
+    @Test
+    public void closedJarDisablesTheIndex() throws IOException {
+        JarPackageIndex index = new JarPackageIndex();
+        JarFile jar = createJar("closed.jar", "com/example/A.class");
+        jar.close();
+        index.add(0, jar);
+
+        assertNull(index.jarsFor("com/example/A.class"));
+
+        index.clear();
+        assertEquals(0, index.jarsFor("com/example/A.class").length);
+    }
+
+    private JarFile createJar(String name, String... entries) throws IOException {
+        File file = folder.newFile(name);
+        try (JarOutputStream out = new JarOutputStream(new FileOutputStream(file))) {
+            for (String entry : entries) {
+                out.putNextEntry(new JarEntry(entry));
+                out.write(entry.getBytes());
+                out.closeEntry();
+            }
+        }
+        return new JarFile(file);
+    }
+}
@@ -1,7 +1,7 @@
 /*
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  *
- * Copyright (c) [2020] Payara Foundation and/or its affiliates. All rights reserved.
+ * Copyright (c) [2020-2026] Payara Foundation and/or its affiliates. All rights reserved.
  *
  * The contents of this file are subject to the terms of either the GNU
  * General Public License Version 2 only ("GPL") or the Common Development
@@ -39,32 +39,47 @@
  */
 package org.glassfish.web.loader;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.net.URISyntaxException;
+import java.net.URL;
 import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
+import java.util.jar.JarOutputStream;
 
 import org.apache.naming.resources.FileDirContext;
 import org.apache.naming.resources.WebDirContext;
 import org.junit.After;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 public class WebappClassLoaderTest {
 
     private static final int EXECUTION_COUNT = 100;
 
+    private static final int JAR_COUNT = 300;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
     private CountDownLatch latch;
 
     private ExecutorService executor;
@@ -158,6 +173,55 @@ public class WebappClassLoaderTest {
         }
     }
 
+    /**
+     * Looks up hits and misses from many threads against a loader holding a
+     * few hundred JARs, checking that the package index keeps the JAR search
+     * order.
+     */
+    @Test
+    public void parallel_lookups_across_many_jars_keep_search_order() throws Exception {
+        final WebappClassLoader webappClassLoader = new WebappClassLoader(getClass().getClassLoader(), null);
+        webappClassLoader.start();
+        webappClassLoader.setResources(new FileDirContext());
+
+        for (int i = 0; i < JAR_COUNT; i++) {
+            File file = folder.newFile("lib" + i + ".jar");
+            try (JarOutputStream out = new JarOutputStream(new FileOutputStream(file))) {
+                out.putNextEntry(new JarEntry("lib" + i + "/Resource.txt"));
+                out.closeEntry();
+                out.putNextEntry(new JarEntry("shared/Resource.txt"));
+                out.closeEntry();
+            }
+            webappClassLoader.addJar(file.getName(), new JarFile(file), file);
+        }
+
+        List<Callable<Void>> tasks = new LinkedList<>();
+        for (int t = 0; t < 16; t++) {
+            final int offset = t;
+            tasks.add(() -> {
+                for (int i = 0; i < JAR_COUNT; i++) {
+                    int lib = (i + offset * 17) % JAR_COUNT;
+                    URL hit = webappClassLoader.findResource("lib" + lib + "/Resource.txt");
+                    assertNotNull(hit);
+                    assertTrue(hit.toString(), hit.toString().contains("/lib" + lib + ".jar!/"));
+                    assertNull(webappClassLoader.findResource("missing" + lib + "/Resource.txt"));
+                }
+                URL shared = webappClassLoader.findResource("shared/Resource.txt");
+                assertTrue(shared.toString(), shared.toString().contains("/lib0.jar!/"));
+                return null;
+            });
+        }
+
+        try {
+            for (Future<Void> future : executor.invokeAll(tasks)) {
+                future.get();
+            }
+            assertEquals(JAR_COUNT + 1, webappClassLoader.getResourceEntries().size());
+        } finally {
+            webappClassLoader.close();
+        }
+    }
+
     private void add(WebappClassLoader webappClassLoader) throws IOException {
         List<JarFile> jarFiles = findJarFiles();
 
@@ -37,6 +37,7 @@
  * only if the new code is made subject to such option by the copyright
  * holder.
  */
+// Portions Copyright [2026] Payara Foundation and/or affiliates
 
 package com.sun.appserv.web.cache;
 
@@ -64,6 +65,13 @@ public class CacheManager {
     public static final String DEFAULT_CACHE_CLASSNAME = 
         "com.sun.appserv.util.cache.LruCache";
 
+    /**
+     * cache with lock-free reads and sampled eviction, for caches under heavy
+     * concurrent access; selected with the <code>cacheClassName</code> property
+     */
+    public static final String CONCURRENT_CACHE_CLASSNAME =
+        "com.sun.appserv.util.cache.ConcurrentCache";
+
     private static final Logger _logger = LogFacade.getLogger();
 
     /**
@@ -273,7 +281,17 @@ public class CacheManager {
      * @throws Exception
      */
     public Cache createCache() throws Exception {
-        return createCache(maxEntries, DEFAULT_CACHE_CLASSNAME);
+        return createCache(maxEntries, cacheClassName);
+    }
+
+    /**
+     * create a cache object of the given class
+     * @param className of the Cache implementation
+     * @return the Cache implementation
+     * @throws Exception
+     */
+    public Cache createCache(String className) throws Exception {
+        return createCache(maxEntries, className);
     }
 
     /**
@@ -37,6 +37,7 @@
  * only if the new code is made subject to such option by the copyright
  * holder.
  */
+// Portions Copyright [2026] Payara Foundation and/or affiliates
 
 package com.sun.appserv.web.taglibs.cache;
 
@@ -75,7 +76,7 @@ public class CacheContextListener implements ServletContextListener
 
         Cache cache = null;
         try {
-            cache = cm.createCache();
+            cache = CacheUtil.createCache(context, cm);
         } catch (Exception ex) {}
 
         // set the cache as a context attribute
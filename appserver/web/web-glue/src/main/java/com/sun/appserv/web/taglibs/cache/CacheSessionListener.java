@@ -37,6 +37,7 @@
  * only if the new code is made subject to such option by the copyright
  * holder.
  */
+// Portions Copyright [2026] Payara Foundation and/or affiliates
 
 package com.sun.appserv.web.taglibs.cache;
 
@@ -85,7 +86,7 @@ public class CacheSessionListener implements HttpSessionListener {
 
         Cache cache = null;
         try {
-            cache = cm.createCache();
+            cache = CacheUtil.createCache(context, cm);
         } catch (Exception ex) {}
 
         // Set the cache as a session attribute
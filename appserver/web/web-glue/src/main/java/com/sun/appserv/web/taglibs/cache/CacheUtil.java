@@ -37,10 +37,13 @@
  * only if the new code is made subject to such option by the copyright
  * holder.
  */
+// Portions Copyright [2026] Payara Foundation and/or affiliates
 
 package com.sun.appserv.web.taglibs.cache;
 
 import com.sun.appserv.util.cache.Cache;
+import com.sun.appserv.web.cache.CacheManager;
+import jakarta.servlet.ServletContext;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.jsp.PageContext;
 import java.text.MessageFormat;
@@ -76,6 +79,23 @@ public class CacheUtil {
         return (Cache)pc.getAttribute(Constants.JSPTAG_CACHE_KEY, scope);
     }
 
+    /**
+     * This is used to create a cache for the cache tags, of the class named by
+     * the context parameter or else configured in the cache manager.
+     * @param context the servlet context of the application
+     * @param cm the cache manager of the application
+     * @return the cache object
+     * @throws Exception if the cache cannot be created
+     */
+    static Cache createCache(ServletContext context, CacheManager cm)
+            throws Exception {
+        String className = context.getInitParameter(Constants.JSPTAG_CACHE_CLASSNAME);
+        if (className == null) {
+            return cm.createCache();
+        }
+        return cm.createCache(className);
+    }
+
     /**
      * This function generates the key to the cache. It creates the key
      * by suffixing the servlet path with either the user-specified key or 
@@ -37,6 +37,7 @@
  * only if the new code is made subject to such option by the copyright
  * holder.
  */
+// Portions Copyright [2026] Payara Foundation and/or affiliates
 
 package com.sun.appserv.web.taglibs.cache;
 
@@ -61,4 +62,10 @@ class Constants
      */
     public static final String JSPTAG_COUNTER_KEY = "com.sun.appserv.web.taglibs.cache.tag_counter";
 
+    /**
+     * The context parameter naming the cache implementation used by the cache tags.
+     * When absent, the cache class of the application's cache manager is used.
+     */
+    public static final String JSPTAG_CACHE_CLASSNAME = "com.sun.appserv.web.taglibs.cache.cacheClassName";
+
 }
@@ -37,17 +37,19 @@
  * only if the new code is made subject to such option by the copyright
  * holder.
  */
-// Portions Copyright [2016-2019] [Payara Foundation and/or its affiliates]
+// Portions Copyright [2016-2026] [Payara Foundation and/or its affiliates]
 
 package com.sun.enterprise.web;
 
 import com.sun.enterprise.config.serverbeans.*;
 import com.sun.enterprise.config.serverbeans.VirtualServer;
 import com.sun.enterprise.web.accesslog.AccessLogFormatter;
+import com.sun.enterprise.web.accesslog.AccessLogLineEncoder;
 import com.sun.enterprise.web.accesslog.CombinedAccessLogFormatterImpl;
 import com.sun.enterprise.web.accesslog.CommonAccessLogFormatterImpl;
 import com.sun.enterprise.web.accesslog.DefaultAccessLogFormatterImpl;
 import com.sun.enterprise.web.pluggable.WebContainerFeatureFactory;
+import com.sun.enterprise.util.MpscRingBuffer;
 import com.sun.enterprise.util.io.FileUtils;
 import org.apache.catalina.*;
 import org.apache.catalina.valves.ValveBase;
@@ -63,10 +65,14 @@ import java.nio.ByteBuffer;
 import java.nio.CharBuffer;
 import java.nio.channels.FileChannel;
 import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
 import java.text.FieldPosition;
 import java.text.MessageFormat;
 import java.text.SimpleDateFormat;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import org.glassfish.internal.api.LogManager;
@@ -81,6 +87,11 @@ import org.glassfish.internal.api.LogManager;
  * </p>This class uses a direct <code>ByteBuffer</code> to store and write
  * logs.
  *
+ * </p>With the lock-free writer enabled, request threads format and encode
+ * their log line into thread local buffers and publish it to an
+ * {@link MpscRingBuffer}, which the background writer thread drains
+ * with gathering writes.
+ *
  * @author Jean-Francois Arcand
  * @author Charlie J. Hunt
  */
@@ -121,6 +132,29 @@ public final class PEAccessLogValve
      */
     private final static int DEFAULT_FILE_SIZE_ROTATION_LIMIT = 0;
 
+    /**
+     * The minimum number of log lines the lock-free writer can hold before
+     * request threads have to write them out.
+     */
+    private final static int MIN_RING_BUFFER_CAPACITY = 1024;
+
+    /**
+     * The assumed average size of a log line, used to size the ring buffer
+     * of the lock-free writer from the buffer size.
+     */
+    private final static int AVERAGE_LOG_LINE_SIZE = 64;
+
+    /**
+     * The maximum number of log lines written with a single gathering write.
+     */
+    private final static int WRITE_BATCH_SIZE = 256;
+
+    /**
+     * How long the lock-free writer thread waits for log lines when the log
+     * is flushed in real time, before checking for termination.
+     */
+    private final static long WRITER_IDLE_NANOS = TimeUnit.SECONDS.toNanos(1);
+
     private static final String LOG_ROTATION_TIME_FORMAT
             = "'T'HH-mm-ss";
 
@@ -237,6 +271,19 @@ public final class PEAccessLogValve
      */
     private CharBuffer charBuffer;
 
+    /**
+     * The reusable <code>ByteBuffer</code> the logs stored in the
+     * <code>CharBuffer</code> are encoded into, only used while holding the
+     * lock.
+     */
+    private ByteBuffer byteBuffer;
+
+    /**
+     * The encoder of the logs stored in the <code>CharBuffer</code>, only
+     * used while holding the lock.
+     */
+    private CharsetEncoder charEncoder;
+
     /**
      * The <code>byteBuffer</code> used to store the log.
      */
@@ -293,6 +340,37 @@ public final class PEAccessLogValve
      */
     private Object lock = new Object();
 
+    /**
+     * Whether request threads publish their log lines through a lock-free
+     * ring buffer instead of appending them to the shared
+     * <code>CharBuffer</code>. Takes effect when the valve is started.
+     */
+    private boolean lockFreeWriter;
+
+    /**
+     * The ring buffer of encoded log lines, null unless the lock-free writer
+     * is in use.
+     */
+    private MpscRingBuffer<ByteBuffer> ringBuffer;
+
+    /**
+     * The per thread buffers log lines are formatted and encoded with by the
+     * lock-free writer, kept for the whole life of the valve.
+     */
+    private final ThreadLocal<AccessLogLineEncoder> lineEncoders =
+            ThreadLocal.withInitial(AccessLogLineEncoder::new);
+
+    /**
+     * The log lines drained from the ring buffer for a gathering write,
+     * only used while holding the lock.
+     */
+    private final ByteBuffer[] writeBatch = new ByteBuffer[WRITE_BATCH_SIZE];
+
+    /**
+     * Set while the lock-free writer thread waits for log lines.
+     */
+    private volatile boolean writerParked;
+
     /**
      * Return writerThread interval (seconds)
      */
@@ -351,6 +429,23 @@ public final class PEAccessLogValve
         return bufferSize;
     }
 
+    /**
+     * Set whether log lines are published through a lock-free ring buffer
+     * drained by the background writer thread. Takes effect when the valve is
+     * started.
+     * @param lockFreeWriter
+     */
+    public void setLockFreeWriter(boolean lockFreeWriter) {
+        this.lockFreeWriter = lockFreeWriter;
+    }
+
+    /**
+     * Return whether log lines are published through a lock-free ring buffer
+     */
+    public boolean isLockFreeWriter() {
+        return lockFreeWriter;
+    }
+
     // ------------------------------------------------------------- Properties
     /**
      * Are we supposed to add datestamp to first access log file we create,
@@ -571,6 +666,11 @@ public final class PEAccessLogValve
             return;
         }
 
+        if (ringBuffer != null) {
+            publish(request, response);
+            return;
+        }
+
         synchronized (lock){
             // Reset properly the buffer in case of an unexpected
             // exception.
@@ -608,6 +708,41 @@ public final class PEAccessLogValve
         }
     }
 
+    /**
+     * Formats and encodes the log line of the request on the calling thread
+     * and publishes it to the ring buffer without taking the lock. Only if the
+     * ring buffer is full the calling thread writes out the buffered lines.
+     */
+    private void publish(Request request, Response response)
+            throws IOException {
+
+        if (formatter == null) {
+            return;
+        }
+
+        ByteBuffer line = lineEncoders.get().encode(formatter, request, response, bufferSize);
+        if (line == null) {
+            _logger.log(
+                    Level.SEVERE,
+                    LogFacade.ACCESS_LOG_UNABLE_TO_WRITE,
+                    new Object[] {new BufferOverflowException()});
+            return;
+        }
+
+        while (!ringBuffer.offer(line)) {
+            // The writer thread is falling behind
+            log();
+        }
+
+        if (flushRealTime
+                || ringBuffer.size() > ringBuffer.capacity() / 2) {
+            Thread writer = writerThread;
+            if (writerParked && writer != null) {
+                LockSupport.unpark(writer);
+            }
+        }
+    }
+
     /**
      * Log the specified message to the log file, switching files if the date
      * has changed since the previous log call.
@@ -622,22 +757,30 @@ public final class PEAccessLogValve
         }
 
         synchronized(lock){
-            try{
-                charBuffer.flip();
-                String bufString = charBuffer.toString();
-                if (accessLogToConsole && !bufString.isEmpty()) {
-                    logManager.getOutStream().print(bufString.replaceAll("(?m)^", "AccessLog: "));
-                }
-                ByteBuffer byteBuffer =
-                    ByteBuffer.wrap(bufString.getBytes(Charset.defaultCharset()));
-
-                while (byteBuffer.hasRemaining()){
-                    fileChannel.write(byteBuffer);
+            if (ringBuffer != null) {
+                writeRingBuffer();
+            } else {
+                try{
+                    charBuffer.flip();
+                    if (accessLogToConsole && charBuffer.hasRemaining()) {
+                        logManager.getOutStream().print(charBuffer.toString().replaceAll("(?m)^", "AccessLog: "));
+                    }
+                    // malformed and unmappable input is replaced, so the
+                    // encoder only ever runs out of room
+                    charEncoder.reset();
+                    while (charEncoder.encode(charBuffer, byteBuffer, true).isOverflow()) {
+                        writeByteBuffer();
+                    }
+                    while (charEncoder.flush(byteBuffer).isOverflow()) {
+                        writeByteBuffer();
+                    }
+                    writeByteBuffer();
+                } catch (IOException ex){
+                    ;
+                } finally {
+                    charBuffer.clear();
+                    byteBuffer.clear();
                 }
-            } catch (IOException ex){
-                ;
-            } finally {
-                charBuffer.clear();
             }
         }
 
@@ -649,6 +792,46 @@ public final class PEAccessLogValve
         }
     }
 
+    /**
+     * Writes out the encoded logs. Must be called while holding the lock.
+     */
+    private void writeByteBuffer() throws IOException {
+        byteBuffer.flip();
+        while (byteBuffer.hasRemaining()){
+            fileChannel.write(byteBuffer);
+        }
+        byteBuffer.clear();
+    }
+
+    /**
+     * Writes the log lines published to the ring buffer with gathering
+     * writes. Must be called while holding the lock.
+     */
+    private void writeRingBuffer() {
+        int drained;
+        while ((drained = ringBuffer.drainTo(writeBatch)) > 0) {
+            try {
+                if (accessLogToConsole) {
+                    for (int i = 0; i < drained; i++) {
+                        logManager.getOutStream().print("AccessLog: "
+                                + Charset.defaultCharset().decode(writeBatch[i].duplicate()));
+                    }
+                }
+                int offset = 0;
+                while (offset < drained) {
+                    fileChannel.write(writeBatch, offset, drained - offset);
+                    while (offset < drained && !writeBatch[offset].hasRemaining()) {
+                        offset++;
+                    }
+                }
+            } catch (IOException ex) {
+                ;
+            } finally {
+                Arrays.fill(writeBatch, 0, drained, null);
+            }
+        }
+    }
+
     /*
      * Configures this access log valve.
      *
@@ -768,6 +951,14 @@ public final class PEAccessLogValve
             }
         }
         
+        /*
+         * The accessLogLockFreeWriter property defined under
+         * <virtual-server> overrides the system wide default
+         */
+        setLockFreeWriter(Boolean.parseBoolean(vsBean.getPropertyValue(
+                Constants.ACCESS_LOG_LOCK_FREE_WRITER_PROPERTY,
+                System.getProperty(Constants.ACCESS_LOG_LOCK_FREE_WRITER_SYSTEM_PROPERTY))));
+
         String acFilePrefix = vsBean.getPropertyValue(Constants.ACCESS_LOG_PREFIX);
         if(acFilePrefix != null && !acFilePrefix.trim().isEmpty() && !"null".equals(acFilePrefix) && !"null".equals(accessLogPrefix)) {
             setPrefix(acFilePrefix + ".");
@@ -1203,6 +1394,17 @@ public final class PEAccessLogValve
         }
 
         charBuffer = CharBuffer.allocate(bufferSize);
+        charEncoder = Charset.defaultCharset().newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        byteBuffer = ByteBuffer.allocateDirect(bufferSize);
+
+        if (lockFreeWriter) {
+            ringBuffer = new MpscRingBuffer<>(Math.max(MIN_RING_BUFFER_CAPACITY,
+                    bufferSize / AVERAGE_LOG_LINE_SIZE));
+        } else {
+            ringBuffer = null;
+        }
 
         // Initialize the timeZone, Date formatters, and currentDate
         final TimeZone tz = TimeZone.getDefault();
@@ -1227,7 +1429,7 @@ public final class PEAccessLogValve
 
         lastAccessLogCreationTime = systime;
 
-        if (!flushRealTime){
+        if (!flushRealTime || ringBuffer != null){
             // Start the background writer writerThread
             threadStart();
         }
@@ -1254,7 +1456,7 @@ public final class PEAccessLogValve
         lifecycle.fireLifecycleEvent(STOP_EVENT, null);
         started = false;
 
-        if (!flushRealTime){
+        if (!flushRealTime || ringBuffer != null){
             // Stop the background writer thread
             threadStop();
         }
@@ -1286,7 +1488,22 @@ public final class PEAccessLogValve
      */
     private void threadSleep() {
 
-        if (writerThread == null || writeInterval == 0)
+        if (writerThread == null)
+            return;
+
+        if (ringBuffer != null) {
+            // Wait for the interval, or until request threads signal that
+            // log lines are waiting
+            writerParked = true;
+            if (!flushRealTime || ringBuffer.isEmpty()) {
+                LockSupport.parkNanos(this, flushRealTime ? WRITER_IDLE_NANOS
+                        : TimeUnit.SECONDS.toNanos(writeInterval));
+            }
+            writerParked = false;
+            return;
+        }
+
+        if (writeInterval == 0)
             return;
 
         try {
@@ -1302,7 +1519,7 @@ public final class PEAccessLogValve
      */
     private void threadStart() {
 
-        if (writerThread != null || writeInterval == 0)
+        if (writerThread != null || (writeInterval == 0 && ringBuffer == null))
             return;
 
         threadDone = false;
@@ -1318,7 +1535,7 @@ public final class PEAccessLogValve
      */
     private void threadStop() {
 
-        if (writerThread == null || writeInterval == 0)
+        if (writerThread == null)
             return;
 
         threadDone = true;
@@ -1332,4 +1549,4 @@ public final class PEAccessLogValve
         writerThread = null;
 
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,116 @@
+/*
+ *
+ *  DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ *  Copyright (c) 2026 Payara Foundation and/or its affiliates. All rights reserved.
+ *
+ *  The contents of this file are subject to the terms of either the GNU
+ *  General Public License Version 2 only ("GPL") or the Common Development
+ *  and Distribution License("CDDL") (collectively, the "License").  You
+ *  may not use this file except in compliance with the License.  You can
+ *  obtain a copy of the License at
+ *  https://github.com/payara/Payara/blob/main/LICENSE.txt
+ *  See the License for the specific
+ *  language governing permissions and limitations under the License.
+ *
+ *  When distributing the software, include this License Header Notice in each
+ *  file and include the License file at glassfish/legal/LICENSE.txt.
+ *
+ *  GPL Classpath Exception:
+ *  The Payara Foundation designates this particular file as subject to the "Classpath"
+ *  exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ *  file that accompanied this code.
+ *
+ *  Modifications:
+ *  If applicable, add the following below the License Header, with the fields
+ *  enclosed by brackets [] replaced by your own identifying information:
+ *  "Portions Copyright [year] [name of copyright owner]"
+ *
+ *  Contributor(s):
+ *  If you wish your version of this file to be governed by only the CDDL or
+ *  only the GPL Version 2, indicate your decision by adding "[Contributor]
+ *  elects to include this software in this distribution under the [CDDL or GPL
+ *  Version 2] license."  If you don't indicate a single choice of license, a
+ *  recipient has the option to distribute your version of this file under
+ *  either the CDDL, the GPL Version 2 or to extend the choice of license to
+ *  its licensees as provided above.  However, if you add GPL Version 2 code
+ *  and therefore, elected the GPL Version 2 license, then the option applies
+ *  only if the new code is made subject to such option by the copyright
+ *  holder.
+ *
+ */
+
+package com.sun.enterprise.web.accesslog;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import org.apache.catalina.Request;
+import org.apache.catalina.Response;
+
+/**
+ * Formats and encodes access log lines on a request thread, for the lock-free writer.
+ * <p>
+ * An instance is confined to one thread. Its character and byte buffers are reused for every line, so the only
+ * allocation per line is the exact-size copy handed over to the ring buffer, which the writer thread
+ * owns until the line is written. It holds no reference to the valve it formats lines for.
+ */
+public final class AccessLogLineEncoder {
+
+    private static final int INITIAL_LINE_BUFFER_SIZE = 1024;
+
+    private final CharsetEncoder encoder = Charset.defaultCharset().newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    private CharBuffer line = CharBuffer.allocate(INITIAL_LINE_BUFFER_SIZE);
+    private ByteBuffer encoded = ByteBuffer.allocate(INITIAL_LINE_BUFFER_SIZE);
+
+    /**
+     * @param maxLineSize the maximum number of characters of a line
+     * @return the encoded log line, null if it is longer than the maximum line size
+     */
+    public ByteBuffer encode(AccessLogFormatter formatter, Request request, Response response, int maxLineSize) {
+        while (true) {
+            line.clear();
+            try {
+                formatter.appendLogEntry(request, response, line);
+                line.put('\n');
+                break;
+            } catch (BufferOverflowException ex) {
+                if (line.capacity() >= maxLineSize) {
+                    return null;
+                }
+                line = CharBuffer.allocate(Math.min(line.capacity() * 2, maxLineSize));
+            }
+        }
+        line.flip();
+
+        encoder.reset();
+        encoded.clear();
+        // malformed and unmappable input is replaced, so the encoder only ever runs out of room
+        CoderResult result = encoder.encode(line, encoded, true);
+        while (result.isOverflow()) {
+            grow();
+            result = encoder.encode(line, encoded, true);
+        }
+        result = encoder.flush(encoded);
+        while (result.isOverflow()) {
+            grow();
+            result = encoder.flush(encoded);
+        }
+        encoded.flip();
+        ByteBuffer copy = ByteBuffer.allocate(encoded.remaining());
+        copy.put(encoded).flip();
+        return copy;
+    }
+
+    private void grow() {
+        ByteBuffer larger = ByteBuffer.allocate(encoded.capacity() * 2);
+        encoded.flip();
+        encoded = larger.put(encoded);
+    }
+}
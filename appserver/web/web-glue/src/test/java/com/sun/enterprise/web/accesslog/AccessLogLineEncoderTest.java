@@ -0,0 +1,125 @@
+/*
+ *
+ *  DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ *  Copyright (c) 2026 Payara Foundation and/or its affiliates. All rights reserved.
+ *
+ *  The contents of this file are subject to the terms of either the GNU
+ *  General Public License Version 2 only ("GPL") or the Common Development
+ *  and Distribution License("CDDL") (collectively, the "License").  You
+ *  may not use this file except in compliance with the License.  You can
+ *  obtain a copy of the License at
+ *  https://github.com/payara/Payara/blob/main/LICENSE.txt
+ *  See the License for the specific
+ *  language governing permissions and limitations under the License.
+ *
+ *  When distributing the software, include this License Header Notice in each
+ *  file and include the License file at glassfish/legal/LICENSE.txt.
+ *
+ *  GPL Classpath Exception:
+ *  The Payara Foundation designates this particular file as subject to the "Classpath"
+ *  exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ *  file that accompanied this code.
+ *
+ *  Modifications:
+ *  If applicable, add the following below the License Header, with the fields
+ *  enclosed by brackets [] replaced by your own identifying information:
+ *  "Portions Copyright [year] [name of copyright owner]"
+ *
+ *  Contributor(s):
+ *  If you wish your version of this file to be governed by only the CDDL or
+ *  only the GPL Version 2, indicate your decision by adding "[Contributor]
+ *  elects to include this software in this distribution under the [CDDL or GPL
+ *  Version 2] license."  If you don't indicate a single choice of license, a
+ *  recipient has the option to distribute your version of this file under
+ *  either the CDDL, the GPL Version 2 or to extend the choice of license to
+ *  its licensees as provided above.  However, if you add GPL Version 2 code
+ *  and therefore, elected the GPL Version 2 license, then the option applies
+ *  only if the new code is made subject to such option by the copyright
+ *  holder.
+ *
+ */
+
+package com.sun.enterprise.web.accesslog;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import org.apache.catalina.Request;
+import org.apache.catalina.Response;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class AccessLogLineEncoderTest {
+
+  private static final int MAX_LINE_SIZE = 5120;
+
+  @Test
+  public void lineShallBeEncodedWithNewLine() {
+    AccessLogLineEncoder encoder = new AccessLogLineEncoder();
+
+    ByteBuffer line = encoder.encode(new FixedFormatter("GET /index.html 200"), null, null, MAX_LINE_SIZE);
+
+    assertEquals("GET /index.html 200\n", decode(line));
+  }
+
+  @Test
+  public void linesShallNotShareBuffers() {
+    AccessLogLineEncoder encoder = new AccessLogLineEncoder();
+
+    ByteBuffer first = encoder.encode(new FixedFormatter("first"), null, null, MAX_LINE_SIZE);
+    ByteBuffer second = encoder.encode(new FixedFormatter("second line"), null, null, MAX_LINE_SIZE);
+
+    assertEquals("first\n", decode(first));
+    assertEquals("second line\n", decode(second));
+  }
+
+  @Test
+  public void longLinesShallGrowTheBuffers() {
+    AccessLogLineEncoder encoder = new AccessLogLineEncoder();
+    String entry = repeat('x', 4000);
+
+    ByteBuffer line = encoder.encode(new FixedFormatter(entry), null, null, MAX_LINE_SIZE);
+    ByteBuffer next = encoder.encode(new FixedFormatter("short"), null, null, MAX_LINE_SIZE);
+
+    assertEquals(entry + "\n", decode(line));
+    assertEquals("short\n", decode(next));
+  }
+
+  @Test
+  public void linesLongerThanTheMaximumShallBeRejected() {
+    AccessLogLineEncoder encoder = new AccessLogLineEncoder();
+
+    assertNull(encoder.encode(new FixedFormatter(repeat('x', MAX_LINE_SIZE)), null, null, MAX_LINE_SIZE));
+    assertEquals("ok\n", decode(encoder.encode(new FixedFormatter("ok"), null, null, MAX_LINE_SIZE)));
+  }
+
+  private static String decode(ByteBuffer line) {
+    return Charset.defaultCharset().decode(line.duplicate()).toString();
+  }
+
+  private static String repeat(char c, int count) {
+    StringBuilder builder = new StringBuilder(count);
+    for (int i = 0; i < count; i++) {
+      builder.append(c);
+    }
+    return builder.toString();
+  }
+
+  private static final class FixedFormatter extends AccessLogFormatter {
+
+    private final String entry;
+
+    FixedFormatter(String entry) {
+      this.entry = entry;
+    }
+
+    @Override
+    public void appendLogEntry(Request request, Response response, CharBuffer charBuffer) {
+      charBuffer.put(entry);
+    }
+  }
+}
@@ -37,6 +37,7 @@
  * only if the new code is made subject to such option by the copyright
  * holder.
  */
+// Portions Copyright [2026] Payara Foundation and/or affiliates
 
 package org.glassfish.web.ha.session.management;
 
@@ -287,6 +288,8 @@ public final class CompositeMetadata implements Storeable {
                 if (len > 0) {
                     state = new byte[len];
                     dis.readFully(state);
+                    // the new state already holds the attributes merged so far
+                    attributesMap.clear();
                 }
             }
 
@@ -37,7 +37,7 @@
  * only if the new code is made subject to such option by the copyright
  * holder.
  */
-// Portions Copyright [2016-2017] [Payara Foundation and/or its affiliates]
+// Portions Copyright [2016-2026] [Payara Foundation and/or its affiliates]
 
 /*
  * ModifiedAttributeHASession.java
@@ -50,6 +50,7 @@ package org.glassfish.web.ha.session.management;
 import org.apache.catalina.Manager;
 import org.apache.catalina.util.Enumerator;
 
+import java.security.Principal;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
@@ -67,6 +68,7 @@ public class ModifiedAttributeHASession extends BaseHASession {
 
     private transient Map<String, SessionAttributeState> _attributeStates = new ConcurrentHashMap<>();
     private transient boolean _dirtyFlag = false;
+    private transient boolean _trunkDirtyFlag = false;
     
     
     /** Creates a new instance of ModifiedAttributeHASession */
@@ -174,6 +176,7 @@ public class ModifiedAttributeHASession extends BaseHASession {
             _attributeStates.put(nextAttrName, nextAttrState);
         }
         setDirty(false);
+        _trunkDirtyFlag = false;
     }
     
     /**
@@ -291,6 +294,36 @@ public class ModifiedAttributeHASession extends BaseHASession {
         _attributeStates.remove(attributeName);
     }
 
+    /**
+     * the principal is part of the session state
+     * rather than of the attributes
+     * @param principal
+     */
+    @Override
+    public void setPrincipal(Principal principal) {
+        super.setPrincipal(principal);
+        _trunkDirtyFlag = true;
+    }
+
+    /**
+     * the max inactive interval is part of the session state
+     * rather than of the attributes
+     * @param interval
+     */
+    @Override
+    public void setMaxInactiveInterval(int interval) {
+        super.setMaxInactiveInterval(interval);
+        _trunkDirtyFlag = true;
+    }
+
+    /**
+     * return true if the session state other than
+     * the attributes was changed since it was last stored
+     */
+    boolean isTrunkDirty() {
+        return _trunkDirtyFlag;
+    }
+
     /**
      * return isDirty
      */    
@@ -37,7 +37,7 @@
  * only if the new code is made subject to such option by the copyright
  * holder.
  */
-// Portions Copyright [2016-2017] [Payara Foundation and/or its affiliates]
+// Portions Copyright [2016-2026] [Payara Foundation and/or its affiliates]
 
 package org.glassfish.web.ha.session.management;
 
@@ -408,7 +408,7 @@ public class ReplicationAttributeStore extends ReplicationStore {
     private CompositeMetadata createCompositeMetadata(ModifiedAttributeHASession modAttrSession) throws IOException {
         
         byte[] trunkState = null;
-        if (!modAttrSession.isNew()) {
+        if (isTrunkStateNeeded(modAttrSession)) {
             try {
                 trunkState = this.getByteArray(modAttrSession);
             } catch(IOException ex) {
@@ -444,6 +444,21 @@ public class ReplicationAttributeStore extends ReplicationStore {
         return result;
     }
     
+    /**
+     * The whole session is only needed by a delta replicating store when it
+     * has not stored the session yet, when the session state other than the
+     * attributes changed, or when attributes were removed, as the session
+     * state it holds would still contain them.
+     */
+    private boolean isTrunkStateNeeded(ModifiedAttributeHASession modAttrSession) {
+        ReplicationManagerBase<?> mgr = (ReplicationManagerBase<?>) this.getManager();
+        if (!mgr.isDeltaReplication()) {
+            return !modAttrSession.isNew();
+        }
+        return !modAttrSession.isPersistent() || modAttrSession.isTrunkDirty()
+                || !modAttrSession.getDeletedAttributes().isEmpty();
+    }
+
     private void printAttrList(String attrListType, List<String> attrList) {
         if (_logger.isLoggable(Level.FINE)) {
             _logger.fine("AttributeType = " + attrListType);
@@ -37,7 +37,7 @@
  * only if the new code is made subject to such option by the copyright
  * holder.
  */
-// Portions Copyright [2016] [Payara Foundation and/or its affiliates]
+// Portions Copyright [2016-2026] [Payara Foundation and/or its affiliates]
 
 package org.glassfish.web.ha.session.management;
 
@@ -68,10 +68,27 @@ public abstract class ReplicationManagerBase<T extends Storeable> extends Persis
     protected boolean relaxCacheVersionSemantics = true;
     protected boolean disableJreplica = false;
 
+    /**
+     * Vendor specific setting a backing store sets when it merges the attribute
+     * changes it is sent into the state it already holds.
+     */
+    public static final String DELTA_REPLICATION_PROPERTY = "delta.replication";
+
+    protected boolean deltaReplication = false;
+
     public BackingStore<String, T> getBackingStore() {
         return this.backingStore;
     }
 
+    /**
+     * Returns true if the backing store merges the modified attributes into the
+     * session state it already holds, so the whole session does not need to be
+     * sent on every save.
+     */
+    public boolean isDeltaReplication() {
+        return deltaReplication;
+    }
+
     public abstract void createBackingStore(String persistenceType, String storeName, Class<T> metadataClass, Map<String, Object> vendorMap);
     
     public Session createNewSession() {
@@ -37,7 +37,7 @@
  * only if the new code is made subject to such option by the copyright
  * holder.
  */
-// Portions Copyright [2017-2021] [Payara Foundation and/or its affiliates]
+// Portions Copyright [2017-2026] [Payara Foundation and/or its affiliates]
 
 
 /*
@@ -284,6 +284,7 @@ public class ReplicationWebEventPersistentManager<T extends Storeable> extends R
         } catch (BackingStoreException e) {
             _logger.log(Level.WARNING, LogFacade.COULD_NOT_CREATE_BACKING_STORE, e);
         }
+        deltaReplication = Boolean.TRUE.equals(conf.getVendorSpecificSettings().get(DELTA_REPLICATION_PROPERTY));
         Object obj = conf.getVendorSpecificSettings().get("key.mapper");
         if (obj != null && obj instanceof GlassFishHAReplicaPredictor) {
             predictor = (GlassFishHAReplicaPredictor)obj;
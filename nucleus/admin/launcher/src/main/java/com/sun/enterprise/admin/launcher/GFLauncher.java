@@ -37,7 +37,7 @@
  * only if the new code is made subject to such option by the copyright
  * holder.
  */
-// Portions Copyright [2016-2024] [Payara Foundation and/or its affiliates]
+// Portions Copyright [2016-2026] [Payara Foundation and/or its affiliates]
 
 package com.sun.enterprise.admin.launcher;
 
@@ -75,6 +75,10 @@ import static com.sun.enterprise.util.SystemPropertyConstants.*;
  */
 public abstract class GFLauncher {
 
+    private static final String CDS_ARCHIVE_NAME = "server.jsa";
+    private static final String SHARED_ARCHIVE_FILE_OPTION = ":SharedArchiveFile";
+    private static final String ARCHIVE_CLASSES_AT_EXIT_OPTION = ":ArchiveClassesAtExit";
+    private static final JDK.Version CDS_MINIMUM_JDK_VERSION = JDK.getVersion("13");
     private static final Pattern JAVA_VERSION_PATTERN = Pattern.compile(".* version \"([^\"\\-]+)(-.*)?\".*");
     private final List<String> commandLine = new ArrayList<String>();
     private final GFLauncherInfo info;
@@ -897,6 +901,7 @@ public abstract class GFLauncher {
         
         // PAYARA-1681 - Add default Payara JVM options if an override isn't in place
         addDefaultJvmOptions();
+        setupClassDataSharing(jdkVersion);
     }
 
     /**
@@ -938,6 +943,41 @@ public abstract class GFLauncher {
         }
     }
 
+    /**
+     * Either asks the JVM to dump the classes loaded during a warmup run into
+     * the domain's class data sharing archive, or uses that archive if an
+     * earlier run generated it and no archive has been configured by hand.
+     *
+     * @param jdkVersion the version of the configured JDK, if known
+     * @throws GFLauncherException
+     */
+    private void setupClassDataSharing(Optional<JDK.Version> jdkVersion) throws GFLauncherException {
+        if (jvmOptions.xxProps.containsKey(SHARED_ARCHIVE_FILE_OPTION)
+                || jvmOptions.xxProps.containsKey(ARCHIVE_CLASSES_AT_EXIT_OPTION)) {
+            return;
+        }
+        File archive = new File(new File(new File(info.getInstanceRootDir(), "generated"), "cds"), CDS_ARCHIVE_NAME);
+        if (info.isGenerateCds()) {
+            if (jdkVersion.isPresent() && jdkVersion.get().olderThan(CDS_MINIMUM_JDK_VERSION)) {
+                GFLauncherLogger.warning(GFLauncherLogger.CDS_UNSUPPORTED, jdkVersion.get());
+                return;
+            }
+            File dir = archive.getParentFile();
+            if (!dir.isDirectory() && !dir.mkdirs()) {
+                throw new GFLauncherException(STRINGS.get("cds_archive_failed", dir));
+            }
+            // a stale archive would be mapped in and then rewritten with itself
+            if (archive.isFile() && !archive.delete()) {
+                throw new GFLauncherException(STRINGS.get("cds_archive_failed", archive));
+            }
+            GFLauncherLogger.info(GFLauncherLogger.CDS_GENERATING, archive);
+            jvmOptions.xxProps.put(ARCHIVE_CLASSES_AT_EXIT_OPTION, getCleanPath(archive));
+        } else if (archive.isFile()) {
+            // -Xshare:auto is the default, so a stale or incompatible archive is silently ignored
+            jvmOptions.xxProps.put(SHARED_ARCHIVE_FILE_OPTION, getCleanPath(archive));
+        }
+    }
+
     private void setupUpgradeSecurity() throws GFLauncherException {
         // If this is an upgrade and the security manager is on,
         // copy the current server.policy file to the domain
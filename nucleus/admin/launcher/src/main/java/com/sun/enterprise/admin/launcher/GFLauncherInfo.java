@@ -37,7 +37,7 @@
  * only if the new code is made subject to such option by the copyright
  * holder.
  */
-// Portions Copyright [2016-2023] [Payara Foundation]
+// Portions Copyright [2016-2026] [Payara Foundation]
 
 package com.sun.enterprise.admin.launcher;
 
@@ -155,6 +155,13 @@ public class GFLauncherInfo {
      */
     public void setWarmup(boolean b) { warmup = b; }
 
+    /**
+     * Starts the server in warmup mode and dumps the loaded classes into a
+     * class data sharing archive when it stops
+     * @param b
+     */
+    public void setGenerateCds(boolean b) { generateCds = b; }
+
     public void setDomainRootDir(File f) {
         domainRootDir = f;
     }
@@ -216,7 +223,15 @@ public class GFLauncherInfo {
      * @return true if the warmup is on.
      */
     public boolean isWarmup() {
-        return warmup;
+        return warmup || generateCds;
+    }
+
+    /**
+     * 
+     * @return true if a class data sharing archive is to be generated.
+     */
+    public boolean isGenerateCds() {
+        return generateCds;
     }
 
     /**
@@ -351,7 +366,7 @@ public class GFLauncherInfo {
         map.put("-debug", Boolean.toString(debug));
         map.put("-instancename", instanceName);
         map.put("-upgrade", Boolean.toString(upgrade));
-        map.put("-warmup", Boolean.toString(warmup));
+        map.put("-warmup", Boolean.toString(isWarmup()));
         map.put("-read-stdin", "true"); //always make the server read the stdin for master password, at least.
         
         if(respawnInfo != null) {
@@ -480,6 +495,13 @@ public class GFLauncherInfo {
         } else if (tsb.isFalse()) {
             warmup = false;
         }
+
+        tsb = getBoolean("generatecds");
+        if (tsb.isTrue()) {
+            generateCds = true;
+        } else if (tsb.isFalse()) {
+            generateCds = false;
+        }
     }
 
     private void finalSetup() throws GFLauncherException {
@@ -630,6 +652,7 @@ public class GFLauncherInfo {
     private boolean debug = false;
     private boolean upgrade = false;
     private boolean warmup = false;
+    private boolean generateCds = false;
     File installDir;
     private File domainParentDir;
     private File domainRootDir;
@@ -38,7 +38,7 @@
  * holder.
  */
 
-// Portions Copyright [2017-2018] [Payara Foundation and/or its affiliates.]
+// Portions Copyright [2017-2026] [Payara Foundation and/or its affiliates.]
 
 package com.sun.enterprise.admin.launcher;
 
@@ -197,4 +197,22 @@ public class GFLauncherLogger {
     action = "Override the Payara default by adding the JVM option to your config",
     level = "FINE")
     public static final String DEFAULT_JVM_OPTION = "PAYARA-GFLAUNCHER-00001";
+
+    @LogMessageInfo(
+            message =
+    "Generating class data sharing archive: {0}",
+    comment = "Routine Information",
+    cause = "NA",
+    action = "NA",
+    level = "INFO")
+    public static final String CDS_GENERATING = "PAYARA-GFLAUNCHER-00002";
+
+    @LogMessageInfo(
+            message =
+    "Class data sharing archive generation requires JDK 13 or later, the configured JDK is {0}. No archive will be generated.",
+    comment = "JVM Info",
+    cause = "The JVM does not support -XX:ArchiveClassesAtExit",
+    action = "Run the server on JDK 13 or later to generate a class data sharing archive",
+    level = "WARNING")
+    public static final String CDS_UNSUPPORTED = "PAYARA-GFLAUNCHER-00003";
 }
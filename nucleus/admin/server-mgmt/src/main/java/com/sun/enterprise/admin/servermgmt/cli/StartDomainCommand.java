@@ -37,7 +37,7 @@
  * only if the new code is made subject to such option by the copyright
  * holder.
  */
-//Portions Copyright [2017-2023] Payara Foundation and/or affiliates
+//Portions Copyright [2017-2026] Payara Foundation and/or affiliates
 
 package com.sun.enterprise.admin.servermgmt.cli;
 
@@ -103,6 +103,9 @@ public class StartDomainCommand extends LocalDomainCommand implements StartServe
     
     @Param(optional = true, defaultValue = "false")
     private boolean warmup;
+
+    @Param(optional = true, defaultValue = "false")
+    private boolean generatecds;
     
     @Inject
     ServerEnvironment senv;
@@ -184,9 +187,9 @@ public class StartDomainCommand extends LocalDomainCommand implements StartServe
 
             doAdminPasswordCheck();
 
-            if (warmup) {
+            if (warmup || generatecds) {
                 info.setWarmup(warmup);
-                helper.setWarmup(warmup);
+                helper.setWarmup(true);
             }
 
             // launch returns very quickly if verbose is not set
@@ -256,6 +259,7 @@ public class StartDomainCommand extends LocalDomainCommand implements StartServe
         info.setUpgrade(upgrade);
         info.setWatchdog(watchdog);
         info.setWarmup(warmup);
+        info.setGenerateCds(generatecds);
         info.setDropInterruptedCommands(drop_interrupted_commands);
         info.setPrebootCommandsFile(preBootCommand);
         info.setpostbootCommandsFile(postBootCommand);
@@ -280,6 +284,7 @@ public class StartDomainCommand extends LocalDomainCommand implements StartServe
         args.add("--watchdog=" + watchdog);
         args.add("--debug=" + debug);
         args.add("--warmup=" + warmup);
+        args.add("--generatecds=" + generatecds);
         args.add("--domaindir");
         args.add(getDomainsDir().toString());
         if (ok(getDomainName()))
@@ -0,0 +1,642 @@
+/*
+ *
+ *  DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ *  Copyright (c) 2026 Payara Foundation and/or its affiliates. All rights reserved.
+ *
+ *  The contents of this file are subject to the terms of either the GNU
+ *  General Public License Version 2 only ("GPL") or the Common Development
+ *  and Distribution License("CDDL") (collectively, the "License").  You
+ *  may not use this file except in compliance with the License.  You can
+ *  obtain a copy of the License at
+ *  https://github.com/payara/Payara/blob/main/LICENSE.txt
+ *  See the License for the specific
+ *  language governing permissions and limitations under the License.
+ *
+ *  When distributing the software, include this License Header Notice in each
+ *  file and include the License file at glassfish/legal/LICENSE.txt.
+ *
+ *  GPL Classpath Exception:
+ *  The Payara Foundation designates this particular file as subject to the "Classpath"
+ *  exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ *  file that accompanied this code.
+ *
+ *  Modifications:
+ *  If applicable, add the following below the License Header, with the fields
+ *  enclosed by brackets [] replaced by your own identifying information:
+ *  "Portions Copyright [year] [name of copyright owner]"
+ *
+ *  Contributor(s):
+ *  If you wish your version of this file to be governed by only the CDDL or
+ *  only the GPL Version 2, indicate your decision by adding "[Contributor]
+ *  elects to include this software in this distribution under the [CDDL or GPL
+ *  Version 2] license."  If you don't indicate a single choice of license, a
+ *  recipient has the option to distribute your version of this file under
+ *  either the CDDL, the GPL Version 2 or to extend the choice of license to
+ *  its licensees as provided above.  However, if you add GPL Version 2 code
+ *  and therefore, elected the GPL Version 2 license, then the option applies
+ *  only if the new code is made subject to such option by the copyright
+ *  holder.
+ *
+ */
+package com.sun.appserv.util.cache;
+
+import com.sun.enterprise.util.CULoggerInfo;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * ConcurrentCache
+ * In-memory cache for highly concurrent access.
+ * <p>
+ * Unlike {@link BaseCache} and its LRU subclasses, reads never lock: the entries are kept in a
+ * {@link ConcurrentHashMap} and an access only stamps the entry with the current value of a logical clock that
+ * advances on every insert. All statistics are striped counters. Once the cache exceeds its threshold, a single
+ * thread evicts entries by sampling a few entries from a sweep over the cache and trimming the least recently used
+ * one of the sample, an approximation of LRU which needs no shared access order list.
+ * <p>
+ * The cache can be selected for the web container cache and the cache taglib by setting the
+ * <code>cacheClassName</code> cache property to <code>com.sun.appserv.util.cache.ConcurrentCache</code>.
+ */
+public class ConcurrentCache implements Cache {
+
+    static final int MAX_ENTRIES = 1 << 30;
+    static final float DEFAULT_LOAD_FACTOR = 0.75f;
+
+    // number of entries compared to pick an entry to evict
+    static final int EVICTION_SAMPLE_SIZE = 8;
+
+    // upper bound of the number of refresh locks, which bounds the index space
+    static final int MAX_REFRESH_LOCKS = 1 << 16;
+
+    // maximum number of entries this cache may ever hold
+    protected int maxEntries;
+
+    // once the threshold is reached entries are evicted to accomodate newer inserts
+    protected int threshold;
+
+    private ConcurrentHashMap<Object, Entry> entries;
+
+    private final LongAdder entryCount = new LongAdder();
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder removalCount = new LongAdder();
+    private final LongAdder refreshCount = new LongAdder();
+    private final LongAdder addCount = new LongAdder();
+    private final LongAdder overflowCount = new LongAdder();
+
+    // logical time; advances on each insert and stamps entries on access
+    private final AtomicLong clock = new AtomicLong();
+
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    // weakly consistent sweep over the cache used to sample eviction candidates; guarded by evictionLock
+    private Iterator<Entry> sweep;
+
+    // locks and status for item thread-safe refreshes
+    private int refreshLockCount;
+    private Object[] refreshLocks;
+    private boolean[] refreshFlags;
+
+    private final List<CacheListener> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * initialize the cache
+     * @param maxEntries maximum number of entries expected in the cache
+     * @param props opaque list of properties for a given cache implementation
+     * @throws a generic Exception if the initialization failed
+     */
+    @Override
+    public void init(int maxEntries, Properties props) throws Exception {
+        init(maxEntries, DEFAULT_LOAD_FACTOR, props);
+    }
+
+    /**
+     * initialize the cache
+     * @param maxEntries maximum number of entries expected in the cache
+     * @param loadFactor the load factor
+     * @param props opaque list of properties for a given cache implementation
+     * @throws a generic Exception if the initialization failed
+     */
+    @Override
+    public void init(int maxEntries, float loadFactor, Properties props) {
+        if (maxEntries <= 0) {
+            String msg = CULoggerInfo.getString(CULoggerInfo.illegalMaxEntries);
+            msg = MessageFormat.format(msg, new Object[] { maxEntries });
+            throw new IllegalArgumentException(msg);
+        }
+
+        if (maxEntries > MAX_ENTRIES) {
+            maxEntries = MAX_ENTRIES;
+        }
+        this.maxEntries = maxEntries;
+
+        if (loadFactor < 0) {
+            loadFactor = 0;
+        }
+        threshold = (int) (maxEntries * loadFactor) + 1;
+
+        entries = new ConcurrentHashMap<>(Math.min(maxEntries, MAX_REFRESH_LOCKS));
+        entryCount.reset();
+
+        // find a power of 2 >= maxEntries
+        refreshLockCount = 1;
+        while (refreshLockCount < maxEntries && refreshLockCount < MAX_REFRESH_LOCKS) {
+            refreshLockCount <<= 1;
+        }
+        refreshLocks = new Object[refreshLockCount];
+        refreshFlags = new boolean[refreshLockCount];
+        for (int i = 0; i < refreshLockCount; i++) {
+            refreshLocks[i] = new Object();
+        }
+    }
+
+    /**
+     * add the cache module listener
+     * @param listener <code>CacheListener</code> implementation
+     */
+    @Override
+    public void addCacheListener(CacheListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * get the index of the item given a key
+     * @param key of the entry
+     * @return the index to be used in the cache
+     */
+    @Override
+    public int getIndex(Object key) {
+        int h = key.hashCode();
+        return (h ^ (h >>> 16)) & (refreshLockCount - 1);
+    }
+
+    /**
+     * get the item stored at the key.
+     * @param key lookup key
+     * @returns the item stored at the key; null if not found.
+     */
+    @Override
+    public Object get(Object key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            missCount.increment();
+            return null;
+        }
+        entry.accessed(clock.get());
+        hitCount.increment();
+        return entry.value;
+    }
+
+    /**
+     * get all the items stored at the key.
+     * @param key lookup key
+     * @returns an Iterator over the items with the given key.
+     */
+    @Override
+    public Iterator getAll(Object key) {
+        List<Object> valueList = new ArrayList<>();
+        long now = clock.get();
+        for (Entry entry = entries.get(key); entry != null; entry = entry.next) {
+            entry.accessed(now);
+            hitCount.increment();
+            valueList.add(entry.value);
+        }
+        return valueList.iterator();
+    }
+
+    /**
+     * check if the cache contains the item at the key
+     * @param key lookup key
+     * @returns true if there is an item stored at the key; false if not.
+     */
+    @Override
+    public boolean contains(Object key) {
+        return get(key) != null;
+    }
+
+    /**
+     * get an Iterator for the keys stored in the cache
+     * @returns an Iterator
+     */
+    @Override
+    public Iterator keys() {
+        return keyList().iterator();
+    }
+
+    /**
+     * get an Enumeration for the keys stored in the cache
+     * @returns an Enumeration
+     */
+    @Override
+    public Enumeration elements() {
+        return Collections.enumeration(keyList());
+    }
+
+    private List<Object> keyList() {
+        List<Object> keyList = new ArrayList<>();
+        for (Entry head : entries.values()) {
+            for (Entry entry = head; entry != null; entry = entry.next) {
+                keyList.add(entry.key);
+            }
+        }
+        return keyList;
+    }
+
+    /**
+     * get an Iterator for the values stored in the cache
+     * @returns an Iterator
+     */
+    @Override
+    public Iterator values() {
+        List<Object> valueList = new ArrayList<>();
+        for (Entry head : entries.values()) {
+            for (Entry entry = head; entry != null; entry = entry.next) {
+                valueList.add(entry.value);
+            }
+        }
+        return valueList.iterator();
+    }
+
+    /**
+     * cache the given value at the specified key and return previous value
+     * @param key lookup key
+     * @param object item value to be stored
+     * @returns the previous item stored at the key; null if not found.
+     */
+    @Override
+    public Object put(Object key, Object value) {
+        return put(key, value, -1);
+    }
+
+    /**
+     * cache the given value at the specified key and return previous value
+     * @param key lookup key
+     * @param object item value to be stored
+     * @param size in bytes of the value being cached
+     * @returns the previous item stored at the key; null if not found.
+     */
+    @Override
+    public Object put(Object key, Object value, int size) {
+        Entry[] replaced = new Entry[1];
+        long now = clock.incrementAndGet();
+        entries.compute(key, (k, head) -> {
+            replaced[0] = head;
+            return new Entry(k, value, size, head == null ? null : head.next, now);
+        });
+        if (replaced[0] == null) {
+            entryAdded();
+            return null;
+        }
+        refreshCount.increment();
+        return replaced[0].value;
+    }
+
+    /**
+     * add the given value to the cache at the specified key
+     * @param key lookup key
+     * @param object item value to be stored
+     */
+    @Override
+    public void add(Object key, Object value) {
+        add(key, value, -1);
+    }
+
+    /**
+     * add the given value with specified size to the cache at specified key
+     * @param key lookup key
+     * @param object item value to be stored
+     * @param size in bytes of the value being added
+     *
+     * This function is suitable for multi-valued keys.
+     */
+    @Override
+    public void add(Object key, Object value, int size) {
+        long now = clock.incrementAndGet();
+        entries.compute(key, (k, head) -> new Entry(k, value, size, head, now));
+        entryAdded();
+    }
+
+    private void entryAdded() {
+        entryCount.increment();
+        addCount.increment();
+        if (entryCount.sum() > threshold) {
+            evict();
+        }
+    }
+
+    /**
+     * remove the item stored at the key.
+     * @param key lookup key
+     * @returns the item stored at the key; null if not found.
+     */
+    @Override
+    public Object remove(Object key) {
+        Entry[] removed = new Entry[1];
+        entries.computeIfPresent(key, (k, head) -> {
+            removed[0] = head;
+            return head.next;
+        });
+        return removed(removed[0]);
+    }
+
+    /**
+     * remove the given value stored at the key; value-specific removals.
+     * @param key lookup key
+     * @param value to match (for a multi-valued keys)
+     * @returns the item stored at the key; null if not found.
+     */
+    @Override
+    public Object remove(Object key, Object value) {
+        if (value == null) {
+            return remove(key);
+        }
+        Entry[] removed = new Entry[1];
+        entries.computeIfPresent(key, (k, head) -> {
+            Entry remaining = null;
+            List<Entry> kept = new ArrayList<>();
+            for (Entry entry = head; entry != null; entry = entry.next) {
+                if (removed[0] == null && entry.value == value) {
+                    removed[0] = entry;
+                } else {
+                    kept.add(entry);
+                }
+            }
+            if (removed[0] == null) {
+                return head;
+            }
+            for (int i = kept.size() - 1; i >= 0; i--) {
+                Entry entry = kept.get(i);
+                remaining = new Entry(k, entry.value, entry.size, remaining, entry.accessTime);
+            }
+            return remaining;
+        });
+        return removed(removed[0]);
+    }
+
+    private Object removed(Entry entry) {
+        if (entry == null) {
+            missCount.increment();
+            return null;
+        }
+        entryCount.decrement();
+        removalCount.increment();
+        hitCount.increment();
+        return entry.value;
+    }
+
+    /**
+     * remove all the item with the given key.
+     * @param key lookup key
+     */
+    @Override
+    public void removeAll(Object key) {
+        Entry head = entries.remove(key);
+        for (Entry entry = head; entry != null; entry = entry.next) {
+            entryCount.decrement();
+            removalCount.increment();
+        }
+    }
+
+    /**
+     * evict entries until the cache is back under its threshold. Only one thread evicts at a time; others
+     * carry on, so the cache may briefly hold a few more entries than its threshold.
+     */
+    private void evict() {
+        if (!evictionLock.tryLock()) {
+            return;
+        }
+        try {
+            boolean overflowed = false;
+            while (entryCount.sum() > threshold) {
+                Entry victim = sampleVictim();
+                if (victim == null) {
+                    break;
+                }
+                if (!overflowed) {
+                    overflowCount.increment();
+                    overflowed = true;
+                }
+                trim(victim);
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private Entry sampleVictim() {
+        Entry victim = null;
+        boolean restarted = false;
+        for (int sampled = 0; sampled < EVICTION_SAMPLE_SIZE; ) {
+            if (sweep == null || !sweep.hasNext()) {
+                if (restarted) {
+                    break;
+                }
+                sweep = entries.values().iterator();
+                restarted = true;
+                continue;
+            }
+            Entry candidate = sweep.next();
+            if (victim == null || candidate.accessTime < victim.accessTime) {
+                victim = candidate;
+            }
+            sampled++;
+        }
+        return victim;
+    }
+
+    private void trim(Entry victim) {
+        // only trim the entries if the key was not updated since it was sampled
+        if (entries.remove(victim.key, victim)) {
+            for (Entry entry = victim; entry != null; entry = entry.next) {
+                entryCount.decrement();
+                for (CacheListener listener : listeners) {
+                    listener.trimEvent(entry.key, entry.value);
+                }
+            }
+        }
+    }
+
+    /**
+     * wait for a refresh on the object associated with the key
+     * @param index index of the entry
+     * @returns true on successful notification, or false if there is
+     *  no thread refreshing this entry.
+     */
+    @Override
+    public boolean waitRefresh(int index) {
+        synchronized (refreshLocks[index]) {
+            if (!refreshFlags[index]) {
+                refreshFlags[index] = true;
+                return false;
+            }
+
+            // wait till refresh is finished
+            try {
+                while (refreshFlags[index]) {
+                    refreshLocks[index].wait();
+                }
+            } catch (InterruptedException ie) {
+                //refresh is finished
+            }
+        }
+        return true;
+    }
+
+    /**
+     * notify threads waiting for a refresh on the object associated with the key
+     * @param index index of the entry
+     */
+    @Override
+    public void notifyRefresh(int index) {
+        synchronized (refreshLocks[index]) {
+            refreshFlags[index] = false;
+            refreshLocks[index].notifyAll();
+        }
+    }
+
+    /**
+     * clear all the entries from the cache.
+     * @returns the number of entries cleared from the cache
+     */
+    @Override
+    public int clear() {
+        int count = 0;
+        for (Object key : entries.keySet()) {
+            Entry head = entries.remove(key);
+            for (Entry entry = head; entry != null; entry = entry.next) {
+                entryCount.decrement();
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * is this cache empty?
+     * @returns true if the cache is empty; false otherwise.
+     */
+    @Override
+    public boolean isEmpty() {
+        return entries.isEmpty();
+    }
+
+    /**
+     * get the number of entries in the cache
+     * @return the number of entries the cache currently holds
+     */
+    @Override
+    public int getEntryCount() {
+        return entryCount.intValue();
+    }
+
+    /**
+     * get the desired statistic counter
+     * @param key to corresponding stat
+     * @return an Object corresponding to the stat
+     * See also: Constant.java for the key
+     */
+    @Override
+    public Object getStatByName(String key) {
+        if (key == null) {
+            return null;
+        }
+        return getStats().get(key);
+    }
+
+    /**
+     * get the stats snapshot
+     * @return a Map of stats
+     * See also: Constant.java for the keys
+     */
+    @Override
+    public Map getStats() {
+        Map<String, Object> stats = new HashMap<>();
+
+        stats.put(Constants.STAT_BASECACHE_MAX_ENTRIES, maxEntries);
+        stats.put(Constants.STAT_BASECACHE_THRESHOLD, threshold);
+        stats.put(Constants.STAT_BASECACHE_TABLE_SIZE, refreshLockCount);
+        stats.put(Constants.STAT_BASECACHE_ENTRY_COUNT, entryCount.intValue());
+        stats.put(Constants.STAT_BASECACHE_HIT_COUNT, hitCount.intValue());
+        stats.put(Constants.STAT_BASECACHE_MISS_COUNT, missCount.intValue());
+        stats.put(Constants.STAT_BASECACHE_REMOVAL_COUNT, removalCount.intValue());
+        stats.put(Constants.STAT_BASECACHE_REFRESH_COUNT, refreshCount.intValue());
+        stats.put(Constants.STAT_BASECACHE_OVERFLOW_COUNT, overflowCount.intValue());
+        stats.put(Constants.STAT_BASECACHE_ADD_COUNT, addCount.intValue());
+
+        return stats;
+    }
+
+    /**
+     * clear the stats
+     */
+    @Override
+    public void clearStats() {
+        hitCount.reset();
+        missCount.reset();
+        removalCount.reset();
+        refreshCount.reset();
+        overflowCount.reset();
+        addCount.reset();
+    }
+
+    /**
+     * trim the expired entries from the cache.
+     * @param maxCount maximum number of invalid entries to trim
+     *        specify Integer.MAX_VALUE to trim all timedout entries
+     *
+     * Entries of this cache do not expire.
+     */
+    @Override
+    public void trimExpiredEntries(int maxCount) {}
+
+    /**
+     * Destroys this cache. This method should be called at the end of this object's life cycle.
+     */
+    @Override
+    public void destroy() {
+        if (entries != null) {
+            clear();
+        }
+        listeners.clear();
+    }
+
+    /**
+     * A cached value. Values stored under the same key are chained; the chain is copied on changes so that readers
+     * never see it being modified.
+     */
+    private static final class Entry {
+        final Object key;
+        final Object value;
+        final int size;
+        final Entry next;
+
+        // logical time of the last access; only written when it changes to keep hot entries cheap to read
+        volatile long accessTime;
+
+        Entry(Object key, Object value, int size, Entry next, long accessTime) {
+            this.key = key;
+            this.value = value;
+            this.size = size;
+            this.next = next;
+            this.accessTime = accessTime;
+        }
+
+        void accessed(long now) {
+            if (accessTime != now) {
+                accessTime = now;
+            }
+        }
+    }
+}
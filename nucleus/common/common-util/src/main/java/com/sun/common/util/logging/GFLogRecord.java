@@ -38,10 +38,11 @@
  * holder.
  */
 
-// Portions Copyright [2016-2024] [Payara Foundation and/or its affiliates]
+// Portions Copyright [2016-2026] [Payara Foundation and/or its affiliates]
 
 package com.sun.common.util.logging;
 
+import java.util.ResourceBundle;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.logging.Level;
 import java.util.logging.LogManager;
@@ -71,6 +72,12 @@ public class GFLogRecord extends LogRecord {
 
     private String threadName;
 
+    /**
+     * The message formatted by the first formatter of this record, so that other handlers of the same record
+     * do not format it again. Reset whenever the message, parameters or resource bundle change.
+     */
+    private transient volatile String formattedMessage;
+
     public GFLogRecord(Level level, String msg) {
         super(level, msg);
     }
@@ -98,6 +105,35 @@ public class GFLogRecord extends LogRecord {
         this.threadName = threadName;
     }
 
+    /**
+     * @return the formatted message, or {@code null} if it has not been formatted yet
+     */
+    public String getFormattedMessage() {
+        return formattedMessage;
+    }
+
+    public void setFormattedMessage(String formattedMessage) {
+        this.formattedMessage = formattedMessage;
+    }
+
+    @Override
+    public void setMessage(String message) {
+        super.setMessage(message);
+        formattedMessage = null;
+    }
+
+    @Override
+    public void setParameters(Object[] parameters) {
+        super.setParameters(parameters);
+        formattedMessage = null;
+    }
+
+    @Override
+    public void setResourceBundle(ResourceBundle bundle) {
+        super.setResourceBundle(bundle);
+        formattedMessage = null;
+    }
+
     /**
      * wrap log record with {@link GFLogRecord} if not already
      * if setThreadName is true, sets thread name to current
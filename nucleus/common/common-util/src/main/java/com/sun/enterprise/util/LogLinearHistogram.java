@@ -0,0 +1,205 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2026 Payara Foundation and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://github.com/payara/Payara/blob/main/LICENSE.txt
+ * See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at glassfish/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * The Payara Foundation designates this particular file as subject to the "Classpath"
+ * exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package com.sun.enterprise.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed memory, lock-free histogram of non-negative values used to compute percentiles, in the style of
+ * HdrHistogram.
+ * <p>
+ * Values are counted in log-linear buckets: each power of two range is split into {@code 2^subBucketBits} equal
+ * buckets, so the upper bound of the bucket a value is counted in is at most {@code value / 2^subBucketBits} above
+ * it. Values below 0 are counted as 0 and values above the highest trackable value as that value. Recording does
+ * not allocate.
+ */
+public final class LogLinearHistogram {
+
+    private final int subBucketBits;
+    private final long highestTrackableValue;
+    private final AtomicLongArray counts;
+
+    /**
+     * @param subBucketBits the number of bits of a value below its highest one bit that select its bucket,
+     * between 1 and 16
+     * @param highestTrackableValue the highest value counted in a bucket of its own, at least
+     * {@code 2^subBucketBits}
+     */
+    public LogLinearHistogram(int subBucketBits, long highestTrackableValue) {
+        if (subBucketBits < 1 || subBucketBits > 16) {
+            throw new IllegalArgumentException("subBucketBits must be between 1 and 16: " + subBucketBits);
+        }
+        if (highestTrackableValue < 1L << subBucketBits) {
+            throw new IllegalArgumentException("highestTrackableValue too low: " + highestTrackableValue);
+        }
+        this.subBucketBits = subBucketBits;
+        this.highestTrackableValue = highestTrackableValue;
+        this.counts = new AtomicLongArray(indexOf(highestTrackableValue, subBucketBits) + 1);
+    }
+
+    /**
+     * @return the number of bits selecting the bucket of a value below its highest one bit
+     */
+    public int getSubBucketBits() {
+        return subBucketBits;
+    }
+
+    /**
+     * @return the number of buckets
+     */
+    public int getBucketCount() {
+        return counts.length();
+    }
+
+    /**
+     * Counts a value.
+     */
+    public void record(long value) {
+        counts.incrementAndGet(indexOf(Math.min(Math.max(value, 0L), highestTrackableValue), subBucketBits));
+    }
+
+    /**
+     * @return a copy of the bucket counts, taken without stopping concurrent recording
+     */
+    public long[] getCounts() {
+        long[] snapshot = new long[counts.length()];
+        for (int i = 0; i < snapshot.length; i++) {
+            snapshot[i] = counts.get(i);
+        }
+        return snapshot;
+    }
+
+    /**
+     * Adds the bucket counts to the given array, so that the counts of several histograms can be merged.
+     *
+     * @param target an array of at least {@link #getBucketCount()} elements
+     */
+    public void addCountsTo(long[] target) {
+        for (int i = 0; i < counts.length(); i++) {
+            target[i] += counts.get(i);
+        }
+    }
+
+    /**
+     * @return the total number of values counted
+     */
+    public long getTotalCount() {
+        long total = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            total += counts.get(i);
+        }
+        return total;
+    }
+
+    /**
+     * @param percentile requested percentile, between 0 and 100
+     * @return the upper bound of the bucket containing the percentile, 0 if nothing was recorded
+     */
+    public long getValueAtPercentile(double percentile) {
+        long[] snapshot = getCounts();
+        long total = 0;
+        for (long count : snapshot) {
+            total += count;
+        }
+        if (total == 0) {
+            return 0L;
+        }
+        long rank = Math.max(1L, (long) Math.ceil(total * Math.min(percentile, 100.0) / 100.0));
+        return getValueAtRank(snapshot, rank, subBucketBits);
+    }
+
+    /**
+     * Forgets all values counted so far.
+     */
+    public void reset() {
+        for (int i = 0; i < counts.length(); i++) {
+            counts.set(i, 0L);
+        }
+    }
+
+    /**
+     * @param counts bucket counts of a histogram
+     * @param rank the position of the value in ascending order, starting at 1
+     * @param subBucketBits the sub-bucket bits of the histogram
+     * @return the upper bound of the bucket containing the value of the given rank
+     */
+    public static long getValueAtRank(long[] counts, long rank, int subBucketBits) {
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return upperBoundOf(i, subBucketBits);
+            }
+        }
+        return upperBoundOf(counts.length - 1, subBucketBits);
+    }
+
+    /**
+     * @param value a non-negative value
+     * @param subBucketBits the sub-bucket bits of the histogram
+     * @return the index of the bucket counting the value
+     */
+    public static int indexOf(long value, int subBucketBits) {
+        int subBuckets = 1 << subBucketBits;
+        if (value < subBuckets) {
+            return (int) value;
+        }
+        int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - subBucketBits;
+        int subBucket = (int) (value >>> shift) & (subBuckets - 1);
+        return subBuckets + shift * subBuckets + subBucket;
+    }
+
+    /**
+     * @param index the index of a bucket
+     * @param subBucketBits the sub-bucket bits of the histogram
+     * @return the highest value counted in the bucket
+     */
+    public static long upperBoundOf(int index, int subBucketBits) {
+        int subBuckets = 1 << subBucketBits;
+        if (index < subBuckets) {
+            return index;
+        }
+        int shift = (index - subBuckets) / subBuckets;
+        int subBucket = (index - subBuckets) % subBuckets;
+        long lowerBound = (long) (subBuckets + subBucket) << shift;
+        return lowerBound + ((1L << shift) - 1);
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2026 Payara Foundation and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://github.com/payara/Payara/blob/main/LICENSE.txt
+ * See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at glassfish/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * The Payara Foundation designates this particular file as subject to the "Classpath"
+ * exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package com.sun.enterprise.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded lock-free ring for handing elements from any number of producer threads to a single consumer thread.
+ * <p>
+ * Producers publish elements with {@link #offer(Object)} without taking a lock; each slot carries a sequence number
+ * telling producers and the consumer whose turn it is. The consumer takes elements out in publication order with
+ * {@link #drainTo(Object[])}, which must not be called concurrently. Publishing an element is a volatile write, so a
+ * consumer that announces it is going to sleep through a volatile field and then checks {@link #isEmpty()} cannot
+ * miss an element whose producer checks that field after publishing.
+ *
+ * @param <E> the type of the elements
+ */
+public final class MpscRingBuffer<E> {
+
+    private final int mask;
+    private final AtomicLongArray sequences;
+    private final AtomicReferenceArray<E> elements;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();
+
+    /**
+     * @param capacity the maximum number of elements, rounded up to a power of two
+     */
+    public MpscRingBuffer(int capacity) {
+        int size = Integer.highestOneBit(Math.max(capacity, 2) - 1) << 1;
+        this.mask = size - 1;
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+        this.elements = new AtomicReferenceArray<>(size);
+    }
+
+    /**
+     * @return the maximum number of elements
+     */
+    public int capacity() {
+        return mask + 1;
+    }
+
+    /**
+     * Publishes an element.
+     *
+     * @param element the element, not {@code null}
+     * @return false if the ring is full and the element was not published
+     */
+    public boolean offer(E element) {
+        while (true) {
+            long position = tail.get();
+            int index = (int) position & mask;
+            long sequence = sequences.get(index);
+            if (sequence == position) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    elements.lazySet(index, element);
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+            } else if (sequence < position) {
+                // slot still holds an element from the previous lap
+                return false;
+            }
+        }
+    }
+
+    /**
+     * @return the approximate number of published elements not drained yet
+     */
+    public int size() {
+        return (int) Math.max(0L, tail.get() - head.get());
+    }
+
+    /**
+     * @return true if no published element is waiting to be drained
+     */
+    public boolean isEmpty() {
+        long position = head.get();
+        return sequences.get((int) position & mask) != position + 1;
+    }
+
+    /**
+     * Moves published elements into the batch, in publication order. Must only be called by the single consumer.
+     *
+     * @param batch the array to fill from index 0
+     * @return the number of elements moved into the batch
+     */
+    public int drainTo(E[] batch) {
+        long position = head.get();
+        int drained = 0;
+        while (drained < batch.length) {
+            int index = (int) position & mask;
+            if (sequences.get(index) != position + 1) {
+                break;
+            }
+            batch[drained++] = elements.get(index);
+            elements.lazySet(index, null);
+            sequences.lazySet(index, position + mask + 1);
+            position++;
+        }
+        head.lazySet(position);
+        return drained;
+    }
+}
@@ -37,7 +37,7 @@
  * only if the new code is made subject to such option by the copyright
  * holder.
  */
-// Portions Copyright [2016-2024] [Payara Foundation and/or affiliates]
+// Portions Copyright [2016-2026] [Payara Foundation and/or affiliates]
 
 package com.sun.enterprise.util.io;
 
@@ -63,8 +63,13 @@ import java.io.OutputStream;
 import java.io.PrintWriter;
 import java.io.RandomAccessFile;
 import java.io.Writer;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
 import java.nio.Buffer;
 import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
 import java.nio.channels.Channels;
 import java.nio.channels.FileChannel;
 import java.nio.channels.ReadableByteChannel;
@@ -92,6 +97,28 @@ public class FileUtils  {
         Runtime.getRuntime().addShutdownHook(FILE_DELETION_ON_EXIT);
     }
 
+    // sun.misc.Unsafe.invokeCleaner, which unmaps a buffer without waiting for the garbage collector
+    private static final Object UNSAFE;
+    private static final MethodHandle UNMAPPER;
+
+    static {
+        Object unsafe = null;
+        MethodHandle unmapper = null;
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe", false, null);
+            Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+            theUnsafe.setAccessible(true);
+            unsafe = theUnsafe.get(null);
+            unmapper = MethodHandles.lookup()
+                    .findVirtual(unsafeClass, "invokeCleaner", MethodType.methodType(void.class, ByteBuffer.class))
+                    .asType(MethodType.methodType(void.class, Object.class, ByteBuffer.class));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            _utillogger.log(Level.FINE, "Mapped buffers are released by the garbage collector", e);
+        }
+        UNSAFE = unsafe;
+        UNMAPPER = unmapper;
+    }
+
     public static void setFileProperties()
     {
     	Integer retryCounter = Integer.getInteger("com.sun.appserv.winFileLockRetryLimit");
@@ -656,6 +683,29 @@ public class FileUtils  {
         }
     }
 
+    /**
+     * Releases the memory mapping of a buffer at once, rather than when the
+     * buffer is garbage collected, so that the mapped file can be deleted or
+     * truncated on every platform. Neither the buffer nor any view of it may
+     * be used afterwards; doing so crashes the JVM.
+     *
+     * @param buffer a buffer returned by {@link FileChannel#map}
+     * @return true if the mapping was released, false if that is not supported
+     * by the JVM, in which case the mapping is released by the garbage collector
+     */
+    public static boolean unmap(MappedByteBuffer buffer) {
+        if (UNMAPPER == null || buffer == null || !buffer.isDirect()) {
+            return false;
+        }
+        try {
+            UNMAPPER.invokeExact(UNSAFE, (ByteBuffer) buffer);
+            return true;
+        } catch (Throwable t) {
+            _utillogger.log(Level.FINE, "Could not unmap buffer", t);
+            return false;
+        }
+    }
+
     /**
      * Opens a stream to the specified output file, retrying if necessary.
      *
@@ -0,0 +1,134 @@
+/*
+ *
+ *  DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ *  Copyright (c) 2026 Payara Foundation and/or its affiliates. All rights reserved.
+ *
+ *  The contents of this file are subject to the terms of either the GNU
+ *  General Public License Version 2 only ("GPL") or the Common Development
+ *  and Distribution License("CDDL") (collectively, the "License").  You
+ *  may not use this file except in compliance with the License.  You can
+ *  obtain a copy of the License at
+ *  https://github.com/payara/Payara/blob/main/LICENSE.txt
+ *  See the License for the specific
+ *  language governing permissions and limitations under the License.
+ *
+ *  When distributing the software, include this License Header Notice in each
+ *  file and include the License file at glassfish/legal/LICENSE.txt.
+ *
+ *  GPL Classpath Exception:
+ *  The Payara Foundation designates this particular file as subject to the "Classpath"
+ *  exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ *  file that accompanied this code.
+ *
+ *  Modifications:
+ *  If applicable, add the following below the License Header, with the fields
+ *  enclosed by brackets [] replaced by your own identifying information:
+ *  "Portions Copyright [year] [name of copyright owner]"
+ *
+ *  Contributor(s):
+ *  If you wish your version of this file to be governed by only the CDDL or
+ *  only the GPL Version 2, indicate your decision by adding "[Contributor]
+ *  elects to include this software in this distribution under the [CDDL or GPL
+ *  Version 2] license."  If you don't indicate a single choice of license, a
+ *  recipient has the option to distribute your version of this file under
+ *  either the CDDL, the GPL Version 2 or to extend the choice of license to
+ *  its licensees as provided above.  However, if you add GPL Version 2 code
+ *  and therefore, elected the GPL Version 2 license, then the option applies
+ *  only if the new code is made subject to such option by the copyright
+ *  holder.
+ *
+ */
+package com.sun.appserv.util.cache;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ConcurrentCacheTest {
+
+    private ConcurrentCache cache;
+
+    @Before
+    public void createCache() {
+        cache = new ConcurrentCache();
+        cache.init(100, 1.0f, null);
+    }
+
+    @Test
+    public void putGetAndRemove() {
+        assertNull(cache.put("a", "1"));
+        assertEquals("1", cache.put("a", "2"));
+        assertEquals("2", cache.get("a"));
+        assertEquals(1, cache.getEntryCount());
+        assertEquals("2", cache.remove("a"));
+        assertNull(cache.get("a"));
+        assertTrue(cache.isEmpty());
+        assertEquals(1, cache.getStatByName(Constants.STAT_BASECACHE_REFRESH_COUNT));
+        assertEquals(1, cache.getStatByName(Constants.STAT_BASECACHE_MISS_COUNT));
+    }
+
+    @Test
+    public void multiValuedKeys() {
+        String first = "1";
+        String second = "2";
+        cache.add("a", first);
+        cache.add("a", second);
+        assertEquals(2, cache.getEntryCount());
+        List<Object> values = new ArrayList<>();
+        cache.getAll("a").forEachRemaining(values::add);
+        assertEquals(2, values.size());
+        assertEquals(first, cache.remove("a", first));
+        assertEquals(second, cache.get("a"));
+        cache.removeAll("a");
+        assertEquals(0, cache.getEntryCount());
+    }
+
+    @Test
+    public void evictionKeepsRecentlyUsedEntries() {
+        AtomicInteger trimmed = new AtomicInteger();
+        cache.addCacheListener((key, value) -> trimmed.incrementAndGet());
+        cache.put("hot", "value");
+        for (int i = 0; i < 1000; i++) {
+            cache.put(i, i);
+            assertEquals("value", cache.get("hot"));
+        }
+        assertTrue(cache.getEntryCount() <= 101);
+        assertEquals(1001 - cache.getEntryCount(), trimmed.get());
+        int keys = 0;
+        for (Iterator it = cache.keys(); it.hasNext(); it.next()) {
+            keys++;
+        }
+        assertEquals(cache.getEntryCount(), keys);
+    }
+
+    @Test
+    public void concurrentAccess() throws InterruptedException {
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            int offset = t * 10000;
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < 10000; i++) {
+                    cache.put(offset + i, i);
+                    cache.get(offset + i / 2);
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        int count = cache.getEntryCount();
+        assertTrue(count <= 101 + threads.size());
+        assertEquals(count, cache.clear());
+        assertFalse(cache.values().hasNext());
+    }
+}
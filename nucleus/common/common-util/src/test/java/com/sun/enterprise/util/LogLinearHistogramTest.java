@@ -0,0 +1,165 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2026 Payara Foundation and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://github.com/payara/Payara/blob/main/LICENSE.txt
+ * See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at glassfish/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * The Payara Foundation designates this particular file as subject to the "Classpath"
+ * exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package com.sun.enterprise.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class LogLinearHistogramTest {
+
+    @Test
+    public void bucketsCoverAllValues() {
+        for (int bits = 1; bits <= 6; bits++) {
+            int previous = -1;
+            long previousUpperBound = -1;
+            for (long value : new long[] { 0, 1, 7, 8, 9, 15, 16, 17, 31, 32, 1000, 123456789, Long.MAX_VALUE }) {
+                int index = LogLinearHistogram.indexOf(value, bits);
+                long upperBound = LogLinearHistogram.upperBoundOf(index, bits);
+                assertTrue(index >= previous);
+                assertTrue(upperBound >= value);
+                assertTrue(upperBound - value <= value >> bits);
+                if (index > previous && previous >= 0) {
+                    // the previous bucket ends right below this one
+                    assertTrue(LogLinearHistogram.upperBoundOf(index - 1, bits) < value);
+                    assertTrue(previousUpperBound < value);
+                }
+                previous = index;
+                previousUpperBound = upperBound;
+            }
+        }
+    }
+
+    @Test
+    public void bucketsAreContiguous() {
+        int bits = 3;
+        long expectedLowerBound = 0;
+        for (int index = 0; index < new LogLinearHistogram(bits, Long.MAX_VALUE).getBucketCount(); index++) {
+            assertEquals(index, LogLinearHistogram.indexOf(expectedLowerBound, bits));
+            long upperBound = LogLinearHistogram.upperBoundOf(index, bits);
+            assertEquals(index, LogLinearHistogram.indexOf(upperBound, bits));
+            expectedLowerBound = upperBound + 1;
+        }
+        assertEquals(Long.MIN_VALUE, expectedLowerBound);
+    }
+
+    @Test
+    public void bucketCountFollowsTheHighestTrackableValue() {
+        assertEquals((Long.SIZE - 3) * 8, new LogLinearHistogram(3, Long.MAX_VALUE).getBucketCount());
+        assertEquals((Integer.SIZE - 3) * 8, new LogLinearHistogram(3, Integer.MAX_VALUE).getBucketCount());
+        assertEquals((Long.SIZE - 4) * 16, new LogLinearHistogram(4, Long.MAX_VALUE).getBucketCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void highestTrackableValueMustExceedTheSubBuckets() {
+        new LogLinearHistogram(4, 15);
+    }
+
+    @Test
+    public void percentilesAreWithinTheBucketWidth() {
+        LogLinearHistogram histogram = new LogLinearHistogram(3, Long.MAX_VALUE);
+        assertEquals(0L, histogram.getValueAtPercentile(50));
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i);
+        }
+        assertEquals(1000, histogram.getTotalCount());
+        for (double percentile : new double[] { 1, 50, 95, 99, 100 }) {
+            long exact = (long) Math.ceil(percentile * 10);
+            long value = histogram.getValueAtPercentile(percentile);
+            assertTrue(value >= exact);
+            assertTrue(value - exact <= exact / 8);
+        }
+        assertEquals(histogram.getValueAtPercentile(100), histogram.getValueAtPercentile(150));
+        assertEquals(1L, histogram.getValueAtPercentile(0));
+    }
+
+    @Test
+    public void valuesOutOfRangeAreClamped() {
+        LogLinearHistogram histogram = new LogLinearHistogram(3, Integer.MAX_VALUE);
+        histogram.record(-5);
+        histogram.record(Long.MAX_VALUE);
+        long[] counts = histogram.getCounts();
+        assertEquals(1, counts[0]);
+        assertEquals(1, counts[counts.length - 1]);
+        assertEquals(Integer.MAX_VALUE, histogram.getValueAtPercentile(100));
+    }
+
+    @Test
+    public void countsAreMergedAndReset() {
+        LogLinearHistogram first = new LogLinearHistogram(4, Long.MAX_VALUE);
+        LogLinearHistogram second = new LogLinearHistogram(4, Long.MAX_VALUE);
+        first.record(3);
+        second.record(3);
+        second.record(1000);
+        long[] merged = new long[first.getBucketCount()];
+        first.addCountsTo(merged);
+        second.addCountsTo(merged);
+        assertEquals(2, merged[3]);
+        assertEquals(3L, LogLinearHistogram.getValueAtRank(merged, 2, 4));
+        assertTrue(LogLinearHistogram.getValueAtRank(merged, 3, 4) >= 1000);
+
+        second.reset();
+        assertEquals(0, second.getTotalCount());
+        assertArrayEquals(new long[second.getBucketCount()], second.getCounts());
+    }
+
+    @Test
+    public void concurrentRecordsAreCounted() throws InterruptedException {
+        LogLinearHistogram histogram = new LogLinearHistogram(3, Long.MAX_VALUE);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < 10000; i++) {
+                    histogram.record(i);
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(80000, histogram.getTotalCount());
+        assertEquals(8, histogram.getCounts()[0]);
+    }
+}
@@ -0,0 +1,195 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2026 Payara Foundation and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://github.com/payara/Payara/blob/main/LICENSE.txt
+ * See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at glassfish/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * The Payara Foundation designates this particular file as subject to the "Classpath"
+ * exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package com.sun.enterprise.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class MpscRingBufferTest {
+
+    @Test
+    public void capacityIsRoundedUpToAPowerOfTwo() {
+        assertEquals(2, new MpscRingBuffer<String>(0).capacity());
+        assertEquals(4, new MpscRingBuffer<String>(3).capacity());
+        assertEquals(4, new MpscRingBuffer<String>(4).capacity());
+        assertEquals(1024, new MpscRingBuffer<String>(1000).capacity());
+    }
+
+    @Test
+    public void offerFailsWhenFull() {
+        MpscRingBuffer<String> ring = new MpscRingBuffer<>(3);
+        assertEquals(4, ring.capacity());
+        String first = "0";
+        assertTrue(ring.offer(first));
+        for (int i = 1; i < 4; i++) {
+            assertTrue(ring.offer(String.valueOf(i)));
+        }
+        assertFalse(ring.offer("overflow"));
+        assertEquals(4, ring.size());
+
+        String[] batch = new String[2];
+        assertEquals(2, ring.drainTo(batch));
+        assertSame(first, batch[0]);
+        assertEquals("1", batch[1]);
+        assertTrue(ring.offer("4"));
+        assertEquals(3, ring.size());
+    }
+
+    @Test
+    public void drainingWrapsAround() {
+        MpscRingBuffer<Integer> ring = new MpscRingBuffer<>(4);
+        Integer[] batch = new Integer[3];
+        int next = 0;
+        for (int lap = 0; lap < 10; lap++) {
+            for (int i = 0; i < 3; i++) {
+                assertTrue(ring.offer(lap * 3 + i));
+            }
+            assertFalse(ring.isEmpty());
+            assertEquals(3, ring.drainTo(batch));
+            for (Integer element : batch) {
+                assertEquals(next++, element.intValue());
+            }
+            assertTrue(ring.isEmpty());
+            assertEquals(0, ring.drainTo(batch));
+        }
+    }
+
+    @Test
+    public void elementsOfEachProducerStayInOrder() throws InterruptedException {
+        final int producers = 8;
+        final int elementsPerProducer = 50_000;
+        MpscRingBuffer<long[]> ring = new MpscRingBuffer<>(1024);
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            final int producer = p;
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < elementsPerProducer; i++) {
+                    long[] element = {producer, i};
+                    while (!ring.offer(element)) {
+                        Thread.yield();
+                    }
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+
+        int[] next = new int[producers];
+        long[][] batch = new long[64][];
+        int received = 0;
+        while (received < producers * elementsPerProducer) {
+            int drained = ring.drainTo(batch);
+            for (int i = 0; i < drained; i++) {
+                int producer = (int) batch[i][0];
+                assertEquals(next[producer]++, batch[i][1]);
+            }
+            received += drained;
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertTrue(ring.isEmpty());
+        assertEquals(0, ring.size());
+    }
+
+    @Test
+    public void sleepingConsumerIsNotMissed() throws InterruptedException {
+        final int elements = 100_000;
+        MpscRingBuffer<Integer> ring = new MpscRingBuffer<>(16);
+        SleepingConsumer consumer = new SleepingConsumer(ring, elements);
+        consumer.start();
+        for (int i = 0; i < elements; i++) {
+            while (!ring.offer(i)) {
+                Thread.yield();
+            }
+            if (consumer.sleeping) {
+                LockSupport.unpark(consumer);
+            }
+        }
+        // the consumer parks without a timeout, so a missed wake up would leave it waiting forever
+        assertTrue(consumer.done.await(30, TimeUnit.SECONDS));
+        assertEquals(elements, consumer.received);
+    }
+
+    private static class SleepingConsumer extends Thread {
+
+        private final MpscRingBuffer<Integer> ring;
+        private final int expected;
+        private final CountDownLatch done = new CountDownLatch(1);
+        private volatile boolean sleeping;
+        private volatile int received;
+
+        SleepingConsumer(MpscRingBuffer<Integer> ring, int expected) {
+            this.ring = ring;
+            this.expected = expected;
+            setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            Integer[] batch = new Integer[8];
+            int count = 0;
+            while (count < expected) {
+                int drained = ring.drainTo(batch);
+                for (int i = 0; i < drained; i++) {
+                    assertEquals(count++, batch[i].intValue());
+                }
+                received = count;
+                if (drained == 0) {
+                    sleeping = true;
+                    if (ring.isEmpty()) {
+                        LockSupport.park(this);
+                    }
+                    sleeping = false;
+                }
+            }
+            done.countDown();
+        }
+    }
+}
@@ -37,10 +37,14 @@
  * only if the new code is made subject to such option by the copyright
  * holder.
  */
+// Portions Copyright [2026] [Payara Foundation and/or its affiliates]
 package com.sun.enterprise.util.io;
 
 import com.sun.enterprise.universal.io.SmartFile;
 import java.io.File;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
 import java.util.Arrays;
 import org.junit.AfterClass;
 import org.junit.BeforeClass;
@@ -132,4 +136,18 @@ public class FileUtilsTest {
         assertEquals(fetched[2], 67);
         assertEquals(fetched.length, 3);
     }
+
+    @Test
+    public void testUnmap() throws Exception {
+        File file = File.createTempFile("unmap", ".tmp");
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, 4096);
+        }
+        buffer.putInt(0, 42);
+
+        assertTrue(FileUtils.unmap(buffer));
+        assertTrue(file.delete());
+    }
 }
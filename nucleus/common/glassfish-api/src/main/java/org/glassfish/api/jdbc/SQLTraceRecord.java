@@ -37,7 +37,7 @@
  * only if the new code is made subject to such option by the copyright
  * holder.
  */
-// Portions Copyright [2016-2019] [Payara Foundation and/or its affiliates]
+// Portions Copyright [2016-2026] [Payara Foundation and/or its affiliates]
 
 package org.glassfish.api.jdbc;
 
@@ -95,6 +95,11 @@ public class SQLTraceRecord implements Serializable {
      */
     private Object[] params;
 
+    /**
+     * SQL of the statement executed by this record, gathered from the records of the same thread that prepared it.
+     */
+    private String sqlQuery;
+
     /**
      * Gets the class name of the SQL query expressed as a String.
      *
@@ -229,6 +234,25 @@ public class SQLTraceRecord implements Serializable {
         return params;
     }
 
+    /**
+     * Gets the SQL of the statement executed by this record, including the SQL
+     * given when the statement was prepared or batched on the same thread.
+     *
+     * @return the SQL of the executed statement, or null if this record did not execute a statement.
+     */
+    public String getSqlQuery() {
+        return sqlQuery;
+    }
+
+    /**
+     * Sets the SQL of the statement executed by this record.
+     *
+     * @param sqlQuery the SQL of the executed statement.
+     */
+    public void setSqlQuery(String sqlQuery) {
+        this.sqlQuery = sqlQuery;
+    }
+
     /**
      * Sets the parameters of the method that executed the SQL query.
      * Includes information like SQL query, arguments and so on.
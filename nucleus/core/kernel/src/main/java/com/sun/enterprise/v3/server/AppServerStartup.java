@@ -37,7 +37,7 @@
  * only if the new code is made subject to such option by the copyright
  * holder.
  *
- * Portions Copyright [2017-2022] [Payara Foundation and/or its affiliates]
+ * Portions Copyright [2017-2026] [Payara Foundation and/or its affiliates]
  */
 
 package com.sun.enterprise.v3.server;
@@ -50,9 +50,13 @@ import com.sun.enterprise.module.ModulesRegistry;
 import com.sun.enterprise.module.bootstrap.ModuleStartup;
 import com.sun.enterprise.module.bootstrap.StartupContext;
 import com.sun.enterprise.util.Result;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Future;
@@ -79,6 +83,7 @@ import org.glassfish.hk2.api.Descriptor;
 import org.glassfish.hk2.api.DynamicConfiguration;
 import org.glassfish.hk2.api.DynamicConfigurationService;
 import org.glassfish.hk2.api.Filter;
+import org.glassfish.hk2.api.Injectee;
 import org.glassfish.hk2.api.InstanceLifecycleEvent;
 import org.glassfish.hk2.api.InstanceLifecycleEventType;
 import org.glassfish.hk2.api.InstanceLifecycleListener;
@@ -154,6 +159,8 @@ public class AppServerStartup implements PostConstruct, ModuleStartup {
     
     private long platformInitTime;
 
+    private boolean recordTimeline;
+
     private String platform = System.getProperty("GlassFish_Platform");
 
     /**
@@ -165,6 +172,8 @@ public class AppServerStartup implements PostConstruct, ModuleStartup {
     
     private final static String THREAD_POLICY_PROPERTY = "org.glassfish.startupThreadPolicy";
     private final static String MAX_STARTUP_THREAD_PROPERTY = "org.glassfish.maxStartupThreads";
+    private final static String PARALLEL_STARTUP_PROPERTY = "fish.payara.startup.parallel";
+    private final static String STARTUP_TIMELINE_PROPERTY = "fish.payara.startup.timeline";
     
     private final static String POLICY_FULLY_THREADED = "FULLY_THREADED";
     private final static String POLICY_USE_NO_THREADS = "USE_NO_THREADS";
@@ -177,7 +186,15 @@ public class AppServerStartup implements PostConstruct, ModuleStartup {
     public void postConstruct() {
         masterListener = new MasterRunLevelListener(runLevelController);
         String threadPolicy = System.getProperty(THREAD_POLICY_PROPERTY);
-        if (threadPolicy != null) {
+        boolean parallel = Boolean.getBoolean(PARALLEL_STARTUP_PROPERTY);
+        int defaultThreads = DEFAULT_STARTUP_THREADS;
+        if (threadPolicy == null && parallel) {
+            // independent services of a run level are started concurrently, HK2 creates
+            // the services they inject on demand so dependencies are honoured
+            runLevelController.setThreadingPolicy(RunLevelController.ThreadingPolicy.FULLY_THREADED);
+            defaultThreads = Runtime.getRuntime().availableProcessors();
+        }
+        else if (threadPolicy != null) {
             if (POLICY_FULLY_THREADED.equals(threadPolicy)) {
                 logger.fine("Using startup thread policy FULLY_THREADED at behest of system property");
                 runLevelController.setThreadingPolicy(RunLevelController.ThreadingPolicy.FULLY_THREADED);
@@ -197,7 +214,7 @@ public class AppServerStartup implements PostConstruct, ModuleStartup {
             }
         }
         
-        int numThreads = Integer.getInteger(MAX_STARTUP_THREAD_PROPERTY, DEFAULT_STARTUP_THREADS);
+        int numThreads = Integer.getInteger(MAX_STARTUP_THREAD_PROPERTY, defaultThreads);
         if (numThreads > 0) {
             logger.fine("Startup controller will use " + numThreads + " + threads");
             runLevelController.setMaximumUseableThreads(numThreads);
@@ -205,6 +222,10 @@ public class AppServerStartup implements PostConstruct, ModuleStartup {
         else {
             logger.fine("Startup controller will use infinite threads");
         }
+        if (threadPolicy == null && parallel) {
+            logger.log(Level.INFO, KernelLoggerInfo.parallelStartup, numThreads > 0 ? numThreads : "unlimited");
+        }
+        recordTimeline = parallel || Boolean.getBoolean(STARTUP_TIMELINE_PROPERTY);
         
     }
 
@@ -328,10 +349,14 @@ public class AppServerStartup implements PostConstruct, ModuleStartup {
 
         // activate the run level services
         masterListener.reset();
+        if (recordTimeline) {
+            appInstanceListener.timeline = new StartupTimeline();
+        }
         
         long initFinishTime = 0L;
         long startupFinishTime = 0L;
         
+        appInstanceListener.enterPhase(InitRunLevel.VAL, "init");
         if (!proceedTo(InitRunLevel.VAL)) {
             appInstanceListener.stopRecordingTimes();
             return false;
@@ -349,6 +374,7 @@ public class AppServerStartup implements PostConstruct, ModuleStartup {
         events.send(new Event(EventTypes.POST_SERVER_INIT), false);
         
         appInstanceListener.startRecordingFutures();
+        appInstanceListener.enterPhase(StartupRunLevel.VAL, "startup");
         if (!proceedTo(StartupRunLevel.VAL)) {
             appInstanceListener.stopRecordingTimes();
             return false;
@@ -366,6 +392,7 @@ public class AppServerStartup implements PostConstruct, ModuleStartup {
                 (startupFinishTime - initFinishTime) + " ms");
         }
         
+        appInstanceListener.enterPhase(PostStartupRunLevel.VAL, "post-startup");
         if (!proceedTo(PostStartupRunLevel.VAL)) {
             appInstanceListener.stopRecordingTimes();
             return false;
@@ -576,6 +603,7 @@ public class AppServerStartup implements PostConstruct, ModuleStartup {
         private Map<String, Long> startTimes = new HashMap<String, Long>();
         private LinkedHashMap<String, Long> recordedTimes = new LinkedHashMap<String, Long>();
         private LinkedList<Future<Result<Thread>>> futures = null;
+        private volatile StartupTimeline timeline;
 
         @Override
         public Filter getFilter() {
@@ -613,24 +641,43 @@ public class AppServerStartup implements PostConstruct, ModuleStartup {
             }
         }
         
-        private void stopRecordingTimes() {
+        private synchronized void stopRecordingTimes() {
             startTimes = null;
             recordedTimes = null;
         }
         
-        private void startRecordingFutures() {
+        private synchronized void startRecordingFutures() {
             futures = new LinkedList<Future<Result<Thread>>>();
         }
         
-        private LinkedList<Future<Result<Thread>>> getFutures() {
+        private synchronized LinkedList<Future<Result<Thread>>> getFutures() {
             LinkedList<Future<Result<Thread>>> retVal = futures;
             futures = null;
             return retVal;
         }
+
+        private void enterPhase(int runLevel, String name) {
+            StartupTimeline current = timeline;
+            if (current != null) {
+                current.enterPhase(runLevel, name);
+            }
+        }
+
+        private StartupTimeline getTimeline() {
+            StartupTimeline retVal = timeline;
+            timeline = null;
+            return retVal;
+        }
         
         private void doPreProduction(ActiveDescriptor<?> descriptor) {
-            if (startTimes != null) {
-                startTimes.put(descriptor.getImplementation(), System.currentTimeMillis());
+            synchronized (this) {
+                if (startTimes != null) {
+                    startTimes.put(descriptor.getImplementation(), System.currentTimeMillis());
+                }
+            }
+            StartupTimeline current = timeline;
+            if (current != null) {
+                current.started(descriptor.getImplementation());
             }
             
             if ((getController().getCurrentRunLevel() > InitRunLevel.VAL) && logger.isLoggable(level)) {
@@ -642,13 +689,21 @@ public class AppServerStartup implements PostConstruct, ModuleStartup {
         private void doPostProduction(InstanceLifecycleEvent event) {
             ActiveDescriptor<?> descriptor = event.getActiveDescriptor();
             
-            if (startTimes != null && recordedTimes != null) {
-            
-                Long startupTime = startTimes.remove(descriptor.getImplementation());
-                if (startupTime == null) return;
-            
-                recordedTimes.put(descriptor.getImplementation(),
-                    (System.currentTimeMillis() - startupTime));
+            StartupTimeline current = timeline;
+            if (current != null) {
+                current.finished(descriptor.getImplementation(), descriptor.getAdvertisedContracts(),
+                        getDependencies(descriptor));
+            }
+
+            synchronized (this) {
+                if (startTimes != null && recordedTimes != null) {
+
+                    Long startupTime = startTimes.remove(descriptor.getImplementation());
+                    if (startupTime == null) return;
+
+                    recordedTimes.put(descriptor.getImplementation(),
+                        (System.currentTimeMillis() - startupTime));
+                }
             }
             
             if ((getController().getCurrentRunLevel() > InitRunLevel.VAL) && logger.isLoggable(level)) {
@@ -656,15 +711,31 @@ public class AppServerStartup implements PostConstruct, ModuleStartup {
                     event.getLifecycleObject());
             }
             
-            if (futures != null) {
-                Object startup = event.getLifecycleObject();
-                if (startup instanceof FutureProvider) {
-                    FutureProvider<Result<Thread>> futureProvider = (FutureProvider<Result<Thread>>) startup;
-                
-                    futures.addAll(futureProvider.getFutures());
+            synchronized (this) {
+                if (futures != null) {
+                    Object startup = event.getLifecycleObject();
+                    if (startup instanceof FutureProvider) {
+                        FutureProvider<Result<Thread>> futureProvider = (FutureProvider<Result<Thread>>) startup;
+
+                        futures.addAll(futureProvider.getFutures());
+                    }
                 }
             }
         }
+
+        private static List<String> getDependencies(ActiveDescriptor<?> descriptor) {
+            List<String> dependencies = new ArrayList<>();
+            for (Injectee injectee : descriptor.getInjectees()) {
+                Type type = injectee.getRequiredType();
+                if (type instanceof ParameterizedType) {
+                    type = ((ParameterizedType) type).getRawType();
+                }
+                if (type instanceof Class) {
+                    dependencies.add(((Class<?>) type).getName());
+                }
+            }
+            return dependencies;
+        }
         
         private void doPreDestruction(ActiveDescriptor<?> descriptor) {
             if (logger.isLoggable(level)) {
@@ -672,7 +743,7 @@ public class AppServerStartup implements PostConstruct, ModuleStartup {
             }
         }
         
-        private LinkedHashMap<String, Long> getAllRecordedTimes() {
+        private synchronized LinkedHashMap<String, Long> getAllRecordedTimes() {
             LinkedHashMap<String, Long> retVal = recordedTimes;
             
             stopRecordingTimes();  // Do not hold onto data that will never be needed again
@@ -730,6 +801,11 @@ public class AppServerStartup implements PostConstruct, ModuleStartup {
         @Override
         public void onProgress(ChangeableRunLevelFuture future, int achievedLevel) {
             if (achievedLevel == PostStartupRunLevel.VAL) {
+                StartupTimeline timeline = appInstanceListener.getTimeline();
+                if (timeline != null) {
+                    logger.log(Level.INFO, KernelLoggerInfo.startupTimeline, timeline.report());
+                }
+
                 if (logger.isLoggable(level)) {
                     printModuleStatus(systemRegistry, level);
                     
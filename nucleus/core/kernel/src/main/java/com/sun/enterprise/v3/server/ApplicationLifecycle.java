@@ -38,7 +38,7 @@
  * holder.
  */
 
-// Portions Copyright 2016-2023 Payara Foundation and/or its affiliates.
+// Portions Copyright 2016-2026 Payara Foundation and/or its affiliates.
 
 package com.sun.enterprise.v3.server;
 
@@ -210,6 +210,8 @@ public class ApplicationLifecycle implements Deployment, PostConstruct {
     private HotDeployService hotDeployService;
 
     protected Logger logger = KernelLoggerInfo.getLogger();
+
+    private final DeployableTypesCache deployableTypesCache = DeployableTypesCache.create();
     final private static LocalStringManagerImpl localStrings = new LocalStringManagerImpl(ApplicationLifecycle.class);
 
     private final ThreadLocal<Deque<ExtendedDeploymentContext>> currentDeploymentContext //
@@ -680,8 +682,17 @@ public class ApplicationLifecycle implements Deployment, PostConstruct {
             StructuredDeploymentTracing tracing = StructuredDeploymentTracing.load(context);
             Boolean skipScanExternalLibProp = Boolean.valueOf(context.getAppProps().getProperty(DeploymentProperties.SKIP_SCAN_EXTERNAL_LIB));
 
-            Parser parser = getDeployableParser(context.getSource(), skipScanExternalLibProp, false, tracing,
-                    context.getLogger(), context);
+            String hash = deployableTypesHash(context, skipScanExternalLibProp);
+            Parser parser = hash == null ? null : deployableTypesCache.get(hash);
+            if (parser == null) {
+                parser = getDeployableParser(context.getSource(), skipScanExternalLibProp, false, tracing,
+                        context.getLogger(), context);
+                if (hash != null) {
+                    deployableTypesCache.put(hash, parser);
+                }
+            } else {
+                logger.log(FINE, "Reusing the parsed types of unchanged application {0}", context.getSource().getName());
+            }
             ParsingContext parsingContext = parser.getContext();
             context.addTransientAppMetaData(Types.class.getName(), parsingContext.getTypes());
             context.addTransientAppMetaData(Parser.class.getName(), parser);
@@ -689,6 +700,36 @@ public class ApplicationLifecycle implements Deployment, PostConstruct {
         }
     }
 
+    /**
+     * @return the hash of the files parsed for the types of the application, or {@code null} if they
+     * cannot be reused
+     */
+    private String deployableTypesHash(DeploymentContext context, boolean skipScanExternalLibProp) {
+        if (deployableTypesCache == null) {
+            return null;
+        }
+        try {
+            URI sourceURI = context.getSource().getURI();
+            if (sourceURI == null || !"file".equals(sourceURI.getScheme())) {
+                return null;
+            }
+            List<File> files = new ArrayList<>();
+            files.add(new File(sourceURI));
+            if (!skipScanExternalLibProp) {
+                for (URI externalLib : DeploymentUtils.getExternalLibraries(context.getSource())) {
+                    files.add(new File(externalLib.getPath()));
+                }
+                for (URI externalLib : context.getAppLibs()) {
+                    files.add(new File(externalLib.getPath()));
+                }
+            }
+            return DeployableTypesCache.hash(files);
+        } catch (IOException | URISyntaxException | IllegalArgumentException e) {
+            logger.log(FINE, "Cannot hash the files of " + context.getSource().getName() + ", parsing its types", e);
+            return null;
+        }
+    }
+
     public Parser getDeployableParser(ReadableArchive source, boolean skipScanExternalLibProp,
                                       boolean modelUnAnnotatedMembers, StructuredDeploymentTracing tracing,
                                       Logger logger, DeploymentContext deploymentContext) throws IOException {
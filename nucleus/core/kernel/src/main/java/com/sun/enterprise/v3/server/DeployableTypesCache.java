@@ -0,0 +1,172 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2026 Payara Foundation and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://github.com/payara/Payara/blob/main/LICENSE.txt
+ * See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at glassfish/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * The Payara Foundation designates this particular file as subject to the "Classpath"
+ * exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package com.sun.enterprise.v3.server;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.ref.SoftReference;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.glassfish.hk2.classmodel.reflect.Parser;
+
+/**
+ * Class models of the applications parsed by this server, so that preparing an
+ * application whose files did not change since it was last parsed, like a
+ * forced redeployment of the same archive, reuses the parsed types instead of
+ * parsing every class of the application and its libraries again.
+ * <p>
+ * The class model of an application is a single graph linking the types of
+ * all its jars, so it is kept per application rather than per jar. Entries
+ * are keyed by a hash of the paths, sizes and modification times of the
+ * files of the application and of the libraries parsed with it, which only
+ * requires reading the file attributes. They are softly referenced, and at
+ * most {@code fish.payara.deployment.types.cache.maxEntries} entries, 8 by
+ * default, are kept. Setting {@code fish.payara.deployment.types.cache} to
+ * {@code false} disables the cache.
+ */
+final class DeployableTypesCache {
+
+    static final String ENABLED_PROPERTY = "fish.payara.deployment.types.cache";
+
+    static final String MAX_ENTRIES_PROPERTY = "fish.payara.deployment.types.cache.maxEntries";
+
+    private static final int DEFAULT_MAX_ENTRIES = 8;
+
+    private final Map<String, SoftReference<Parser>> parsersByHash;
+
+    DeployableTypesCache(int maxEntries) {
+        int max = Math.max(1, maxEntries);
+        this.parsersByHash = Collections.synchronizedMap(new LinkedHashMap<String, SoftReference<Parser>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, SoftReference<Parser>> eldest) {
+                return size() > max;
+            }
+        });
+    }
+
+    /**
+     * @return the cache configured by the system properties, or {@code null} if it is disabled
+     */
+    static DeployableTypesCache create() {
+        if (!Boolean.parseBoolean(System.getProperty(ENABLED_PROPERTY, "true"))) {
+            return null;
+        }
+        return new DeployableTypesCache(Integer.getInteger(MAX_ENTRIES_PROPERTY, DEFAULT_MAX_ENTRIES));
+    }
+
+    /**
+     * @param hash the hash of the files the parser parsed
+     * @return the parser holding the class model of these files, or {@code null}
+     */
+    Parser get(String hash) {
+        SoftReference<Parser> reference = parsersByHash.get(hash);
+        Parser parser = reference == null ? null : reference.get();
+        if (reference != null && parser == null) {
+            parsersByHash.remove(hash, reference);
+        }
+        return parser;
+    }
+
+    /**
+     * @param hash the hash of the files the parser parsed
+     * @param parser a parser which completed parsing
+     */
+    void put(String hash, Parser parser) {
+        parsersByHash.put(hash, new SoftReference<>(parser));
+    }
+
+    /**
+     * Hashes the paths, sizes and modification times of the given files and
+     * of all files in the given directories, in the given order.
+     */
+    static String hash(List<File> files) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException(e);
+        }
+        for (File file : files) {
+            Path root = file.toPath();
+            List<String> entries = new ArrayList<>();
+            Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
+                @Override
+                public FileVisitResult visitFile(Path path, BasicFileAttributes attributes) {
+                    entries.add(root.relativize(path) + "|" + attributes.size() + "|"
+                            + attributes.lastModifiedTime().toMillis());
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+            // the order of a directory listing is not defined
+            Collections.sort(entries);
+            digest.update(root.toAbsolutePath().toString().getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            for (String entry : entries) {
+                digest.update(entry.getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+            }
+            digest.update((byte) 1);
+        }
+        StringBuilder hash = new StringBuilder();
+        for (byte b : digest.digest()) {
+            hash.append(String.format("%02x", b));
+        }
+        return hash.toString();
+    }
+
+    /**
+     * @return the number of class models kept
+     */
+    int size() {
+        return parsersByHash.size();
+    }
+}
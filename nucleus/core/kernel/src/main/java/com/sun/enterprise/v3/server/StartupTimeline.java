@@ -0,0 +1,222 @@
+/*
+ *
+ *  DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ *  Copyright (c) 2026 Payara Foundation and/or its affiliates. All rights reserved.
+ *
+ *  The contents of this file are subject to the terms of either the GNU
+ *  General Public License Version 2 only ("GPL") or the Common Development
+ *  and Distribution License("CDDL") (collectively, the "License").  You
+ *  may not use this file except in compliance with the License.  You can
+ *  obtain a copy of the License at
+ *  https://github.com/payara/Payara/blob/main/LICENSE.txt
+ *  See the License for the specific
+ *  language governing permissions and limitations under the License.
+ *
+ *  When distributing the software, include this License Header Notice in each
+ *  file and include the License file at glassfish/legal/LICENSE.txt.
+ *
+ *  GPL Classpath Exception:
+ *  The Payara Foundation designates this particular file as subject to the "Classpath"
+ *  exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ *  file that accompanied this code.
+ *
+ *  Modifications:
+ *  If applicable, add the following below the License Header, with the fields
+ *  enclosed by brackets [] replaced by your own identifying information:
+ *  "Portions Copyright [year] [name of copyright owner]"
+ *
+ *  Contributor(s):
+ *  If you wish your version of this file to be governed by only the CDDL or
+ *  only the GPL Version 2, indicate your decision by adding "[Contributor]
+ *  elects to include this software in this distribution under the [CDDL or GPL
+ *  Version 2] license."  If you don't indicate a single choice of license, a
+ *  recipient has the option to distribute your version of this file under
+ *  either the CDDL, the GPL Version 2 or to extend the choice of license to
+ *  its licensees as provided above.  However, if you add GPL Version 2 code
+ *  and therefore, elected the GPL Version 2 license, then the option applies
+ *  only if the new code is made subject to such option by the copyright
+ *  holder.
+ *
+ */
+package com.sun.enterprise.v3.server;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+
+/**
+ * Records when each run level service was started, on which thread and what
+ * it depends on, so that a timeline and the critical path of the server
+ * startup can be reported once the server is up.
+ * <p>
+ * Durations include the creation of the services injected into a service,
+ * as those are created on demand by HK2.
+ */
+final class StartupTimeline {
+
+    private final LongSupplier clock;
+    private final long origin;
+    private final Map<String, Entry> running = new ConcurrentHashMap<>();
+    private final Collection<Entry> finished = new ConcurrentLinkedQueue<>();
+    private volatile int phase;
+    private volatile String phaseName = "";
+
+    StartupTimeline() {
+        this(System::nanoTime);
+    }
+
+    StartupTimeline(LongSupplier clock) {
+        this.clock = clock;
+        this.origin = clock.getAsLong();
+    }
+
+    /**
+     * Marks the services started from now on as belonging to the given phase,
+     * phases are expected to be entered in order.
+     */
+    void enterPhase(int phase, String name) {
+        this.phase = phase;
+        this.phaseName = name;
+    }
+
+    void started(String service) {
+        running.put(service, new Entry(service, phase, phaseName, Thread.currentThread().getName(), elapsed()));
+    }
+
+    /**
+     * @param service the implementation of the service
+     * @param contracts the contracts the service is advertised under
+     * @param dependencies the contracts injected into the service
+     */
+    void finished(String service, Collection<String> contracts, Collection<String> dependencies) {
+        Entry entry = running.remove(service);
+        if (entry != null) {
+            entry.end = elapsed();
+            entry.contracts = contracts;
+            entry.dependencies = dependencies;
+            finished.add(entry);
+        }
+    }
+
+    private long elapsed() {
+        return TimeUnit.NANOSECONDS.toMicros(clock.getAsLong() - origin);
+    }
+
+    List<Entry> getEntries() {
+        List<Entry> entries = new ArrayList<>(finished);
+        entries.sort(Comparator.comparingLong((Entry e) -> e.start).thenComparing(e -> e.service));
+        return entries;
+    }
+
+    /**
+     * Walks back from the service that finished last. The predecessor of a
+     * service is the latest finishing of its dependencies, or failing that
+     * the latest finishing service of an earlier phase, which the service
+     * had to wait for.
+     *
+     * @return the critical path, in start order
+     */
+    List<Entry> getCriticalPath() {
+        List<Entry> entries = getEntries();
+        List<Entry> path = new ArrayList<>();
+        Entry current = latest(entries, e -> true);
+        Set<Entry> visited = new HashSet<>();
+        while (current != null && visited.add(current)) {
+            path.add(current);
+            Entry service = current;
+            Entry predecessor = latest(entries, e -> e != service && !visited.contains(e)
+                    && e.end <= service.end && service.dependsOn(e));
+            if (predecessor == null) {
+                predecessor = latest(entries, e -> e.phase < service.phase && e.end <= service.start);
+            }
+            current = predecessor;
+        }
+        Collections.reverse(path);
+        return path;
+    }
+
+    private static Entry latest(List<Entry> entries, Predicate<Entry> filter) {
+        Entry result = null;
+        for (Entry entry : entries) {
+            if (filter.test(entry) && (result == null || entry.end > result.end)) {
+                result = entry;
+            }
+        }
+        return result;
+    }
+
+    String report() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%10s %10s  %-12s %-40s %s%n", "start(ms)", "took(ms)", "phase", "thread", "service"));
+        for (Entry entry : getEntries()) {
+            sb.append(String.format("%10.1f %10.1f  %-12s %-40s %s%n", entry.start / 1000.0, entry.duration() / 1000.0,
+                    entry.phaseName, entry.thread, entry.service));
+        }
+        List<Entry> path = getCriticalPath();
+        if (!path.isEmpty()) {
+            long own = 0;
+            for (Entry entry : path) {
+                own += entry.duration();
+            }
+            sb.append(String.format("Critical path (%.1f ms of %.1f ms):%n", own / 1000.0,
+                    path.get(path.size() - 1).end / 1000.0));
+            for (Entry entry : path) {
+                sb.append(String.format("%10.1f %10.1f  %s%n", entry.start / 1000.0, entry.duration() / 1000.0,
+                        entry.service));
+            }
+        }
+        return sb.toString();
+    }
+
+    static final class Entry {
+
+        final String service;
+        final int phase;
+        final String phaseName;
+        final String thread;
+        final long start;
+        volatile long end;
+        volatile Collection<String> contracts = Collections.emptySet();
+        volatile Collection<String> dependencies = Collections.emptySet();
+
+        Entry(String service, int phase, String phaseName, String thread, long start) {
+            this.service = service;
+            this.phase = phase;
+            this.phaseName = phaseName;
+            this.thread = thread;
+            this.start = start;
+        }
+
+        long duration() {
+            return end - start;
+        }
+
+        boolean dependsOn(Entry other) {
+            if (dependencies.contains(other.service)) {
+                return true;
+            }
+            for (String contract : other.contracts) {
+                if (dependencies.contains(contract)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public String toString() {
+            return service;
+        }
+    }
+}
@@ -37,7 +37,7 @@
  * only if the new code is made subject to such option by the copyright
  * holder.
  * 
- * Portions Copyright [2016-2020s] [Payara Foundation and/or its affiliates]
+ * Portions Copyright [2016-2026] [Payara Foundation and/or its affiliates]
  */
 
 package org.glassfish.kernel;
@@ -670,5 +670,15 @@ public class KernelLoggerInfo {
             message = "Network Listener {0} started in: {1}ms - bound to [{2}]",
             level = "INFO")
     public static final String listenerStarted = LOGMSG_PREFIX + "-00101";
+
+    @LogMessageInfo(
+            message = "Startup services will be started in parallel using up to {0} threads",
+            level = "INFO")
+    public static final String parallelStartup = LOGMSG_PREFIX + "-00102";
+
+    @LogMessageInfo(
+            message = "Startup timeline:\n{0}",
+            level = "INFO")
+    public static final String startupTimeline = LOGMSG_PREFIX + "-00103";
     
 }
@@ -0,0 +1,127 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2026 Payara Foundation and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://github.com/payara/Payara/blob/main/LICENSE.txt
+ * See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at glassfish/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * The Payara Foundation designates this particular file as subject to the "Classpath"
+ * exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package com.sun.enterprise.v3.server;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+
+public class DeployableTypesCacheTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File app;
+    private File lib;
+
+    @Before
+    public void setUp() throws IOException {
+        app = folder.newFolder("app");
+        write(new File(app, "WEB-INF/classes/a/A.class"), "A");
+        write(new File(app, "WEB-INF/classes/a/B.class"), "B");
+        lib = folder.newFile("lib.jar");
+        write(lib, "lib");
+    }
+
+    private static void write(File file, String content) throws IOException {
+        file.getParentFile().mkdirs();
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String hash() throws IOException {
+        return DeployableTypesCache.hash(Arrays.asList(app, lib));
+    }
+
+    @Test
+    public void unchangedFilesHaveTheSameHash() throws IOException {
+        assertEquals(hash(), hash());
+    }
+
+    @Test
+    public void changedClassChangesTheHash() throws IOException {
+        String before = hash();
+        File a = new File(app, "WEB-INF/classes/a/A.class");
+        write(a, "A2");
+        assertNotEquals(before, hash());
+    }
+
+    @Test
+    public void touchedClassChangesTheHash() throws IOException {
+        String before = hash();
+        File a = new File(app, "WEB-INF/classes/a/A.class");
+        a.setLastModified(a.lastModified() - 10_000);
+        assertNotEquals(before, hash());
+    }
+
+    @Test
+    public void addedClassChangesTheHash() throws IOException {
+        String before = hash();
+        write(new File(app, "WEB-INF/classes/a/C.class"), "C");
+        assertNotEquals(before, hash());
+    }
+
+    @Test
+    public void changedLibraryChangesTheHash() throws IOException {
+        String before = hash();
+        write(lib, "lib2");
+        assertNotEquals(before, hash());
+    }
+
+    @Test
+    public void librariesArePartOfTheHash() throws IOException {
+        assertNotEquals(hash(), DeployableTypesCache.hash(Collections.singletonList(app)));
+    }
+
+    @Test
+    public void missingEntryIsNull() {
+        assertNull(new DeployableTypesCache(2).get("none"));
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ *
+ *  DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ *  Copyright (c) 2026 Payara Foundation and/or its affiliates. All rights reserved.
+ *
+ *  The contents of this file are subject to the terms of either the GNU
+ *  General Public License Version 2 only ("GPL") or the Common Development
+ *  and Distribution License("CDDL") (collectively, the "License").  You
+ *  may not use this file except in compliance with the License.  You can
+ *  obtain a copy of the License at
+ *  https://github.com/payara/Payara/blob/main/LICENSE.txt
+ *  See the License for the specific
+ *  language governing permissions and limitations under the License.
+ *
+ *  When distributing the software, include this License Header Notice in each
+ *  file and include the License file at glassfish/legal/LICENSE.txt.
+ *
+ *  GPL Classpath Exception:
+ *  The Payara Foundation designates this particular file as subject to the "Classpath"
+ *  exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ *  file that accompanied this code.
+ *
+ *  Modifications:
+ *  If applicable, add the following below the License Header, with the fields
+ *  enclosed by brackets [] replaced by your own identifying information:
+ *  "Portions Copyright [year] [name of copyright owner]"
+ *
+ *  Contributor(s):
+ *  If you wish your version of this file to be governed by only the CDDL or
+ *  only the GPL Version 2, indicate your decision by adding "[Contributor]
+ *  elects to include this software in this distribution under the [CDDL or GPL
+ *  Version 2] license."  If you don't indicate a single choice of license, a
+ *  recipient has the option to distribute your version of this file under
+ *  either the CDDL, the GPL Version 2 or to extend the choice of license to
+ *  its licensees as provided above.  However, if you add GPL Version 2 code
+ *  and therefore, elected the GPL Version 2 license, then the option applies
+ *  only if the new code is made subject to such option by the copyright
+ *  holder.
+ *
+ */
+package com.sun.enterprise.v3.server;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class StartupTimelineTest {
+
+    private final AtomicLong time = new AtomicLong();
+    private StartupTimeline timeline;
+
+    @Before
+    public void setUp() {
+        timeline = new StartupTimeline(time::get);
+    }
+
+    private void advance(long millis) {
+        time.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+
+    @Test
+    public void entriesAreOrderedByStart() {
+        timeline.enterPhase(10, "init");
+        timeline.started("B");
+        advance(5);
+        timeline.started("A");
+        advance(5);
+        timeline.finished("A", Collections.emptySet(), Collections.emptySet());
+        timeline.finished("B", Collections.emptySet(), Collections.emptySet());
+
+        List<StartupTimeline.Entry> entries = timeline.getEntries();
+        assertEquals("B", entries.get(0).service);
+        assertEquals(10000, entries.get(0).duration());
+        assertEquals("A", entries.get(1).service);
+        assertEquals(5000, entries.get(1).duration());
+    }
+
+    @Test
+    public void criticalPathFollowsDependenciesAndPhases() {
+        timeline.enterPhase(10, "init");
+        timeline.started("Config");
+        advance(20);
+        timeline.finished("Config", Arrays.asList("Config", "ConfigContract"), Collections.emptySet());
+
+        timeline.enterPhase(20, "startup");
+        // Fast and Slow run concurrently, Web depends on Slow through its contract
+        timeline.started("Fast");
+        timeline.started("Slow");
+        advance(10);
+        timeline.finished("Fast", Collections.singleton("Fast"), Collections.emptySet());
+        advance(30);
+        timeline.finished("Slow", Arrays.asList("Slow", "SlowContract"), Collections.singleton("ConfigContract"));
+        timeline.started("Web");
+        advance(5);
+        timeline.finished("Web", Collections.singleton("Web"), Arrays.asList("SlowContract", "Fast"));
+
+        List<StartupTimeline.Entry> path = timeline.getCriticalPath();
+        assertEquals("[Config, Slow, Web]", path.toString());
+
+        String report = timeline.report();
+        assertTrue(report, report.contains("Critical path (65.0 ms of 65.0 ms)"));
+    }
+}
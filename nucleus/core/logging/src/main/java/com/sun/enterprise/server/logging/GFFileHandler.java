@@ -37,7 +37,7 @@
  * only if the new code is made subject to such option by the copyright
  * holder.
  */
-// Portions Copyright [2016-2024] [Payara Foundation and/or its affiliates]
+// Portions Copyright [2016-2026] [Payara Foundation and/or its affiliates]
 
 package com.sun.enterprise.server.logging;
 
@@ -48,11 +48,20 @@ import com.sun.common.util.logging.LoggingOutputStream;
 import com.sun.enterprise.admin.monitor.callflow.Agent;
 import com.sun.enterprise.module.bootstrap.EarlyLogHandler;
 import com.sun.enterprise.util.LocalStringManagerImpl;
+import com.sun.enterprise.util.MpscRingBuffer;
 import com.sun.enterprise.util.io.FileUtils;
 import com.sun.enterprise.v3.logging.AgentFormatterDelegate;
 import fish.payara.enterprise.server.logging.JSONLogFormatter;
 import fish.payara.enterprise.server.logging.PayaraNotificationLogRotationTimer;
+import fish.payara.enterprise.server.logging.binary.BinaryLogFormat;
+import fish.payara.enterprise.server.logging.binary.BinaryLogWriter;
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
 import java.security.PrivilegedAction;
 import java.text.FieldPosition;
 import java.text.ParseException;
@@ -60,7 +69,11 @@ import java.text.SimpleDateFormat;
 import java.util.*;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
 import java.util.logging.ErrorManager;
 import java.util.logging.Formatter;
 import java.util.logging.Level;
@@ -133,6 +146,8 @@ public class GFFileHandler extends StreamHandler implements
     private Integer rotationLimitAttrValue;
     private Long rotationTimeLimitValue;
     private boolean compressionOnRotation;
+    private boolean binaryLog;
+    private volatile BinaryLogWriter binaryLogWriter;
     private boolean multiLineMode;
     private String fileHandlerFormatter = "";
     private String currentFileHandlerFormatter = "";
@@ -148,6 +163,36 @@ public class GFFileHandler extends StreamHandler implements
 
     private BlockingQueue<LogRecord> pendingRecords = new ArrayBlockingQueue<>(10000);
 
+    /**
+     * What a logging thread does with a record when the ring buffer of the high throughput mode is full.
+     */
+    public enum OverflowPolicy {
+        /** Wait until the pump has made room */
+        BLOCK,
+        /** Drop records below the overflow drop level, wait for the others */
+        DROP_BELOW_LEVEL,
+        /** Queue the record in an unbounded overflow queue, which may reorder it with records in the ring */
+        SPILL
+    }
+
+    private static final int DEFAULT_RING_BUFFER_SIZE = 16384;
+    private static final int RING_BATCH_SIZE = 256;
+    private static final long PUMP_IDLE_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long OVERFLOW_WAIT_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    /** Replaces pendingRecords in high throughput mode, null otherwise */
+    private MpscRingBuffer<LogRecord> ringBuffer;
+    private OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
+    private Level overflowDropLevel = Level.WARNING;
+    private final Queue<LogRecord> spilledRecords = new ConcurrentLinkedQueue<>();
+    private final LongAdder droppedRecords = new LongAdder();
+    private final Object ringConsumerLock = new Object();
+    private final LogRecord[] ringBatch = new LogRecord[RING_BATCH_SIZE];
+    private final StringBuilder batchText = new StringBuilder(8192);
+    private ByteBuffer batchBytes = ByteBuffer.allocate(8192);
+    private CharsetEncoder batchEncoder;
+    private volatile boolean pumpParked;
+
     /**Rotation can be done in 3 ways: <ol>
      * <li> Based on the Size: Rotate when some Threshold number of bytes are
      *    written to server.log </li>
@@ -240,6 +285,9 @@ public class GFFileHandler extends StreamHandler implements
             currentFileHandlerFormatter = "fish.payara.enterprise.server.logging.JSONLogFormatter";
         }
 
+        // the ring buffer has to be in place before the pump starts
+        configureHighThroughputMode();
+
         String propertyValue = manager.getProperty(className + ".logtoFile");
         boolean logToFile = true;
         if (propertyValue != null) {
@@ -301,6 +349,9 @@ public class GFFileHandler extends StreamHandler implements
             compressionOnRotation = Boolean.parseBoolean(propertyValue);
         }
 
+        propertyValue = manager.getProperty(className + ".binaryLog");
+        binaryLog = Boolean.parseBoolean(propertyValue);
+
         propertyValue = manager.getProperty(className + ".logStandardStreams");
         if (propertyValue != null) {
             logStandardStreams = Boolean.parseBoolean(propertyValue);
@@ -320,6 +371,14 @@ public class GFFileHandler extends StreamHandler implements
         } else if (fileHandlerFormatter != null
                 && !fileHandlerFormatter.equals(currentFileHandlerFormatter)) {
             rotate();
+        } else if (binaryLog != BinaryLogFormat.companionOf(absoluteFile).exists()) {
+            // The binary log must hold the same records as the text log it accompanies
+            rotate();
+        }
+        synchronized (rotationLock) {
+            if (binaryLogWriter == null) {
+                openBinaryLog();
+            }
         }
         excludeFields = manager.getProperty(LogManagerService.EXCLUDE_FIELDS_PROPERTY);
         multiLineMode = Boolean.parseBoolean(manager.getProperty(LogManagerService.MULTI_LINE_MODE_PROPERTY));
@@ -327,6 +386,51 @@ public class GFFileHandler extends StreamHandler implements
 
     }
 
+    /**
+     * Reads the properties of the high throughput mode, in which logging threads hand records to the pump through
+     * a lock-free ring buffer and the pump formats and writes them in batches.
+     */
+    private void configureHighThroughputMode() {
+        if (!Boolean.parseBoolean(manager.getProperty(className + ".highThroughputMode"))) {
+            return;
+        }
+        int ringBufferSize = DEFAULT_RING_BUFFER_SIZE;
+        String propertyValue = manager.getProperty(className + ".ringBufferSize");
+        if (propertyValue != null) {
+            try {
+                ringBufferSize = Integer.parseInt(propertyValue);
+            } catch (NumberFormatException e) {
+                addInvalidAttributeValueMessage(propertyValue, "ringBufferSize");
+            }
+        }
+        propertyValue = manager.getProperty(className + ".overflowPolicy");
+        if (propertyValue != null) {
+            try {
+                overflowPolicy = OverflowPolicy.valueOf(propertyValue.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                addInvalidAttributeValueMessage(propertyValue, "overflowPolicy");
+            }
+        }
+        propertyValue = manager.getProperty(className + ".overflowDropLevel");
+        if (propertyValue != null) {
+            try {
+                overflowDropLevel = Level.parse(propertyValue.trim());
+            } catch (IllegalArgumentException e) {
+                addInvalidAttributeValueMessage(propertyValue, "overflowDropLevel");
+            }
+        }
+        ringBuffer = new MpscRingBuffer<>(ringBufferSize > 0 ? ringBufferSize : DEFAULT_RING_BUFFER_SIZE);
+    }
+
+    private void addInvalidAttributeValueMessage(String propertyValue, String attribute) {
+        LogRecord invalidValueRecord = new LogRecord(Level.WARNING, LogFacade.INVALID_ATTRIBUTE_VALUE);
+        invalidValueRecord.setParameters(new Object[]{propertyValue, attribute});
+        invalidValueRecord.setResourceBundle(ResourceBundle.getBundle(LogFacade.LOGGING_RB_NAME));
+        invalidValueRecord.setThreadID((int) Thread.currentThread().getId());
+        invalidValueRecord.setLoggerName(LogFacade.LOGGING_LOGGER_NAME);
+        EarlyLogHandler.earlyMessages.add(invalidValueRecord);
+    }
+
     private void configureLogFormatter(String formatterName, String excludeFields, boolean multiLineMode) {
         if (UniformLogFormatter.class.getName().equals(formatterName)) {
             configureUniformLogFormatter(excludeFields, multiLineMode);
@@ -621,10 +725,18 @@ public class GFFileHandler extends StreamHandler implements
         // drain and return all
         drainAllPendingRecords();
         flush();
+        synchronized (rotationLock) {
+            closeBinaryLog();
+        }
     }
 
     private void drainAllPendingRecords() {
         drainPendingRecords(0);
+        if (ringBuffer != null) {
+            while (drainRingBuffer() > 0) {
+                // keep going until records published during shutdown are written too
+            }
+        }
     }
 
     /**
@@ -643,7 +755,7 @@ public class GFFileHandler extends StreamHandler implements
                 pendingRecords.drainTo(records);
             }
             for (LogRecord record : records) {
-                super.publish(record);
+                writeRecord(record);
             }
         }
     }
@@ -661,6 +773,7 @@ public class GFFileHandler extends StreamHandler implements
         synchronized (rotationLock) {
             super.flush();
             super.close();
+            closeBinaryLog();
             try {
                 openFile(file);
                 absoluteFile = file;
@@ -679,6 +792,7 @@ public class GFFileHandler extends StreamHandler implements
                             ErrorManager.OPEN_FAILURE);
                 }
             }
+            openBinaryLog();
         }
     }
 
@@ -782,6 +896,69 @@ public class GFFileHandler extends StreamHandler implements
         setOutputStream(meter);
     }
 
+    /**
+     * Opens the binary companion of the current log file if binary logging is enabled, see {@link BinaryLogFormat}.
+     * Must be called holding the rotation lock.
+     */
+    private void openBinaryLog() {
+        if (absoluteFile == null) {
+            return;
+        }
+        File binaryLogFile = BinaryLogFormat.companionOf(absoluteFile);
+        if (!binaryLog) {
+            // a binary log without records would hide the text log from the log viewer
+            if (binaryLogFile.length() <= BinaryLogFormat.HEADER_SIZE && binaryLogFile.exists()
+                    && !binaryLogFile.delete()) {
+                new ErrorManager().error("Could not delete empty binary log file: "
+                        + binaryLogFile.getAbsolutePath(), null, ErrorManager.GENERIC_FAILURE);
+            }
+            return;
+        }
+        try {
+            binaryLogWriter = new BinaryLogWriter(binaryLogFile);
+        } catch (IOException ix) {
+            new ErrorManager().error("Could not open binary log file " + binaryLogFile.getAbsolutePath(),
+                    ix, ErrorManager.OPEN_FAILURE);
+        }
+    }
+
+    /**
+     * Must be called holding the rotation lock.
+     */
+    private void closeBinaryLog() {
+        BinaryLogWriter writer = binaryLogWriter;
+        if (writer != null) {
+            binaryLogWriter = null;
+            try {
+                writer.close();
+            } catch (IOException ix) {
+                new ErrorManager().error("Could not close binary log file " + writer.getFile().getAbsolutePath(),
+                        ix, ErrorManager.CLOSE_FAILURE);
+            }
+        }
+    }
+
+    private boolean hasBinaryLogData() {
+        BinaryLogWriter writer = binaryLogWriter;
+        if (writer != null) {
+            return writer.getPosition() > BinaryLogFormat.HEADER_SIZE;
+        }
+        return absoluteFile != null && BinaryLogFormat.companionOf(absoluteFile).exists();
+    }
+
+    /**
+     * Renames the binary companion of a log file that has just been rotated so that it follows the rotated file.
+     */
+    private void rotateBinaryLog(File logFile, File rotatedFile) throws IOException {
+        File binaryLogFile = BinaryLogFormat.companionOf(logFile);
+        if (binaryLogFile.exists()) {
+            File rotatedBinaryLogFile = BinaryLogFormat.rotatedCompanionOf(logFile, rotatedFile);
+            if (!binaryLogFile.renameTo(rotatedBinaryLogFile)) {
+                throw new IOException("Could not rotate binary log file: " + binaryLogFile.getAbsolutePath());
+            }
+        }
+    }
+
     /**
      * Request Rotation called from Rotation Timer Task or LogMBean
      */
@@ -806,15 +983,26 @@ public class GFFileHandler extends StreamHandler implements
             if (dir == null)
                 return;
             File[] fset = dir.listFiles();
+            String binaryLogFileName = BinaryLogFormat.companionOf(absoluteFile).getName();
             List<String> candidates = new ArrayList<>();
+            List<String> binaryCandidates = new ArrayList<>();
             for (int i = 0; fset != null && i < fset.length; i++) {
-                if (!logFileName.equals(fset[i].getName()) && fset[i].isFile()
-                        && fset[i].getName().startsWith(logFileName)) {
-                    candidates.add(fset[i].getAbsolutePath());
+                String name = fset[i].getName();
+                if (!logFileName.equals(name) && !binaryLogFileName.equals(name) && fset[i].isFile()) {
+                    if (name.startsWith(binaryLogFileName)) {
+                        binaryCandidates.add(fset[i].getAbsolutePath());
+                    } else if (name.startsWith(logFileName)) {
+                        candidates.add(fset[i].getAbsolutePath());
+                    }
                 }
             }
-            if (candidates.size() <= maxHistoryFiles)
-                return;
+            deleteOldestHistoryFiles(candidates);
+            deleteOldestHistoryFiles(binaryCandidates);
+        }
+    }
+
+    private void deleteOldestHistoryFiles(List<String> candidates) {
+        if (candidates.size() > maxHistoryFiles) {
             Object[] paths = candidates.toArray();
             java.util.Arrays.sort(paths);
             try {
@@ -844,11 +1032,12 @@ public class GFFileHandler extends StreamHandler implements
         		doPrivileged((PrivilegedAction<Object>) () -> {
                     synchronized (thisInstance.rotationLock) {
                         if (thisInstance.meter != null
-                                && thisInstance.meter.written <= 0) {
+                                && thisInstance.meter.written <= 0 && !hasBinaryLogData()) {
                             return null;
                         }
                         thisInstance.flush();
                         thisInstance.close();
+                        closeBinaryLog();
                         try {
                             if (!absoluteFile.exists()) {
                                 File creatingDeletedLogFile = new File(
@@ -881,6 +1070,7 @@ public class GFFileHandler extends StreamHandler implements
                                 }
                                 FileOutputStream oldFileFO = new FileOutputStream(oldFile);
                                 oldFileFO.close();
+                                rotateBinaryLog(oldFile, rotatedFile);
                                 openFile(getLogFileName());
                                 absoluteFile = getLogFileName();
                                 // This will ensure that the log rotation timer
@@ -906,6 +1096,7 @@ public class GFFileHandler extends StreamHandler implements
                         } catch (IOException ix) {
                             new ErrorManager().error("Error, could not rotate log file", ix, ErrorManager.GENERIC_FAILURE);
                         }
+                        openBinaryLog();
                         return null;
                     }
                 }
@@ -940,19 +1131,26 @@ public class GFFileHandler extends StreamHandler implements
     public void log() {
 
         if (logToFile) {
-            LogRecord record;
+            if (ringBuffer != null) {
+                if (drainRingBuffer() == 0) {
+                    awaitRecords();
+                    return;
+                }
+            } else {
+                LogRecord record;
 
-            // take is blocking so we take one record off the queue
-            try {
-                record = pendingRecords.take();
-                super.publish(record);
-            } catch (InterruptedException e) {
-                return;
-            }
+                // take is blocking so we take one record off the queue
+                try {
+                    record = pendingRecords.take();
+                    writeRecord(record);
+                } catch (InterruptedException e) {
+                    return;
+                }
 
-            if (flushFrequency > 1) {
-                // now try to read more.  we end up blocking on the above take call if nothing is in the queue
-                drainPendingRecords(flushFrequency - 1);
+                if (flushFrequency > 1) {
+                    // now try to read more.  we end up blocking on the above take call if nothing is in the queue
+                    drainPendingRecords(flushFrequency - 1);
+                }
             }
 
             flush();
@@ -970,6 +1168,166 @@ public class GFFileHandler extends StreamHandler implements
         }
     }
 
+    /**
+     * Writes a record taken from the queue to the log file and its binary companion.
+     */
+    private void writeRecord(LogRecord record) {
+        super.publish(record);
+        writeBinaryRecord(record);
+    }
+
+    private void writeBinaryRecord(LogRecord record) {
+        BinaryLogWriter writer = binaryLogWriter;
+        if (writer != null) {
+            try {
+                writer.write(record);
+            } catch (IOException | RuntimeException e) {
+                new ErrorManager().error("GFFileHandler: Could not write record to binary log.", e, ErrorManager.WRITE_FAILURE);
+            }
+        }
+    }
+
+    /**
+     * Writes the records waiting in the ring buffer and the overflow queue, at most one ring capacity per call so
+     * that flushing and rotation are not held off by a steady stream of records.
+     *
+     * @return the number of records taken
+     */
+    private int drainRingBuffer() {
+        synchronized (ringConsumerLock) {
+            int total = 0;
+            int drained;
+            do {
+                drained = ringBuffer.drainTo(ringBatch);
+                writeBatch(ringBatch, drained);
+                total += drained;
+            } while (drained == ringBatch.length && total < ringBuffer.capacity());
+
+            LogRecord spilled;
+            drained = 0;
+            while (drained < ringBatch.length && (spilled = spilledRecords.poll()) != null) {
+                ringBatch[drained++] = spilled;
+            }
+            writeBatch(ringBatch, drained);
+            total += drained;
+
+            long dropped = droppedRecords.sumThenReset();
+            if (dropped > 0) {
+                LogRecord droppedRecord = new GFLogRecord(Level.WARNING, LogFacade.LOG_RECORDS_DROPPED);
+                droppedRecord.setParameters(new Object[]{dropped, overflowDropLevel.getName()});
+                droppedRecord.setResourceBundle(ResourceBundle.getBundle(LogFacade.LOGGING_RB_NAME));
+                droppedRecord.setLoggerName(LogFacade.LOGGING_LOGGER_NAME);
+                ringBatch[0] = GFLogRecord.wrap(droppedRecord, true);
+                writeBatch(ringBatch, 1);
+            }
+            return total;
+        }
+    }
+
+    /**
+     * Formats a batch of records into a reused buffer and writes them to the log file at once.
+     */
+    private void writeBatch(LogRecord[] batch, int count) {
+        if (count == 0) {
+            return;
+        }
+        Formatter formatter = getFormatter();
+        batchText.setLength(0);
+        for (int i = 0; i < count; i++) {
+            if (isLoggable(batch[i])) {
+                try {
+                    batchText.append(formatter.format(batch[i]));
+                } catch (Exception e) {
+                    reportError(null, e, ErrorManager.FORMAT_FAILURE);
+                }
+            }
+        }
+        if (batchText.length() > 0) {
+            // StreamHandler.close() and setOutputStream() synchronize on the handler as well
+            synchronized (this) {
+                try {
+                    encodeAndWrite();
+                } catch (Exception e) {
+                    reportError(null, e, ErrorManager.WRITE_FAILURE);
+                }
+            }
+        }
+        for (int i = 0; i < count; i++) {
+            if (isLoggable(batch[i])) {
+                writeBinaryRecord(batch[i]);
+            }
+            batch[i] = null;
+        }
+    }
+
+    private void encodeAndWrite() throws IOException {
+        Charset charset = getEncoding() == null ? Charset.defaultCharset() : Charset.forName(getEncoding());
+        if (batchEncoder == null || !batchEncoder.charset().equals(charset)) {
+            batchEncoder = charset.newEncoder()
+                    .onMalformedInput(CodingErrorAction.REPLACE)
+                    .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        }
+        CharBuffer chars = CharBuffer.wrap(batchText);
+        batchEncoder.reset();
+        batchBytes.clear();
+        boolean flushed = false;
+        while (true) {
+            CoderResult result = flushed ? batchEncoder.flush(batchBytes) : batchEncoder.encode(chars, batchBytes, true);
+            if (result.isOverflow()) {
+                meter.write(batchBytes.array(), 0, batchBytes.position());
+                batchBytes.clear();
+            } else if (!flushed) {
+                flushed = true;
+            } else {
+                break;
+            }
+        }
+        meter.write(batchBytes.array(), 0, batchBytes.position());
+        if (batchText.capacity() > batchBytes.capacity() * 16) {
+            // do not hold on to the buffer of an exceptionally large batch
+            batchText.setLength(0);
+            batchText.trimToSize();
+        }
+    }
+
+    /**
+     * Parks the pump until a logging thread publishes a record, or for a short while at most.
+     */
+    private void awaitRecords() {
+        pumpParked = true;
+        if (ringBuffer.isEmpty() && spilledRecords.isEmpty()) {
+            LockSupport.parkNanos(this, PUMP_IDLE_NANOS);
+        }
+        pumpParked = false;
+    }
+
+    /**
+     * Hands a record to the pump through the ring buffer, applying the overflow policy if the ring is full.
+     */
+    private void enqueue(LogRecord record) {
+        if (!ringBuffer.offer(record)) {
+            if (overflowPolicy == OverflowPolicy.SPILL || Thread.currentThread() == pump) {
+                // the pump must never wait for itself
+                spilledRecords.add(record);
+            } else if (overflowPolicy == OverflowPolicy.DROP_BELOW_LEVEL
+                    && record.getLevel().intValue() < overflowDropLevel.intValue()) {
+                droppedRecords.increment();
+                return;
+            } else {
+                while (!ringBuffer.offer(record)) {
+                    if (done.isSignalled()) {
+                        return;
+                    }
+                    LockSupport.unpark(pump);
+                    LockSupport.parkNanos(OVERFLOW_WAIT_NANOS);
+                }
+            }
+        }
+        if (pumpParked) {
+            LockSupport.unpark(pump);
+        }
+    }
+
     /**
      * Publishes the logrecord storing it in our queue
      */
@@ -990,7 +1348,9 @@ public class GFFileHandler extends StreamHandler implements
         // and just cast the passed record if it is
         GFLogRecord wrappedRecord = GFLogRecord.wrap(record, true);
 
-        if (logToFile) {
+        if (logToFile && ringBuffer != null) {
+            enqueue(wrappedRecord);
+        } else if (logToFile) {
             try {
                 pendingRecords.add(wrappedRecord);
             } catch (IllegalStateException e) {
@@ -1147,6 +1507,19 @@ public class GFFileHandler extends StreamHandler implements
         this.compressionOnRotation = compressionOnRotation;
     }
 
+    public synchronized void setBinaryLog(boolean binaryLog) {
+        synchronized (rotationLock) {
+            if (this.binaryLog == binaryLog) {
+                return;
+            }
+            this.binaryLog = binaryLog;
+            // Rotate log file so that the binary log covers the same records as the text log
+            rotate();
+            closeBinaryLog();
+            openBinaryLog();
+        }
+    }
+
     public synchronized void setLogStandardStreams(boolean logStandardStreams) {
         this.logStandardStreams = logStandardStreams;
 
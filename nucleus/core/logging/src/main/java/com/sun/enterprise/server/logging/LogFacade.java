@@ -37,7 +37,7 @@
  * only if the new code is made subject to such option by the copyright
  * holder.
  */
-// Portions Copyright [2016-2018] [Payara Foundation and/or affiliates]
+// Portions Copyright [2016-2026] [Payara Foundation and/or affiliates]
 package com.sun.enterprise.server.logging;
 
 import java.util.logging.Logger;
@@ -121,4 +121,7 @@ public class LogFacade {
             action="Take appropriate action based on the exception message.")
     public static final String ERROR_PLACEHOLDERS_REPLACEMENT = "NCLS-LOGGING-00014";
 
+    @LogMessageInfo(message = "{0} log records below level {1} were dropped because the log record queue was full.", level="WARNING")
+    public static final String LOG_RECORDS_DROPPED = "NCLS-LOGGING-00015";
+
 }
@@ -37,7 +37,7 @@
  * only if the new code is made subject to such option by the copyright
  * holder.
  */
-// Portions Copyright [2016-2024] [Payara Foundation and/or its affiliates]
+// Portions Copyright [2016-2026] [Payara Foundation and/or its affiliates]
 
 package com.sun.enterprise.server.logging;
 
@@ -162,6 +162,7 @@ public class LogManagerService implements PostConstruct, PreDestroy, org.glassfi
     String fileHandlerFormatterDetail = "";
     String logFormatDateFormatDetail = "";
     String compressOnRotationDetail = "";
+    String binaryLogDetail = "";
     String logStandardStreamsDetail = "";
     String fastLoggingDetail = "";
     
@@ -198,6 +199,7 @@ public class LogManagerService implements PostConstruct, PreDestroy, org.glassfi
     private static final String FILEHANDLER_FORMATTER_PROPERTY = "java.util.logging.FileHandler.formatter";
     private static final String LOGFORMAT_DATEFORMAT_PROPERTY = "com.sun.enterprise.server.logging.GFFileHandler.logFormatDateFormat";
     private static final String COMPRESS_ON_ROTATION_PROPERTY = "com.sun.enterprise.server.logging.GFFileHandler.compressOnRotation";
+    private static final String BINARY_LOG_PROPERTY = "com.sun.enterprise.server.logging.GFFileHandler.binaryLog";
     private static final String LOG_STANDARD_STREAMS_PROPERTY = "com.sun.enterprise.server.logging.GFFileHandler.logStandardStreams";
     private static final String FAST_LOGGER_PROPERTY = "com.sun.enterprise.server.logging.GFFileHandler.fastLogging";
     
@@ -747,6 +749,18 @@ public class LogManagerService implements PostConstruct, PreDestroy, org.glassfi
                                             }
                                         }
                                     }
+                                } else if (a.equals(BINARY_LOG_PROPERTY)) {
+                                    if (!val.equals(binaryLogDetail)) {
+                                        binaryLogDetail = val;
+                                        for (Handler handler : logMgr.getLogger("").getHandlers()) {
+                                            // only get the GFFileHandler
+                                            if (handler.getClass().equals(GFFileHandler.class)) {
+                                                gfFileHandler = (GFFileHandler) handler;
+                                                gfFileHandler.setBinaryLog(Boolean.parseBoolean(binaryLogDetail));
+                                                break;
+                                            }
+                                        }
+                                    }
                                 } else if (a.equals(LOG_STANDARD_STREAMS_PROPERTY)) {
                                     if (!val.equals(logStandardStreamsDetail)) {
                                         logStandardStreamsDetail = val;
@@ -992,6 +1006,7 @@ public class LogManagerService implements PostConstruct, PreDestroy, org.glassfi
         fileHandlerFormatterDetail = props.get(FILEHANDLER_FORMATTER_PROPERTY);
         logFormatDateFormatDetail = props.get(LOGFORMAT_DATEFORMAT_PROPERTY);
         compressOnRotationDetail = props.get(COMPRESS_ON_ROTATION_PROPERTY);
+        binaryLogDetail = props.get(BINARY_LOG_PROPERTY);
         logStandardStreamsDetail = props.get(LOG_STANDARD_STREAMS_PROPERTY);
         fastLoggingDetail = props.get(FAST_LOGGER_PROPERTY);
 
@@ -38,7 +38,7 @@
  * holder.
  */
 
-// Portions Copyright [2016-2021] [Payara Foundation]
+// Portions Copyright [2016-2026] [Payara Foundation]
 
 package com.sun.enterprise.server.logging;
 
@@ -411,7 +411,24 @@ public class UniformLogFormatter extends AnsiColorFormatter implements LogEventB
         }
     }
 
+    /**
+     * Formats the message of a log record with its parameters or resource bundle. The result is kept on a
+     * {@link GFLogRecord}, so the message of a record written by several handlers is formatted only once.
+     */
     public static String formatLogMessage(String logMessage, LogRecord record, Function<String, ResourceBundle> rbGetter) {
+        if (record instanceof GFLogRecord && logMessage == record.getMessage()) {
+            GFLogRecord gfRecord = (GFLogRecord) record;
+            String formatted = gfRecord.getFormattedMessage();
+            if (formatted == null) {
+                formatted = formatUncached(logMessage, record, rbGetter);
+                gfRecord.setFormattedMessage(formatted);
+            }
+            return formatted;
+        }
+        return formatUncached(logMessage, record, rbGetter);
+    }
+
+    private static String formatUncached(String logMessage, LogRecord record, Function<String, ResourceBundle> rbGetter) {
         try {
             return formatLogMessage0(logMessage, record.getLoggerName(), record.getParameters(), rbGetter);
         } catch (IllegalArgumentException e) {
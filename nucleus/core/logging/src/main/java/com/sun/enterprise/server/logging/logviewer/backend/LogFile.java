@@ -37,7 +37,7 @@
  * only if the new code is made subject to such option by the copyright
  * holder.
  */
-// Portions Copyright [2016-2018] [Payara Foundation and/or its affiliates]
+// Portions Copyright [2016-2026] [Payara Foundation and/or its affiliates]
 
 package com.sun.enterprise.server.logging.logviewer.backend;
 
@@ -47,6 +47,9 @@ import com.sun.enterprise.server.logging.parser.LogParser;
 import com.sun.enterprise.server.logging.parser.LogParserFactory;
 import com.sun.enterprise.server.logging.parser.LogParserListener;
 import com.sun.enterprise.server.logging.parser.ParsedLogRecord;
+import fish.payara.enterprise.server.logging.binary.BinaryLogFormat;
+import fish.payara.enterprise.server.logging.binary.BinaryLogReader;
+import fish.payara.enterprise.server.logging.binary.BinaryLogRecord;
 
 import java.io.*;
 import java.util.*;
@@ -60,6 +63,8 @@ import java.util.zip.GZIPInputStream;
  * from the requested record number.  It will always search forward.
  * getIndexSize() returns the number of records between each index.
  * getLastIndexNumber returns the last index.</P>
+ * <P>If the log file has a binary companion written by GFFileHandler, the
+ * records are read from that file and its index instead of parsing the text.</P>
  *
  * @AUTHOR: Hemanth Puttaswamy and Ken Paulsen
  * <p/>
@@ -73,6 +78,7 @@ public class LogFile implements java.io.Serializable {
     private final long _indexSize = 10;
     private final String _logFileName;
     private final List<Long> _recordIdx = new ArrayList<>();
+    private transient BinaryLogReader _binaryLogReader;
 
     /**
      * Constructor
@@ -103,6 +109,10 @@ public class LogFile implements java.io.Serializable {
         if (startingRecord < 0) {
             return null;
         }
+        BinaryLogReader binaryLogReader = getBinaryLogReader();
+        if (binaryLogReader != null) {
+            return getBinaryLogEntries(binaryLogReader, startingRecord, maxRecords);
+        }
 
         // Open the file at the desired starting Record
         final long recordsToIgnore = (startingRecord % getIndexSize());
@@ -155,6 +165,82 @@ public class LogFile implements java.io.Serializable {
     }
 
 
+    private List<LogEntry> getBinaryLogEntries(BinaryLogReader reader, long startingRecord, long maxRecords) {
+        List<LogEntry> results = new ArrayList<>();
+        try {
+            long end = Math.min(reader.getRecordCount(), startingRecord + maxRecords);
+            for (long recordNumber = startingRecord; recordNumber < end; recordNumber++) {
+                results.add(toLogEntry(reader.read(recordNumber)));
+            }
+        } catch (IOException ex) {
+            throw new RuntimeException(ex);
+        }
+        return results;
+    }
+
+    /**
+     * Creates a LogEntry from a record of the binary log.
+     */
+    LogEntry toLogEntry(BinaryLogRecord record) {
+        LogEntry entry = new LogEntry(null, record.getRecordNumber());
+        entry.setLoggedDateTime(new Date(record.getTimeMillis()));
+        entry.setLoggedLevel(record.getLevelName());
+        entry.setLoggedLoggerName(record.getLoggerName());
+        entry.setLoggedMessage(record.getMessage());
+        entry.setLoggedNameValuePairs(record.getNameValuePairs());
+        entry.setLoggedProduct("");
+        if (record.getMessageId() != null) {
+            entry.setMessageId(record.getMessageId());
+        }
+        return entry;
+    }
+
+    /**
+     * Returns the reader of the binary companion of this log file, refreshed
+     * to include the records written so far.
+     *
+     * @return the reader, or null if the log file has no binary companion
+     */
+    synchronized BinaryLogReader getBinaryLogReader() {
+        if (_binaryLogReader != null && !_binaryLogReader.isCurrent()) {
+            // the binary log was rotated, follow the file name
+            closeBinaryLogReader();
+        }
+        if (_binaryLogReader == null) {
+            File binaryLogFile = BinaryLogFormat.findCompanion(new File(getLogFileName()));
+            if (binaryLogFile == null || !BinaryLogReader.isBinaryLog(binaryLogFile)) {
+                return null;
+            }
+            try {
+                _binaryLogReader = new BinaryLogReader(binaryLogFile);
+            } catch (IOException ex) {
+                if (LogFacade.LOGGING_LOGGER.isLoggable(Level.FINE)) {
+                    LogFacade.LOGGING_LOGGER.log(Level.FINE, "Error opening binary log: " + binaryLogFile, ex);
+                }
+                return null;
+            }
+        }
+        try {
+            _binaryLogReader.refresh();
+        } catch (IOException ex) {
+            if (LogFacade.LOGGING_LOGGER.isLoggable(Level.FINE)) {
+                LogFacade.LOGGING_LOGGER.log(Level.FINE, "Error reading binary log: " + _binaryLogReader.getFile(), ex);
+            }
+        }
+        return _binaryLogReader;
+    }
+
+    private void closeBinaryLogReader() {
+        try {
+            _binaryLogReader.close();
+        } catch (IOException ex) {
+            if (LogFacade.LOGGING_LOGGER.isLoggable(Level.FINE)) {
+                LogFacade.LOGGING_LOGGER.log(Level.FINE, "Error closing binary log: " + _binaryLogReader.getFile(), ex);
+            }
+        }
+        _binaryLogReader = null;
+    }
+
     /**
      * This method builds the file index in the beginning.  The index is for
      * the beginning of every record after the size specified by '_indexSize'
@@ -266,6 +352,10 @@ public class LogFile implements java.io.Serializable {
      * will ensure that the indexes are up-to-date.
      */
     public long getLastIndexNumber() {
+        BinaryLogReader binaryLogReader = getBinaryLogReader();
+        if (binaryLogReader != null) {
+            return binaryLogReader.getRecordCount() / getIndexSize();
+        }
         buildLogFileIndex();
         return _recordIdx.size() - 1;
     }
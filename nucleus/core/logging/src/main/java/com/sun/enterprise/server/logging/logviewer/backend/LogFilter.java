@@ -37,7 +37,7 @@
  * only if the new code is made subject to such option by the copyright
  * holder.
  */
-// Portions Copyright [2017-2021] [Payara Foundation and/or its affiliates]
+// Portions Copyright [2017-2026] [Payara Foundation and/or its affiliates]
 
 package com.sun.enterprise.server.logging.logviewer.backend;
 
@@ -49,6 +49,7 @@ import com.sun.enterprise.config.serverbeans.Server;
 import com.sun.enterprise.server.logging.LogFacade;
 import com.sun.enterprise.util.StringUtils;
 import com.sun.enterprise.util.SystemPropertyConstants;
+import fish.payara.enterprise.server.logging.binary.BinaryLogReader;
 import org.glassfish.api.admin.CommandRunner;
 import org.glassfish.api.admin.ServerEnvironment;
 import org.glassfish.api.logging.LogLevel;
@@ -474,6 +475,12 @@ public class LogFilter {
             LogFile logFile, long startingRecord, boolean next, boolean forward,
             long requestedCount, Date fromDate, Date toDate, String logLevel,
             boolean onlyLevel, List listOfModules, Properties nameValueMap, String anySearch) {
+        BinaryLogReader binaryLogReader = logFile.getBinaryLogReader();
+        if (binaryLogReader != null) {
+            return fetchBinaryRecordsUsingQuery(logFile, binaryLogReader, startingRecord, next, forward,
+                    requestedCount, fromDate, toDate, logLevel, onlyLevel, listOfModules, nameValueMap, anySearch);
+        }
+
         // If !next, then set to search in reverse
         boolean origForward = forward;
         if (next) {
@@ -581,6 +588,61 @@ public class LogFilter {
         return convertResultsToTheStructure(results);
     }
 
+    /**
+     * Variant of fetchRecordsUsingQuery() for log files with a binary
+     * companion. The time, level and module criteria are evaluated on the
+     * index of the binary log so only candidate records get decoded.
+     */
+    private AttributeList fetchBinaryRecordsUsingQuery(
+            LogFile logFile, BinaryLogReader reader, long startingRecord, boolean next, boolean forward,
+            long requestedCount, Date fromDate, Date toDate, String logLevel,
+            boolean onlyLevel, List listOfModules, Properties nameValueMap, String anySearch) {
+        Integer levelValue = null;
+        if (logLevel != null) {
+            try {
+                levelValue = Level.parse(logLevel.trim()).intValue();
+            } catch (IllegalArgumentException e) {
+                // leave the level to allChecks()
+            }
+        }
+        List<String> moduleNames = null;
+        if (listOfModules != null) {
+            moduleNames = new ArrayList<>();
+            for (Object module : listOfModules) {
+                moduleNames.add(((String) module).trim());
+            }
+        }
+        BinaryLogReader.Filter filter = new BinaryLogReader.Filter(
+                fromDate == null ? null : fromDate.getTime(), toDate == null ? null : toDate.getTime(),
+                levelValue, onlyLevel, moduleNames);
+
+        // Records after startingRecord for next, before it otherwise
+        long recordNumber = next ? startingRecord + 1 : startingRecord - 1;
+        List<LogFile.LogEntry> results = new ArrayList<>();
+        try {
+            while (results.size() < requestedCount) {
+                recordNumber = reader.seek(recordNumber, next, filter);
+                if (recordNumber < 0) {
+                    break;
+                }
+                LogFile.LogEntry entry = logFile.toLogEntry(reader.read(recordNumber));
+                if (allChecks(entry, fromDate, toDate, logLevel, onlyLevel,
+                        listOfModules, nameValueMap, anySearch)) {
+                    results.add(entry);
+                }
+                recordNumber += next ? 1 : -1;
+            }
+        } catch (IOException ex) {
+            LOGGER.log(Level.SEVERE, LogFacade.ERROR_EXECUTING_LOG_QUERY, ex);
+        }
+
+        // Deal with previous&forward or next&reverse
+        if (next ^ forward) {
+            Collections.reverse(results);
+        }
+        return convertResultsToTheStructure(results);
+    }
+
     /**
      * This method converts the results to the appropriate structure for
      * LogMBean to return to the Admin Front End.
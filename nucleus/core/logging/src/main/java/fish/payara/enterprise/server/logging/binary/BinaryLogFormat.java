@@ -0,0 +1,133 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2026 Payara Foundation and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://github.com/payara/Payara/blob/main/LICENSE.txt
+ * See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at glassfish/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * The Payara Foundation designates this particular file as subject to the "Classpath"
+ * exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package fish.payara.enterprise.server.logging.binary;
+
+import java.io.File;
+
+/**
+ * Layout constants of the binary structured log format.
+ * <p>
+ * A binary log starts with a 16 byte header (magic number, format version and creation time) followed by records.
+ * Every record is written as an {@code int} payload length followed by the payload, whose first byte is the
+ * record type. The file is written in regions of {@link #REGION_SIZE} bytes, mirroring the windows the
+ * writer maps into memory, and a record never spans two regions. Unused space at the end of a region is
+ * marked with {@link #REGION_END} when there is room for it; a length of {@code 0} marks the end of data.
+ * <p>
+ * Logger names are written once into a dictionary record and referred to by id afterwards, so that the
+ * reader can index records by time, level and logger without decoding their text.
+ */
+public final class BinaryLogFormat {
+
+    /** The magic number at the start of every binary log, "PBLG" */
+    public static final int MAGIC = 0x50424C47;
+
+    public static final int VERSION = 1;
+
+    public static final int HEADER_SIZE = 16;
+
+    /** Size of the memory mapped windows; records are never split across them */
+    public static final int REGION_SIZE = 8 * 1024 * 1024;
+
+    /** Length marker for the unused tail of a region */
+    public static final int REGION_END = -1;
+
+    /** Record type of a logger dictionary entry: {@code int id, string name} */
+    public static final byte TYPE_LOGGER = 1;
+
+    /**
+     * Record type of a log record: {@code long timeMillis, int levelValue, int loggerId, long threadId,
+     * string levelName, string threadName, string messageId, string message}
+     */
+    public static final byte TYPE_RECORD = 2;
+
+    /** Number of bytes of a log record payload that are read when indexing */
+    public static final int RECORD_INDEX_BYTES = 1 + 8 + 4 + 4;
+
+    /** Suffix appended to the name of a text log file to name its binary companion */
+    public static final String FILE_SUFFIX = ".blog";
+
+    private BinaryLogFormat() {
+    }
+
+    /**
+     * Returns the binary companion of the given text log file, {@code server.log.blog} for {@code server.log}.
+     */
+    public static File companionOf(File logFile) {
+        return new File(logFile.getPath() + FILE_SUFFIX);
+    }
+
+    /**
+     * Returns the file a rotated binary companion is renamed to, following the naming of the rotated text log
+     * file; {@code server.log.blog_2026-01-01T00-00-00} for {@code server.log_2026-01-01T00-00-00}.
+     */
+    public static File rotatedCompanionOf(File logFile, File rotatedLogFile) {
+        String suffix = rotatedLogFile.getName().substring(logFile.getName().length());
+        return new File(logFile.getParentFile(), logFile.getName() + FILE_SUFFIX + suffix);
+    }
+
+    /**
+     * Finds the binary companion of a current or rotated text log file.
+     *
+     * @return the binary log file, or {@code null} if none was written for the given file
+     */
+    public static File findCompanion(File logFile) {
+        File companion = companionOf(logFile);
+        if (companion.isFile()) {
+            return companion;
+        }
+        String name = logFile.getName();
+        int separator = name.lastIndexOf('_');
+        if (separator > 0) {
+            companion = new File(logFile.getParentFile(),
+                    name.substring(0, separator) + FILE_SUFFIX + name.substring(separator));
+            if (companion.isFile()) {
+                return companion;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return {@code true} if the given file name denotes a binary log written next to a text log
+     */
+    public static boolean isCompanionName(String fileName) {
+        return fileName.contains(FILE_SUFFIX);
+    }
+}
@@ -0,0 +1,637 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2026 Payara Foundation and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://github.com/payara/Payara/blob/main/LICENSE.txt
+ * See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at glassfish/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * The Payara Foundation designates this particular file as subject to the "Classpath"
+ * exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package fish.payara.enterprise.server.logging.binary;
+
+import com.sun.enterprise.util.io.FileUtils;
+
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static fish.payara.enterprise.server.logging.binary.BinaryLogFormat.HEADER_SIZE;
+import static fish.payara.enterprise.server.logging.binary.BinaryLogFormat.MAGIC;
+import static fish.payara.enterprise.server.logging.binary.BinaryLogFormat.RECORD_INDEX_BYTES;
+import static fish.payara.enterprise.server.logging.binary.BinaryLogFormat.REGION_END;
+import static fish.payara.enterprise.server.logging.binary.BinaryLogFormat.REGION_SIZE;
+import static fish.payara.enterprise.server.logging.binary.BinaryLogFormat.TYPE_LOGGER;
+import static fish.payara.enterprise.server.logging.binary.BinaryLogFormat.TYPE_RECORD;
+import static fish.payara.enterprise.server.logging.binary.BinaryLogFormat.VERSION;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.READ;
+
+/**
+ * Reader of the binary log format described by {@link BinaryLogFormat}.
+ * <p>
+ * The reader indexes the offset, time, level and logger of every record. The index is built from the fixed size
+ * part of the records only and is extended incrementally, so a log which is still being written can be followed by
+ * calling {@link #refresh()}. Queries are answered from the index with {@link #seek(long, boolean, Filter)} and only
+ * the matching records are decoded with {@link #read(long)}.
+ * <p>
+ * The index is split into pages of consecutive records. Only a summary of each page is kept for the whole log: where
+ * its first record starts, the range of its times and levels and the loggers it holds. The entries of a page are
+ * read back from the file when a query cannot skip the page by its summary, and only a few pages are kept loaded,
+ * so the memory used does not grow with the number of records.
+ * <p>
+ * Besides the time of each record, the index holds the latest time seen up to that record. This value never
+ * decreases, even if records logged concurrently arrive slightly out of order, and is used to binary search for
+ * the start of a time range.
+ */
+public final class BinaryLogReader implements Closeable {
+
+    /** Number of records per page of the index */
+    static final int PAGE_SIZE = 1024;
+
+    /** Number of pages, besides the last one, whose entries are kept loaded */
+    static final int LOADED_PAGES = 16;
+
+    private final File file;
+    private final FileChannel channel;
+    private final long creationTime;
+    private final int pageSize;
+    private final List<MappedByteBuffer> regions = new ArrayList<>();
+    private final List<String> loggerNames = new ArrayList<>();
+    private final Map<String, Integer> loggerIds = new HashMap<>();
+    private final List<Page> pages = new ArrayList<>();
+    private final Map<Page, Page> loadedPages;
+
+    private long count;
+    private long latestTime = Long.MIN_VALUE;
+    private long position = HEADER_SIZE;
+
+    /**
+     * Opens the given binary log and indexes the records written so far.
+     *
+     * @throws IOException if the file cannot be read or is not a binary log
+     */
+    public BinaryLogReader(File file) throws IOException {
+        this(file, PAGE_SIZE, LOADED_PAGES);
+    }
+
+    BinaryLogReader(File file, int pageSize, int maxLoadedPages) throws IOException {
+        this.file = file;
+        this.pageSize = pageSize;
+        this.loadedPages = new LinkedHashMap<Page, Page>(maxLoadedPages, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Page, Page> eldest) {
+                if (size() > maxLoadedPages) {
+                    eldest.getKey().unload();
+                    return true;
+                }
+                return false;
+            }
+        };
+        this.creationTime = readCreationTime(file);
+        if (creationTime == Long.MIN_VALUE) {
+            throw new IOException("Not a binary log file: " + file);
+        }
+        channel = FileChannel.open(file.toPath(), READ);
+        try {
+            refresh();
+        } catch (IOException e) {
+            close();
+            throw e;
+        }
+    }
+
+    /**
+     * @return {@code true} if the file starts with the header of a binary log this reader understands
+     */
+    public static boolean isBinaryLog(File file) {
+        return readCreationTime(file) != Long.MIN_VALUE;
+    }
+
+    private static long readCreationTime(File file) {
+        if (!file.isFile() || file.length() < HEADER_SIZE) {
+            return Long.MIN_VALUE;
+        }
+        try (DataInputStream in = new DataInputStream(new FileInputStream(file))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                return Long.MIN_VALUE;
+            }
+            return in.readLong();
+        } catch (IOException e) {
+            return Long.MIN_VALUE;
+        }
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * @return {@code false} once the file this reader was opened on has been rotated away or deleted
+     */
+    public boolean isCurrent() {
+        return readCreationTime(file) == creationTime;
+    }
+
+    /**
+     * Indexes records appended since the last refresh.
+     */
+    public synchronized void refresh() throws IOException {
+        long size = channel.size();
+        while (true) {
+            position = skipRegionEnds(position, size);
+            int length = lengthAt(position, size);
+            if (length < 0) {
+                // end of data, or a region that has not been written to completely yet
+                return;
+            }
+            index(position);
+            position += 4 + length;
+        }
+    }
+
+    /**
+     * @return the position up to which the file holds complete records
+     */
+    public synchronized long getEndPosition() throws IOException {
+        refresh();
+        return position;
+    }
+
+    /**
+     * @return the number of log records indexed so far
+     */
+    public synchronized long getRecordCount() {
+        return count;
+    }
+
+    /**
+     * @return the number of pages of the index whose entries are currently loaded
+     */
+    synchronized int getLoadedPageCount() {
+        int loaded = loadedPages.size();
+        if (!pages.isEmpty() && !loadedPages.containsKey(lastPage())) {
+            // the last page is always loaded, as it is still being filled
+            loaded++;
+        }
+        return loaded;
+    }
+
+    /**
+     * @return the names of all loggers seen so far, in order of their ids
+     */
+    public synchronized List<String> getLoggerNames() {
+        return Collections.unmodifiableList(new ArrayList<>(loggerNames));
+    }
+
+    public synchronized long getTimeMillis(long recordNumber) throws IOException {
+        return loadedPage(recordNumber).times[entry(recordNumber)];
+    }
+
+    public synchronized int getLevelValue(long recordNumber) throws IOException {
+        return loadedPage(recordNumber).levels[entry(recordNumber)];
+    }
+
+    public synchronized String getLoggerName(long recordNumber) throws IOException {
+        return loggerNames.get(loadedPage(recordNumber).loggers[entry(recordNumber)]);
+    }
+
+    /**
+     * Finds the nearest record at or after, or at or before, the given record number that passes the filter.
+     * Only the index is consulted.
+     *
+     * @param recordNumber the record to start from; may be beyond either end of the log
+     * @param forward {@code true} to search towards the end of the log
+     * @param filter the filter to apply
+     * @return the number of the record found, or {@code -1} if there is none
+     */
+    public synchronized long seek(long recordNumber, boolean forward, Filter filter) throws IOException {
+        BitSet loggerMask = filter.loggerMask(loggerIds);
+        if (loggerMask != null && loggerMask.isEmpty()) {
+            return -1;
+        }
+        if (forward) {
+            long start = Math.max(0, Math.min(recordNumber, count));
+            if (filter.hasTimeRange()) {
+                start = Math.max(start, firstWithLatestTimeAtOrAfter(filter.fromMillis));
+            }
+            for (int pageIndex = pageOf(start); pageIndex < pages.size(); pageIndex++) {
+                Page page = pages.get(pageIndex);
+                if (!filter.mayAccept(page, loggerMask)) {
+                    continue;
+                }
+                loadedPage(page);
+                for (int i = (int) (Math.max(start, page.firstRecord) - page.firstRecord); i < page.size; i++) {
+                    if (filter.accepts(page.times[i], page.levels[i], page.loggers[i], loggerMask)) {
+                        return page.firstRecord + i;
+                    }
+                }
+            }
+        } else {
+            long start = Math.min(recordNumber, count - 1);
+            for (int pageIndex = start < 0 ? -1 : pageOf(start); pageIndex >= 0; pageIndex--) {
+                Page page = pages.get(pageIndex);
+                if (filter.hasTimeRange() && page.latestTime < filter.fromMillis) {
+                    // neither this page nor any before it has a later record
+                    break;
+                }
+                if (!filter.mayAccept(page, loggerMask)) {
+                    continue;
+                }
+                loadedPage(page);
+                for (int i = (int) (Math.min(start, page.firstRecord + page.size - 1) - page.firstRecord); i >= 0; i--) {
+                    if (filter.hasTimeRange() && page.latestTimes[i] < filter.fromMillis) {
+                        return -1;
+                    }
+                    if (filter.accepts(page.times[i], page.levels[i], page.loggers[i], loggerMask)) {
+                        return page.firstRecord + i;
+                    }
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Decodes a record.
+     */
+    public synchronized BinaryLogRecord read(long recordNumber) throws IOException {
+        Page page = loadedPage(recordNumber);
+        int entry = entry(recordNumber);
+        long offset = page.offsets[entry];
+        ByteBuffer record = region(offset, channel.size()).duplicate();
+        record.position((int) (offset % REGION_SIZE) + RECORD_INDEX_BYTES);
+        long threadId = record.getLong();
+        String levelName = getString(record);
+        String threadName = getString(record);
+        String messageId = getString(record);
+        String message = getString(record);
+        return new BinaryLogRecord(recordNumber, page.times[entry], page.levels[entry], levelName,
+                loggerNames.get(page.loggers[entry]), threadId, threadName, messageId, message);
+    }
+
+    /**
+     * Closes the file and releases the mapped regions.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        for (MappedByteBuffer region : regions) {
+            FileUtils.unmap(region);
+        }
+        regions.clear();
+        channel.close();
+    }
+
+    private int pageOf(long recordNumber) {
+        return (int) (recordNumber / pageSize);
+    }
+
+    private int entry(long recordNumber) {
+        return (int) (recordNumber % pageSize);
+    }
+
+    private Page lastPage() {
+        return pages.get(pages.size() - 1);
+    }
+
+    private Page loadedPage(long recordNumber) throws IOException {
+        if (recordNumber < 0 || recordNumber >= count) {
+            throw new IndexOutOfBoundsException("Record " + recordNumber + " of " + count);
+        }
+        return loadedPage(pages.get(pageOf(recordNumber)));
+    }
+
+    /**
+     * Reads the entries of the page back from the file unless they are loaded.
+     */
+    private Page loadedPage(Page page) throws IOException {
+        if (page == lastPage()) {
+            return page;
+        }
+        if (page.offsets == null) {
+            page.allocate(pageSize);
+            long size = channel.size();
+            long recordPosition = page.firstPosition;
+            long latest = page.previousLatestTime;
+            int loaded = 0;
+            while (loaded < page.size) {
+                recordPosition = skipRegionEnds(recordPosition, size);
+                int length = lengthAt(recordPosition, size);
+                ByteBuffer region = region(recordPosition, size);
+                int offset = (int) (recordPosition % REGION_SIZE) + 4;
+                if (region.get(offset) == TYPE_RECORD) {
+                    long time = region.getLong(offset + 1);
+                    latest = Math.max(latest, time);
+                    page.set(loaded++, recordPosition + 4, time, latest, region.getInt(offset + 9),
+                            region.getInt(offset + 13));
+                }
+                recordPosition += 4 + length;
+            }
+        }
+        loadedPages.put(page, page);
+        return page;
+    }
+
+    private long firstWithLatestTimeAtOrAfter(long timeMillis) throws IOException {
+        // the latest times never decrease, neither from page to page nor within a page
+        int low = 0;
+        int high = pages.size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (pages.get(middle).latestTime < timeMillis) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        if (low == pages.size()) {
+            return count;
+        }
+        Page page = loadedPage(pages.get(low));
+        int entry = 0;
+        while (page.latestTimes[entry] < timeMillis) {
+            entry++;
+        }
+        return page.firstRecord + entry;
+    }
+
+    /**
+     * @return the position of the next record length at or after the given position, moving past the unused ends
+     * of regions
+     */
+    private long skipRegionEnds(long recordPosition, long size) throws IOException {
+        while (true) {
+            long regionEnd = (recordPosition / REGION_SIZE + 1) * REGION_SIZE;
+            if (regionEnd - recordPosition < 4) {
+                recordPosition = regionEnd;
+            } else if (recordPosition + 4 <= size
+                    && region(recordPosition, size).getInt((int) (recordPosition % REGION_SIZE)) == REGION_END) {
+                recordPosition = regionEnd;
+            } else {
+                return recordPosition;
+            }
+        }
+    }
+
+    /**
+     * @return the payload length of the record at the given position, or {@code -1} if no complete record has been
+     * written there
+     */
+    private int lengthAt(long recordPosition, long size) throws IOException {
+        if (recordPosition + 4 > size) {
+            return -1;
+        }
+        ByteBuffer region = region(recordPosition, size);
+        int offset = (int) (recordPosition % REGION_SIZE);
+        int length = region.getInt(offset);
+        if (length <= 0 || offset + 4 + length > region.limit()) {
+            return -1;
+        }
+        return length;
+    }
+
+    /**
+     * @return the mapped region holding the given position
+     */
+    private ByteBuffer region(long filePosition, long size) throws IOException {
+        int regionIndex = (int) (filePosition / REGION_SIZE);
+        long regionStart = (long) regionIndex * REGION_SIZE;
+        long length = Math.min(REGION_SIZE, size - regionStart);
+        MappedByteBuffer region = regionIndex < regions.size() ? regions.get(regionIndex) : null;
+        if (region == null || region.capacity() < length) {
+            // no view of the previous mapping outlives a call of this reader
+            FileUtils.unmap(region);
+            region = channel.map(FileChannel.MapMode.READ_ONLY, regionStart, length);
+            while (regions.size() <= regionIndex) {
+                regions.add(null);
+            }
+            regions.set(regionIndex, region);
+        }
+        return region;
+    }
+
+    private void index(long recordPosition) throws IOException {
+        ByteBuffer region = region(recordPosition, channel.size());
+        int offset = (int) (recordPosition % REGION_SIZE) + 4;
+        byte type = region.get(offset);
+        if (type == TYPE_LOGGER) {
+            ByteBuffer entry = region.duplicate();
+            entry.position(offset + 5);
+            String name = getString(entry);
+            loggerIds.put(name, loggerNames.size());
+            loggerNames.add(name);
+        } else if (type == TYPE_RECORD) {
+            if (pages.isEmpty() || lastPage().size == pageSize) {
+                if (!pages.isEmpty()) {
+                    // the page is complete, so it is loaded on demand from now on
+                    loadedPages.put(lastPage(), lastPage());
+                }
+                Page page = new Page(count, recordPosition, latestTime);
+                page.allocate(pageSize);
+                pages.add(page);
+            }
+            long time = region.getLong(offset + 1);
+            latestTime = Math.max(latestTime, time);
+            lastPage().add(recordPosition + 4, time, latestTime, region.getInt(offset + 9), region.getInt(offset + 13));
+            count++;
+        }
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, UTF_8);
+    }
+
+    /**
+     * A run of consecutive records of the index. The summary is always kept, the entries only while the page is
+     * loaded.
+     */
+    private static final class Page {
+
+        final long firstRecord;
+        final long firstPosition;
+        final long previousLatestTime;
+
+        int size;
+        long latestTime = Long.MIN_VALUE;
+        long minTime = Long.MAX_VALUE;
+        long maxTime = Long.MIN_VALUE;
+        int minLevel = Integer.MAX_VALUE;
+        int maxLevel = Integer.MIN_VALUE;
+        final BitSet loggerIds = new BitSet();
+
+        long[] offsets;
+        long[] times;
+        long[] latestTimes;
+        int[] levels;
+        int[] loggers;
+
+        /**
+         * @param firstRecord the number of the first record
+         * @param firstPosition the position of the length of the first record in the file
+         * @param previousLatestTime the latest time seen before the first record
+         */
+        Page(long firstRecord, long firstPosition, long previousLatestTime) {
+            this.firstRecord = firstRecord;
+            this.firstPosition = firstPosition;
+            this.previousLatestTime = previousLatestTime;
+        }
+
+        void allocate(int capacity) {
+            offsets = new long[capacity];
+            times = new long[capacity];
+            latestTimes = new long[capacity];
+            levels = new int[capacity];
+            loggers = new int[capacity];
+        }
+
+        void unload() {
+            offsets = null;
+            times = null;
+            latestTimes = null;
+            levels = null;
+            loggers = null;
+        }
+
+        void add(long offset, long time, long latest, int level, int logger) {
+            set(size++, offset, time, latest, level, logger);
+            latestTime = latest;
+            minTime = Math.min(minTime, time);
+            maxTime = Math.max(maxTime, time);
+            minLevel = Math.min(minLevel, level);
+            maxLevel = Math.max(maxLevel, level);
+            loggerIds.set(logger);
+        }
+
+        void set(int entry, long offset, long time, long latest, int level, int logger) {
+            offsets[entry] = offset;
+            times[entry] = time;
+            latestTimes[entry] = latest;
+            levels[entry] = level;
+            loggers[entry] = logger;
+        }
+    }
+
+    /**
+     * Selects records by time, level and logger using only the index of a {@link BinaryLogReader}.
+     */
+    public static final class Filter {
+
+        /** A filter accepting every record */
+        public static final Filter ALL = new Filter(null, null, null, false, null);
+
+        private final long fromMillis;
+        private final long toMillis;
+        private final boolean timeRange;
+        private final int levelValue;
+        private final boolean onlyLevel;
+        private final Collection<String> loggerNames;
+
+        /**
+         * @param fromMillis lower bound of the time range, or {@code null}
+         * @param toMillis upper bound of the time range, or {@code null}; the range only applies if both bounds
+         * are given
+         * @param levelValue the minimum level, or the only level accepted if {@code onlyLevel} is set; {@code null}
+         * to accept all levels
+         * @param onlyLevel whether to only accept records of exactly the given level
+         * @param loggerNames the loggers to accept, or {@code null} or empty to accept all loggers
+         */
+        public Filter(Long fromMillis, Long toMillis, Integer levelValue, boolean onlyLevel,
+                Collection<String> loggerNames) {
+            this.timeRange = fromMillis != null && toMillis != null;
+            this.fromMillis = timeRange ? fromMillis : Long.MIN_VALUE;
+            this.toMillis = timeRange ? toMillis : Long.MAX_VALUE;
+            this.levelValue = levelValue == null ? Integer.MIN_VALUE : levelValue;
+            this.onlyLevel = onlyLevel && levelValue != null;
+            this.loggerNames = loggerNames == null || loggerNames.isEmpty() ? null : loggerNames;
+        }
+
+        boolean hasTimeRange() {
+            return timeRange;
+        }
+
+        BitSet loggerMask(Map<String, Integer> loggerIds) {
+            if (loggerNames == null) {
+                return null;
+            }
+            BitSet mask = new BitSet();
+            for (String name : loggerNames) {
+                Integer id = loggerIds.get(name);
+                if (id != null) {
+                    mask.set(id);
+                }
+            }
+            return mask;
+        }
+
+        /**
+         * @return {@code false} if none of the records of the page can be accepted
+         */
+        boolean mayAccept(Page page, BitSet loggerMask) {
+            if (page.maxTime < fromMillis || page.minTime > toMillis) {
+                return false;
+            }
+            if (onlyLevel ? levelValue < page.minLevel || levelValue > page.maxLevel : page.maxLevel < levelValue) {
+                return false;
+            }
+            return loggerMask == null || loggerMask.intersects(page.loggerIds);
+        }
+
+        boolean accepts(long time, int level, int logger, BitSet loggerMask) {
+            if (time < fromMillis || time > toMillis) {
+                return false;
+            }
+            if (onlyLevel ? level != levelValue : level < levelValue) {
+                return false;
+            }
+            return loggerMask == null || loggerMask.get(logger);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2026 Payara Foundation and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://github.com/payara/Payara/blob/main/LICENSE.txt
+ * See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at glassfish/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * The Payara Foundation designates this particular file as subject to the "Classpath"
+ * exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package fish.payara.enterprise.server.logging.binary;
+
+/**
+ * A log record decoded from a binary log.
+ */
+public final class BinaryLogRecord {
+
+    private final long recordNumber;
+    private final long timeMillis;
+    private final int levelValue;
+    private final String levelName;
+    private final String loggerName;
+    private final long threadId;
+    private final String threadName;
+    private final String messageId;
+    private final String message;
+
+    BinaryLogRecord(long recordNumber, long timeMillis, int levelValue, String levelName, String loggerName,
+            long threadId, String threadName, String messageId, String message) {
+        this.recordNumber = recordNumber;
+        this.timeMillis = timeMillis;
+        this.levelValue = levelValue;
+        this.levelName = levelName;
+        this.loggerName = loggerName;
+        this.threadId = threadId;
+        this.threadName = threadName;
+        this.messageId = messageId;
+        this.message = message;
+    }
+
+    public long getRecordNumber() {
+        return recordNumber;
+    }
+
+    public long getTimeMillis() {
+        return timeMillis;
+    }
+
+    public int getLevelValue() {
+        return levelValue;
+    }
+
+    public String getLevelName() {
+        return levelName;
+    }
+
+    public String getLoggerName() {
+        return loggerName;
+    }
+
+    public long getThreadId() {
+        return threadId;
+    }
+
+    public String getThreadName() {
+        return threadName;
+    }
+
+    public String getMessageId() {
+        return messageId;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    /**
+     * Returns the thread details in the {@code name=value;} form used for the supplemental attributes of text logs.
+     */
+    public String getNameValuePairs() {
+        StringBuilder pairs = new StringBuilder("_ThreadID=").append(threadId).append(';');
+        if (threadName != null) {
+            pairs.append("_ThreadName=").append(threadName).append(';');
+        }
+        return pairs.toString();
+    }
+
+    @Override
+    public String toString() {
+        return recordNumber + ":" + message;
+    }
+}
@@ -0,0 +1,279 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2026 Payara Foundation and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://github.com/payara/Payara/blob/main/LICENSE.txt
+ * See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at glassfish/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * The Payara Foundation designates this particular file as subject to the "Classpath"
+ * exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package fish.payara.enterprise.server.logging.binary;
+
+import com.sun.common.util.logging.GFLogRecord;
+import com.sun.enterprise.server.logging.UniformLogFormatter;
+import com.sun.enterprise.util.io.FileUtils;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.ResourceBundle;
+import java.util.logging.LogRecord;
+
+import static fish.payara.enterprise.server.logging.binary.BinaryLogFormat.HEADER_SIZE;
+import static fish.payara.enterprise.server.logging.binary.BinaryLogFormat.MAGIC;
+import static fish.payara.enterprise.server.logging.binary.BinaryLogFormat.REGION_END;
+import static fish.payara.enterprise.server.logging.binary.BinaryLogFormat.REGION_SIZE;
+import static fish.payara.enterprise.server.logging.binary.BinaryLogFormat.TYPE_LOGGER;
+import static fish.payara.enterprise.server.logging.binary.BinaryLogFormat.TYPE_RECORD;
+import static fish.payara.enterprise.server.logging.binary.BinaryLogFormat.VERSION;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Append-only writer of the binary log format described by {@link BinaryLogFormat}.
+ * <p>
+ * Records are copied into a memory mapped region of the file, so appending does not involve a system call
+ * until the writer moves on to the next region. The length of a record is stored after its payload, which lets a
+ * {@link BinaryLogReader} follow a log that is still being written without ever seeing a partial record.
+ * <p>
+ * The writer is meant to be used from the single thread draining a log handler's queue; its methods are
+ * synchronized so that rotation and shutdown can safely close it from other threads.
+ */
+public final class BinaryLogWriter implements Closeable {
+
+    /** Longest string stored, in bytes, so that any record fits into a single region */
+    static final int MAX_STRING_BYTES = REGION_SIZE / 8;
+
+    private final File file;
+    private final FileChannel channel;
+    private final Map<String, Integer> loggerIds = new HashMap<>();
+
+    private MappedByteBuffer region;
+    private long regionStart;
+    private ByteBuffer payload = ByteBuffer.allocate(1024);
+
+    /**
+     * Opens the given binary log for appending, creating it if it does not exist.
+     *
+     * @throws IOException if the file cannot be opened or is not a binary log
+     */
+    public BinaryLogWriter(File file) throws IOException {
+        this.file = file;
+        long position = HEADER_SIZE;
+        boolean created = file.length() == 0;
+        if (!created) {
+            try (BinaryLogReader reader = new BinaryLogReader(file)) {
+                position = reader.getEndPosition();
+                reader.getLoggerNames().forEach(name -> loggerIds.put(name, loggerIds.size()));
+            }
+        }
+        channel = FileChannel.open(file.toPath(), CREATE, READ, WRITE);
+        try {
+            mapRegion(position / REGION_SIZE * REGION_SIZE);
+            if (created) {
+                region.putInt(0, MAGIC);
+                region.putInt(4, VERSION);
+                region.putLong(8, System.currentTimeMillis());
+            }
+            region.position((int) (position - regionStart));
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * @return the number of bytes of the file holding data
+     */
+    public synchronized long getPosition() {
+        return regionStart + region.position();
+    }
+
+    /**
+     * Appends a log record.
+     */
+    public synchronized void write(LogRecord record) throws IOException {
+        if (!channel.isOpen()) {
+            return;
+        }
+        String loggerName = record.getLoggerName() == null ? "" : record.getLoggerName();
+        Integer loggerId = loggerIds.get(loggerName);
+        if (loggerId == null) {
+            loggerId = loggerIds.size();
+            payload.clear();
+            payload.put(TYPE_LOGGER);
+            payload.putInt(loggerId);
+            putString(loggerName);
+            append();
+            loggerIds.put(loggerName, loggerId);
+        }
+
+        String threadName = record instanceof GFLogRecord ? ((GFLogRecord) record).getThreadName() : null;
+        String message = formatMessage(record);
+        while (true) {
+            try {
+                payload.clear();
+                payload.put(TYPE_RECORD);
+                payload.putLong(record.getMillis());
+                payload.putInt(record.getLevel().intValue());
+                payload.putInt(loggerId);
+                payload.putLong(record.getThreadID());
+                putString(record.getLevel().getName());
+                putString(threadName);
+                putString(getMessageId(record));
+                putString(message);
+                break;
+            } catch (BufferOverflowException e) {
+                payload = ByteBuffer.allocate(Math.min(payload.capacity() * 2, REGION_SIZE));
+            }
+        }
+        append();
+    }
+
+    /**
+     * Writes the mapped data to the storage device.
+     */
+    public synchronized void force() {
+        if (channel.isOpen()) {
+            region.force();
+        }
+    }
+
+    /**
+     * Closes the writer, trimming the file to the data written.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (!channel.isOpen()) {
+            return;
+        }
+        long position = getPosition();
+        // the file cannot be truncated below a mapping on some platforms
+        FileUtils.unmap(region);
+        region = null;
+        try {
+            channel.truncate(position);
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void append() throws IOException {
+        payload.flip();
+        int length = payload.remaining();
+        if (region.remaining() < length + 4) {
+            if (region.remaining() >= 4) {
+                region.putInt(REGION_END);
+            }
+            mapRegion(regionStart + REGION_SIZE);
+        }
+        int start = region.position();
+        region.position(start + 4);
+        region.put(payload);
+        // publish the record by writing its length last
+        region.putInt(start, length);
+    }
+
+    private void mapRegion(long start) throws IOException {
+        if (region != null) {
+            // written pages stay in the page cache, the mapping is no longer needed
+            FileUtils.unmap(region);
+        }
+        region = channel.map(FileChannel.MapMode.READ_WRITE, start, REGION_SIZE);
+        regionStart = start;
+    }
+
+    private void putString(String value) {
+        if (value == null) {
+            payload.putInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(UTF_8);
+        int length = Math.min(bytes.length, MAX_STRING_BYTES);
+        while (length < bytes.length && (bytes[length] & 0xC0) == 0x80) {
+            // do not cut a character apart
+            length--;
+        }
+        payload.putInt(length);
+        payload.put(bytes, 0, length);
+    }
+
+    private static String formatMessage(LogRecord record) {
+        String message = record.getMessage();
+        if (message != null && !message.isEmpty()) {
+            try {
+                message = UniformLogFormatter.formatLogMessage(message, record, loggerName -> record.getResourceBundle());
+            } catch (IllegalArgumentException e) {
+                // keep the message unformatted like the text log would show its pattern
+            }
+        } else {
+            message = "";
+        }
+        Throwable thrown = record.getThrown();
+        if (thrown != null) {
+            StringWriter stackTrace = new StringWriter();
+            try (PrintWriter writer = new PrintWriter(stackTrace)) {
+                if (!message.isEmpty()) {
+                    writer.println();
+                }
+                thrown.printStackTrace(writer);
+            }
+            message += stackTrace;
+        }
+        return message;
+    }
+
+    private static String getMessageId(LogRecord record) {
+        String message = record.getMessage();
+        ResourceBundle bundle = record.getResourceBundle();
+        if (message != null && !message.isEmpty() && bundle != null && bundle.containsKey(message)
+                && !bundle.getString(message).isEmpty()) {
+            return message;
+        }
+        return null;
+    }
+}
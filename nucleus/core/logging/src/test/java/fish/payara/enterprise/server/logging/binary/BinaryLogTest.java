@@ -0,0 +1,241 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2026 Payara Foundation and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://github.com/payara/Payara/blob/main/LICENSE.txt
+ * See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at glassfish/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * The Payara Foundation designates this particular file as subject to the "Classpath"
+ * exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package fish.payara.enterprise.server.logging.binary;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class BinaryLogTest {
+
+    private static final long START = 1_700_000_000_000L;
+
+    private File file;
+
+    @Before
+    public void createFile() throws IOException {
+        file = File.createTempFile("server.log", BinaryLogFormat.FILE_SUFFIX);
+        assertTrue(file.delete());
+    }
+
+    @After
+    public void deleteFile() {
+        file.delete();
+    }
+
+    @Test
+    public void recordsAreReadBack() throws IOException {
+        try (BinaryLogWriter writer = new BinaryLogWriter(file)) {
+            writer.write(record(START, Level.INFO, "org.example.a", "Hello {0}", "world"));
+            LogRecord failure = record(START + 1, Level.SEVERE, "org.example.b", "Failed", null);
+            failure.setThrown(new IllegalStateException("broken"));
+            writer.write(failure);
+        }
+        assertTrue(BinaryLogReader.isBinaryLog(file));
+        try (BinaryLogReader reader = new BinaryLogReader(file)) {
+            assertEquals(2, reader.getRecordCount());
+            assertEquals(Arrays.asList("org.example.a", "org.example.b"), reader.getLoggerNames());
+
+            BinaryLogRecord first = reader.read(0);
+            assertEquals(START, first.getTimeMillis());
+            assertEquals("INFO", first.getLevelName());
+            assertEquals("org.example.a", first.getLoggerName());
+            assertEquals("Hello world", first.getMessage());
+            assertNull(first.getMessageId());
+
+            BinaryLogRecord second = reader.read(1);
+            assertEquals(Level.SEVERE.intValue(), second.getLevelValue());
+            assertTrue(second.getMessage().startsWith("Failed"));
+            assertTrue(second.getMessage().contains("IllegalStateException: broken"));
+        }
+    }
+
+    @Test
+    public void seekUsesTimeLevelAndLogger() throws IOException {
+        try (BinaryLogWriter writer = new BinaryLogWriter(file)) {
+            for (int i = 0; i < 1000; i++) {
+                Level level = i % 10 == 0 ? Level.WARNING : Level.FINE;
+                writer.write(record(START + i * 1000L, level, "logger." + (i % 3), "Record " + i, null));
+            }
+        }
+        try (BinaryLogReader reader = new BinaryLogReader(file)) {
+            BinaryLogReader.Filter warnings = new BinaryLogReader.Filter(null, null,
+                    Level.WARNING.intValue(), false, null);
+            assertEquals(10, reader.seek(1, true, warnings));
+            assertEquals(990, reader.seek(Long.MAX_VALUE, false, warnings));
+
+            BinaryLogReader.Filter range = new BinaryLogReader.Filter(START + 500_000L, START + 600_000L,
+                    null, false, Collections.singleton("logger.2"));
+            assertEquals(500, reader.seek(0, true, range));
+            assertEquals(599, reader.seek(1000, false, range));
+            assertEquals(-1, reader.seek(601, true, range));
+
+            BinaryLogReader.Filter unknownLogger = new BinaryLogReader.Filter(null, null, null, false,
+                    Collections.singleton("logger.unknown"));
+            assertEquals(-1, reader.seek(0, true, unknownLogger));
+        }
+    }
+
+    @Test
+    public void indexIsPagedFromTheFile() throws IOException {
+        try (BinaryLogWriter writer = new BinaryLogWriter(file)) {
+            for (int i = 0; i < 1000; i++) {
+                Level level = i % 10 == 0 ? Level.WARNING : Level.FINE;
+                writer.write(record(START + i * 1000L, level, "logger." + (i % 3), "Record " + i, null));
+            }
+        }
+        try (BinaryLogReader reader = new BinaryLogReader(file, 64, 2)) {
+            assertEquals(1000, reader.getRecordCount());
+            BinaryLogReader.Filter range = new BinaryLogReader.Filter(START + 500_000L, START + 600_000L,
+                    Level.WARNING.intValue(), false, Collections.singleton("logger.2"));
+            assertEquals(500, reader.seek(0, true, range));
+            assertEquals(590, reader.seek(1000, false, range));
+            assertEquals(-1, reader.seek(591, true, range));
+
+            for (int i = 0; i < 1000; i += 7) {
+                assertEquals("Record " + i, reader.read(i).getMessage());
+                assertEquals(START + i * 1000L, reader.getTimeMillis(i));
+                assertEquals("logger." + (i % 3), reader.getLoggerName(i));
+            }
+            // two loaded pages and the last page, which is still being filled
+            assertEquals(3, reader.getLoadedPageCount());
+        }
+    }
+
+    @Test
+    public void longStringsAreCutBetweenCharacters() throws IOException {
+        char[] text = new char[BinaryLogWriter.MAX_STRING_BYTES / 3 + 1];
+        Arrays.fill(text, '\u20ac');
+        try (BinaryLogWriter writer = new BinaryLogWriter(file)) {
+            writer.write(record(START, Level.INFO, "euro", new String(text), null));
+        }
+        try (BinaryLogReader reader = new BinaryLogReader(file)) {
+            String message = reader.read(0).getMessage();
+            assertEquals(BinaryLogWriter.MAX_STRING_BYTES / 3, message.length());
+            assertTrue(message.chars().allMatch(c -> c == '\u20ac'));
+            assertTrue(message.getBytes(StandardCharsets.UTF_8).length <= BinaryLogWriter.MAX_STRING_BYTES);
+        }
+    }
+
+    @Test
+    public void closedLogsCanBeDeleted() throws IOException {
+        try (BinaryLogWriter writer = new BinaryLogWriter(file);
+             BinaryLogReader reader = new BinaryLogReader(file)) {
+            writer.write(record(START, Level.INFO, "first", "one", null));
+            reader.refresh();
+            assertEquals("one", reader.read(0).getMessage());
+        }
+        // no mapping of the file outlives the writer or the reader
+        assertTrue(file.delete());
+        assertFalse(file.exists());
+    }
+
+    @Test
+    public void recordsDoNotSpanRegions() throws IOException {
+        char[] text = new char[BinaryLogWriter.MAX_STRING_BYTES - 16];
+        Arrays.fill(text, 'x');
+        String message = new String(text);
+        int records = 3 * BinaryLogFormat.REGION_SIZE / message.length();
+        try (BinaryLogWriter writer = new BinaryLogWriter(file)) {
+            for (int i = 0; i < records; i++) {
+                writer.write(record(START + i, Level.INFO, "big", message, null));
+            }
+        }
+        try (BinaryLogReader reader = new BinaryLogReader(file)) {
+            assertEquals(records, reader.getRecordCount());
+            for (int i = 0; i < records; i++) {
+                assertEquals(message, reader.read(i).getMessage());
+            }
+        }
+    }
+
+    @Test
+    public void writerAppendsToExistingLog() throws IOException {
+        try (BinaryLogWriter writer = new BinaryLogWriter(file)) {
+            writer.write(record(START, Level.INFO, "first", "one", null));
+        }
+        try (BinaryLogWriter writer = new BinaryLogWriter(file);
+             BinaryLogReader reader = new BinaryLogReader(file)) {
+            assertEquals(1, reader.getRecordCount());
+            writer.write(record(START + 1, Level.INFO, "first", "two", null));
+            writer.write(record(START + 2, Level.INFO, "second", "three", null));
+
+            // records become visible to a reader while the log is being written
+            reader.refresh();
+            assertEquals(3, reader.getRecordCount());
+            assertEquals("first", reader.read(1).getLoggerName());
+            assertEquals("second", reader.read(2).getLoggerName());
+        }
+    }
+
+    @Test
+    public void textFilesAreNotBinaryLogs() throws IOException {
+        assertFalse(BinaryLogReader.isBinaryLog(file));
+        File text = File.createTempFile("server", ".log");
+        try {
+            java.nio.file.Files.write(text.toPath(), "[2026-01-01T00:00:00.000+0000] [INFO] text".getBytes());
+            assertFalse(BinaryLogReader.isBinaryLog(text));
+        } finally {
+            text.delete();
+        }
+    }
+
+    private static LogRecord record(long time, Level level, String logger, String message, Object parameter) {
+        LogRecord record = new LogRecord(level, message);
+        record.setMillis(time);
+        record.setLoggerName(logger);
+        if (parameter != null) {
+            record.setParameters(new Object[] {parameter});
+        }
+        return record;
+    }
+}
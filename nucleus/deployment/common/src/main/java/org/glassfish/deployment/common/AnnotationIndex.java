@@ -0,0 +1,298 @@
+/*
+ *
+ *  DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ *  Copyright (c) 2026 Payara Foundation and/or its affiliates. All rights reserved.
+ *
+ *  The contents of this file are subject to the terms of either the GNU
+ *  General Public License Version 2 only ("GPL") or the Common Development
+ *  and Distribution License("CDDL") (collectively, the "License").  You
+ *  may not use this file except in compliance with the License.  You can
+ *  obtain a copy of the License at
+ *  https://github.com/payara/Payara/blob/main/LICENSE.txt
+ *  See the License for the specific
+ *  language governing permissions and limitations under the License.
+ *
+ *  When distributing the software, include this License Header Notice in each
+ *  file and include the License file at glassfish/legal/LICENSE.txt.
+ *
+ *  GPL Classpath Exception:
+ *  The Payara Foundation designates this particular file as subject to the "Classpath"
+ *  exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ *  file that accompanied this code.
+ *
+ *  Modifications:
+ *  If applicable, add the following below the License Header, with the fields
+ *  enclosed by brackets [] replaced by your own identifying information:
+ *  "Portions Copyright [year] [name of copyright owner]"
+ *
+ *  Contributor(s):
+ *  If you wish your version of this file to be governed by only the CDDL or
+ *  only the GPL Version 2, indicate your decision by adding "[Contributor]
+ *  elects to include this software in this distribution under the [CDDL or GPL
+ *  Version 2] license."  If you don't indicate a single choice of license, a
+ *  recipient has the option to distribute your version of this file under
+ *  either the CDDL, the GPL Version 2 or to extend the choice of license to
+ *  its licensees as provided above.  However, if you add GPL Version 2 code
+ *  and therefore, elected the GPL Version 2 license, then the option applies
+ *  only if the new code is made subject to such option by the copyright
+ *  holder.
+ *
+ */
+package org.glassfish.deployment.common;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import org.objectweb.asm.AnnotationVisitor;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.Opcodes;
+
+import static com.sun.enterprise.util.SystemPropertyConstants.INSTANCE_ROOT_PROPERTY;
+
+/**
+ * Index of the class level annotations used in jar files, so that annotation
+ * detection does not parse the classes of a jar again on every deployment.
+ * <p>
+ * Entries are keyed by a hash of the names, sizes and CRCs of the jar entries,
+ * which only requires reading the central directory of the jar. They are kept
+ * in memory and in the {@code generated/annotation-index} directory of the
+ * instance, so a redeployment, also after a restart, only scans the jars that
+ * changed. Setting {@code fish.payara.deployment.annotation.index} to
+ * {@code false} disables the index.
+ * <p>
+ * Both the memory and the directory hold at most
+ * {@code fish.payara.deployment.annotation.index.maxEntries} entries, 512 by
+ * default. The least recently used entries are dropped first, so entries of
+ * jars which are no longer deployed do not accumulate.
+ *
+ * @author Payara Foundation
+ */
+public class AnnotationIndex {
+
+    public static final String INDEX_ENABLED_PROPERTY = "fish.payara.deployment.annotation.index";
+
+    public static final String MAX_ENTRIES_PROPERTY = "fish.payara.deployment.annotation.index.maxEntries";
+
+    private static final int DEFAULT_MAX_ENTRIES = 512;
+
+    private static final Logger deplLogger = DeploymentContextImpl.deplLogger;
+
+    private static final String INDEX_FILE_SUFFIX = ".idx";
+
+    private static volatile AnnotationIndex instance;
+
+    private final File indexDir;
+
+    private final int maxEntries;
+
+    private final Map<String, Set<String>> annotationsByHash;
+
+    /**
+     * @param indexDir directory the index is kept in, or {@code null} to
+     * keep it in memory only
+     */
+    public AnnotationIndex(File indexDir) {
+        this(indexDir, Integer.getInteger(MAX_ENTRIES_PROPERTY, DEFAULT_MAX_ENTRIES));
+    }
+
+    /**
+     * @param indexDir directory the index is kept in, or {@code null} to
+     * keep it in memory only
+     * @param maxEntries number of jars kept in memory and in the directory
+     */
+    public AnnotationIndex(File indexDir, int maxEntries) {
+        this.indexDir = indexDir;
+        this.maxEntries = Math.max(1, maxEntries);
+        this.annotationsByHash = Collections.synchronizedMap(
+                new LinkedHashMap<String, Set<String>>(16, 0.75f, true) {
+                    @Override
+                    protected boolean removeEldestEntry(Map.Entry<String, Set<String>> eldest) {
+                        return size() > AnnotationIndex.this.maxEntries;
+                    }
+                });
+    }
+
+    /**
+     * Returns the index of this instance, or {@code null} if it is disabled.
+     */
+    public static AnnotationIndex getInstance() {
+        if (!Boolean.parseBoolean(System.getProperty(INDEX_ENABLED_PROPERTY, "true"))) {
+            return null;
+        }
+        if (instance == null) {
+            synchronized (AnnotationIndex.class) {
+                if (instance == null) {
+                    String instanceRoot = System.getProperty(INSTANCE_ROOT_PROPERTY);
+                    instance = new AnnotationIndex(instanceRoot == null ? null
+                            : new File(instanceRoot, "generated" + File.separator + "annotation-index"));
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Returns the descriptors of the annotations on the classes of the jar,
+     * scanning it only if it is not indexed yet.
+     *
+     * @param jar the jar file
+     * @return the annotation descriptors, or {@code null} if the file cannot
+     * be read as a jar
+     */
+    public Set<String> getAnnotations(File jar) {
+        try (ZipFile zip = new ZipFile(jar)) {
+            String hash = hash(zip);
+            Set<String> annotations = annotationsByHash.get(hash);
+            if (annotations == null) {
+                annotations = read(hash);
+                if (annotations == null) {
+                    annotations = scan(zip);
+                    write(hash, annotations);
+                }
+                annotationsByHash.put(hash, annotations);
+            }
+            return annotations;
+        } catch (IOException e) {
+            deplLogger.log(Level.FINE, "Cannot index annotations of " + jar, e);
+            return null;
+        }
+    }
+
+    private static String hash(ZipFile zip) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException(e);
+        }
+        byte[] numbers = new byte[16];
+        Enumeration<? extends ZipEntry> entries = zip.entries();
+        while (entries.hasMoreElements()) {
+            ZipEntry entry = entries.nextElement();
+            digest.update(entry.getName().getBytes(StandardCharsets.UTF_8));
+            long crc = entry.getCrc();
+            long size = entry.getSize();
+            for (int i = 0; i < 8; i++) {
+                numbers[i] = (byte) (crc >>> (i * 8));
+                numbers[i + 8] = (byte) (size >>> (i * 8));
+            }
+            digest.update(numbers);
+        }
+        StringBuilder hash = new StringBuilder();
+        for (byte b : digest.digest()) {
+            hash.append(String.format("%02x", b));
+        }
+        return hash.toString();
+    }
+
+    private static Set<String> scan(ZipFile zip) throws IOException {
+        Set<String> annotations = new HashSet<>();
+        ClassVisitor collector = new ClassVisitor(Opcodes.ASM9) {
+            @Override
+            public AnnotationVisitor visitAnnotation(String descriptor, boolean visible) {
+                annotations.add(descriptor);
+                return null;
+            }
+        };
+        int crFlags = ClassReader.SKIP_CODE | ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES;
+        Enumeration<? extends ZipEntry> entries = zip.entries();
+        while (entries.hasMoreElements()) {
+            ZipEntry entry = entries.nextElement();
+            if (entry.getName().endsWith(".class")) {
+                try (InputStream is = zip.getInputStream(entry)) {
+                    new ClassReader(is).accept(collector, crFlags);
+                } catch (Exception e) {
+                    deplLogger.log(Level.FINE, "Exception while scanning " + entry.getName(), e);
+                }
+            }
+        }
+        return Collections.unmodifiableSet(annotations);
+    }
+
+    private Set<String> read(String hash) {
+        if (indexDir == null) {
+            return null;
+        }
+        File file = new File(indexDir, hash + INDEX_FILE_SUFFIX);
+        if (!file.isFile()) {
+            return null;
+        }
+        try {
+            Set<String> annotations = Collections.unmodifiableSet(
+                    new HashSet<>(Files.readAllLines(file.toPath(), StandardCharsets.UTF_8)));
+            // marks the entry as recently used, so pruning keeps it
+            file.setLastModified(System.currentTimeMillis());
+            return annotations;
+        } catch (IOException e) {
+            deplLogger.log(Level.FINE, "Cannot read annotation index " + file, e);
+            return null;
+        }
+    }
+
+    private void write(String hash, Set<String> annotations) {
+        if (indexDir == null) {
+            return;
+        }
+        File temp = null;
+        try {
+            Files.createDirectories(indexDir.toPath());
+            // written to a temporary file first, so concurrent readers never see a partial index
+            temp = File.createTempFile(hash, ".tmp", indexDir);
+            Files.write(temp.toPath(), annotations, StandardCharsets.UTF_8);
+            Files.move(temp.toPath(), new File(indexDir, hash + INDEX_FILE_SUFFIX).toPath(),
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            temp = null;
+        } catch (IOException e) {
+            deplLogger.log(Level.FINE, "Cannot write annotation index for " + hash, e);
+        } finally {
+            if (temp != null && !temp.delete()) {
+                deplLogger.log(Level.FINE, "Cannot delete temporary annotation index {0}", temp);
+            }
+        }
+        prune();
+    }
+
+    /**
+     * Deletes the least recently used index files beyond the maximum number
+     * of entries.
+     */
+    private void prune() {
+        File[] files = indexDir.listFiles((dir, name) -> name.endsWith(INDEX_FILE_SUFFIX));
+        if (files == null || files.length <= maxEntries) {
+            return;
+        }
+        Arrays.sort(files, Comparator.comparingLong(File::lastModified));
+        for (int i = 0; i < files.length - maxEntries; i++) {
+            if (!files[i].delete()) {
+                deplLogger.log(Level.FINE, "Cannot delete annotation index {0}", files[i]);
+            }
+        }
+    }
+
+    /**
+     * @return the number of jars whose annotations are kept in memory
+     */
+    int getCachedCount() {
+        return annotationsByHash.size();
+    }
+}
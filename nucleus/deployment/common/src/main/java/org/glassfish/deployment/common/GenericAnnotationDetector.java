@@ -37,7 +37,7 @@
  * only if the new code is made subject to such option by the copyright
  * holder.
  */
-//Portions Copyright [2016-2019] [Payara Foundation and/or affiliates]
+//Portions Copyright [2016-2026] [Payara Foundation and/or affiliates]
 package org.glassfish.deployment.common;
 
 
@@ -49,6 +49,7 @@ import java.io.InputStream;
 import java.io.File;
 import java.io.IOException;
 import java.util.Enumeration;
+import java.util.Set;
 import java.util.logging.Logger;
 import java.util.logging.LogRecord;
 import java.util.logging.Level;
@@ -130,8 +131,38 @@ public class GenericAnnotationDetector extends AnnotationScanner {
         return null;
     }
 
+    /**
+     * Looks the annotations of the classes of a jar file up in the
+     * {@link AnnotationIndex}.
+     *
+     * @return true if the jar was found in or added to the index
+     */
+    private boolean scanIndexed(AnnotationIndex index, File jar) {
+        if (index == null || !jar.isFile()) {
+            return false;
+        }
+        Set<String> jarAnnotations = index.getAnnotations(jar);
+        if (jarAnnotations == null) {
+            return false;
+        }
+        for (String annotation : annotations) {
+            if (jarAnnotations.contains(annotation)) {
+                found = true;
+            }
+        }
+        return true;
+    }
+
     @Override
     public void scanArchive(ReadableArchive archive) {
+        AnnotationIndex index = AnnotationIndex.getInstance();
+        URI archiveURI = archive.getURI();
+        File archiveFile = archiveURI != null && "file".equals(archiveURI.getScheme()) ? new File(archiveURI) : null;
+        // the index only covers the classes of the jar itself, not those of jars inside it
+        boolean classesIndexed = archiveFile != null && scanIndexed(index, archiveFile);
+        if (found) {
+            return;
+        }
         try {
             int crFlags = ClassReader.SKIP_CODE | ClassReader.SKIP_DEBUG
                 | ClassReader.SKIP_FRAMES;
@@ -139,6 +170,9 @@ public class GenericAnnotationDetector extends AnnotationScanner {
             while (entries.hasMoreElements()) {
                 String entryName = entries.nextElement();
                 if (entryName.endsWith(".class")) {
+                    if (classesIndexed) {
+                        continue;
+                    }
                     // scan class files
                     InputStream is = archive.getEntry(entryName);
                     try {
@@ -152,6 +186,12 @@ public class GenericAnnotationDetector extends AnnotationScanner {
                     }
                 } else if ((entryName.endsWith(".jar") || entryName.endsWith(".rar") || entryName.endsWith(".war") || entryName.endsWith(".ear")) && !entryName.contains("/")) {
                     // scan class files inside top level jar
+                    if (archiveFile != null && scanIndexed(index, new File(archiveFile, entryName))) {
+                        if (found) {
+                            return;
+                        }
+                        continue;
+                    }
                     try {
                         ReadableArchive jarSubArchive = null;
                         try {
@@ -0,0 +1,180 @@
+/*
+ *
+ *  DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ *  Copyright (c) 2026 Payara Foundation and/or its affiliates. All rights reserved.
+ *
+ *  The contents of this file are subject to the terms of either the GNU
+ *  General Public License Version 2 only ("GPL") or the Common Development
+ *  and Distribution License("CDDL") (collectively, the "License").  You
+ *  may not use this file except in compliance with the License.  You can
+ *  obtain a copy of the License at
+ *  https://github.com/payara/Payara/blob/main/LICENSE.txt
+ *  See the License for the specific
+ *  language governing permissions and limitations under the License.
+ *
+ *  When distributing the software, include this License Header Notice in each
+ *  file and include the License file at glassfish/legal/LICENSE.txt.
+ *
+ *  GPL Classpath Exception:
+ *  The Payara Foundation designates this particular file as subject to the "Classpath"
+ *  exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ *  file that accompanied this code.
+ *
+ *  Modifications:
+ *  If applicable, add the following below the License Header, with the fields
+ *  enclosed by brackets [] replaced by your own identifying information:
+ *  "Portions Copyright [year] [name of copyright owner]"
+ *
+ *  Contributor(s):
+ *  If you wish your version of this file to be governed by only the CDDL or
+ *  only the GPL Version 2, indicate your decision by adding "[Contributor]
+ *  elects to include this software in this distribution under the [CDDL or GPL
+ *  Version 2] license."  If you don't indicate a single choice of license, a
+ *  recipient has the option to distribute your version of this file under
+ *  either the CDDL, the GPL Version 2 or to extend the choice of license to
+ *  its licensees as provided above.  However, if you add GPL Version 2 code
+ *  and therefore, elected the GPL Version 2 license, then the option applies
+ *  only if the new code is made subject to such option by the copyright
+ *  holder.
+ *
+ */
+package org.glassfish.deployment.common;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.Set;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests that the annotation index is reused for unchanged jars only.
+ */
+public class AnnotationIndexTest {
+
+    private static final String DEPRECATED = "Ljava/lang/Deprecated;";
+
+    private File dir;
+
+    @Before
+    public void createDir() throws IOException {
+        dir = Files.createTempDirectory("annotation-index").toFile();
+    }
+
+    @After
+    public void deleteDir() {
+        for (File file : dir.listFiles()) {
+            for (File child : file.isDirectory() ? file.listFiles() : new File[0]) {
+                child.delete();
+            }
+            file.delete();
+        }
+        dir.delete();
+    }
+
+    @Test
+    public void annotationsAreIndexed() throws IOException {
+        File jar = createJar("a.jar", AnnotatedClass.class);
+        File indexDir = new File(dir, "index");
+        Set<String> annotations = new AnnotationIndex(indexDir).getAnnotations(jar);
+        assertTrue(annotations.contains(DEPRECATED));
+        assertEquals(1, indexDir.list().length);
+
+        // another index reads the same directory after a restart
+        assertEquals(annotations, new AnnotationIndex(indexDir).getAnnotations(jar));
+        assertEquals(1, indexDir.list().length);
+    }
+
+    @Test
+    public void changedJarIsScannedAgain() throws IOException {
+        File indexDir = new File(dir, "index");
+        AnnotationIndex index = new AnnotationIndex(indexDir);
+        assertTrue(index.getAnnotations(createJar("b.jar", AnnotatedClass.class)).contains(DEPRECATED));
+        assertFalse(index.getAnnotations(createJar("b.jar", PlainClass.class)).contains(DEPRECATED));
+        assertEquals(2, indexDir.list().length);
+    }
+
+    @Test
+    public void leastRecentlyUsedEntriesAreDropped() throws IOException {
+        File indexDir = new File(dir, "index");
+        AnnotationIndex index = new AnnotationIndex(indexDir, 2);
+        File first = createJar("c.jar", AnnotatedClass.class);
+        File second = createJar("d.jar", PlainClass.class);
+        index.getAnnotations(first);
+        index.getAnnotations(second);
+        assertEquals(2, indexDir.list().length);
+        new File(indexDir, indexDir.list()[0]).setLastModified(System.currentTimeMillis() - 60_000);
+        new File(indexDir, indexDir.list()[1]).setLastModified(System.currentTimeMillis() - 60_000);
+
+        // the index of the first jar is used again, so the second one is dropped for the third jar
+        assertTrue(new AnnotationIndex(indexDir, 2).getAnnotations(first).contains(DEPRECATED));
+        index.getAnnotations(createJar("e.jar", AnnotatedInterface.class));
+        assertEquals(2, index.getCachedCount());
+        assertEquals(2, indexDir.list().length);
+        for (File file : indexDir.listFiles()) {
+            assertTrue(file.lastModified() > System.currentTimeMillis() - 30_000);
+        }
+
+        // the second jar is scanned again and the directory stays bounded
+        AnnotationIndex restarted = new AnnotationIndex(indexDir, 2);
+        restarted.getAnnotations(first);
+        assertFalse(restarted.getAnnotations(second).contains(DEPRECATED));
+        assertEquals(2, indexDir.list().length);
+        assertEquals(2, restarted.getCachedCount());
+    }
+
+    @Test
+    public void failedWriteLeavesNoTemporaryFile() throws IOException {
+        File jar = createJar("f.jar", AnnotatedClass.class);
+        File indexDir = new File(dir, "index");
+        new AnnotationIndex(indexDir).getAnnotations(jar);
+        String indexName = indexDir.list()[0];
+
+        // a non empty directory in place of the index file makes the final move fail
+        File otherIndexDir = new File(dir, "other");
+        File blocking = new File(otherIndexDir, indexName);
+        assertTrue(blocking.mkdirs());
+        assertTrue(new File(blocking, "content").createNewFile());
+        assertTrue(new AnnotationIndex(otherIndexDir).getAnnotations(jar).contains(DEPRECATED));
+        assertEquals(1, otherIndexDir.list().length);
+        assertEquals(indexName, otherIndexDir.list()[0]);
+        new File(blocking, "content").delete();
+    }
+
+    private File createJar(String name, Class<?> clazz) throws IOException {
+        File jar = new File(dir, name);
+        String entryName = clazz.getName().replace('.', '/') + ".class";
+        try (JarOutputStream out = new JarOutputStream(new FileOutputStream(jar));
+                InputStream in = clazz.getClassLoader().getResourceAsStream(entryName)) {
+            out.putNextEntry(new JarEntry(entryName));
+            byte[] buffer = new byte[4096];
+            for (int read = in.read(buffer); read > 0; read = in.read(buffer)) {
+                out.write(buffer, 0, read);
+            }
+            out.closeEntry();
+        }
+        return jar;
+    }
+
+    @Deprecated
+    public static class AnnotatedClass {
+    }
+
+    public static class PlainClass {
+    }
+
+    @FunctionalInterface
+    public interface AnnotatedInterface {
+        void run();
+    }
+}
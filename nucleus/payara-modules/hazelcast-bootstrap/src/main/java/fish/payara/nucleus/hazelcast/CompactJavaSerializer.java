@@ -0,0 +1,331 @@
+/*
+ *
+ *  DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ *  Copyright (c) 2026 Payara Foundation and/or its affiliates. All rights reserved.
+ *
+ *  The contents of this file are subject to the terms of either the GNU
+ *  General Public License Version 2 only ("GPL") or the Common Development
+ *  and Distribution License("CDDL") (collectively, the "License").  You
+ *  may not use this file except in compliance with the License.  You can
+ *  obtain a copy of the License at
+ *  https://github.com/payara/Payara/blob/main/LICENSE.txt
+ *  See the License for the specific
+ *  language governing permissions and limitations under the License.
+ *
+ *  When distributing the software, include this License Header Notice in each
+ *  file and include the License file at glassfish/legal/LICENSE.txt.
+ *
+ *  GPL Classpath Exception:
+ *  The Payara Foundation designates this particular file as subject to the "Classpath"
+ *  exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ *  file that accompanied this code.
+ *
+ *  Modifications:
+ *  If applicable, add the following below the License Header, with the fields
+ *  enclosed by brackets [] replaced by your own identifying information:
+ *  "Portions Copyright [year] [name of copyright owner]"
+ *
+ *  Contributor(s):
+ *  If you wish your version of this file to be governed by only the CDDL or
+ *  only the GPL Version 2, indicate your decision by adding "[Contributor]
+ *  elects to include this software in this distribution under the [CDDL or GPL
+ *  Version 2] license."  If you don't indicate a single choice of license, a
+ *  recipient has the option to distribute your version of this file under
+ *  either the CDDL, the GPL Version 2 or to extend the choice of license to
+ *  its licensees as provided above.  However, if you add GPL Version 2 code
+ *  and therefore, elected the GPL Version 2 license, then the option applies
+ *  only if the new code is made subject to such option by the copyright
+ *  holder.
+ *
+ */
+package fish.payara.nucleus.hazelcast;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.HazelcastSerializationException;
+import com.hazelcast.nio.serialization.StreamSerializer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidClassException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.ObjectStreamField;
+import java.io.OutputStream;
+import java.io.StreamCorruptedException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Java serialization with a compact encoding of the class descriptors, for the
+ * values of the Payara stores in Hazelcast. Classes registered in the same
+ * order on all members are written as a two byte id, their
+ * {@code serialVersionUID} and a fingerprint of their serializable fields
+ * rather than as a full class descriptor, and the stream header is replaced by
+ * a fingerprint of the registered classes.
+ * <p>
+ * Enabled with {@code -Dfish.payara.hazelcast.serializer=compact}. Classes in
+ * addition to the default ones are registered with a comma separated list in
+ * {@code fish.payara.hazelcast.serializer.classes}. Both properties have to be
+ * the same on all members: data written by a member with other settings is
+ * rejected with a {@link StreamCorruptedException}.
+ * <p>
+ * As the reader uses its local class descriptor, a registered class must have
+ * the same serializable fields on all members. A changed
+ * {@code serialVersionUID} or field layout is rejected with an
+ * {@link InvalidClassException} instead of being misread. Classes which may
+ * differ between members, for instance during a rolling upgrade, must not be
+ * registered: unregistered classes are written with their full descriptor and
+ * evolve as defined by Java serialization.
+ *
+ * @author Payara Foundation
+ */
+public class CompactJavaSerializer implements StreamSerializer<Object> {
+
+    public static final String SERIALIZER_PROPERTY = "fish.payara.hazelcast.serializer";
+
+    public static final String COMPACT_SERIALIZER = "compact";
+
+    public static final String CLASSES_PROPERTY = "fish.payara.hazelcast.serializer.classes";
+
+    private static final int UNREGISTERED = 0;
+
+    // the position in the list is the id, so classes must only ever be appended
+    private static final List<String> DEFAULT_CLASSES = Arrays.asList(
+            "java.lang.Number",
+            "java.lang.Integer",
+            "java.lang.Long",
+            "java.lang.Short",
+            "java.lang.Byte",
+            "java.lang.Double",
+            "java.lang.Float",
+            "java.lang.Boolean",
+            "java.lang.Character",
+            "java.lang.Enum",
+            "java.math.BigInteger",
+            "java.math.BigDecimal",
+            "java.util.ArrayList",
+            "java.util.LinkedList",
+            "java.util.HashMap",
+            "java.util.LinkedHashMap",
+            "java.util.TreeMap",
+            "java.util.HashSet",
+            "java.util.LinkedHashSet",
+            "java.util.TreeSet",
+            "java.util.concurrent.ConcurrentHashMap",
+            "java.util.concurrent.ConcurrentHashMap$Segment",
+            "java.util.concurrent.locks.ReentrantLock",
+            "java.util.concurrent.locks.ReentrantLock$Sync",
+            "java.util.concurrent.locks.ReentrantLock$NonfairSync",
+            "java.util.concurrent.locks.AbstractQueuedSynchronizer",
+            "java.util.concurrent.locks.AbstractOwnableSynchronizer",
+            "java.util.Date",
+            "java.util.UUID",
+            "java.util.Locale",
+            "java.time.Ser",
+            "[B",
+            "[C",
+            "[I",
+            "[J",
+            "[Ljava.lang.Object;",
+            "[Ljava.lang.String;",
+            "org.glassfish.ha.store.util.SimpleMetadata",
+            "org.glassfish.web.ha.session.management.CompositeMetadata",
+            "org.glassfish.web.ha.session.management.SessionAttributeMetadata",
+            "org.glassfish.web.ha.session.management.SessionAttributeMetadata$Operation",
+            "fish.payara.ha.hazelcast.store.StoreableDeltaProcessor");
+
+    // fingerprint of the serializable fields of each class, as the reader relies on its local class descriptor
+    private static final ClassValue<Integer> FIELD_LAYOUTS = new ClassValue<Integer>() {
+        @Override
+        protected Integer computeValue(Class<?> type) {
+            return fieldLayoutOf(ObjectStreamClass.lookupAny(type));
+        }
+    };
+
+    private final String[] classNames;
+
+    private final Map<String, Integer> classIds = new HashMap<>();
+
+    // identifies the registered classes and their order, as the ids depend on it
+    private final int fingerprint;
+
+    public CompactJavaSerializer() {
+        this(parseClasses(System.getProperty(CLASSES_PROPERTY)));
+    }
+
+    /**
+     * @param classes the classes registered in addition to the default ones
+     */
+    public CompactJavaSerializer(List<String> classes) {
+        List<String> names = new ArrayList<>(DEFAULT_CLASSES);
+        names.addAll(classes);
+        classNames = names.toArray(new String[0]);
+        for (int i = 0; i < classNames.length; i++) {
+            // id 0 marks an unregistered class
+            classIds.putIfAbsent(classNames[i], i + 1);
+        }
+        CRC32 crc = new CRC32();
+        crc.update(String.join(",", classNames).getBytes(UTF_8));
+        fingerprint = (int) crc.getValue();
+    }
+
+    private static List<String> parseClasses(String classes) {
+        List<String> result = new ArrayList<>();
+        if (classes != null) {
+            for (String name : classes.split(",")) {
+                if (!name.trim().isEmpty()) {
+                    result.add(name.trim());
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return a fingerprint of the names and types of the serializable fields
+     * of the class, in the order they are written
+     */
+    static int fieldLayoutOf(ObjectStreamClass desc) {
+        CRC32 crc = new CRC32();
+        for (ObjectStreamField field : desc.getFields()) {
+            crc.update(field.getName().getBytes(UTF_8));
+            String type = field.getTypeString();
+            crc.update((type == null ? String.valueOf(field.getTypeCode()) : type).getBytes(UTF_8));
+        }
+        return (int) crc.getValue();
+    }
+
+    @Override
+    public void write(ObjectDataOutput out, Object object) throws IOException {
+        write((OutputStream) out, object);
+    }
+
+    @Override
+    public Object read(ObjectDataInput in) throws IOException {
+        try {
+            return read((InputStream) in);
+        } catch (ClassNotFoundException ex) {
+            throw new HazelcastSerializationException(ex);
+        }
+    }
+
+    /**
+     * Writes the object graph to the stream, without closing it.
+     */
+    public void write(OutputStream out, Object object) throws IOException {
+        ObjectOutputStream oos = new CompactObjectOutputStream(out);
+        oos.writeObject(object);
+        oos.flush();
+    }
+
+    /**
+     * Reads an object graph written by {@link #write(OutputStream, Object)}.
+     */
+    public Object read(InputStream in) throws IOException, ClassNotFoundException {
+        return new CompactObjectInputStream(in).readObject();
+    }
+
+    @Override
+    public int getTypeId() {
+        return 1;
+    }
+
+    private static Class<?> loadClass(String name) throws ClassNotFoundException {
+        ClassLoader loader = Thread.currentThread().getContextClassLoader();
+        if (loader != null) {
+            try {
+                return Class.forName(name, false, loader);
+            } catch (ClassNotFoundException ex) {
+                // try the loader of this class
+            }
+        }
+        return Class.forName(name, false, CompactJavaSerializer.class.getClassLoader());
+    }
+
+    private class CompactObjectOutputStream extends ObjectOutputStream {
+
+        CompactObjectOutputStream(OutputStream out) throws IOException {
+            super(out);
+        }
+
+        @Override
+        protected void writeStreamHeader() throws IOException {
+            writeInt(fingerprint);
+        }
+
+        @Override
+        protected void writeClassDescriptor(ObjectStreamClass desc) throws IOException {
+            Integer id = classIds.get(desc.getName());
+            if (id == null) {
+                writeShort(UNREGISTERED);
+                super.writeClassDescriptor(desc);
+            } else {
+                writeShort(id);
+                writeLong(desc.getSerialVersionUID());
+                writeInt(desc.forClass() == null ? fieldLayoutOf(desc) : FIELD_LAYOUTS.get(desc.forClass()));
+            }
+        }
+    }
+
+    private class CompactObjectInputStream extends ObjectInputStream {
+
+        CompactObjectInputStream(InputStream in) throws IOException {
+            super(in);
+        }
+
+        @Override
+        protected void readStreamHeader() throws IOException {
+            int written = readInt();
+            if (written != fingerprint) {
+                throw new StreamCorruptedException("Data written with other serializer settings, "
+                        + SERIALIZER_PROPERTY + " and " + CLASSES_PROPERTY + " have to be the same on all members");
+            }
+        }
+
+        @Override
+        protected ObjectStreamClass readClassDescriptor() throws IOException, ClassNotFoundException {
+            int id = readUnsignedShort();
+            if (id == UNREGISTERED) {
+                return super.readClassDescriptor();
+            }
+            if (id > classNames.length) {
+                throw new StreamCorruptedException("Unknown class id " + id);
+            }
+            long serialVersionUID = readLong();
+            int fieldLayout = readInt();
+            // unlike a descriptor read from the stream, the local one is not checked by ObjectInputStream
+            Class<?> type = loadClass(classNames[id - 1]);
+            ObjectStreamClass desc = ObjectStreamClass.lookupAny(type);
+            if (desc.getSerialVersionUID() != serialVersionUID) {
+                throw new InvalidClassException(desc.getName(), "local class incompatible: stream classdesc "
+                        + "serialVersionUID = " + serialVersionUID
+                        + ", local class serialVersionUID = " + desc.getSerialVersionUID());
+            }
+            // the fields are read with the local layout, so a class changed with a pinned serialVersionUID would be misread
+            if (FIELD_LAYOUTS.get(type) != fieldLayout) {
+                throw new InvalidClassException(desc.getName(), "local class incompatible: serializable fields "
+                        + "differ from the writing member, the class must not be registered in " + CLASSES_PROPERTY
+                        + " while its versions differ");
+            }
+            return desc;
+        }
+
+        @Override
+        protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+            try {
+                return loadClass(desc.getName());
+            } catch (ClassNotFoundException ex) {
+                // primitive types
+                return super.resolveClass(desc);
+            }
+        }
+    }
+}
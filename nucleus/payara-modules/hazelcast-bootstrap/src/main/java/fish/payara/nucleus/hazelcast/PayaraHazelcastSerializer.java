@@ -1,7 +1,7 @@
 /*
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  *
- * Copyright (c) [2016-2020] Payara Foundation and/or its affiliates. All rights reserved.
+ * Copyright (c) [2016-2026] Payara Foundation and/or its affiliates. All rights reserved.
  *
  * The contents of this file are subject to the terms of either the GNU
  * General Public License Version 2 only ("GPL") or the Common Development
@@ -65,8 +65,19 @@ public class PayaraHazelcastSerializer implements StreamSerializer<Object> {
     @SuppressWarnings("unchecked")
     public PayaraHazelcastSerializer(JavaEEContextUtil ctxUtil, StreamSerializer<?> delegate) {
         this.ctxUtil = ctxUtil;
-        this.delegate = delegate != null ? (StreamSerializer<Object>) delegate : new JavaDefaultSerializers.JavaSerializer(
-                true, false, null);
+        this.delegate = delegate != null ? (StreamSerializer<Object>) delegate : createDefaultSerializer();
+    }
+
+    /**
+     * The serializer chosen with {@link CompactJavaSerializer#SERIALIZER_PROPERTY}
+     * writes the component ID as well as the value, so all members have to
+     * use the same one.
+     */
+    private static StreamSerializer<Object> createDefaultSerializer() {
+        if (CompactJavaSerializer.COMPACT_SERIALIZER.equals(System.getProperty(CompactJavaSerializer.SERIALIZER_PROPERTY))) {
+            return new CompactJavaSerializer();
+        }
+        return new JavaDefaultSerializers.JavaSerializer(true, false, null);
     }
 
 
@@ -78,7 +89,7 @@ public class PayaraHazelcastSerializer implements StreamSerializer<Object> {
 
     @Override
     public Object read(ObjectDataInput in) throws IOException {
-        String componentId = (String)delegate.read(in);
+        String componentId = (String) delegate.read(in);
         Instance context = componentId != null ? ctxUtil.fromComponentId(componentId) : ctxUtil.empty();
         try (Context ctx = context.setApplicationClassLoader()) {
             return delegate.read(in);
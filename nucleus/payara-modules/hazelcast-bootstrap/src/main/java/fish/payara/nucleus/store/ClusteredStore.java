@@ -1,6 +1,6 @@
 /*
  *
- * Copyright (c) 2016-2023 Payara Foundation and/or its affiliates. All rights reserved.
+ * Copyright (c) 2016-2026 Payara Foundation and/or its affiliates. All rights reserved.
  *
  * The contents of this file are subject to the terms of either the GNU
  * General Public License Version 2 only ("GPL") or the Common Development
@@ -41,6 +41,7 @@ package fish.payara.nucleus.store;
 import com.hazelcast.config.MapConfig;
 import com.hazelcast.core.DistributedObject;
 import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.EntryProcessor;
 import com.hazelcast.map.IMap;
 import com.hazelcast.map.LocalMapStats;
 import com.hazelcast.map.impl.MapService;
@@ -149,6 +150,27 @@ public class ClusteredStore implements EventListener, MonitoringDataSource {
         return result;
     }
 
+    /**
+     * Updates a value in Hazelcast on the member owning it, so only the
+     * processor rather than the whole value is sent over the network.
+     * This is not possible when data grid encryption is enabled, as the
+     * owning member cannot read the encrypted value.
+     * @param storeName The name of the store holding the value.
+     * This will be created if it does not already exist.
+     * @param key
+     * @param processor the update to apply to the entry
+     * @return the result of the processor, or null if it was not executed
+     */
+    public <R> R executeOnKey(String storeName, Serializable key, EntryProcessor<Object, Object, R> processor) {
+        R result = null;
+        if (isEnabled() && !hzCore.isDatagridEncryptionEnabled()) {
+            try (Context ctx = ctxUtil.empty().pushContext()) {
+                result = hzCore.getInstance().<Object, Object>getMap(storeName).executeOnKey(key, processor);
+            }
+        }
+        return result;
+    }
+
     /**
      * Removes a key/value pair of a Hazelcast store.
      * The store will be created if it does not already exist.
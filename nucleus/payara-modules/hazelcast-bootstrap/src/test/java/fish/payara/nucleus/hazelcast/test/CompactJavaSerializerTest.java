@@ -0,0 +1,277 @@
+/*
+ *
+ *  DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ *  Copyright (c) 2026 Payara Foundation and/or its affiliates. All rights reserved.
+ *
+ *  The contents of this file are subject to the terms of either the GNU
+ *  General Public License Version 2 only ("GPL") or the Common Development
+ *  and Distribution License("CDDL") (collectively, the "License").  You
+ *  may not use this file except in compliance with the License.  You can
+ *  obtain a copy of the License at
+ *  https://github.com/payara/Payara/blob/main/LICENSE.txt
+ *  See the License for the specific
+ *  language governing permissions and limitations under the License.
+ *
+ *  When distributing the software, include this License Header Notice in each
+ *  file and include the License file at glassfish/legal/LICENSE.txt.
+ *
+ *  GPL Classpath Exception:
+ *  The Payara Foundation designates this particular file as subject to the "Classpath"
+ *  exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ *  file that accompanied this code.
+ *
+ *  Modifications:
+ *  If applicable, add the following below the License Header, with the fields
+ *  enclosed by brackets [] replaced by your own identifying information:
+ *  "Portions Copyright [year] [name of copyright owner]"
+ *
+ *  Contributor(s):
+ *  If you wish your version of this file to be governed by only the CDDL or
+ *  only the GPL Version 2, indicate your decision by adding "[Contributor]
+ *  elects to include this software in this distribution under the [CDDL or GPL
+ *  Version 2] license."  If you don't indicate a single choice of license, a
+ *  recipient has the option to distribute your version of this file under
+ *  either the CDDL, the GPL Version 2 or to extend the choice of license to
+ *  its licensees as provided above.  However, if you add GPL Version 2 code
+ *  and therefore, elected the GPL Version 2 license, then the option applies
+ *  only if the new code is made subject to such option by the copyright
+ *  holder.
+ *
+ */
+package fish.payara.nucleus.hazelcast.test;
+
+import fish.payara.nucleus.hazelcast.CompactJavaSerializer;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidClassException;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.io.StreamCorruptedException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests that the compact serializer reads back what it writes, in less bytes
+ * than Java serialization.
+ * @author Payara Foundation
+ */
+public class CompactJavaSerializerTest {
+
+    private final CompactJavaSerializer serializer = new CompactJavaSerializer(
+            Collections.singletonList(Cart.class.getName()));
+
+    @Test
+    public void sessionGraphIsReadBack() throws Exception {
+        Map<String, Object> session = createSession();
+        Assert.assertEquals(session, roundTrip(serializer, session));
+    }
+
+    @Test
+    public void unregisteredClassesAreReadBack() throws Exception {
+        CompactJavaSerializer unregistered = new CompactJavaSerializer(Collections.emptyList());
+        Map<String, Object> session = createSession();
+        Assert.assertEquals(session, roundTrip(unregistered, session));
+    }
+
+    @Test
+    public void sessionGraphIsSmaller() throws Exception {
+        Map<String, Object> session = createSession();
+        ByteArrayOutputStream java = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(java)) {
+            oos.writeObject(session);
+        }
+        ByteArrayOutputStream compact = new ByteArrayOutputStream();
+        serializer.write(compact, session);
+        Assert.assertTrue("compact " + compact.size() + " bytes, java " + java.size() + " bytes",
+                compact.size() < java.size() * 3 / 4);
+    }
+
+    @Test(expected = StreamCorruptedException.class)
+    public void otherRegisteredClassesAreRejected() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        serializer.write(out, createSession());
+        new CompactJavaSerializer(Collections.emptyList()).read(new ByteArrayInputStream(out.toByteArray()));
+    }
+
+    @Test(expected = StreamCorruptedException.class)
+    public void javaSerializationIsRejected() throws Exception {
+        ByteArrayOutputStream java = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(java)) {
+            oos.writeObject(createSession());
+        }
+        serializer.read(new ByteArrayInputStream(java.toByteArray()));
+    }
+
+    @Test(expected = InvalidClassException.class)
+    public void changedSerialVersionUIDIsRejected() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        serializer.write(out, new Cart("cart", 1L));
+        byte[] bytes = out.toByteArray();
+        // fingerprint, object and class descriptor markers and the class id precede the serialVersionUID
+        Assert.assertEquals(1L, readLong(bytes, 8));
+        bytes[15] = 2;
+        serializer.read(new ByteArrayInputStream(bytes));
+    }
+
+    @Test(expected = InvalidClassException.class)
+    public void changedFieldLayoutIsRejected() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        serializer.write(out, new Cart("cart", 1L));
+        byte[] bytes = out.toByteArray();
+        // the field layout follows the serialVersionUID
+        bytes[16] ^= 1;
+        serializer.read(new ByteArrayInputStream(bytes));
+    }
+
+    @Test
+    public void otherVersionWithTheSameSerialVersionUIDIsRejected() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        serializer.write(out, new Cart("cart", 1L));
+
+        // the reading member has another version of Cart, with other fields but the same serialVersionUID
+        Thread thread = Thread.currentThread();
+        ClassLoader contextClassLoader = thread.getContextClassLoader();
+        thread.setContextClassLoader(new OtherCartVersionClassLoader(getClass().getClassLoader()));
+        try {
+            serializer.read(new ByteArrayInputStream(out.toByteArray()));
+            Assert.fail("Cart read with the field layout of another version");
+        } catch (InvalidClassException expected) {
+            Assert.assertEquals(Cart.class.getName(), expected.classname);
+        } finally {
+            thread.setContextClassLoader(contextClassLoader);
+        }
+    }
+
+    private static long readLong(byte[] bytes, int offset) {
+        long value = 0;
+        for (int i = offset; i < offset + 8; i++) {
+            value = value << 8 | (bytes[i] & 0xFF);
+        }
+        return value;
+    }
+
+    private static Object roundTrip(CompactJavaSerializer serializer, Object value)
+            throws IOException, ClassNotFoundException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        serializer.write(out, value);
+        return serializer.read(new ByteArrayInputStream(out.toByteArray()));
+    }
+
+    private static Map<String, Object> createSession() {
+        Map<String, Object> session = new HashMap<>();
+        session.put("user", "jdoe");
+        session.put("loginTime", new Date(1700000000000L));
+        session.put("visits", 42);
+        session.put("balance", 1234.5d);
+        List<Cart> carts = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            carts.add(new Cart("cart" + i, i * 10L));
+        }
+        session.put("carts", carts);
+        return session;
+    }
+
+    /**
+     * Another version of {@link Cart}, loaded under its name by {@link OtherCartVersionClassLoader}.
+     */
+    public static class Carx implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int items;
+        private final String name;
+
+        Carx(int items, String name) {
+            this.items = items;
+            this.name = name;
+        }
+    }
+
+    /**
+     * Defines {@link Carx} under the name of {@link Cart}, both names have the same length.
+     */
+    private static class OtherCartVersionClassLoader extends ClassLoader {
+
+        OtherCartVersionClassLoader(ClassLoader parent) {
+            super(parent);
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            if (!name.equals(Cart.class.getName())) {
+                return super.loadClass(name, resolve);
+            }
+            synchronized (getClassLoadingLock(name)) {
+                Class<?> loaded = findLoadedClass(name);
+                if (loaded != null) {
+                    return loaded;
+                }
+                String otherVersion = Carx.class.getName().replace('.', '/');
+                try (InputStream in = getParent().getResourceAsStream(otherVersion + ".class")) {
+                    byte[] bytes = readAll(in);
+                    replace(bytes, otherVersion.getBytes(StandardCharsets.UTF_8),
+                            name.replace('.', '/').getBytes(StandardCharsets.UTF_8));
+                    return defineClass(name, bytes, 0, bytes.length);
+                } catch (IOException ex) {
+                    throw new ClassNotFoundException(name, ex);
+                }
+            }
+        }
+
+        private static byte[] readAll(InputStream in) throws IOException {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[4096];
+            int read;
+            while ((read = in.read(buffer)) >= 0) {
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        }
+
+        private static void replace(byte[] bytes, byte[] target, byte[] replacement) {
+            for (int i = 0; i <= bytes.length - target.length; i++) {
+                int matched = 0;
+                while (matched < target.length && bytes[i + matched] == target[matched]) {
+                    matched++;
+                }
+                if (matched == target.length) {
+                    System.arraycopy(replacement, 0, bytes, i, replacement.length);
+                }
+            }
+        }
+    }
+
+    public static class Cart implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final String name;
+        private final Long total;
+
+        Cart(String name, Long total) {
+            this.name = name;
+            this.total = total;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof Cart && name.equals(((Cart) obj).name) && Objects.equals(total, ((Cart) obj).total);
+        }
+
+        @Override
+        public int hashCode() {
+            return name.hashCode();
+        }
+    }
+}
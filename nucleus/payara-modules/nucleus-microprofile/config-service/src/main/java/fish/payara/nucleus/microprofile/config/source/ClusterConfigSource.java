@@ -1,7 +1,7 @@
 /*
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  *
- * Copyright (c) [2017-2021] Payara Foundation and/or its affiliates. All rights reserved.
+ * Copyright (c) [2017-2026] Payara Foundation and/or its affiliates. All rights reserved.
  *
  * The contents of this file are subject to the terms of either the GNU
  * General Public License Version 2 only ("GPL") or the Common Development
@@ -90,10 +90,20 @@ public class ClusterConfigSource extends PayaraConfigSource {
 
     public void setValue(String propertyName, String propertyValue) {
         clusterStore.set(CLUSTERED_CONFIG_STORE, propertyName, propertyValue);
+        changeSupport.fireChange(this);
     }
 
     public void deleteValue(String propertyName) {
         clusterStore.remove(CLUSTERED_CONFIG_STORE, propertyName);
+        changeSupport.fireChange(this);
+    }
+
+    /**
+     * Changes made by other members of the cluster are not observed.
+     */
+    @Override
+    protected boolean pollsForChanges() {
+        return true;
     }
     
 }
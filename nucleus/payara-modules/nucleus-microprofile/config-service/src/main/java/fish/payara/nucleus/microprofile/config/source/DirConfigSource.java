@@ -1,7 +1,7 @@
 /*
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  *
- * Copyright (c) [2017-2020] Payara Foundation and/or its affiliates. All rights reserved.
+ * Copyright (c) [2017-2026] Payara Foundation and/or its affiliates. All rights reserved.
  *
  * The contents of this file are subject to the terms of either the GNU
  * General Public License Version 2 only ("GPL") or the Common Development
@@ -323,7 +323,11 @@ public class DirConfigSource extends PayaraConfigSource implements ConfigSource
             // When this property is not already present, check how to solve the conflict.
             // This property file will be skipped if the file we already have is deeper in the file tree...
             if (isLongestMatchForPath(property, path)) {
-                properties.put(property, readPropertyFromPath(path, mainAtts, this.directory));
+                DirProperty updated = readPropertyFromPath(path, mainAtts, this.directory);
+                DirProperty previous = properties.put(property, updated);
+                if (previous == null || !previous.propertyValue.equals(updated.propertyValue)) {
+                    changeSupport.fireChange(this);
+                }
                 return true;
             }
         }
@@ -340,6 +344,7 @@ public class DirConfigSource extends PayaraConfigSource implements ConfigSource
         // -> deleting a file more specific than in map shouldn't occur (it had to slip through longest match check then).
         if (path.equals(properties.get(property).path)) {
             properties.remove(property);
+            changeSupport.fireChange(this);
         }
     }
     
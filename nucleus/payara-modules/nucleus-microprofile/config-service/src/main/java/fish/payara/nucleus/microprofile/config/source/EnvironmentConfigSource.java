@@ -1,7 +1,7 @@
 /*
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  *
- * Copyright (c) 2017-2021 Payara Foundation and/or its affiliates. All rights reserved.
+ * Copyright (c) 2017-2026 Payara Foundation and/or its affiliates. All rights reserved.
  *
  * The contents of this file are subject to the terms of either the GNU
  * General Public License Version 2 only ("GPL") or the Common Development
@@ -44,13 +44,14 @@ import java.security.PrivilegedAction;
 import java.util.Map;
 import java.util.Set;
 
-import org.eclipse.microprofile.config.spi.ConfigSource;
+import fish.payara.nucleus.microprofile.config.spi.ChangeNotifyingConfigSource;
+import fish.payara.nucleus.microprofile.config.spi.ConfigSourceChangeListener;
 
 /**
  *
  * @author Steve Millidge (Payara Foundation)
  */
-public class EnvironmentConfigSource implements ConfigSource {
+public class EnvironmentConfigSource implements ChangeNotifyingConfigSource {
 
     @Override
     public Map<String, String> getProperties() {
@@ -95,6 +96,16 @@ public class EnvironmentConfigSource implements ConfigSource {
         return "Environment";
     }
 
+    @Override
+    public void addChangeListener(ConfigSourceChangeListener listener) {
+        // values never change, nothing to notify
+    }
+
+    @Override
+    public void removeChangeListener(ConfigSourceChangeListener listener) {
+        // values never change, nothing to notify
+    }
+
     private static Map<String, String> getEnv() {
         final PrivilegedAction<Map<String, String>> action = System::getenv;
         return AccessController.doPrivileged(action);
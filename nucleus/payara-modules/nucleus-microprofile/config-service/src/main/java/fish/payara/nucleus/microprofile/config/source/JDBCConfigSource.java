@@ -1,7 +1,7 @@
 /*
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  *
- * Copyright (c) [2020-2021] Payara Foundation and/or its affiliates. All rights reserved.
+ * Copyright (c) [2020-2026] Payara Foundation and/or its affiliates. All rights reserved.
  *
  * The contents of this file are subject to the terms of either the GNU
  * General Public License Version 2 only ("GPL") or the Common Development
@@ -113,4 +113,11 @@ public class JDBCConfigSource extends PayaraConfigSource {
         return null;
     }
 
+    /**
+     * Values are read from a database, whose changes are not observed.
+     */
+    @Override
+    protected boolean pollsForChanges() {
+        return true;
+    }
 }
@@ -1,7 +1,7 @@
 /*
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  *
- * Copyright (c) [2017-2021] Payara Foundation and/or its affiliates. All rights reserved.
+ * Copyright (c) [2017-2026] Payara Foundation and/or its affiliates. All rights reserved.
  *
  * The contents of this file are subject to the terms of either the GNU
  * General Public License Version 2 only ("GPL") or the Common Development
@@ -46,6 +46,8 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import javax.naming.InitialContext;
@@ -69,6 +71,9 @@ import org.jvnet.hk2.config.TransactionFailure;
  */
 public class JNDIConfigSource extends PayaraConfigSource {
 
+    // JNDI cannot be listed, so the names asked for are the ones compared when polling
+    private final Set<String> requestedNames = ConcurrentHashMap.newKeySet();
+
     @Override
     public Map<String, String> getProperties() {
         return Collections.emptyMap();
@@ -85,6 +90,13 @@ public class JNDIConfigSource extends PayaraConfigSource {
 
     @Override
     public String getValue(String propertyName) {
+        if (isPollingForChanges()) {
+            requestedNames.add(propertyName);
+        }
+        return lookup(propertyName);
+    }
+
+    private static String lookup(String propertyName) {
         String result = null;
         try {
             InitialContext ctx = new InitialContext();
@@ -148,4 +160,20 @@ public class JNDIConfigSource extends PayaraConfigSource {
         }, domainConfiguration.getResources());
     }
 
+    /**
+     * Values are looked up in JNDI, whose changes are not observed.
+     */
+    @Override
+    protected boolean pollsForChanges() {
+        return true;
+    }
+
+    @Override
+    protected Object getPolledState() {
+        Map<String, String> state = new HashMap<>();
+        for (String name : requestedNames) {
+            state.put(name, lookup(name));
+        }
+        return state;
+    }
 }
@@ -1,7 +1,7 @@
 /*
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  *
- * Copyright (c) 2018-2021 Payara Foundation and/or its affiliates. All rights reserved.
+ * Copyright (c) 2018-2026 Payara Foundation and/or its affiliates. All rights reserved.
  *
  * The contents of this file are subject to the terms of either the GNU
  * General Public License Version 2 only ("GPL") or the Common Development
@@ -122,4 +122,12 @@ public class PasswordAliasConfigSource extends PayaraConfigSource {
     public String getName() {
         return "Password Alias";
     }
+
+    /**
+     * Aliases changed in the password alias store are not observed.
+     */
+    @Override
+    protected boolean pollsForChanges() {
+        return true;
+    }
 }
@@ -1,7 +1,7 @@
 /*
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  *
- * Copyright (c) 2017 Payara Foundation and/or its affiliates. All rights reserved.
+ * Copyright (c) 2017-2026 Payara Foundation and/or its affiliates. All rights reserved.
  *
  * The contents of this file are subject to the terms of either the GNU
  * General Public License Version 2 only ("GPL") or the Common Development
@@ -39,28 +39,62 @@
  */
 package fish.payara.nucleus.microprofile.config.source;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 import com.sun.enterprise.config.serverbeans.Domain;
 
 import org.eclipse.microprofile.config.spi.ConfigSource;
 import org.glassfish.internal.api.Globals;
 
+import fish.payara.nucleus.microprofile.config.spi.ChangeNotifyingConfigSource;
 import fish.payara.nucleus.microprofile.config.spi.ConfigProviderResolverImpl;
+import fish.payara.nucleus.microprofile.config.spi.ConfigSourceChangeListener;
+import fish.payara.nucleus.microprofile.config.spi.ConfigSourceChangeSupport;
+import fish.payara.nucleus.microprofile.config.spi.PayaraConfig;
 
 /**
+ * Base for config sources backed by the server. All of them are notified
+ * through {@link #domainConfigurationChanged()} when the domain configuration
+ * changes, sources with other backing stores notify their own changes in addition.
+ * <p>
+ * Sources which cannot observe the changes of their backing store, see
+ * {@link #pollsForChanges()}, are compared with their previous state by
+ * {@link #pollChanges()} when {@link PayaraConfig} holds values until a change
+ * is reported, and notify their listeners of any difference.
  *
  * @author Steve Millidge (Payara Foundation)
  */
-public abstract class PayaraConfigSource implements ConfigSource {
+public abstract class PayaraConfigSource implements ChangeNotifyingConfigSource {
     
     public final static String PROPERTY_PREFIX = "payara.microprofile.";
+
+    /**
+     * System property with the number of seconds between two comparisons of
+     * the sources which cannot observe their changes, 1 by default.
+     */
+    public static final String POLL_INTERVAL_PROPERTY = "fish.payara.microprofile.config.cache.pollInterval";
+
+    private static final Logger LOG = Logger.getLogger(PayaraConfigSource.class.getName());
+
+    private static final Set<PayaraConfigSource> INSTANCES = Collections.newSetFromMap(new WeakHashMap<>());
+
     protected final Domain domainConfiguration;
     protected final ConfigProviderResolverImpl configService;
+    protected final ConfigSourceChangeSupport changeSupport = new ConfigSourceChangeSupport();
+
+    // state of the source at the last comparison, null until the first listener is added
+    private volatile Object polledState;
     
     public PayaraConfigSource() {
         domainConfiguration = Globals.getDefaultHabitat().getService(Domain.class);
         configService = Globals.getDefaultHabitat().getService(ConfigProviderResolverImpl.class);
+        register(this);
     }
     
     /**
@@ -70,6 +104,7 @@ public abstract class PayaraConfigSource implements ConfigSource {
     PayaraConfigSource(boolean test) {
         domainConfiguration = null;
         configService = null;
+        register(this);
     }
 
     @Override
@@ -84,5 +119,123 @@ public abstract class PayaraConfigSource implements ConfigSource {
     PayaraConfigSource(ConfigProviderResolverImpl configService) {
         this.domainConfiguration = null;
         this.configService = configService;
+        register(this);
+    }
+
+    @Override
+    public void addChangeListener(ConfigSourceChangeListener listener) {
+        changeSupport.addChangeListener(listener);
+        if (polledState == null && pollsForChanges() && isPollingForChanges()) {
+            // the state the values the listener caches from now on are resolved from
+            polledState = pollState();
+        }
+    }
+
+    @Override
+    public void removeChangeListener(ConfigSourceChangeListener listener) {
+        changeSupport.removeChangeListener(listener);
+    }
+
+    /**
+     * @return true if changes of the backing store of this source cannot be
+     *         observed, so that the source has to be compared with its
+     *         previous state to report them
+     */
+    protected boolean pollsForChanges() {
+        return false;
+    }
+
+    /**
+     * Returns the state of this source compared by {@link #pollChanges()},
+     * by default all its properties.
+     *
+     * @return the state, which must implement {@link Object#equals(Object)}
+     */
+    protected Object getPolledState() {
+        return getProperties();
+    }
+
+    /**
+     * A source which has to be polled reports all its changes only while
+     * {@link #pollChanges()} runs, that is while {@link PayaraConfig} holds
+     * values until a change is reported.
+     */
+    @Override
+    public boolean notifiesAllChanges() {
+        return !pollsForChanges() || isPollingForChanges();
+    }
+
+    /**
+     * @return true if the sources which cannot observe their changes are
+     *         compared with their previous state
+     */
+    public static boolean isPollingForChanges() {
+        return Boolean.getBoolean(PayaraConfig.CACHE_NOTIFICATION_DRIVEN_PROPERTY);
+    }
+
+    /**
+     * @return the number of seconds between two calls to {@link #pollChanges()}
+     */
+    public static long getPollInterval() {
+        return Math.max(1, Long.getLong(POLL_INTERVAL_PROPERTY, 1));
+    }
+
+    /**
+     * Compares the live sources which cannot observe their changes and have
+     * listeners with their state at the previous call, and notifies their
+     * listeners of a difference.
+     */
+    public static void pollChanges() {
+        List<PayaraConfigSource> sources;
+        synchronized (INSTANCES) {
+            sources = new ArrayList<>(INSTANCES);
+        }
+        for (PayaraConfigSource source : sources) {
+            if (source.pollsForChanges() && source.changeSupport.hasListeners()) {
+                Object previous = source.polledState;
+                Object current = source.pollState();
+                if (current == null) {
+                    continue;
+                }
+                source.polledState = current;
+                if (previous != null && !previous.equals(current)) {
+                    source.changeSupport.fireChange(source);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the state of this source, or null if it cannot be read now
+     */
+    private Object pollState() {
+        try {
+            Object state = getPolledState();
+            // a source without its backing store, like JDBC when not configured, has no properties
+            return state == null ? Collections.emptyMap() : state;
+        } catch (RuntimeException ex) {
+            LOG.log(Level.FINE, "Unable to compare config source " + getName() + " with its previous state", ex);
+            return null;
+        }
+    }
+
+    /**
+     * Notifies the listeners of all live sources that the domain configuration
+     * they read from has changed.
+     */
+    public static void domainConfigurationChanged() {
+        List<PayaraConfigSource> sources;
+        synchronized (INSTANCES) {
+            sources = new ArrayList<>(INSTANCES);
+        }
+        for (PayaraConfigSource source : sources) {
+            source.changeSupport.fireChange(source);
+        }
+    }
+
+    private static void register(PayaraConfigSource source) {
+        synchronized (INSTANCES) {
+            INSTANCES.add(source);
+        }
     }
 }
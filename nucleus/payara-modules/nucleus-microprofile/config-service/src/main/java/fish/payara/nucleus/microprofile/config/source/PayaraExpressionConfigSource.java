@@ -1,7 +1,7 @@
 /*
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  *
- * Copyright (c) [2020] Payara Foundation and/or its affiliates. All rights reserved.
+ * Copyright (c) [2020-2026] Payara Foundation and/or its affiliates. All rights reserved.
  *
  * The contents of this file are subject to the terms of either the GNU
  * General Public License Version 2 only ("GPL") or the Common Development
@@ -42,6 +42,7 @@ package fish.payara.nucleus.microprofile.config.source;
 
 import org.glassfish.config.support.TranslatedConfigView;
 
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Properties;
 import java.util.stream.Collectors;
@@ -96,4 +97,23 @@ public class PayaraExpressionConfigSource extends PayaraConfigSource {
         super(test);
         this.properties = properties;
     }
+
+    /**
+     * Expressions may resolve system properties, environment variables and
+     * password aliases, whose changes are not observed.
+     */
+    @Override
+    protected boolean pollsForChanges() {
+        return true;
+    }
+
+    // unlike getProperties, keeps the expressions which currently resolve to nothing
+    @Override
+    protected Object getPolledState() {
+        Map<String, String> state = new HashMap<>();
+        for (String name : properties.stringPropertyNames()) {
+            state.put(name, getValue(name));
+        }
+        return state;
+    }
 }
@@ -1,7 +1,7 @@
 /*
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  *
- * Copyright (c) 2017-2021 Payara Foundation and/or its affiliates. All rights reserved.
+ * Copyright (c) 2017-2026 Payara Foundation and/or its affiliates. All rights reserved.
  *
  * The contents of this file are subject to the terms of either the GNU
  * General Public License Version 2 only ("GPL") or the Common Development
@@ -107,4 +107,11 @@ public class SystemPropertyConfigSource extends PayaraConfigSource {
         return "SystemProperty";
     }
 
+    /**
+     * System properties set through {@link System#setProperty} are not observed.
+     */
+    @Override
+    protected boolean pollsForChanges() {
+        return true;
+    }
 }
\ No newline at end of file
@@ -1,7 +1,7 @@
 /*
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  *
- * Copyright (c) [2020-2024] Payara Foundation and/or its affiliates. All rights reserved.
+ * Copyright (c) [2020-2026] Payara Foundation and/or its affiliates. All rights reserved.
  *
  * The contents of this file are subject to the terms of either the GNU
  * General Public License Version 2 only ("GPL") or the Common Development
@@ -44,19 +44,55 @@ import java.util.Map;
 import java.util.Set;
 
 import fish.payara.nucleus.microprofile.config.source.extension.ExtensionConfigSource;
+import fish.payara.nucleus.microprofile.config.spi.ChangeNotifyingConfigSource;
+import fish.payara.nucleus.microprofile.config.spi.ConfigSourceChangeListener;
+import fish.payara.nucleus.microprofile.config.spi.ConfigSourceChangeSupport;
 
-public class ConfigSourceProxy implements ExtensionConfigSource {
+/**
+ * Stands in for an extension config source that is bootstrapped, reconfigured
+ * and destroyed at runtime. Listeners are notified whenever the delegate is
+ * replaced and whenever a delegate that is itself a
+ * {@link ChangeNotifyingConfigSource} reports a change.
+ */
+public class ConfigSourceProxy implements ExtensionConfigSource, ChangeNotifyingConfigSource {
 
     private final String name;
     private ExtensionConfigSource delegate;
 
+    private final ConfigSourceChangeSupport changeSupport = new ConfigSourceChangeSupport();
+    private final ConfigSourceChangeListener delegateListener = source -> changeSupport.fireChange(this);
+
     public ConfigSourceProxy(String name) {
         this.name = name;
         this.delegate = null;
     }
 
     public void setDelegate(ExtensionConfigSource delegate) {
+        if (this.delegate instanceof ChangeNotifyingConfigSource) {
+            ((ChangeNotifyingConfigSource) this.delegate).removeChangeListener(delegateListener);
+        }
         this.delegate = delegate;
+        if (delegate instanceof ChangeNotifyingConfigSource) {
+            ((ChangeNotifyingConfigSource) delegate).addChangeListener(delegateListener);
+        }
+        changeSupport.fireChange(this);
+    }
+
+    @Override
+    public void addChangeListener(ConfigSourceChangeListener listener) {
+        changeSupport.addChangeListener(listener);
+    }
+
+    @Override
+    public void removeChangeListener(ConfigSourceChangeListener listener) {
+        changeSupport.removeChangeListener(listener);
+    }
+
+    @Override
+    public boolean notifiesAllChanges() {
+        ExtensionConfigSource current = delegate;
+        return current == null || current instanceof ChangeNotifyingConfigSource
+                && ((ChangeNotifyingConfigSource) current).notifiesAllChanges();
     }
 
     @Override
@@ -98,16 +134,18 @@ public class ConfigSourceProxy implements ExtensionConfigSource {
 
     @Override
     public boolean setValue(String name, String value) {
-        if (delegate != null) {
-            return delegate.setValue(name, value);
+        if (delegate != null && delegate.setValue(name, value)) {
+            changeSupport.fireChange(this);
+            return true;
         }
         return false;
     }
 
     @Override
     public boolean deleteValue(String name) {
-        if (delegate != null) {
-            return delegate.deleteValue(name);
+        if (delegate != null && delegate.deleteValue(name)) {
+            changeSupport.fireChange(this);
+            return true;
         }
         return false;
     }
@@ -1,7 +1,7 @@
 /*
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  *
- * Copyright (c) [2017-2023] Payara Foundation and/or its affiliates. All rights reserved.
+ * Copyright (c) [2017-2026] Payara Foundation and/or its affiliates. All rights reserved.
  *
  * The contents of this file are subject to the terms of either the GNU
  * General Public License Version 2 only ("GPL") or the Common Development
@@ -41,6 +41,7 @@ package fish.payara.nucleus.microprofile.config.spi;
 
 import static fish.payara.nucleus.microprofile.config.spi.PayaraConfigBuilder.getTypeForConverter;
 
+import java.beans.PropertyChangeEvent;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.InetAddress;
@@ -66,6 +67,8 @@ import jakarta.annotation.PostConstruct;
 import jakarta.inject.Inject;
 import jakarta.inject.Named;
 
+import com.sun.enterprise.config.serverbeans.Resource;
+import com.sun.enterprise.config.serverbeans.SystemProperty;
 import fish.payara.nucleus.executorservice.PayaraExecutorService;
 import org.eclipse.microprofile.config.Config;
 import org.eclipse.microprofile.config.spi.ConfigBuilder;
@@ -85,6 +88,10 @@ import org.glassfish.internal.data.ModuleInfo;
 import org.jvnet.hk2.annotations.ContractsProvided;
 import org.jvnet.hk2.annotations.Optional;
 import org.jvnet.hk2.annotations.Service;
+import org.jvnet.hk2.config.TransactionListener;
+import org.jvnet.hk2.config.Transactions;
+import org.jvnet.hk2.config.UnprocessedChangeEvents;
+import org.jvnet.hk2.config.types.Property;
 
 import fish.payara.nucleus.microprofile.config.converters.BooleanConverter;
 import fish.payara.nucleus.microprofile.config.converters.ByteConverter;
@@ -109,6 +116,7 @@ import fish.payara.nucleus.microprofile.config.source.EnvironmentConfigSource;
 import fish.payara.nucleus.microprofile.config.source.JNDIConfigSource;
 import fish.payara.nucleus.microprofile.config.source.ModuleConfigSource;
 import fish.payara.nucleus.microprofile.config.source.PasswordAliasConfigSource;
+import fish.payara.nucleus.microprofile.config.source.PayaraConfigSource;
 import fish.payara.nucleus.microprofile.config.source.PayaraExpressionConfigSource;
 import fish.payara.nucleus.microprofile.config.source.PayaraServerProperties;
 import fish.payara.nucleus.microprofile.config.source.PropertiesConfigSource;
@@ -129,7 +137,7 @@ import org.glassfish.api.event.Events;
 @Service(name = "microprofile-config-provider")
 @ContractsProvided({ConfigProviderResolver.class, ConfigProviderResolverImpl.class})
 @RunLevel(StartupRunLevel.IMPLICITLY_RELIED_ON)
-public class ConfigProviderResolverImpl extends ConfigProviderResolver implements EventListener {
+public class ConfigProviderResolverImpl extends ConfigProviderResolver implements EventListener, TransactionListener {
 
     private static final Logger LOG = Logger.getLogger(ConfigProviderResolverImpl.class.getName());
     private static final String METADATA_KEY = "MICROPROFILE_APP_CONFIG";
@@ -168,6 +176,10 @@ public class ConfigProviderResolverImpl extends ConfigProviderResolver implement
     @Inject
     private Events events;
 
+    // Notifies the domain backed config sources of changes
+    @Inject
+    private Transactions transactions;
+
     /**
      * Logs constructor as finest - may be useful to watch sequence of operations.
      */
@@ -175,6 +187,16 @@ public class ConfigProviderResolverImpl extends ConfigProviderResolver implement
         LOG.finest("ConfigProviderResolverImpl()");
     }
 
+    /**
+     * Should only be used for test purposes
+     */
+    ConfigProviderResolverImpl(ServerContext context, ApplicationRegistry applicationRegistry,
+            MicroprofileConfigConfiguration configuration) {
+        this.context = context;
+        this.applicationRegistry = applicationRegistry;
+        this.configuration = configuration;
+    }
+
     /**
      * Sets the global {@link ConfigProviderResolver#instance()} to this instance.
      */
@@ -191,6 +213,16 @@ public class ConfigProviderResolverImpl extends ConfigProviderResolver implement
         if (events != null) {
             events.register(this);
         }
+
+        if (transactions != null) {
+            transactions.addTransactionsListener(this);
+        }
+
+        // sources which cannot observe their changes are compared with their previous state instead
+        if (executorService != null && PayaraConfigSource.isPollingForChanges()) {
+            long interval = PayaraConfigSource.getPollInterval();
+            executorService.scheduleWithFixedDelay(PayaraConfigSource::pollChanges, interval, interval, TimeUnit.SECONDS);
+        }
     }
 
     public MicroprofileConfigConfiguration getMPConfig() {
@@ -328,7 +360,7 @@ public class ConfigProviderResolverImpl extends ConfigProviderResolver implement
         return result;
     }
 
-    private List<ConfigSource> getDefaultSources(String appName, String moduleName) {
+    List<ConfigSource> getDefaultSources(String appName, String moduleName) {
         LinkedList<ConfigSource> sources = new LinkedList<>();
         String serverName = context.getInstanceName();
         String configName = context.getConfigBean().getConfig().getName();
@@ -565,4 +597,32 @@ public class ConfigProviderResolverImpl extends ConfigProviderResolver implement
         }
     }
 
+    @Override
+    public void transactionCommited(List<PropertyChangeEvent> changes) {
+        for (PropertyChangeEvent change : changes) {
+            if (isConfigSourceBacking(change.getSource())
+                    || isConfigSourceBacking(change.getOldValue())
+                    || isConfigSourceBacking(change.getNewValue())) {
+                PayaraConfigSource.domainConfigurationChanged();
+                return;
+            }
+        }
+    }
+
+    @Override
+    public void unprocessedTransactedEvents(List<UnprocessedChangeEvents> changes) {
+        // ignore
+    }
+
+    /**
+     * @return true if the given changed config bean may hold values served by one of the domain backed sources
+     */
+    private static boolean isConfigSourceBacking(Object bean) {
+        return bean instanceof Property
+                || bean instanceof SystemProperty
+                || bean instanceof Resource
+                || bean instanceof MicroprofileConfigConfiguration
+                || bean instanceof ConfigSourceConfiguration;
+    }
+
 }
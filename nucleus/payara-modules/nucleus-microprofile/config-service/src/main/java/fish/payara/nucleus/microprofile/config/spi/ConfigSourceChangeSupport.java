@@ -0,0 +1,106 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2026 Payara Foundation and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://github.com/payara/Payara/blob/main/LICENSE.txt
+ * See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at glassfish/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * The Payara Foundation designates this particular file as subject to the "Classpath"
+ * exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package fish.payara.nucleus.microprofile.config.spi;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.eclipse.microprofile.config.spi.ConfigSource;
+
+/**
+ * Keeps track of the {@link ConfigSourceChangeListener}s of a
+ * {@link ChangeNotifyingConfigSource} and notifies them of changes.
+ * Listeners are referenced weakly.
+ */
+public final class ConfigSourceChangeSupport {
+
+    private static final Logger LOG = Logger.getLogger(ConfigSourceChangeSupport.class.getName());
+
+    private final Set<ConfigSourceChangeListener> listeners = Collections.newSetFromMap(new WeakHashMap<>());
+
+    public void addChangeListener(ConfigSourceChangeListener listener) {
+        synchronized (listeners) {
+            listeners.add(listener);
+        }
+    }
+
+    public void removeChangeListener(ConfigSourceChangeListener listener) {
+        synchronized (listeners) {
+            listeners.remove(listener);
+        }
+    }
+
+    /**
+     * @return true if at least one listener is registered
+     */
+    public boolean hasListeners() {
+        synchronized (listeners) {
+            return !listeners.isEmpty();
+        }
+    }
+
+    /**
+     * Notifies all currently registered listeners that the given source changed.
+     * A failing listener does not prevent the others from being notified.
+     *
+     * @param source the source that changed
+     */
+    public void fireChange(ConfigSource source) {
+        List<ConfigSourceChangeListener> snapshot;
+        synchronized (listeners) {
+            if (listeners.isEmpty()) {
+                return;
+            }
+            snapshot = new ArrayList<>(listeners);
+        }
+        for (ConfigSourceChangeListener listener : snapshot) {
+            try {
+                listener.configSourceChanged(source);
+            } catch (RuntimeException ex) {
+                LOG.log(Level.WARNING, "Config source change listener failed for source " + source.getName(), ex);
+            }
+        }
+    }
+}
@@ -1,7 +1,7 @@
 /*
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  *
- * Copyright (c) 2017-2023 Payara Foundation and/or its affiliates. All rights reserved.
+ * Copyright (c) 2017-2026 Payara Foundation and/or its affiliates. All rights reserved.
  *
  * The contents of this file are subject to the terms of either the GNU
  * General Public License Version 2 only ("GPL") or the Common Development
@@ -56,6 +56,7 @@ import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Supplier;
 
 import static fish.payara.nucleus.microprofile.config.spi.ConfigValueResolverImpl.getCacheKey;
@@ -71,6 +72,13 @@ import java.util.logging.Logger;
  * {@link #getValue(String, Class)} is called. This cache can be bypassed by constructing the {@link PayaraConfig} with
  * a TTL of zero (or negative).
  *
+ * The cache is cleared whenever one of the {@link ChangeNotifyingConfigSource}s reports a change. When the system
+ * property {@value #CACHE_NOTIFICATION_DRIVEN_PROPERTY} is set and all sources report all their changes, cached values
+ * do not expire but are kept until a source reports a change. The server sources which cannot observe their backing
+ * store, like the database of the JDBC source or the system properties, then report the differences found by
+ * {@link fish.payara.nucleus.microprofile.config.source.PayaraConfigSource#pollChanges()}, which runs every second
+ * by default.
+ *
  * @author Steve Millidge (Payara Foundation)
  * @author Jan Bernitt (caching part, ConfigValueResolver)
  */
@@ -80,15 +88,19 @@ public class PayaraConfig implements Config {
     private static final String MP_CONFIG_EXPANSION_ENABLED_STRING = "mp.config.property.expressions.enabled";
     private static final String MP_CONFIG_PROFILE_NAME_STRING = "mp.config.profile";
 
+    public static final String CACHE_NOTIFICATION_DRIVEN_PROPERTY = "fish.payara.microprofile.config.cache.notificationDriven";
+
     private static final Logger log = Logger.getLogger(PayaraConfig.class.getName());
 
     private static final class CacheEntry {
         final ConfigValueImpl value;
         final long expires;
+        final long generation;
 
-        CacheEntry(ConfigValueImpl value, long expires) {
+        CacheEntry(ConfigValueImpl value, long expires, long generation) {
             this.value = value;
             this.expires = expires;
+            this.generation = generation;
         }
     }
 
@@ -97,6 +109,12 @@ public class PayaraConfig implements Config {
     private final long defaultCacheDurationMilliSeconds;
 
     private final Map<String, CacheEntry> cachedValuesByProperty = new ConcurrentHashMap<>();
+    // incremented on each change so values resolved before the change are not cached after it
+    private final AtomicLong cacheGeneration = new AtomicLong();
+    // strongly referenced here as sources only hold their listeners weakly
+    private final ConfigSourceChangeListener changeListener = source -> clearCache();
+    private final boolean notificationDriven = Boolean.getBoolean(CACHE_NOTIFICATION_DRIVEN_PROPERTY);
+    private volatile boolean allSourcesNotifyChanges;
 
     private volatile long configuredCacheDurationMilliSeconds;
     private volatile long configuredCacheDurationMilliSecondsExpires = 0; // force value reload at start
@@ -109,6 +127,10 @@ public class PayaraConfig implements Config {
         this.converters = new ConcurrentHashMap<>(converters);
         this.defaultCacheDurationMilliSeconds = defaultCacheDurationMilliSeconds;
         Collections.sort(sources, new ConfigSourceComparator());
+        for (ConfigSource source : sources) {
+            registerChangeListener(source);
+        }
+        allSourcesNotifyChanges = allSourcesNotifyChanges();
 
         profile = getConfigValue(MP_CONFIG_PROFILE_NAME_STRING).getValue();
     }
@@ -238,21 +260,24 @@ public class PayaraConfig implements Config {
 
         final String entryKey = cacheKey + (defaultValue != null ? ":" + defaultValue : "") + ":" + (entryTTL / 1000) + "s";
         final long now = currentTimeMillis();
-        long expires = now + entryTTL;
+        final long generation = cacheGeneration.get();
+        // an explicit TTL is always honoured, the configured one only while changes are not all notified
+        long expires = ttl == null && notificationDriven && allSourcesNotifyChanges ? Long.MAX_VALUE : now + entryTTL;
 
         CacheEntry cacheEntry = cachedValuesByProperty.get(entryKey);
         // entry found and valid
-        if (cacheEntry != null && now < cacheEntry.expires) {
+        if (cacheEntry != null && now < cacheEntry.expires && cacheEntry.generation == generation) {
             return cacheEntry.value;
         }
         // entry not found or expired
         boolean isExpansionEnabled = isExpansionEnabled(propertyName);
         // searchConfigSources can cause recursive call to getConfigValue when expansion is enabled
         ConfigValueImpl newValue = searchConfigSources(propertyName, defaultValue, isExpansionEnabled, type);
-        CacheEntry newCacheEntry = new CacheEntry(newValue, expires);
+        CacheEntry newCacheEntry = new CacheEntry(newValue, expires, generation);
         // put the new cache entry, if there is not a newer value from other thread
         cacheEntry = cachedValuesByProperty.compute(entryKey, (key, entry) -> {
-            if (entry != null && newCacheEntry.expires < entry.expires) {
+            if (entry != null && (newCacheEntry.generation < entry.generation
+                    || newCacheEntry.generation == entry.generation && newCacheEntry.expires < entry.expires)) {
                 return entry;
             }
             return newCacheEntry;
@@ -312,7 +337,28 @@ public class PayaraConfig implements Config {
     }
     
     public void clearCache() {
+        cacheGeneration.incrementAndGet();
         cachedValuesByProperty.clear();
+        // the cache duration itself might have changed
+        configuredCacheDurationMilliSecondsExpires = 0;
+        // a source might have switched to one not reporting all its changes
+        allSourcesNotifyChanges = allSourcesNotifyChanges();
+    }
+
+    private void registerChangeListener(ConfigSource source) {
+        if (source instanceof ChangeNotifyingConfigSource) {
+            ((ChangeNotifyingConfigSource) source).addChangeListener(changeListener);
+        }
+    }
+
+    private boolean allSourcesNotifyChanges() {
+        for (ConfigSource source : sources) {
+            if (!(source instanceof ChangeNotifyingConfigSource)
+                    || !((ChangeNotifyingConfigSource) source).notifiesAllChanges()) {
+                return false;
+            }
+        }
+        return true;
     }
 
     private <E> Optional<Converter<Object>> createArrayConverter(Class<E> elementType) {
@@ -410,6 +456,9 @@ public class PayaraConfig implements Config {
     void addConfigSource(ConfigSource added) {
         sources.add(added);
         Collections.sort(sources, new ConfigSourceComparator());
+        registerChangeListener(added);
+        allSourcesNotifyChanges = allSourcesNotifyChanges();
+        clearCache();
     }
     
 }
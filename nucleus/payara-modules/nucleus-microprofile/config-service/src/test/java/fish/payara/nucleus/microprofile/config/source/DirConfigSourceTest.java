@@ -1,7 +1,7 @@
 /*
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  *
- * Copyright (c) 2017-2021 Payara Foundation and/or its affiliates. All rights reserved.
+ * Copyright (c) 2017-2026 Payara Foundation and/or its affiliates. All rights reserved.
  *
  * The contents of this file are subject to the terms of either the GNU
  * General Public License Version 2 only ("GPL") or the Common Development
@@ -41,6 +41,7 @@ package fish.payara.nucleus.microprofile.config.source;
 
 import com.sun.enterprise.util.OS;
 import fish.payara.nucleus.microprofile.config.spi.ConfigProviderResolverImpl;
+import fish.payara.nucleus.microprofile.config.spi.ConfigSourceChangeListener;
 import fish.payara.nucleus.microprofile.config.spi.MicroprofileConfigConfiguration;
 import org.junit.After;
 import org.junit.AfterClass;
@@ -62,6 +63,7 @@ import java.util.*;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static java.lang.Boolean.FALSE;
 import static java.lang.Boolean.TRUE;
@@ -396,6 +398,29 @@ public class DirConfigSourceTest {
         assertEquals(true, source.upsertPropertyFromPath(sut, attsUpdate));
         assertEquals("foobar2", source.getValue("aptdir.sut-upsert-property-update"));
     }
+
+    @Test
+    public void testChangesNotifyListeners() throws IOException {
+        // given
+        AtomicInteger changes = new AtomicInteger();
+        ConfigSourceChangeListener listener = changed -> changes.incrementAndGet();
+        source.addChangeListener(listener);
+        Path sut = subpath("aptdir", "sut-change-notification");
+
+        try {
+            // when & then
+            assertEquals(true, source.upsertPropertyFromPath(sut, writeFile(sut, "foobar")));
+            assertEquals(1, changes.get());
+            assertEquals(true, source.upsertPropertyFromPath(sut, writeFile(sut, "foobar")));
+            assertEquals("unchanged value is not notified", 1, changes.get());
+            assertEquals(true, source.upsertPropertyFromPath(sut, writeFile(sut, "foobar2")));
+            assertEquals(2, changes.get());
+            source.removePropertyFromPath(sut);
+            assertEquals(3, changes.get());
+        } finally {
+            source.removeChangeListener(listener);
+        }
+    }
     
     @Test
     public void testPropertyWatcher_RegisterAndInit() throws Exception {
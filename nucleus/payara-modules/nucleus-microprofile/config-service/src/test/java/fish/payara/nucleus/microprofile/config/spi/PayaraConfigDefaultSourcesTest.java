@@ -0,0 +1,160 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2026 Payara Foundation and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://github.com/payara/Payara/blob/main/LICENSE.txt
+ * See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at glassfish/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * The Payara Foundation designates this particular file as subject to the "Classpath"
+ * exception as provided by the Payara Foundation in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package fish.payara.nucleus.microprofile.config.spi;
+
+import static java.util.Collections.emptyMap;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.RETURNS_DEFAULTS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Properties;
+
+import com.sun.enterprise.config.serverbeans.Domain;
+import com.sun.enterprise.security.store.DomainScopedPasswordAliasStore;
+import fish.payara.nucleus.microprofile.config.source.PayaraConfigSource;
+import fish.payara.nucleus.store.ClusteredStore;
+import org.eclipse.microprofile.config.spi.ConfigSource;
+import org.glassfish.api.admin.RuntimeType;
+import org.glassfish.api.admin.ServerEnvironment;
+import org.glassfish.hk2.api.ServiceLocator;
+import org.glassfish.internal.api.Globals;
+import org.glassfish.internal.api.ServerContext;
+import org.glassfish.internal.data.ApplicationInfo;
+import org.glassfish.internal.data.ApplicationRegistry;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the notification driven cache of {@link PayaraConfig} with the sources
+ * {@link ConfigProviderResolverImpl} creates for an application.
+ */
+public class PayaraConfigDefaultSourcesTest {
+
+    private static final long CACHE_TTL = 10L;
+    private static final String PROPERTY = "payara.config.test.polled";
+
+    private ServiceLocator previousHabitat;
+    private List<ConfigSource> sources;
+
+    @Before
+    public void setUp() {
+        System.setProperty(PayaraConfig.CACHE_NOTIFICATION_DRIVEN_PROPERTY, "true");
+        MicroprofileConfigConfiguration mpConfig = mock(MicroprofileConfigConfiguration.class,
+                invocation -> invocation.getMethod().getName().endsWith("Ordinality")
+                        ? "100" : RETURNS_DEFAULTS.answer(invocation));
+        ServerContext serverContext = mock(ServerContext.class, RETURNS_DEEP_STUBS);
+        ServerEnvironment serverEnvironment = mock(ServerEnvironment.class, RETURNS_DEEP_STUBS);
+        when(serverEnvironment.getRuntimeType()).thenReturn(RuntimeType.DAS);
+        DomainScopedPasswordAliasStore aliasStore = mock(DomainScopedPasswordAliasStore.class);
+        when(aliasStore.keys()).thenReturn(Collections.emptyIterator());
+
+        Properties applicationProperties = new Properties();
+        applicationProperties.setProperty("payara.config.test.expression", "${" + PROPERTY + "}");
+        ApplicationInfo application = mock(ApplicationInfo.class);
+        when(application.getTransientAppMetaData(anyString(), eq(LinkedList.class)))
+                .thenReturn(new LinkedList<>(Collections.singletonList(applicationProperties)));
+        ApplicationRegistry applications = mock(ApplicationRegistry.class);
+        when(applications.get("app")).thenReturn(application);
+
+        ConfigProviderResolverImpl resolver = new ConfigProviderResolverImpl(serverContext, applications, mpConfig);
+        ServiceLocator habitat = mock(ServiceLocator.class);
+        when(habitat.getService(Domain.class)).thenReturn(mock(Domain.class, RETURNS_DEEP_STUBS));
+        when(habitat.getService(ConfigProviderResolverImpl.class)).thenReturn(resolver);
+        when(habitat.getService(ServerContext.class)).thenReturn(serverContext);
+        when(habitat.getService(ServerEnvironment.class)).thenReturn(serverEnvironment);
+        when(habitat.getService(ClusteredStore.class)).thenReturn(mock(ClusteredStore.class));
+        when(habitat.getService(DomainScopedPasswordAliasStore.class)).thenReturn(aliasStore);
+        previousHabitat = Globals.getDefaultHabitat();
+        Globals.setDefaultHabitat(habitat);
+
+        sources = resolver.getDefaultSources("app", "app");
+    }
+
+    @After
+    public void tearDown() {
+        Globals.setDefaultHabitat(previousHabitat);
+        System.clearProperty(PayaraConfig.CACHE_NOTIFICATION_DRIVEN_PROPERTY);
+        System.clearProperty(PROPERTY);
+    }
+
+    @Test
+    public void defaultSourcesReportAllChanges() {
+        for (ConfigSource source : sources) {
+            assertTrue(source.getName(), source instanceof ChangeNotifyingConfigSource
+                    && ((ChangeNotifyingConfigSource) source).notifiesAllChanges());
+        }
+    }
+
+    @Test
+    public void valuesOfDefaultSourcesAreKeptUntilAChangeIsPolled() throws InterruptedException {
+        System.setProperty(PROPERTY, "1");
+        PayaraConfig config = new PayaraConfig(sources, emptyMap(), CACHE_TTL);
+        assertEquals("1", config.getValue(PROPERTY, String.class));
+        assertEquals("1", config.getValue("payara.config.test.expression", String.class));
+
+        System.setProperty(PROPERTY, "2");
+        Thread.sleep(CACHE_TTL * 5);
+        assertEquals("1", config.getValue(PROPERTY, String.class));
+
+        PayaraConfigSource.pollChanges();
+        assertEquals("2", config.getValue(PROPERTY, String.class));
+        assertEquals("2", config.getValue("payara.config.test.expression", String.class));
+    }
+
+    @Test
+    public void unchangedSourcesKeepTheCachedValues() {
+        System.setProperty(PROPERTY, "1");
+        PayaraConfig config = new PayaraConfig(sources, emptyMap(), CACHE_TTL);
+        assertEquals("1", config.getValue(PROPERTY, String.class));
+
+        PayaraConfigSource.pollChanges();
+        System.setProperty(PROPERTY, "2");
+        assertEquals("1", config.getValue(PROPERTY, String.class));
+    }
+}
@@ -1,7 +1,7 @@
 /*
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  *
- * Copyright (c) 2020-2023 Payara Foundation and/or its affiliates. All rights reserved.
+ * Copyright (c) 2020-2026 Payara Foundation and/or its affiliates. All rights reserved.
  *
  * The contents of this file are subject to the terms of either the GNU
  * General Public License Version 2 only ("GPL") or the Common Development
@@ -53,8 +53,10 @@ import java.lang.reflect.Array;
 import java.math.BigInteger;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
@@ -275,6 +277,68 @@ public class PayaraConfigTest {
         assertEquals(ttl, new PayaraConfig(emptyList(), emptyMap(), ttl).getCacheDurationMilliSeconds());
     }
 
+    @Test
+    public void changeNotificationClearsCache() {
+        NotifyingSource source = new NotifyingSource();
+        source.properties.put("notified", "value");
+        Config config = new PayaraConfig(asList(source1, source), emptyMap(), 60 * 1000L);
+        assertEquals("value", config.getValue("notified", String.class));
+        source.properties.put("notified", "changed");
+        assertEquals("value", config.getValue("notified", String.class));
+        source.changeSupport.fireChange(source);
+        assertEquals("changed", config.getValue("notified", String.class));
+    }
+
+    @Test
+    public void notificationDrivenCacheDoesNotExpire() throws InterruptedException {
+        NotifyingSource source = new NotifyingSource();
+        source.properties.put("notified", "value");
+        System.setProperty(PayaraConfig.CACHE_NOTIFICATION_DRIVEN_PROPERTY, "true");
+        try {
+            Config config = new PayaraConfig(asList(source), emptyMap(), CACHE_TTL);
+            assertEquals("value", config.getValue("notified", String.class));
+            source.properties.put("notified", "changed");
+            Thread.sleep(CACHE_TTL * 2);
+            assertEquals("Cached value expired without notification", "value", config.getValue("notified", String.class));
+            source.changeSupport.fireChange(source);
+            assertEquals("changed", config.getValue("notified", String.class));
+        } finally {
+            System.clearProperty(PayaraConfig.CACHE_NOTIFICATION_DRIVEN_PROPERTY);
+        }
+    }
+
+    @Test
+    public void notificationDrivenCacheExpiresWithSourcesNotNotifying() throws InterruptedException {
+        NotifyingSource source = new NotifyingSource();
+        System.setProperty(PayaraConfig.CACHE_NOTIFICATION_DRIVEN_PROPERTY, "true");
+        try {
+            Config config = new PayaraConfig(asList(source1, source), emptyMap(), CACHE_TTL);
+            assertEquals("value1", config.getValue("key1", String.class));
+            source1.getProperties().put("key1", "changed1");
+            Thread.sleep(CACHE_TTL * 2);
+            assertEquals("Cached value still used after TTL", "changed1", config.getValue("key1", String.class));
+        } finally {
+            System.clearProperty(PayaraConfig.CACHE_NOTIFICATION_DRIVEN_PROPERTY);
+        }
+    }
+
+    @Test
+    public void notificationDrivenCacheExpiresWithSourcesNotNotifyingAllChanges() throws InterruptedException {
+        NotifyingSource source = new NotifyingSource();
+        source.notifiesAllChanges = false;
+        source.properties.put("notified", "value");
+        System.setProperty(PayaraConfig.CACHE_NOTIFICATION_DRIVEN_PROPERTY, "true");
+        try {
+            Config config = new PayaraConfig(asList(source), emptyMap(), CACHE_TTL);
+            assertEquals("value", config.getValue("notified", String.class));
+            source.properties.put("notified", "changed");
+            Thread.sleep(CACHE_TTL * 2);
+            assertEquals("Cached value still used after TTL", "changed", config.getValue("notified", String.class));
+        } finally {
+            System.clearProperty(PayaraConfig.CACHE_NOTIFICATION_DRIVEN_PROPERTY);
+        }
+    }
+
     private <T> void assertCachedValue(ConfigSource source, String key, Class<T> propertyType, T expectedValue1,
             T expectedValue2) throws InterruptedException {
         long cacheExpiresAt = System.currentTimeMillis() + CACHE_TTL;
@@ -318,4 +382,46 @@ public class PayaraConfigTest {
         assertArrayEquals((Object[]) expectedArray, (Object[]) config.getValue(key, arrayType));
     }
 
+    private static final class NotifyingSource implements ChangeNotifyingConfigSource {
+
+        final Map<String, String> properties = new HashMap<>();
+        final ConfigSourceChangeSupport changeSupport = new ConfigSourceChangeSupport();
+        boolean notifiesAllChanges = true;
+
+        @Override
+        public Map<String, String> getProperties() {
+            return properties;
+        }
+
+        @Override
+        public Set<String> getPropertyNames() {
+            return properties.keySet();
+        }
+
+        @Override
+        public String getValue(String propertyName) {
+            return properties.get(propertyName);
+        }
+
+        @Override
+        public String getName() {
+            return "Notifying";
+        }
+
+        @Override
+        public void addChangeListener(ConfigSourceChangeListener listener) {
+            changeSupport.addChangeListener(listener);
+        }
+
+        @Override
+        public void removeChangeListener(ConfigSourceChangeListener listener) {
+            changeSupport.removeChangeListener(listener);
+        }
+
+        @Override
+        public boolean notifiesAllChanges() {
+            return notifiesAllChanges;
+        }
+    }
+
 }